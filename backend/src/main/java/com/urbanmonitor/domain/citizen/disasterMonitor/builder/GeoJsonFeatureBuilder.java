@@ -14,21 +14,17 @@ import java.util.*;
 public class GeoJsonFeatureBuilder {
     
     private String type = "Feature";
-    private Map<String, Object> geometry;
+    private Object geometry;
     private final Map<String, Object> properties = new LinkedHashMap<>();
     
     public static GeoJsonFeatureBuilder create() {
         return new GeoJsonFeatureBuilder();
     }
     
-    public GeoJsonFeatureBuilder withPolygonGeometry(List<List<List<Double>>> coordinates) {
-        this.geometry = new LinkedHashMap<>();
-        this.geometry.put("type", "Polygon");
-        this.geometry.put("coordinates", coordinates);
-        return this;
-    }
-    
-    public GeoJsonFeatureBuilder withExistingGeometry(Map<String, Object> geometry) {
+    /**
+     * Geometry đã được Jackson serialize sẵn (vd: PackedGeometry từ province registry)
+     */
+    public GeoJsonFeatureBuilder withGeometry(Object geometry) {
         this.geometry = geometry;
         return this;
     }
@@ -59,6 +55,7 @@ public class GeoJsonFeatureBuilder {
             .withProperty("centerLatitude", zone.getCenterLatitude())
             .withProperty("affectedAreaKm2", zone.getAffectedAreaKm2())
             .withProperty("affectedPopulation", zone.getAffectedPopulation())
+            .withProperty("exposedPopulation", zone.getExposedPopulation())
             .withProperty("measurementValue", zone.getMeasurementValue())
             .withProperty("measurementUnit", zone.getMeasurementUnit())
             .withProperty("alertMessage", zone.getAlertMessage())
@@ -87,11 +84,21 @@ public class GeoJsonFeatureBuilder {
             .withProperty("measurementUnit", zone.getMeasurementUnit())
             .withProperty("affectedAreaKm2", zone.getAffectedAreaKm2())
             .withProperty("affectedPopulation", zone.getAffectedPopulation())
+            .withProperty("exposedPopulation", zone.getExposedPopulation())
             .withProperty("alertMessage", zone.getAlertMessage())
             .withProperty("contactHotline", zone.getContactHotline())
             .withProperty("color", color);
     }
     
+    /**
+     * Diện tích / dân số bị ảnh hưởng trong phạm vi tỉnh (cộng dồn mọi zone giao tỉnh)
+     */
+    public GeoJsonFeatureBuilder withProvinceExposure(Double affectedAreaKm2, Long affectedPopulation) {
+        return this
+            .withProperty("provinceAffectedAreaKm2", affectedAreaKm2)
+            .withProperty("provinceAffectedPopulation", affectedPopulation);
+    }
+    
     public GeoJsonFeatureBuilder withNoDisaster(String provinceName) {
         return this
             .withProperty("provinceName", provinceName)
@@ -99,6 +106,13 @@ public class GeoJsonFeatureBuilder {
             .withProperty("color", "transparent");
     }
     
+    /**
+     * Chỉ properties, dùng cho streaming writer (geometry được splice riêng)
+     */
+    public Map<String, Object> buildProperties() {
+        return new LinkedHashMap<>(properties);
+    }
+    
     public Map<String, Object> build() {
         Map<String, Object> feature = new LinkedHashMap<>();
         feature.put("type", type);
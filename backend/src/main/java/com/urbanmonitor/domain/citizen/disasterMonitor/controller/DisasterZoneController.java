@@ -1,14 +1,27 @@
 package com.urbanmonitor.domain.citizen.disasterMonitor.controller;
 
+import com.urbanmonitor.domain.citizen.disasterMonitor.dto.BulkStatusUpdateRequest;
+import com.urbanmonitor.domain.citizen.disasterMonitor.dto.BulkStatusUpdateResult;
 import com.urbanmonitor.domain.citizen.disasterMonitor.dto.DisasterDashboardResponse;
+import com.urbanmonitor.domain.citizen.disasterMonitor.dto.DisasterLocationResult;
+import com.urbanmonitor.domain.citizen.disasterMonitor.dto.DisasterZoneHit;
+import com.urbanmonitor.domain.citizen.disasterMonitor.dto.DisasterZoneQuery;
+import com.urbanmonitor.domain.citizen.disasterMonitor.dto.GeometryRecomputeResult;
+import com.urbanmonitor.domain.citizen.disasterMonitor.dto.PointQuery;
+import com.urbanmonitor.domain.citizen.disasterMonitor.dto.TimelineQuery;
 import com.urbanmonitor.domain.citizen.disasterMonitor.entity.DisasterZone;
 import com.urbanmonitor.domain.citizen.disasterMonitor.entity.DisasterZone.DisasterType;
 import com.urbanmonitor.domain.citizen.disasterMonitor.entity.DisasterZone.ZoneStatus;
 import com.urbanmonitor.domain.citizen.disasterMonitor.service.DisasterZoneService;
+import com.urbanmonitor.shared.geo.BoundingBox;
+import com.urbanmonitor.shared.geo.GeometryView;
+import com.urbanmonitor.shared.geo.GeometryViewParams;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.*;
 
@@ -20,6 +33,8 @@ import java.util.*;
  * - Dependency Inversion: DisasterZoneService interface
  * 
  * API ENDPOINTS UNCHANGED - Frontend.
+ * GeoJSON / dashboard endpoints nhận thêm optional ?zoom= | ?tolerance= và ?bbox= (level of detail).
+ * Spatial query: /at (điểm, GET hoặc POST batch) và /within?bbox= trả về active disasters từ R-tree.
  */
 @RestController
 @RequestMapping("/api/disaster")
@@ -28,6 +43,8 @@ import java.util.*;
 @CrossOrigin(origins = "*")
 public class DisasterZoneController {
 
+    private static final MediaType VECTOR_TILE = MediaType.parseMediaType("application/vnd.mapbox-vector-tile");
+
     // Dependency Inversion: Depend on interface, not implementation
     private final DisasterZoneService service;
 
@@ -58,54 +75,104 @@ public class DisasterZoneController {
     //  GEOJSON POLYGON ENDPOINTS
 
     @GetMapping("/geojson")
-    public ResponseEntity<Map<String, Object>> getAllGeoJSON() {
-        return ResponseEntity.ok(service.getPolygonGeoJson(service.getAll()));
+    public ResponseEntity<Map<String, Object>> getAllGeoJSON(GeometryViewParams detail) {
+        return ResponseEntity.ok(service.getPolygonGeoJson(service.getAll(), detail.toView()));
     }
 
     @GetMapping("/geojson/flood")
-    public ResponseEntity<Map<String, Object>> getFloodGeoJSON() {
-        return ResponseEntity.ok(service.getPolygonGeoJson(service.getByType(DisasterType.FLOOD)));
+    public ResponseEntity<Map<String, Object>> getFloodGeoJSON(GeometryViewParams detail) {
+        return ResponseEntity.ok(service.getPolygonGeoJson(service.getByType(DisasterType.FLOOD), detail.toView()));
     }
 
     @GetMapping("/geojson/earthquake")
-    public ResponseEntity<Map<String, Object>> getEarthquakeGeoJSON() {
-        return ResponseEntity.ok(service.getPolygonGeoJson(service.getByType(DisasterType.EARTHQUAKE)));
+    public ResponseEntity<Map<String, Object>> getEarthquakeGeoJSON(GeometryViewParams detail) {
+        return ResponseEntity.ok(service.getPolygonGeoJson(service.getByType(DisasterType.EARTHQUAKE), detail.toView()));
     }
 
     @GetMapping("/geojson/heatwave")
-    public ResponseEntity<Map<String, Object>> getHeatwaveGeoJSON() {
-        return ResponseEntity.ok(service.getPolygonGeoJson(service.getByType(DisasterType.HEATWAVE)));
+    public ResponseEntity<Map<String, Object>> getHeatwaveGeoJSON(GeometryViewParams detail) {
+        return ResponseEntity.ok(service.getPolygonGeoJson(service.getByType(DisasterType.HEATWAVE), detail.toView()));
     }
 
     @GetMapping("/geojson/storm")
-    public ResponseEntity<Map<String, Object>> getStormGeoJSON() {
-        return ResponseEntity.ok(service.getPolygonGeoJson(service.getByType(DisasterType.STORM)));
+    public ResponseEntity<Map<String, Object>> getStormGeoJSON(GeometryViewParams detail) {
+        return ResponseEntity.ok(service.getPolygonGeoJson(service.getByType(DisasterType.STORM), detail.toView()));
     }
 
     // Active only endpoints
     @GetMapping("/geojson/active")
-    public ResponseEntity<Map<String, Object>> getActiveGeoJSON() {
-        return ResponseEntity.ok(service.getPolygonGeoJson(service.getAllActiveOrderBySeverity()));
+    public ResponseEntity<Map<String, Object>> getActiveGeoJSON(GeometryViewParams detail) {
+        return ResponseEntity.ok(service.getPolygonGeoJson(service.getAllActiveOrderBySeverity(), detail.toView()));
     }
 
     @GetMapping("/geojson/active/flood")
-    public ResponseEntity<Map<String, Object>> getActiveFloodGeoJSON() {
-        return ResponseEntity.ok(service.getPolygonGeoJson(service.getActiveByType(DisasterType.FLOOD)));
+    public ResponseEntity<Map<String, Object>> getActiveFloodGeoJSON(GeometryViewParams detail) {
+        return ResponseEntity.ok(service.getPolygonGeoJson(service.getActiveByType(DisasterType.FLOOD), detail.toView()));
     }
 
     @GetMapping("/geojson/active/earthquake")
-    public ResponseEntity<Map<String, Object>> getActiveEarthquakeGeoJSON() {
-        return ResponseEntity.ok(service.getPolygonGeoJson(service.getActiveByType(DisasterType.EARTHQUAKE)));
+    public ResponseEntity<Map<String, Object>> getActiveEarthquakeGeoJSON(GeometryViewParams detail) {
+        return ResponseEntity.ok(service.getPolygonGeoJson(service.getActiveByType(DisasterType.EARTHQUAKE), detail.toView()));
     }
 
     @GetMapping("/geojson/active/heatwave")
-    public ResponseEntity<Map<String, Object>> getActiveHeatwaveGeoJSON() {
-        return ResponseEntity.ok(service.getPolygonGeoJson(service.getActiveByType(DisasterType.HEATWAVE)));
+    public ResponseEntity<Map<String, Object>> getActiveHeatwaveGeoJSON(GeometryViewParams detail) {
+        return ResponseEntity.ok(service.getPolygonGeoJson(service.getActiveByType(DisasterType.HEATWAVE), detail.toView()));
     }
 
     @GetMapping("/geojson/active/storm")
-    public ResponseEntity<Map<String, Object>> getActiveStormGeoJSON() {
-        return ResponseEntity.ok(service.getPolygonGeoJson(service.getActiveByType(DisasterType.STORM)));
+    public ResponseEntity<Map<String, Object>> getActiveStormGeoJSON(GeometryViewParams detail) {
+        return ResponseEntity.ok(service.getPolygonGeoJson(service.getActiveByType(DisasterType.STORM), detail.toView()));
+    }
+
+    /**
+     * Overlay toàn quốc: mỗi loại + severity một MultiPolygon đã dissolve thay vì từng zone chồng lấn.
+     * VD: /geojson/active/overlay?type=flood,storm&zoom=6
+     */
+    @GetMapping("/geojson/active/overlay")
+    public ResponseEntity<Map<String, Object>> getActiveOverlay(
+            @RequestParam(required = false) List<String> type,
+            GeometryViewParams detail) {
+        Set<DisasterType> types = EnumSet.noneOf(DisasterType.class);
+        if (type != null) {
+            type.forEach(t -> types.add(parseDisasterType(t.trim())));
+        }
+        return ResponseEntity.ok(service.getActiveOverlay(types, detail.toView()));
+    }
+
+    /**
+     * Query tổng hợp: filter (type, status, minSeverity, region, active, bbox, from/to) + keyset pagination
+     * chạy trong SQL, chỉ trang kết quả được stream ra GeoJSON. Trang sau: ?cursor=<nextCursor>
+     */
+    @GetMapping("/query")
+    public ResponseEntity<StreamingResponseBody> query(DisasterZoneQuery query, GeometryViewParams detail) {
+        query.validate(); // lỗi params trả về trước khi bắt đầu stream
+        GeometryView view = detail.toView();
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_JSON)
+            .body(out -> service.writeQueryResult(out, query, view));
+    }
+
+    /**
+     * Timeline theo giờ: mỗi frame gồm các zone active và stats, cả khoảng trả về trong một response.
+     * VD: /timeline?from=2025-10-01T00:00:00&to=2025-10-31T00:00:00&step=6
+     */
+    @GetMapping("/timeline")
+    public ResponseEntity<StreamingResponseBody> timeline(TimelineQuery query) {
+        query.validate();
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_JSON)
+            .body(out -> service.writeTimeline(out, query));
+    }
+
+    /**
+     * Mapbox Vector Tile: layers "provinces" (màu theo disaster như /dashboard) và "disasters" (active zones)
+     */
+    @GetMapping("/tiles/{z}/{x}/{y}.pbf")
+    public ResponseEntity<byte[]> getTile(@PathVariable int z, @PathVariable int x, @PathVariable int y) {
+        return ResponseEntity.ok()
+            .contentType(VECTOR_TILE)
+            .body(service.getTile(z, x, y));
     }
 
     //  CRUD ENDPOINTS
@@ -135,11 +202,63 @@ public class DisasterZoneController {
         return ResponseEntity.ok(service.updateStatus(id, newStatus));
     }
 
+    /**
+     * Đổi status hàng loạt: {"status": "EMERGENCY", "ids": [1, 2, 3]}
+     * hoặc {"status": "ALERT", "filter": {"type": "flood", "region": "Huế"}}
+     */
+    @PatchMapping("/status")
+    public ResponseEntity<BulkStatusUpdateResult> updateStatuses(@RequestBody BulkStatusUpdateRequest request) {
+        return ResponseEntity.ok(service.updateStatuses(request));
+    }
+
+    /**
+     * Tính lại diện tích geodesic + overlap tỉnh của mọi zone (vd: sau khi đổi thuật toán / dữ liệu tỉnh)
+     */
+    @PostMapping("/geometry/recompute")
+    public ResponseEntity<GeometryRecomputeResult> recomputeGeometry() {
+        return ResponseEntity.ok(service.recomputeGeometry());
+    }
+
     // DASHBOARD ENDPOINT
 
     @GetMapping("/dashboard")
-    public ResponseEntity<DisasterDashboardResponse> getDashboard() {
-        return ResponseEntity.ok(service.getDashboardData());
+    public ResponseEntity<DisasterDashboardResponse> getDashboard(GeometryViewParams detail) {
+        return ResponseEntity.ok(service.getDashboardData(detail.toView()));
+    }
+
+    /**
+     * Same payload as /dashboard, streamed with pre-encoded province geometry
+     */
+    @GetMapping("/dashboard/stream")
+    public ResponseEntity<StreamingResponseBody> streamDashboard(GeometryViewParams detail) {
+        GeometryView view = detail.toView();
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_JSON)
+            .body(out -> service.writeDashboardData(out, view));
+    }
+
+    // SPATIAL QUERY ENDPOINTS
+
+    @GetMapping("/at")
+    public ResponseEntity<DisasterLocationResult> findAt(@RequestParam double lat, @RequestParam double lng) {
+        return ResponseEntity.ok(service.findAt(lat, lng));
+    }
+
+    /**
+     * Batch lookup: body [{"lat":..,"lng":..}, ...], kết quả cùng thứ tự
+     */
+    @PostMapping("/at")
+    public ResponseEntity<List<DisasterLocationResult>> findAtBatch(@RequestBody List<PointQuery> points) {
+        return ResponseEntity.ok(service.findAt(points));
+    }
+
+    @GetMapping("/within")
+    public ResponseEntity<List<DisasterZoneHit>> findWithin(@RequestParam String bbox) {
+        BoundingBox box = BoundingBox.parse(bbox);
+        if (box == null) {
+            throw new IllegalArgumentException("bbox is required: minLng,minLat,maxLng,maxLat");
+        }
+        return ResponseEntity.ok(service.findWithin(box));
     }
 
     // HELPER METHODS
@@ -0,0 +1,103 @@
+package com.urbanmonitor.domain.citizen.disasterMonitor.converter;
+
+import com.urbanmonitor.domain.citizen.disasterMonitor.entity.DisasterZone;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * PIPELINE - Các bước tính toán geometry lúc ghi của một zone:
+ *   compile polygon (validate, bytes, bbox, diện tích geodesic) → spatial join với tỉnh (diện tích giao)
+ *   → dân số bị ảnh hưởng theo population raster (tổng + từng tỉnh)
+ *
+ * Recompute hàng loạt chạy song song trên ForkJoinPool riêng (không chiếm common pool của
+ * parallel streams / CompletableFuture). Các bước chỉ đọc dữ liệu tỉnh bất biến nên an toàn đa luồng.
+ */
+@Component
+@Slf4j
+public class DisasterGeometryPipeline {
+
+    /** Dưới ngưỡng này một task tự xử lý, không chia nữa */
+    private static final int SEQUENTIAL_THRESHOLD = 8;
+
+    private final DisasterZoneGeometryCompiler geometryCompiler;
+    private final ProvinceSpatialJoin provinceJoin;
+    private final DisasterPopulationExposure populationExposure;
+    private final ForkJoinPool pool;
+
+    public DisasterGeometryPipeline(
+            DisasterZoneGeometryCompiler geometryCompiler,
+            ProvinceSpatialJoin provinceJoin,
+            DisasterPopulationExposure populationExposure,
+            @Value("${disaster.geometry.recompute-parallelism:0}") int parallelism) {
+        this.geometryCompiler = geometryCompiler;
+        this.provinceJoin = provinceJoin;
+        this.populationExposure = populationExposure;
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    /**
+     * @throws IllegalArgumentException nếu polygonCoordinates không hợp lệ
+     */
+    public void process(DisasterZone zone) {
+        geometryCompiler.compile(zone);
+        provinceJoin.assign(zone);
+        populationExposure.assign(zone);
+    }
+
+    /**
+     * Xử lý song song, zone lỗi không làm hỏng các zone khác.
+     *
+     * @return index trong list → lý do lỗi
+     */
+    public Map<Integer, String> processAll(List<DisasterZone> zones) {
+        Map<Integer, String> failures = new ConcurrentHashMap<>();
+        if (!zones.isEmpty()) {
+            pool.invoke(new ProcessTask(zones, 0, zones.size(), failures));
+        }
+        return failures;
+    }
+
+    private class ProcessTask extends RecursiveAction {
+        private final List<DisasterZone> zones;
+        private final int from;
+        private final int to;
+        private final Map<Integer, String> failures;
+
+        ProcessTask(List<DisasterZone> zones, int from, int to, Map<Integer, String> failures) {
+            this.zones = zones;
+            this.from = from;
+            this.to = to;
+            this.failures = failures;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= SEQUENTIAL_THRESHOLD) {
+                for (int i = from; i < to; i++) {
+                    try {
+                        process(zones.get(i));
+                    } catch (RuntimeException e) {
+                        log.warn("Geometry recompute failed for disaster zone {}: {}", zones.get(i).getId(), e.getMessage());
+                        failures.put(i, e.getMessage());
+                    }
+                }
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new ProcessTask(zones, from, mid, failures), new ProcessTask(zones, mid, to, failures));
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.urbanmonitor.domain.citizen.disasterMonitor.converter;
 
 import com.urbanmonitor.domain.citizen.disasterMonitor.entity.DisasterZone;
+import com.urbanmonitor.shared.province.ProvinceNameResolver;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
@@ -12,23 +13,38 @@ import java.util.stream.Collectors;
 /**
  * SINGLE RESPONSIBILITY PRINCIPLE
  * 
- * Match disaster zones với provinces dựa trên region name.
+ * Match disaster zones với provinces dựa trên region name (resolve ra province id qua
+ * ProvinceNameResolver, so sánh bằng id thay vì normalize chuỗi mỗi lần).
  */
 @Component
 @RequiredArgsConstructor
 public class DisasterMatcher {
     
-    private final NameNormalizer nameNormalizer;
+    private final ProvinceNameResolver nameResolver;
     
     /**
-     * Find all disasters matching a province name
+     * Find all disasters whose region mentions a province
      */
-    public List<DisasterZone> findMatchingDisasters(String provinceName, List<DisasterZone> disasters) {
+    public List<DisasterZone> findMatchingDisasters(int provinceId, List<DisasterZone> disasters) {
         return disasters.stream()
-            .filter(disaster -> nameNormalizer.matches(disaster.getRegion(), provinceName))
+            .filter(disaster -> matches(disaster, provinceId))
             .collect(Collectors.toList());
     }
     
+    /**
+     * Check if a single disaster belongs to a province
+     */
+    public boolean matches(DisasterZone disaster, int provinceId) {
+        return nameResolver.mentions(disaster.getRegion(), provinceId);
+    }
+    
+    /**
+     * Province ids nhắc tới trong region của zone (vd: "Hà Nội, Hải Phòng" → 2 tỉnh)
+     */
+    public int[] provinceIdsOf(DisasterZone disaster) {
+        return nameResolver.resolve(disaster.getRegion());
+    }
+    
     /**
      * Find the most severe disaster from a list
      */
@@ -0,0 +1,117 @@
+package com.urbanmonitor.domain.citizen.disasterMonitor.converter;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.urbanmonitor.domain.citizen.disasterMonitor.entity.DisasterZone;
+import com.urbanmonitor.domain.citizen.disasterMonitor.entity.ProvinceOverlap;
+import com.urbanmonitor.shared.geo.GeometryView;
+import com.urbanmonitor.shared.geo.PackedGeometry;
+import com.urbanmonitor.shared.geo.ScanlineRasterizer.RowSpans;
+import com.urbanmonitor.shared.population.PopulationRaster;
+import com.urbanmonitor.shared.province.ProvinceGeometryRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.zip.CRC32C;
+
+/**
+ * Bước cuối của DisasterGeometryPipeline: dân số trong polygon zone theo population raster.
+ *
+ * Zone được rasterize (scanline) trên lưới của raster; dân số từng tỉnh = tổng trên phần giao
+ * spans của zone với spans của tỉnh (tỉnh chỉ rasterize trong bbox của zone).
+ * Kết quả cache theo zone id + checksum geometry + version raster: sửa zone mà không đổi polygon
+ * (status, severity, ...) không tính lại.
+ */
+@Component
+@Slf4j
+public class DisasterPopulationExposure {
+
+    private final PopulationRaster raster;
+    private final ProvinceGeometryRegistry provinceRegistry;
+    private final DisasterZoneGeometryCompiler geometryCompiler;
+    private final Cache<Long, Exposure> cache;
+
+    public DisasterPopulationExposure(PopulationRaster raster,
+                                      ProvinceGeometryRegistry provinceRegistry,
+                                      DisasterZoneGeometryCompiler geometryCompiler,
+                                      @Value("${population.exposure.cache-size:20000}") long cacheSize) {
+        this.raster = raster;
+        this.provinceRegistry = provinceRegistry;
+        this.geometryCompiler = geometryCompiler;
+        this.cache = Caffeine.newBuilder().maximumSize(cacheSize).build();
+    }
+
+    /**
+     * Gọi sau ProvinceSpatialJoin.assign (cần danh sách tỉnh đã join).
+     * Không có raster thì giữ nguyên giá trị cũ của zone.
+     */
+    public void assign(DisasterZone zone) {
+        if (!raster.isLoaded()) {
+            return;
+        }
+        Optional<PackedGeometry> geometry = geometryCompiler.geometryOf(zone);
+        if (geometry.isEmpty()) {
+            zone.setExposedPopulation(null);
+            zone.getProvinceOverlaps().forEach(overlap -> overlap.setExposedPopulation(null));
+            return;
+        }
+
+        long checksum = checksumOf(zone);
+        Exposure cached = zone.getId() == null ? null : cache.getIfPresent(zone.getId());
+        Exposure exposure = cached;
+        if (cached == null || !cached.matches(checksum, raster.getVersion(), zone)) {
+            exposure = compute(geometry.get(), zone, checksum);
+            if (zone.getId() != null) {
+                cache.put(zone.getId(), exposure);
+            }
+        }
+
+        zone.setExposedPopulation(exposure.total);
+        for (ProvinceOverlap overlap : zone.getProvinceOverlaps()) {
+            overlap.setExposedPopulation(exposure.byProvince.get(overlap.getProvinceCode()));
+        }
+    }
+
+    private Exposure compute(PackedGeometry geometry, DisasterZone zone, long checksum) {
+        RowSpans zoneSpans = raster.rasterize(geometry);
+        long total = raster.sum(zoneSpans);
+        Map<String, Long> byProvince = new HashMap<>();
+        for (ProvinceOverlap overlap : zone.getProvinceOverlaps()) {
+            String code = overlap.getProvinceCode();
+            long people = zoneSpans.isEmpty() ? 0 : provinceRegistry.findByCode(code)
+                .map(province -> raster.rasterize(province.geometryFor(GeometryView.FULL), geometry.getBbox()))
+                .map(provinceSpans -> raster.sum(zoneSpans.intersect(provinceSpans)))
+                .orElse(0L);
+            byProvince.put(code, people);
+        }
+        return new Exposure(checksum, raster.getVersion(), total, byProvince);
+    }
+
+    /**
+     * Polygon đã compile là nguồn duy nhất của kết quả
+     */
+    private static long checksumOf(DisasterZone zone) {
+        byte[] data = zone.getGeometryData();
+        if (data == null) {
+            return Objects.hashCode(zone.getPolygonCoordinates());
+        }
+        CRC32C crc = new CRC32C();
+        crc.update(data);
+        return ((long) data.length << 32) | crc.getValue();
+    }
+
+    private record Exposure(long checksum, String rasterVersion, long total, Map<String, Long> byProvince) {
+        /**
+         * Cùng polygon, cùng raster và đủ các tỉnh của join hiện tại
+         */
+        boolean matches(long checksum, String rasterVersion, DisasterZone zone) {
+            return this.checksum == checksum && this.rasterVersion.equals(rasterVersion)
+                && zone.getProvinceOverlaps().stream().allMatch(overlap -> byProvince.containsKey(overlap.getProvinceCode()));
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.urbanmonitor.domain.citizen.disasterMonitor.converter;
+
+import com.urbanmonitor.domain.citizen.disasterMonitor.builder.GeoJsonFeatureBuilder;
+import com.urbanmonitor.domain.citizen.disasterMonitor.view.DisasterZoneSpatialIndex;
+import com.urbanmonitor.domain.citizen.disasterMonitor.view.ProvinceDisasterSummary;
+import com.urbanmonitor.shared.geo.BoundingBox;
+import com.urbanmonitor.shared.geo.GeometryView;
+import com.urbanmonitor.shared.geo.PackedGeometry;
+import com.urbanmonitor.shared.geo.tile.MvtLayerBuilder;
+import com.urbanmonitor.shared.geo.tile.MvtTile;
+import com.urbanmonitor.shared.geo.tile.TileCoordinates;
+import com.urbanmonitor.shared.province.ProvinceGeometry;
+import com.urbanmonitor.shared.province.ProvinceGeometryRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * SINGLE RESPONSIBILITY: render một Mapbox Vector Tile gồm 2 layers:
+ *  - "provinces": ranh giới tỉnh (level LOD tính sẵn) + disaster info giống /dashboard
+ *  - "disasters": polygon các zone đang active từ spatial index, properties giống /geojson
+ *
+ * Không query DB: zones lấy từ DisasterZoneSpatialIndex, tỉnh từ ProvinceGeometryRegistry.
+ */
+@Component
+@RequiredArgsConstructor
+public class DisasterTileRenderer {
+
+    public static final String PROVINCE_LAYER = "provinces";
+    public static final String ZONE_LAYER = "disasters";
+
+    /** Buffer quanh tile (đơn vị tile) để nét viền không bị đứt ở mép */
+    private static final double BUFFER = 64.0 / MvtLayerBuilder.DEFAULT_EXTENT;
+
+    private final DisasterZoneSpatialIndex spatialIndex;
+    private final ProvinceGeometryRegistry provinceRegistry;
+    private final MergedProvinceGeoJsonConverter mergedConverter;
+
+    public byte[] render(TileCoordinates tile, Map<Integer, ProvinceDisasterSummary> summaries) {
+        BoundingBox bounds = tile.bounds(BUFFER);
+        GeometryView view = GeometryView.of(tile.getZ(), bounds);
+
+        MvtLayerBuilder provinces = new MvtLayerBuilder(PROVINCE_LAYER, tile);
+        for (ProvinceGeometry province : provinceRegistry.getAll()) {
+            PackedGeometry geometry = province.geometryFor(view);
+            if (geometry != null) {
+                provinces.addPolygon((long) province.getId(), geometry,
+                    mergedConverter.propertiesOf(province, summaries.get(province.getId())));
+            }
+        }
+
+        MvtLayerBuilder zones = new MvtLayerBuilder(ZONE_LAYER, tile);
+        spatialIndex.forEachCandidate(bounds, (zone, geometry) -> {
+            PackedGeometry clipped = view.apply(geometry);
+            if (clipped != null) {
+                zones.addPolygon(zone.getId(), clipped,
+                    GeoJsonFeatureBuilder.create().withDisasterZoneData(zone).buildProperties());
+            }
+        });
+
+        return MvtTile.encode(provinces, zones);
+    }
+}
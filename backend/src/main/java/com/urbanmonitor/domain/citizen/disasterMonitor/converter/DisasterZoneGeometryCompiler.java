@@ -0,0 +1,131 @@
+package com.urbanmonitor.domain.citizen.disasterMonitor.converter;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.urbanmonitor.domain.citizen.disasterMonitor.entity.DisasterZone;
+import com.urbanmonitor.shared.geo.BoundingBox;
+import com.urbanmonitor.shared.geo.GeoJsonCoordinateReader;
+import com.urbanmonitor.shared.geo.GeodesicArea;
+import com.urbanmonitor.shared.geo.GeometryCodec;
+import com.urbanmonitor.shared.geo.GeometryNormalizer;
+import com.urbanmonitor.shared.geo.PackedGeometry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.Optional;
+
+/**
+ * SINGLE RESPONSIBILITY: compile polygonCoordinates (JSON text) thành geometry đã validate
+ * lúc ghi, lưu vào các cột geometryData / bbox / centroid / area của DisasterZone.
+ * Diện tích là diện tích geodesic trên ellipsoid WGS84 (GeodesicArea).
+ *
+ * Chấp nhận ring, Polygon coordinates, MultiPolygon coordinates hoặc GeoJSON geometry object.
+ * Phía đọc (PolygonGeoJsonConverter) chỉ việc decode bytes, không parse JSON lại.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class DisasterZoneGeometryCompiler {
+
+    private final ObjectMapper objectMapper;
+
+    /**
+     * @throws IllegalArgumentException nếu polygonCoordinates không hợp lệ
+     */
+    public void compile(DisasterZone zone) {
+        String json = zone.getPolygonCoordinates();
+        if (json == null || json.isBlank()) {
+            clear(zone);
+            return;
+        }
+
+        PackedGeometry geometry;
+        try {
+            geometry = GeometryNormalizer.normalize(read(json));
+        } catch (IllegalArgumentException | IOException e) {
+            throw new IllegalArgumentException(
+                "Invalid polygon coordinates for disaster zone '" + zone.getName() + "': " + e.getMessage(), e);
+        }
+
+        BoundingBox bbox = geometry.getBbox();
+        zone.setGeometryData(GeometryCodec.encode(geometry));
+        zone.setBboxMinLng(bbox.getMinLng());
+        zone.setBboxMinLat(bbox.getMinLat());
+        zone.setBboxMaxLng(bbox.getMaxLng());
+        zone.setBboxMaxLat(bbox.getMaxLat());
+        zone.setCentroidLongitude(geometry.getCentroidLng());
+        zone.setCentroidLatitude(geometry.getCentroidLat());
+        double areaKm2 = GeodesicArea.areaKm2(geometry);
+        zone.setGeometryAreaKm2(areaKm2);
+        // Diện tích ảnh hưởng suy ra từ polygon, không tin giá trị client gửi lên
+        zone.setAffectedAreaKm2(Math.round(areaKm2 * 100) / 100.0);
+
+        if (zone.getCenterLongitude() == null || zone.getCenterLatitude() == null) {
+            zone.setCenterLongitude(geometry.getCentroidLng());
+            zone.setCenterLatitude(geometry.getCentroidLat());
+        }
+    }
+
+    /**
+     * Geometry đã compile của zone, empty với dữ liệu cũ chưa compile
+     */
+    public static Optional<PackedGeometry> compiledGeometry(DisasterZone zone) {
+        byte[] data = zone.getGeometryData();
+        return data == null ? Optional.empty() : Optional.of(GeometryCodec.decode(data));
+    }
+
+    /**
+     * Geometry dùng cho index / spatial query: bytes đã compile, hoặc với dữ liệu cũ thì
+     * parse + normalize tại chỗ (không ghi lại DB). Empty nếu zone không có polygon hợp lệ.
+     */
+    public Optional<PackedGeometry> geometryOf(DisasterZone zone) {
+        if (zone.getGeometryData() != null) {
+            return compiledGeometry(zone);
+        }
+        String json = zone.getPolygonCoordinates();
+        if (json == null || json.isBlank()) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(GeometryNormalizer.normalize(read(json)));
+        } catch (IllegalArgumentException | IOException e) {
+            log.warn("Skipping invalid polygon of disaster zone {}: {}", zone.getId(), e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Bbox từ các cột đã lưu, null nếu zone chưa compile
+     */
+    public static BoundingBox compiledBbox(DisasterZone zone) {
+        if (zone.getBboxMinLng() == null || zone.getBboxMinLat() == null
+                || zone.getBboxMaxLng() == null || zone.getBboxMaxLat() == null) {
+            return null;
+        }
+        return new BoundingBox(zone.getBboxMinLng(), zone.getBboxMinLat(), zone.getBboxMaxLng(), zone.getBboxMaxLat());
+    }
+
+    private double[][][] read(String json) throws IOException {
+        try (JsonParser parser = objectMapper.getFactory().createParser(json)) {
+            JsonToken token = parser.nextToken();
+            if (token == JsonToken.START_OBJECT) {
+                return GeoJsonCoordinateReader.readGeometryObject(parser);
+            }
+            return GeoJsonCoordinateReader.readPolygons(parser);
+        }
+    }
+
+    private void clear(DisasterZone zone) {
+        zone.setGeometryData(null);
+        zone.setBboxMinLng(null);
+        zone.setBboxMinLat(null);
+        zone.setBboxMaxLng(null);
+        zone.setBboxMaxLat(null);
+        zone.setCentroidLongitude(null);
+        zone.setCentroidLatitude(null);
+        zone.setGeometryAreaKm2(null);
+    }
+}
@@ -0,0 +1,129 @@
+package com.urbanmonitor.domain.citizen.disasterMonitor.converter;
+
+import com.urbanmonitor.domain.citizen.disasterMonitor.entity.DisasterZone;
+import com.urbanmonitor.domain.citizen.disasterMonitor.entity.DisasterZone.DisasterType;
+import com.urbanmonitor.domain.citizen.disasterMonitor.entity.DisasterZone.SeverityLevel;
+import com.urbanmonitor.domain.citizen.disasterMonitor.entity.DisasterZone.ZoneStatus;
+import com.urbanmonitor.domain.citizen.disasterMonitor.entity.ProvinceOverlap;
+import com.urbanmonitor.shared.journal.JournalCodec;
+import org.springframework.stereotype.Component;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.urbanmonitor.shared.journal.JournalCodecs.*;
+
+/**
+ * Binary encoding của DisasterZone trong event journal: đủ mọi field (kể cả geometry đã compile
+ * và spatial join tỉnh) để views dựng lại từ journal giống hệt khi load từ DB.
+ */
+@Component
+public class DisasterZoneJournalCodec implements JournalCodec<DisasterZone> {
+
+    private static final int VERSION = 2;
+
+    @Override
+    public void write(DisasterZone zone, DataOutput out) throws IOException {
+        out.writeByte(VERSION);
+        writeLong(out, zone.getId());
+        writeEnum(out, zone.getDisasterType());
+        writeString(out, zone.getName());
+        writeString(out, zone.getDescription());
+        writeString(out, zone.getRegion());
+        writeEnum(out, zone.getSeverity());
+        writeEnum(out, zone.getStatus());
+        writeDouble(out, zone.getCenterLongitude());
+        writeDouble(out, zone.getCenterLatitude());
+        writeString(out, zone.getPolygonCoordinates());
+        writeBytes(out, zone.getGeometryData());
+        writeDouble(out, zone.getBboxMinLng());
+        writeDouble(out, zone.getBboxMinLat());
+        writeDouble(out, zone.getBboxMaxLng());
+        writeDouble(out, zone.getBboxMaxLat());
+        writeDouble(out, zone.getCentroidLongitude());
+        writeDouble(out, zone.getCentroidLatitude());
+        writeDouble(out, zone.getGeometryAreaKm2());
+
+        List<ProvinceOverlap> overlaps = zone.getProvinceOverlaps() == null ? List.of() : zone.getProvinceOverlaps();
+        out.writeInt(overlaps.size());
+        for (ProvinceOverlap overlap : overlaps) {
+            writeString(out, overlap.getProvinceCode());
+            writeDouble(out, overlap.getOverlapFraction());
+            writeDouble(out, overlap.getOverlapAreaKm2());
+            writeLong(out, overlap.getExposedPopulation());
+        }
+
+        writeDouble(out, zone.getAffectedAreaKm2());
+        writeLong(out, zone.getAffectedPopulation());
+        writeLong(out, zone.getExposedPopulation());
+        writeDouble(out, zone.getMeasurementValue());
+        writeString(out, zone.getMeasurementUnit());
+        writeString(out, zone.getAlertMessage());
+        writeString(out, zone.getEvacuationInfo());
+        writeString(out, zone.getContactHotline());
+        writeTime(out, zone.getStartedAt());
+        writeTime(out, zone.getExpectedEndAt());
+        writeTime(out, zone.getEndedAt());
+        writeTime(out, zone.getCreatedAt());
+        writeTime(out, zone.getUpdatedAt());
+    }
+
+    @Override
+    public DisasterZone read(DataInput in) throws IOException {
+        int version = in.readUnsignedByte();
+        // v1: chưa có exposed population
+        if (version < 1 || version > VERSION) {
+            throw new IOException("Unsupported disaster zone journal version " + version);
+        }
+        DisasterZone zone = new DisasterZone();
+        zone.setId(readLong(in));
+        zone.setDisasterType(readEnum(in, DisasterType.class));
+        zone.setName(readString(in));
+        zone.setDescription(readString(in));
+        zone.setRegion(readString(in));
+        zone.setSeverity(readEnum(in, SeverityLevel.class));
+        zone.setStatus(readEnum(in, ZoneStatus.class));
+        zone.setCenterLongitude(readDouble(in));
+        zone.setCenterLatitude(readDouble(in));
+        zone.setPolygonCoordinates(readString(in));
+        zone.setGeometryData(readBytes(in));
+        zone.setBboxMinLng(readDouble(in));
+        zone.setBboxMinLat(readDouble(in));
+        zone.setBboxMaxLng(readDouble(in));
+        zone.setBboxMaxLat(readDouble(in));
+        zone.setCentroidLongitude(readDouble(in));
+        zone.setCentroidLatitude(readDouble(in));
+        zone.setGeometryAreaKm2(readDouble(in));
+
+        int overlapCount = in.readInt();
+        List<ProvinceOverlap> overlaps = new ArrayList<>(overlapCount);
+        for (int i = 0; i < overlapCount; i++) {
+            ProvinceOverlap overlap = new ProvinceOverlap(readString(in), readDouble(in), readDouble(in));
+            if (version >= 2) {
+                overlap.setExposedPopulation(readLong(in));
+            }
+            overlaps.add(overlap);
+        }
+        zone.setProvinceOverlaps(overlaps);
+
+        zone.setAffectedAreaKm2(readDouble(in));
+        zone.setAffectedPopulation(readLong(in));
+        if (version >= 2) {
+            zone.setExposedPopulation(readLong(in));
+        }
+        zone.setMeasurementValue(readDouble(in));
+        zone.setMeasurementUnit(readString(in));
+        zone.setAlertMessage(readString(in));
+        zone.setEvacuationInfo(readString(in));
+        zone.setContactHotline(readString(in));
+        zone.setStartedAt(readTime(in));
+        zone.setExpectedEndAt(readTime(in));
+        zone.setEndedAt(readTime(in));
+        zone.setCreatedAt(readTime(in));
+        zone.setUpdatedAt(readTime(in));
+        return zone;
+    }
+}
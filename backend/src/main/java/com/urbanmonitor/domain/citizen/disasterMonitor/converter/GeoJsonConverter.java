@@ -1,6 +1,7 @@
 package com.urbanmonitor.domain.citizen.disasterMonitor.converter;
 
 import com.urbanmonitor.domain.citizen.disasterMonitor.entity.DisasterZone;
+import com.urbanmonitor.shared.geo.GeometryView;
 
 import java.util.List;
 import java.util.Map;
@@ -17,4 +18,11 @@ public interface GeoJsonConverter {
      * Convert list of disaster zones to GeoJSON FeatureCollection
      */
     Map<String, Object> convert(List<DisasterZone> zones);
+    
+    /**
+     * Convert với level of detail / bbox clip; mặc định bỏ qua view
+     */
+    default Map<String, Object> convert(List<DisasterZone> zones, GeometryView view) {
+        return convert(zones);
+    }
 }
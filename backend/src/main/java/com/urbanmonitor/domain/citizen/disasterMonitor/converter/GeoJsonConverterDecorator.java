@@ -1,6 +1,7 @@
 package com.urbanmonitor.domain.citizen.disasterMonitor.converter;
 
 import com.urbanmonitor.domain.citizen.disasterMonitor.entity.DisasterZone;
+import com.urbanmonitor.shared.geo.GeometryView;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -22,4 +23,9 @@ public abstract class GeoJsonConverterDecorator implements GeoJsonConverter {
     public Map<String, Object> convert(List<DisasterZone> zones) {
         return delegate.convert(zones);
     }
+    
+    @Override
+    public Map<String, Object> convert(List<DisasterZone> zones, GeometryView view) {
+        return delegate.convert(zones, view);
+    }
 }
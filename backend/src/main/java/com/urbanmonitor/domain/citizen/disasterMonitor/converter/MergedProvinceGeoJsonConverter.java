@@ -1,77 +1,203 @@
 package com.urbanmonitor.domain.citizen.disasterMonitor.converter;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.util.RawValue;
 import com.urbanmonitor.domain.citizen.disasterMonitor.builder.GeoJsonCollectionBuilder;
 import com.urbanmonitor.domain.citizen.disasterMonitor.builder.GeoJsonFeatureBuilder;
 import com.urbanmonitor.domain.citizen.disasterMonitor.config.DisasterColorConfig;
-import com.urbanmonitor.domain.citizen.disasterMonitor.config.ProvinceGeoJsonLoader;
 import com.urbanmonitor.domain.citizen.disasterMonitor.entity.DisasterZone;
+import com.urbanmonitor.domain.citizen.disasterMonitor.entity.ProvinceOverlap;
+import com.urbanmonitor.domain.citizen.disasterMonitor.view.ProvinceDisasterSummary;
+import com.urbanmonitor.domain.citizen.disasterMonitor.view.ProvinceExposure;
+import com.urbanmonitor.shared.geo.GeometryView;
+import com.urbanmonitor.shared.geo.PackedGeometry;
+import com.urbanmonitor.shared.geo.PackedGeometrySerializer;
+import com.urbanmonitor.shared.province.ProvinceGeometry;
+import com.urbanmonitor.shared.province.ProvinceGeometryRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
+import java.io.IOException;
 import java.util.*;
 
 /**
  * SINGLE RESPONSIBILITY: Merge disaster data with province GeoJSON boundaries
  * - Builder Pattern: GeoJsonFeatureBuilder, GeoJsonCollectionBuilder
  * - Dependency Injection: Các helper classes
+ * - Geometry lấy từ ProvinceGeometryRegistry dùng chung, bytes đã encode sẵn (RawValue)
+ * - Streaming mode: {@link #writeTo} chỉ ghi properties theo request, geometry splice bằng writeRawValue
+ * - Nhận summaries tính sẵn (province id → primary disaster) từ DisasterDashboardView
+ * - Zone → tỉnh theo spatial join lưu sẵn trên zone (ProvinceSpatialJoin), không so khớp tên
+ * - Level of detail: chọn level tính sẵn theo GeometryView, chỉ tỉnh cắt biên bbox mới phải clip + serialize lại
  */
 @Component
 @RequiredArgsConstructor
 @Slf4j
 public class MergedProvinceGeoJsonConverter implements GeoJsonConverter {
     
-    private final ProvinceGeoJsonLoader provinceLoader;
-    private final ProvinceNameExtractor nameExtractor;
+    private final ProvinceGeometryRegistry provinceRegistry;
     private final DisasterMatcher disasterMatcher;
+    private final ProvinceSpatialJoin provinceJoin;
     private final DisasterColorConfig colorConfig;
     
     @Override
     public Map<String, Object> convert(List<DisasterZone> disasters) {
-        if (!provinceLoader.isLoaded()) {
+        return convert(disasters, GeometryView.FULL);
+    }
+    
+    @Override
+    public Map<String, Object> convert(List<DisasterZone> disasters, GeometryView view) {
+        log.debug("Processing {} provinces with {} disasters", provinceRegistry.size(), disasters.size());
+        return convertSummaries(summarize(disasters), view);
+    }
+    
+    /**
+     * Build FeatureCollection từ summaries đã tính sẵn, không phải match lại
+     */
+    public Map<String, Object> convertSummaries(Map<Integer, ProvinceDisasterSummary> summaries, GeometryView view) {
+        if (!provinceRegistry.isLoaded()) {
             log.error("Province GeoJSON data not loaded");
             return GeoJsonCollectionBuilder.empty();
         }
         
-        List<Map<String, Object>> features = provinceLoader.getFeatures();
         GeoJsonCollectionBuilder collectionBuilder = GeoJsonCollectionBuilder.create();
-        
-        log.debug("Processing {} provinces with {} disasters", features.size(), disasters.size());
-        
-        for (Map<String, Object> feature : features) {
-            Map<String, Object> mergedFeature = processFeature(feature, disasters);
+        for (ProvinceGeometry province : provinceRegistry.getAll()) {
+            Object geometry = geometryValue(province, view);
+            if (geometry == null) {
+                continue; // ngoài bbox
+            }
+            Map<String, Object> mergedFeature = mergeDisasterInfo(province, summaries.get(province.getId()),
+                GeoJsonFeatureBuilder.create()
+                    .withGeometry(geometry)
+                    .withProperties(province.getProperties()))
+                .build();
             collectionBuilder.addFeature(mergedFeature);
         }
         
         return collectionBuilder.build();
     }
     
-    @SuppressWarnings("unchecked")
-    private Map<String, Object> processFeature(Map<String, Object> feature, List<DisasterZone> disasters) {
-        Map<String, Object> properties = (Map<String, Object>) feature.get("properties");
-        Map<String, Object> geometry = (Map<String, Object>) feature.get("geometry");
-        String provinceName = nameExtractor.extract(properties);
-        
-        // Find matching disasters
-        List<DisasterZone> matchingDisasters = disasterMatcher.findMatchingDisasters(provinceName, disasters);
+    /**
+     * Streaming mode: ghi FeatureCollection thẳng ra generator.
+     * Không copy properties của tỉnh, không serialize lại toạ độ.
+     */
+    public void writeTo(List<DisasterZone> disasters, GeometryView view, JsonGenerator gen) throws IOException {
+        writeTo(summarize(disasters), view, gen);
+    }
+    
+    public void writeTo(Map<Integer, ProvinceDisasterSummary> summaries, GeometryView view, JsonGenerator gen) throws IOException {
+        gen.writeStartObject();
+        gen.writeStringField("type", "FeatureCollection");
+        gen.writeArrayFieldStart("features");
         
-        GeoJsonFeatureBuilder featureBuilder = GeoJsonFeatureBuilder.create()
-            .withExistingGeometry(geometry)
-            .withProperties(new HashMap<>(properties));
+        if (!provinceRegistry.isLoaded()) {
+            log.error("Province GeoJSON data not loaded");
+        } else {
+            for (ProvinceGeometry province : provinceRegistry.getAll()) {
+                writeFeature(province, summaries.get(province.getId()), view, gen);
+            }
+        }
         
-        if (!matchingDisasters.isEmpty()) {
-            // Has disasters - get most severe
+        gen.writeEndArray();
+        gen.writeEndObject();
+    }
+    
+    /**
+     * Gom disasters theo tỉnh (spatial join tính sẵn, hash lookup), giữ thiên tai nghiêm trọng nhất
+     */
+    public Map<Integer, ProvinceDisasterSummary> summarize(List<DisasterZone> disasters) {
+        Map<Integer, ProvinceDisasterSummary> summaries = new HashMap<>();
+        if (disasters.isEmpty()) {
+            return summaries;
+        }
+        Map<Integer, List<DisasterZone>> byProvince = new HashMap<>();
+        Map<Integer, ProvinceExposure> exposures = new HashMap<>();
+        for (DisasterZone disaster : disasters) {
+            for (Map.Entry<Integer, ProvinceOverlap> overlap : provinceJoin.overlapsByProvince(disaster).entrySet()) {
+                byProvince.computeIfAbsent(overlap.getKey(), k -> new ArrayList<>()).add(disaster);
+                exposures.computeIfAbsent(overlap.getKey(), k -> new ProvinceExposure()).add(disaster, overlap.getValue());
+            }
+        }
+        for (Map.Entry<Integer, List<DisasterZone>> entry : byProvince.entrySet()) {
+            List<DisasterZone> matchingDisasters = entry.getValue();
             DisasterZone primaryDisaster = disasterMatcher.findMostSevere(matchingDisasters)
                 .orElse(matchingDisasters.get(0));
-            
+            summaries.put(entry.getKey(),
+                exposures.get(entry.getKey()).summarize(primaryDisaster, matchingDisasters.size()));
+        }
+        return summaries;
+    }
+    
+    /**
+     * Properties của feature tỉnh (static props + disaster info), dùng cho vector tiles
+     */
+    public Map<String, Object> propertiesOf(ProvinceGeometry province, ProvinceDisasterSummary summary) {
+        Map<String, Object> properties = new LinkedHashMap<>(province.getProperties());
+        properties.putAll(mergeDisasterInfo(province, summary, GeoJsonFeatureBuilder.create()).buildProperties());
+        return properties;
+    }
+    
+    /**
+     * Bytes encode sẵn nếu dùng được, ngược lại geometry đã clip; null nếu ngoài bbox
+     */
+    private Object geometryValue(ProvinceGeometry province, GeometryView view) {
+        SerializedString encoded = province.encodedGeometryFor(view);
+        return encoded != null ? new RawValue(encoded) : province.geometryFor(view);
+    }
+    
+    private void writeFeature(ProvinceGeometry province, ProvinceDisasterSummary summary, GeometryView view,
+                              JsonGenerator gen) throws IOException {
+        SerializedString encoded = province.encodedGeometryFor(view);
+        PackedGeometry clipped = encoded == null ? province.geometryFor(view) : null;
+        if (encoded == null && clipped == null) {
+            return; // ngoài bbox
+        }
+        
+        Map<String, Object> dynamicProps = mergeDisasterInfo(province, summary, GeoJsonFeatureBuilder.create())
+            .buildProperties();
+        
+        gen.writeStartObject();
+        gen.writeStringField("type", "Feature");
+        gen.writeFieldName("geometry");
+        if (encoded != null) {
+            gen.writeRawValue(encoded);
+        } else {
+            PackedGeometrySerializer.writeGeometry(clipped, gen);
+        }
+        
+        gen.writeObjectFieldStart("properties");
+        // Static props của tỉnh, trừ key bị disaster info ghi đè (vd: id, name)
+        for (Map.Entry<String, Object> entry : province.getProperties().entrySet()) {
+            if (!dynamicProps.containsKey(entry.getKey())) {
+                gen.writeObjectField(entry.getKey(), entry.getValue());
+            }
+        }
+        for (Map.Entry<String, Object> entry : dynamicProps.entrySet()) {
+            gen.writeObjectField(entry.getKey(), entry.getValue());
+        }
+        gen.writeEndObject();
+        
+        gen.writeEndObject();
+    }
+    
+    private GeoJsonFeatureBuilder mergeDisasterInfo(ProvinceGeometry province, ProvinceDisasterSummary summary,
+                                                    GeoJsonFeatureBuilder featureBuilder) {
+        String provinceName = province.getName();
+        
+        if (summary != null) {
+            // Has disasters - primary is the most severe
+            DisasterZone primaryDisaster = summary.getPrimary();
             String color = colorConfig.getColor(primaryDisaster.getDisasterType());
-            featureBuilder.withProvinceDisasterInfo(primaryDisaster, provinceName, matchingDisasters.size(), color);
+            featureBuilder.withProvinceDisasterInfo(primaryDisaster, provinceName, summary.getDisasterCount(), color)
+                .withProvinceExposure(summary.getAffectedAreaKm2(), summary.getAffectedPopulation());
             
         } else {
             // No disasters
             featureBuilder.withNoDisaster(provinceName);
         }
         
-        return featureBuilder.build();
+        return featureBuilder;
     }
 }
@@ -1,18 +1,27 @@
 package com.urbanmonitor.domain.citizen.disasterMonitor.converter;
 
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.urbanmonitor.domain.citizen.disasterMonitor.builder.GeoJsonCollectionBuilder;
 import com.urbanmonitor.domain.citizen.disasterMonitor.builder.GeoJsonFeatureBuilder;
 import com.urbanmonitor.domain.citizen.disasterMonitor.entity.DisasterZone;
+import com.urbanmonitor.shared.geo.BoundingBox;
+import com.urbanmonitor.shared.geo.EncodedGeometry;
+import com.urbanmonitor.shared.geo.GeometryView;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
+import java.io.IOException;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 /**
  * SINGLE RESPONSIBILITY: Convert disaster zones to polygon GeoJSON
  * Sử dụng Builder Pattern để tạo GeoJSON objects.
+ * Level of detail: simplify (Visvalingam-Whyatt) + clip theo GeometryView của request.
+ * Zone đã compile lúc ghi: full resolution thì stream thẳng từ bytes, bbox lưu sẵn dùng để
+ * bỏ qua zone ngoài viewport trước khi decode. Zone cũ chưa compile fallback về parse JSON.
  */
 @Component
 @RequiredArgsConstructor
@@ -23,22 +32,63 @@ public class PolygonGeoJsonConverter implements GeoJsonConverter {
     
     @Override
     public Map<String, Object> convert(List<DisasterZone> zones) {
+        return convert(zones, GeometryView.FULL);
+    }
+    
+    @Override
+    public Map<String, Object> convert(List<DisasterZone> zones, GeometryView view) {
         GeoJsonCollectionBuilder collectionBuilder = GeoJsonCollectionBuilder.create();
         
         for (DisasterZone zone : zones) {
-            convertZone(zone).ifPresent(collectionBuilder::addFeature);
+            convertZone(zone, view).ifPresent(collectionBuilder::addFeature);
         }
         
         return collectionBuilder.build();
     }
     
-    private java.util.Optional<Map<String, Object>> convertZone(DisasterZone zone) {
-        return coordinateParser.parsePolygonCoordinates(zone.getPolygonCoordinates())
-            .map(coordinates -> 
+    /**
+     * Streaming mode: ghi từng Feature vào array đang mở của generator,
+     * geometry stream thẳng từ bytes đã compile (không build Map tree)
+     */
+    public void writeFeatures(List<DisasterZone> zones, GeometryView view, JsonGenerator gen) throws IOException {
+        for (DisasterZone zone : zones) {
+            Optional<Object> geometry = geometryOf(zone, view);
+            if (geometry.isEmpty()) {
+                continue;
+            }
+            gen.writeStartObject();
+            gen.writeStringField("type", "Feature");
+            gen.writeObjectField("geometry", geometry.get());
+            gen.writeObjectField("properties", GeoJsonFeatureBuilder.create()
+                .withDisasterZoneData(zone)
+                .buildProperties());
+            gen.writeEndObject();
+        }
+    }
+    
+    private Optional<Map<String, Object>> convertZone(DisasterZone zone, GeometryView view) {
+        return geometryOf(zone, view)
+            .map(geometry -> 
                 GeoJsonFeatureBuilder.create()
-                    .withPolygonGeometry(coordinates)
+                    .withGeometry(geometry)
                     .withDisasterZoneData(zone)
                     .build()
             );
     }
+    
+    private Optional<Object> geometryOf(DisasterZone zone, GeometryView view) {
+        if (zone.getGeometryData() == null) {
+            return coordinateParser.parsePackedGeometry(zone.getPolygonCoordinates())
+                .map(view::apply);
+        }
+        
+        BoundingBox bbox = DisasterZoneGeometryCompiler.compiledBbox(zone);
+        if (bbox != null && !view.isVisible(bbox)) {
+            return Optional.empty();
+        }
+        if (bbox != null && view.isFullResolution() && !view.needsClipping(bbox)) {
+            return Optional.of(new EncodedGeometry(zone.getGeometryData()));
+        }
+        return Optional.ofNullable(view.apply(new EncodedGeometry(zone.getGeometryData()).decode()));
+    }
 }
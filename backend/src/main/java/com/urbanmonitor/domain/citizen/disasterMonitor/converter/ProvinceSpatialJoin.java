@@ -0,0 +1,119 @@
+package com.urbanmonitor.domain.citizen.disasterMonitor.converter;
+
+import com.urbanmonitor.domain.citizen.disasterMonitor.entity.DisasterZone;
+import com.urbanmonitor.domain.citizen.disasterMonitor.entity.ProvinceOverlap;
+import com.urbanmonitor.shared.geo.GeodesicArea;
+import com.urbanmonitor.shared.geo.PackedGeometry;
+import com.urbanmonitor.shared.province.ProvinceGeometry;
+import com.urbanmonitor.shared.province.ProvinceGeometryRegistry;
+import com.urbanmonitor.shared.province.ProvinceLocator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * SINGLE RESPONSIBILITY: gán disaster zone vào tỉnh bằng spatial join (polygon ∩ ranh giới tỉnh)
+ * thay vì so khớp tên region.
+ *
+ * - Lúc ghi: {@link #assign} tính overlap (diện tích giao geodesic) và lưu vào DisasterZone.provinceOverlaps
+ * - Lúc đọc: {@link #provinceIdsOf} chỉ lookup code → province (hash), không normalize chuỗi
+ * - Dữ liệu cũ chưa có overlaps: join tại chỗ; zone không có polygon lẫn tâm mới fallback về tên
+ */
+@Component
+@RequiredArgsConstructor
+public class ProvinceSpatialJoin {
+
+    private final ProvinceLocator provinceLocator;
+    private final ProvinceGeometryRegistry provinceRegistry;
+    private final DisasterZoneGeometryCompiler geometryCompiler;
+    private final DisasterMatcher disasterMatcher;
+
+    /**
+     * Gọi sau DisasterZoneGeometryCompiler.compile (cần geometry đã compile)
+     */
+    public void assign(DisasterZone zone) {
+        List<ProvinceOverlap> overlaps = computeOverlaps(zone).orElse(List.of());
+        if (zone.getProvinceOverlaps() == null) {
+            zone.setProvinceOverlaps(new ArrayList<>());
+        }
+        // Giữ nguyên instance collection để Hibernate diff được khi merge
+        zone.getProvinceOverlaps().clear();
+        zone.getProvinceOverlaps().addAll(overlaps);
+    }
+
+    /**
+     * Province ids (theo ProvinceGeometryRegistry) mà zone thuộc về
+     */
+    public int[] provinceIdsOf(DisasterZone zone) {
+        Map<Integer, ProvinceOverlap> overlaps = overlapsByProvince(zone);
+        return overlaps.keySet().stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    /**
+     * Province id → overlap (tỷ lệ + diện tích), theo thứ tự overlap giảm dần.
+     * Rỗng nếu zone nằm ngoài mọi tỉnh (biển, ...)
+     */
+    public Map<Integer, ProvinceOverlap> overlapsByProvince(DisasterZone zone) {
+        List<ProvinceOverlap> overlaps = zone.getProvinceOverlaps();
+        if (overlaps == null || overlaps.isEmpty()) {
+            Optional<List<ProvinceOverlap>> computed = computeOverlaps(zone);
+            if (computed.isEmpty()) {
+                return matchByName(zone);
+            }
+            overlaps = computed.get();
+        }
+
+        Map<Integer, ProvinceOverlap> result = new LinkedHashMap<>();
+        for (ProvinceOverlap overlap : overlaps) {
+            provinceRegistry.findByCode(overlap.getProvinceCode())
+                .ifPresent(province -> result.put(province.getId(), overlap));
+        }
+        return result;
+    }
+
+    /**
+     * Không có dữ liệu không gian dùng được: fallback về region name
+     */
+    private Map<Integer, ProvinceOverlap> matchByName(DisasterZone zone) {
+        Map<Integer, ProvinceOverlap> result = new LinkedHashMap<>();
+        for (int provinceId : disasterMatcher.provinceIdsOf(zone)) {
+            provinceRegistry.findById(provinceId).ifPresent(province ->
+                result.put(provinceId, new ProvinceOverlap(province.getCode(), 1.0, null)));
+        }
+        return result;
+    }
+
+    /**
+     * Polygon nếu có, không thì tâm zone. Empty nếu zone không có dữ liệu không gian nào.
+     */
+    private Optional<List<ProvinceOverlap>> computeOverlaps(DisasterZone zone) {
+        List<ProvinceOverlap> result = new ArrayList<>();
+        Optional<PackedGeometry> geometry = geometryCompiler.geometryOf(zone);
+        if (geometry.isPresent()) {
+            double zoneAreaKm2 = zone.getGeometryAreaKm2() != null
+                ? zone.getGeometryAreaKm2() : GeodesicArea.areaKm2(geometry.get());
+            for (Map.Entry<ProvinceGeometry, Double> entry : provinceLocator.overlapAreas(geometry.get()).entrySet()) {
+                double km2 = entry.getValue();
+                double fraction = zoneAreaKm2 > 0 ? Math.min(1.0, km2 / zoneAreaKm2) : 1.0;
+                result.add(new ProvinceOverlap(entry.getKey().getCode(), round(fraction), round(km2)));
+            }
+            return Optional.of(result);
+        }
+        if (zone.getCenterLongitude() != null && zone.getCenterLatitude() != null) {
+            provinceLocator.locate(zone.getCenterLongitude(), zone.getCenterLatitude())
+                .ifPresent(province -> result.add(
+                    new ProvinceOverlap(province.getCode(), 1.0, zone.getAffectedAreaKm2())));
+            return Optional.of(result);
+        }
+        return Optional.empty();
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 10000) / 10000.0;
+    }
+}
@@ -0,0 +1,50 @@
+package com.urbanmonitor.domain.citizen.disasterMonitor.dto;
+
+import com.urbanmonitor.domain.citizen.disasterMonitor.entity.DisasterZone.ZoneStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Body của PATCH /api/disaster/status: chọn zone theo ids HOẶC theo filter (cùng params với /query,
+ * cursor / limit bị bỏ qua)
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkStatusUpdateRequest {
+
+    private String status;
+    private List<Long> ids;
+    private DisasterZoneQuery filter;
+
+    public ZoneStatus zoneStatus() {
+        if (status == null || status.isBlank()) {
+            throw new IllegalArgumentException("status is required");
+        }
+        return ZoneStatus.valueOf(status.trim().toUpperCase());
+    }
+
+    public boolean hasIds() {
+        return ids != null && !ids.isEmpty();
+    }
+
+    /**
+     * @throws IllegalArgumentException nếu thiếu status, thiếu cả ids lẫn filter, hoặc filter rỗng
+     *                                  (tránh vô tình đổi status cả bảng)
+     */
+    public void validate() {
+        zoneStatus();
+        if (hasIds() == (filter != null)) {
+            throw new IllegalArgumentException("Exactly one of ids or filter is required");
+        }
+        if (filter != null) {
+            filter.validate();
+            if (!filter.hasCriteria()) {
+                throw new IllegalArgumentException("filter must have at least one criterion");
+            }
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.urbanmonitor.domain.citizen.disasterMonitor.dto;
+
+import com.urbanmonitor.domain.citizen.disasterMonitor.entity.DisasterZone;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Kết quả bulk status update: matched = số zone khớp ids / filter,
+ * zones = các zone thực sự đổi status (zone đã ở status đích thì bỏ qua)
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkStatusUpdateResult {
+    private String status;
+    private int matched;
+    private int updated;
+    private List<DisasterZone> zones;
+}
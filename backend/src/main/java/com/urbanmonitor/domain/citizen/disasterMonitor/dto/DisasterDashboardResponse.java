@@ -39,5 +39,6 @@ public class DisasterDashboardResponse {
         private int emergency; // Flood, Storm
         private int alert;     // Earthquake
         private int extreme;   // Heatwave
+        private long peopleAffected; // exposedPopulation (raster), không có thì affectedPopulation khai báo
     }
 }
@@ -0,0 +1,24 @@
+package com.urbanmonitor.domain.citizen.disasterMonitor.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Kết quả "điểm này đang nằm trong những disaster nào".
+ * disasters sắp theo severity giảm dần; province null nếu điểm nằm ngoài các tỉnh.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class DisasterLocationResult {
+    private double lat;
+    private double lng;
+    private String provinceCode;
+    private String provinceName;
+    private List<DisasterZoneHit> disasters;
+}
@@ -0,0 +1,36 @@
+package com.urbanmonitor.domain.citizen.disasterMonitor.dto;
+
+import com.urbanmonitor.domain.citizen.disasterMonitor.entity.DisasterZone;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO gọn cho kết quả spatial query (không kèm polygon).
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class DisasterZoneHit {
+    private Long id;
+    private String name;
+    private DisasterZone.DisasterType disasterType;
+    private DisasterZone.SeverityLevel severity;
+    private DisasterZone.ZoneStatus status;
+    private String region;
+    private String alertMessage;
+
+    public static DisasterZoneHit from(DisasterZone zone) {
+        return DisasterZoneHit.builder()
+            .id(zone.getId())
+            .name(zone.getName())
+            .disasterType(zone.getDisasterType())
+            .severity(zone.getSeverity())
+            .status(zone.getStatus())
+            .region(zone.getRegion())
+            .alertMessage(zone.getAlertMessage())
+            .build();
+    }
+}
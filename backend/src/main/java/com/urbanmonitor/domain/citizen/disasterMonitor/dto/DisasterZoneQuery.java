@@ -0,0 +1,92 @@
+package com.urbanmonitor.domain.citizen.disasterMonitor.dto;
+
+import com.urbanmonitor.domain.citizen.disasterMonitor.entity.DisasterZone.DisasterType;
+import com.urbanmonitor.domain.citizen.disasterMonitor.entity.DisasterZone.SeverityLevel;
+import com.urbanmonitor.domain.citizen.disasterMonitor.entity.DisasterZone.ZoneStatus;
+import com.urbanmonitor.shared.geo.BoundingBox;
+import lombok.Data;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDateTime;
+
+/**
+ * Query params cho GET /api/disaster/query. Tất cả đều optional.
+ *
+ * - bbox: minLng,minLat,maxLng,maxLat (dùng chung param với GeometryViewParams → vừa lọc vừa clip)
+ * - from / to: ISO date-time, lọc zone diễn ra trong khoảng
+ * - cursor: nextCursor của trang trước (keyset, id giảm dần)
+ */
+@Data
+public class DisasterZoneQuery {
+
+    public static final int DEFAULT_LIMIT = 100;
+    public static final int MAX_LIMIT = 1000;
+
+    // Enum params nhận cả chữ thường (flood, high, ...) giống các path variable khác
+    private String type;
+    private String status;
+    private String minSeverity;
+    private String region;
+    private Boolean active;
+    private String bbox;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime from;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime to;
+
+    private Long cursor;
+    private Integer limit;
+
+    public DisasterType disasterType() {
+        return type == null || type.isBlank() ? null : DisasterType.valueOf(type.trim().toUpperCase());
+    }
+
+    public ZoneStatus zoneStatus() {
+        return status == null || status.isBlank() ? null : ZoneStatus.valueOf(status.trim().toUpperCase());
+    }
+
+    public SeverityLevel minSeverityLevel() {
+        return minSeverity == null || minSeverity.isBlank() ? null : SeverityLevel.valueOf(minSeverity.trim().toUpperCase());
+    }
+
+    public BoundingBox boundingBox() {
+        return BoundingBox.parse(bbox);
+    }
+
+    /**
+     * Parse hết params một lần để lỗi được trả về trước khi response bắt đầu stream
+     *
+     * @throws IllegalArgumentException nếu có param không hợp lệ
+     */
+    public void validate() {
+        disasterType();
+        zoneStatus();
+        minSeverityLevel();
+        boundingBox();
+        effectiveLimit();
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new IllegalArgumentException("from must not be after to");
+        }
+    }
+
+    /**
+     * Có ít nhất một điều kiện lọc (không tính cursor / limit)
+     */
+    public boolean hasCriteria() {
+        return (type != null && !type.isBlank()) || (status != null && !status.isBlank())
+            || (minSeverity != null && !minSeverity.isBlank()) || (region != null && !region.isBlank())
+            || active != null || (bbox != null && !bbox.isBlank()) || from != null || to != null;
+    }
+
+    public int effectiveLimit() {
+        if (limit == null) {
+            return DEFAULT_LIMIT;
+        }
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_LIMIT + ": " + limit);
+        }
+        return limit;
+    }
+}
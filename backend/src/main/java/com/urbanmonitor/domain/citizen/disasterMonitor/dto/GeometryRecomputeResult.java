@@ -0,0 +1,24 @@
+package com.urbanmonitor.domain.citizen.disasterMonitor.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Kết quả recompute geometry hàng loạt (diện tích geodesic + overlap tỉnh).
+ * failedIds giới hạn số lượng, failed là tổng số thật.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class GeometryRecomputeResult {
+    private int processed;
+    private int updated;
+    private int failed;
+    private List<Long> failedIds;
+    private long durationMs;
+}
@@ -0,0 +1,16 @@
+package com.urbanmonitor.domain.citizen.disasterMonitor.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Một điểm trong batch lookup POST /api/disaster/at
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class PointQuery {
+    private Double lat;
+    private Double lng;
+}
@@ -0,0 +1,57 @@
+package com.urbanmonitor.domain.citizen.disasterMonitor.dto;
+
+import lombok.Data;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Query params cho GET /api/disaster/timeline.
+ *
+ * - from / to: ISO date-time, mặc định 24 giờ gần nhất
+ * - step: số giờ giữa hai frame (mặc định 1)
+ */
+@Data
+public class TimelineQuery {
+
+    public static final int DEFAULT_RANGE_HOURS = 24;
+    public static final int MAX_FRAMES = 24 * 31;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime from;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime to;
+
+    private Integer step;
+
+    public LocalDateTime effectiveTo() {
+        return to != null ? to : LocalDateTime.now();
+    }
+
+    public LocalDateTime effectiveFrom() {
+        return from != null ? from : effectiveTo().minusHours(DEFAULT_RANGE_HOURS);
+    }
+
+    public int effectiveStep() {
+        return step != null ? step : 1;
+    }
+
+    /**
+     * Kiểm tra trước khi response bắt đầu stream
+     */
+    public void validate() {
+        if (effectiveStep() < 1) {
+            throw new IllegalArgumentException("step must be at least 1 hour: " + step);
+        }
+        if (effectiveFrom().isAfter(effectiveTo())) {
+            throw new IllegalArgumentException("from must not be after to");
+        }
+        long frames = Duration.between(effectiveFrom(), effectiveTo()).toHours() / effectiveStep() + 1;
+        if (frames > MAX_FRAMES) {
+            throw new IllegalArgumentException(
+                "Too many frames: " + frames + " (max " + MAX_FRAMES + "), narrow the range or increase step");
+        }
+    }
+}
@@ -1,8 +1,14 @@
 package com.urbanmonitor.domain.citizen.disasterMonitor.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Fetch;
+import org.hibernate.annotations.FetchMode;
+
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Entity representing a disaster zone in the system.
@@ -41,8 +47,31 @@ public class DisasterZone {
     @Column(columnDefinition = "TEXT")
     private String polygonCoordinates;
 
+    // Compiled geometry - set khi save (DisasterZoneGeometryCompiler), null với dữ liệu cũ
+    @JsonIgnore
+    @Column(columnDefinition = "bytea")
+    private byte[] geometryData;
+
+    private Double bboxMinLng;
+    private Double bboxMinLat;
+    private Double bboxMaxLng;
+    private Double bboxMaxLat;
+    private Double centroidLongitude;
+    private Double centroidLatitude;
+    private Double geometryAreaKm2;
+
+    // Spatial join với ranh giới tỉnh - set khi save, rỗng với dữ liệu cũ
+    // SUBSELECT: load cả list zones chỉ tốn thêm 1 query cho collection
+    @ElementCollection(fetch = FetchType.EAGER)
+    @CollectionTable(name = "disaster_zone_provinces", joinColumns = @JoinColumn(name = "zone_id"))
+    @Fetch(FetchMode.SUBSELECT)
+    @Builder.Default
+    private List<ProvinceOverlap> provinceOverlaps = new ArrayList<>();
+
     private Double affectedAreaKm2;
     private Long affectedPopulation;
+    // Dân số trong polygon theo population raster (DisasterPopulationExposure), null nếu chưa tính được
+    private Long exposedPopulation;
     private Double measurementValue;
     private String measurementUnit;
     private String alertMessage;
@@ -0,0 +1,39 @@
+package com.urbanmonitor.domain.citizen.disasterMonitor.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Một dòng của spatial join zone × tỉnh: tỷ lệ và diện tích geodesic (km²) phần zone nằm trong tỉnh.
+ * Tính lúc ghi zone (ProvinceSpatialJoin), lưu ở bảng disaster_zone_provinces.
+ * exposedPopulation: số dân (raster) trong phần giao, tính bởi DisasterPopulationExposure.
+ */
+@Embeddable
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProvinceOverlap {
+
+    @Column(name = "province_code", nullable = false)
+    private String provinceCode;
+
+    @Column(name = "overlap_fraction", nullable = false)
+    private Double overlapFraction;
+
+    /** null với zone chỉ có tâm (không có polygon) hoặc dữ liệu join trước khi có cột này */
+    @Column(name = "overlap_area_km2")
+    private Double overlapAreaKm2;
+
+    /** null khi không có population raster hoặc zone không có polygon */
+    @Column(name = "exposed_population")
+    private Long exposedPopulation;
+
+    public ProvinceOverlap(String provinceCode, Double overlapFraction, Double overlapAreaKm2) {
+        this(provinceCode, overlapFraction, overlapAreaKm2, null);
+    }
+}
@@ -39,10 +39,24 @@ public class GeoJsonConverterFactory {
         return polygonConverter;
     }
     
+    /**
+     * Polygon converter với streaming mode (geometry stream từ bytes đã compile)
+     */
+    public PolygonGeoJsonConverter getStreamingPolygonConverter() {
+        return polygonConverter;
+    }
+    
     /**
      * Get merged province converter
      */
     public GeoJsonConverter getMergedConverter() {
         return mergedConverter;
     }
+    
+    /**
+     * Merged province converter với streaming mode (splice geometry bytes)
+     */
+    public MergedProvinceGeoJsonConverter getStreamingMergedConverter() {
+        return mergedConverter;
+    }
 }
@@ -49,4 +49,19 @@ public class DisasterZoneEvent {
         DisasterZone placeholder = DisasterZone.builder().id(id).build();
         return new DisasterZoneEvent(EventType.DELETED, placeholder, null, null);
     }
+
+    /**
+     * Gộp hai event liên tiếp của cùng một zone còn chờ trong buffer của observer:
+     * giữ zone mới nhất, CREATED vẫn là CREATED, chuỗi đổi status giữ status gốc
+     */
+    public static DisasterZoneEvent coalesce(DisasterZoneEvent older, DisasterZoneEvent newer) {
+        if (newer.type == EventType.DELETED) {
+            return newer;
+        }
+        return switch (older.type) {
+            case CREATED -> created(newer.zone);
+            case STATUS_CHANGED -> statusChanged(newer.zone, older.previousStatus, newer.zone.getStatus());
+            default -> newer;
+        };
+    }
 }
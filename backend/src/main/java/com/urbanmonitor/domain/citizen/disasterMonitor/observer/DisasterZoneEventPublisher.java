@@ -1,29 +1,48 @@
 package com.urbanmonitor.domain.citizen.disasterMonitor.observer;
 
+import com.urbanmonitor.shared.events.DomainEventBus;
+import com.urbanmonitor.shared.events.EventTopic;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
+import java.util.Arrays;
 import java.util.List;
-import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * OBSERVER PATTERN - Subject/Publisher
  * Quản lý và notify các observers khi có disaster zone events.
- * Thread-safe với CopyOnWriteArrayList.
+ *
+ * Dispatch qua {@link DomainEventBus}: event phát trong transaction chỉ tới observers sau commit,
+ * mỗi observer chạy trên thread riêng với buffer + backpressure riêng (events.observers.{Observer}.*).
+ * Coalesce gộp các event của cùng một zone.
  */
 @Component
 @Slf4j
 public class DisasterZoneEventPublisher {
-    
-    private final List<DisasterZoneObserver> observers = new CopyOnWriteArrayList<>();
+
+    private final EventTopic<DisasterZoneEvent> topic;
+
+    public DisasterZoneEventPublisher(DomainEventBus eventBus) {
+        this.topic = eventBus.topic("disaster-zones",
+            event -> event.getZone() != null ? event.getZone().getId() : null,
+            DisasterZoneEvent::coalesce);
+    }
     
     /**
      * Register an observer
      */
     public void subscribe(DisasterZoneObserver observer) {
-        if (observer != null && !observers.contains(observer)) {
-            observers.add(observer);
-            log.info("Observer subscribed: {}", observer.getClass().getSimpleName());
+        subscribe(observer, new DisasterZoneObserver[0]);
+    }
+
+    /**
+     * Register an observer chỉ nhận một event sau khi các observers {@code after} đã xử lý xong event đó
+     * (ví dụ cache đọc từ các view khác)
+     */
+    public void subscribe(DisasterZoneObserver observer, DisasterZoneObserver... after) {
+        if (observer != null) {
+            topic.subscribe(observer.getClass().getSimpleName(), observer,
+                events -> deliver(observer, events), Arrays.asList(after));
         }
     }
     
@@ -31,8 +50,9 @@ public class DisasterZoneEventPublisher {
      * Unregister an observer
      */
     public void unsubscribe(DisasterZoneObserver observer) {
-        observers.remove(observer);
-        log.info("Observer unsubscribed: {}", observer.getClass().getSimpleName());
+        if (topic.unsubscribe(observer)) {
+            log.info("Observer unsubscribed: {}", observer.getClass().getSimpleName());
+        }
     }
     
     /**
@@ -40,21 +60,32 @@ public class DisasterZoneEventPublisher {
      */
     public void publish(DisasterZoneEvent event) {
         log.debug("Publishing event: {} for zone {}", event.getType(), event.getZone().getId());
-        
-        for (DisasterZoneObserver observer : observers) {
-            try {
-                observer.onDisasterZoneEvent(event);
-            } catch (Exception e) {
-                log.error("Error notifying observer {}: {}", 
-                    observer.getClass().getSimpleName(), e.getMessage());
-            }
-        }
+        topic.publish(event);
     }
     
+    /**
+     * Notify all observers về một chunk events (observer nhận theo batch)
+     */
+    public void publishAll(List<DisasterZoneEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        log.debug("Publishing {} events", events.size());
+        topic.publishAll(events);
+    }
+
     /**
      * Get number of registered observers
      */
     public int getObserverCount() {
-        return observers.size();
+        return topic.getSubscriberCount();
+    }
+
+    private static void deliver(DisasterZoneObserver observer, List<DisasterZoneEvent> events) {
+        if (events.size() == 1) {
+            observer.onDisasterZoneEvent(events.get(0));
+        } else {
+            observer.onDisasterZoneEvents(events);
+        }
     }
 }
@@ -1,5 +1,7 @@
 package com.urbanmonitor.domain.citizen.disasterMonitor.observer;
 
+import java.util.List;
+
 /**
  * OBSERVER PATTERN - Observer interface
  * Interface cho các components muốn nhận notification về disaster zone changes.
@@ -10,4 +12,12 @@ public interface DisasterZoneObserver {
      * Called when a disaster zone event occurs
      */
     void onDisasterZoneEvent(DisasterZoneEvent event);
+
+    /**
+     * Called once per chunk khi ghi hàng loạt (import). Mặc định xử lý từng event;
+     * views override để cập nhật / publish snapshot một lần cho cả chunk.
+     */
+    default void onDisasterZoneEvents(List<DisasterZoneEvent> events) {
+        events.forEach(this::onDisasterZoneEvent);
+    }
 }
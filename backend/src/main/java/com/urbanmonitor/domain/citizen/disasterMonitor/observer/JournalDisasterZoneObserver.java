@@ -0,0 +1,87 @@
+package com.urbanmonitor.domain.citizen.disasterMonitor.observer;
+
+import com.urbanmonitor.domain.citizen.disasterMonitor.converter.DisasterZoneJournalCodec;
+import com.urbanmonitor.domain.citizen.disasterMonitor.entity.DisasterZone;
+import com.urbanmonitor.domain.citizen.disasterMonitor.entity.DisasterZone.ZoneStatus;
+import com.urbanmonitor.domain.citizen.disasterMonitor.repository.DisasterZoneRepository;
+import com.urbanmonitor.shared.journal.EntityJournal;
+import com.urbanmonitor.shared.journal.EventJournal;
+import com.urbanmonitor.shared.journal.JournalStream;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * OBSERVER PATTERN - Concrete Observer: ghi mọi DisasterZoneEvent vào event journal (stream DISASTER_ZONES).
+ *
+ * Views (dashboard, spatial index, timeline) dựng state lúc startup từ replayZones() thay vì full-table query;
+ * reconcile định kỳ với DB vẫn giữ nguyên để bù thay đổi không đi qua events.
+ */
+@Component
+@Slf4j
+public class JournalDisasterZoneObserver implements DisasterZoneObserver {
+
+    private final DisasterZoneEventPublisher publisher;
+    private final EntityJournal<DisasterZone> journal;
+
+    public JournalDisasterZoneObserver(DisasterZoneEventPublisher publisher,
+                                       EventJournal eventJournal,
+                                       DisasterZoneJournalCodec codec,
+                                       DisasterZoneRepository repository) {
+        this.publisher = publisher;
+        this.journal = new EntityJournal<>(eventJournal, JournalStream.DISASTER_ZONES, codec,
+            DisasterZone::getId, repository::findAll);
+    }
+
+    @PostConstruct
+    public void init() {
+        publisher.subscribe(this);
+    }
+
+    /**
+     * Lần đầu chạy với journal: checkpoint từ DB để các lần startup sau replay được
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        try {
+            journal.seedIfMissing();
+        } catch (RuntimeException e) {
+            log.error("Failed to seed disaster zone journal: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public void onDisasterZoneEvent(DisasterZoneEvent event) {
+        DisasterZone zone = event.getZone();
+        if (zone == null || zone.getId() == null) {
+            return;
+        }
+        if (event.getType() == DisasterZoneEvent.EventType.DELETED) {
+            journal.recordDelete(event.getType().name(), zone.getId());
+        } else {
+            journal.recordUpsert(event.getType().name(), zone);
+        }
+    }
+
+    /**
+     * Mọi zone (kể cả RESOLVED) theo journal, empty nếu chưa có checkpoint
+     */
+    public Optional<List<DisasterZone>> replayZones() {
+        return journal.replay().map(zones -> new ArrayList<>(zones.values()));
+    }
+
+    /**
+     * Zones chưa RESOLVED theo journal (tương đương findAllActiveOrderBySeverity, không sắp xếp)
+     */
+    public Optional<List<DisasterZone>> replayActiveZones() {
+        return replayZones().map(zones -> zones.stream()
+            .filter(zone -> zone.getStatus() != ZoneStatus.RESOLVED)
+            .toList());
+    }
+}
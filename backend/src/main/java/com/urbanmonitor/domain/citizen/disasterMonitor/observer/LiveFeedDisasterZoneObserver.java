@@ -0,0 +1,120 @@
+package com.urbanmonitor.domain.citizen.disasterMonitor.observer;
+
+import com.urbanmonitor.domain.citizen.disasterMonitor.converter.DisasterZoneGeometryCompiler;
+import com.urbanmonitor.domain.citizen.disasterMonitor.entity.DisasterZone;
+import com.urbanmonitor.domain.citizen.disasterMonitor.factory.GeoJsonConverterFactory;
+import com.urbanmonitor.domain.citizen.disasterMonitor.view.DisasterDashboardSnapshot;
+import com.urbanmonitor.domain.citizen.disasterMonitor.view.DisasterDashboardView;
+import com.urbanmonitor.domain.citizen.disasterMonitor.view.ProvinceDisasterSummary;
+import com.urbanmonitor.shared.live.LiveDelta;
+import com.urbanmonitor.shared.live.LiveFeedHub;
+import com.urbanmonitor.shared.province.ProvinceGeometry;
+import com.urbanmonitor.shared.province.ProvinceGeometryRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+
+/**
+ * OBSERVER PATTERN - Concrete Observer: đẩy thay đổi disaster zone lên live map (SSE).
+ *
+ * - layer "disasters": Feature polygon của zone (added / updated / removed)
+ * - layer "provinces": properties mới của các tỉnh đổi màu / số liệu (geometry null, client chỉ merge properties)
+ * - layer "disaster-stats": stats của /api/disaster/dashboard khi có thay đổi
+ *
+ * Subscribe sau dashboard view nên snapshot đọc ở đây đã gồm các event vừa nhận. Tỉnh thay đổi
+ * được tìm bằng cách so snapshot trước / sau (summary không đổi dùng chung object giữa các snapshot).
+ */
+@Component
+@RequiredArgsConstructor
+public class LiveFeedDisasterZoneObserver implements DisasterZoneObserver {
+
+    static final String LAYER = "disasters";
+    static final String PROVINCES_LAYER = "provinces";
+    static final String STATS_LAYER = "disaster-stats";
+
+    private final DisasterZoneEventPublisher publisher;
+    private final DisasterDashboardView dashboardView;
+    private final GeoJsonConverterFactory converterFactory;
+    private final ProvinceGeometryRegistry provinceRegistry;
+    private final LiveFeedHub hub;
+
+    /** Chỉ truy cập từ thread của event bus */
+    private DisasterDashboardSnapshot lastSnapshot;
+
+    @PostConstruct
+    public void init() {
+        publisher.subscribe(this, dashboardView);
+    }
+
+    @Override
+    public void onDisasterZoneEvent(DisasterZoneEvent event) {
+        onDisasterZoneEvents(List.of(event));
+    }
+
+    @Override
+    public void onDisasterZoneEvents(List<DisasterZoneEvent> events) {
+        List<LiveDelta> deltas = new ArrayList<>();
+        for (DisasterZoneEvent event : events) {
+            DisasterZone zone = event.getZone();
+            if (zone == null || zone.getId() == null) {
+                continue;
+            }
+            Map<String, Object> feature = event.getType() == DisasterZoneEvent.EventType.DELETED ? null : featureOf(zone);
+            if (feature == null) {
+                deltas.add(LiveDelta.removed(LAYER, zone.getId()));
+            } else if (event.getType() == DisasterZoneEvent.EventType.CREATED) {
+                deltas.add(LiveDelta.added(LAYER, zone.getId(), DisasterZoneGeometryCompiler.compiledBbox(zone), feature));
+            } else {
+                deltas.add(LiveDelta.updated(LAYER, zone.getId(), DisasterZoneGeometryCompiler.compiledBbox(zone), feature));
+            }
+        }
+
+        dashboardView.current().ifPresent(snapshot -> {
+            addSnapshotChanges(lastSnapshot, snapshot, deltas);
+            lastSnapshot = snapshot;
+        });
+        hub.publish(deltas);
+    }
+
+    private void addSnapshotChanges(DisasterDashboardSnapshot previous, DisasterDashboardSnapshot current,
+                                    List<LiveDelta> deltas) {
+        if (previous == current) {
+            return;
+        }
+        if (previous == null || !Objects.equals(previous.getStats(), current.getStats())) {
+            deltas.add(LiveDelta.stats(STATS_LAYER, "totals", current.getStats()));
+        }
+
+        Set<Integer> provinceIds = new TreeSet<>(current.getSummaries().keySet());
+        if (previous != null) {
+            provinceIds.addAll(previous.getSummaries().keySet());
+        }
+        for (int provinceId : provinceIds) {
+            ProvinceDisasterSummary summary = current.getSummaries().get(provinceId);
+            if (previous != null && previous.getSummaries().get(provinceId) == summary) {
+                continue;
+            }
+            provinceRegistry.findById(provinceId).ifPresent(province ->
+                deltas.add(LiveDelta.updated(PROVINCES_LAYER, provinceId, province.getBbox(),
+                    provinceFeature(province, summary))));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> featureOf(DisasterZone zone) {
+        List<Map<String, Object>> features = (List<Map<String, Object>>)
+            converterFactory.getPolygonConverter().convert(List.of(zone)).get("features");
+        return features == null || features.isEmpty() ? null : features.get(0);
+    }
+
+    private Map<String, Object> provinceFeature(ProvinceGeometry province, ProvinceDisasterSummary summary) {
+        Map<String, Object> feature = new LinkedHashMap<>();
+        feature.put("type", "Feature");
+        feature.put("id", province.getId());
+        feature.put("geometry", null);
+        feature.put("properties", converterFactory.getStreamingMergedConverter().propertiesOf(province, summary));
+        return feature;
+    }
+}
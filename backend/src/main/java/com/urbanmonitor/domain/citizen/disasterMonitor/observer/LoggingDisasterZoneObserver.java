@@ -5,6 +5,8 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
+
 /**
  * OBSERVER PATTERN - Concrete Observer
  * - NotificationObserver: Gửi notification đến users
@@ -43,4 +45,9 @@ public class LoggingDisasterZoneObserver implements DisasterZoneObserver {
                 event.getZone().getId());
         }
     }
+
+    @Override
+    public void onDisasterZoneEvents(List<DisasterZoneEvent> events) {
+        log.info("Disaster zones bulk-written: {} events", events.size());
+    }
 }
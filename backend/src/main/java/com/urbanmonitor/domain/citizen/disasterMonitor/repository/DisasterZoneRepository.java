@@ -4,10 +4,13 @@ import com.urbanmonitor.domain.citizen.disasterMonitor.entity.DisasterZone;
 import com.urbanmonitor.domain.citizen.disasterMonitor.entity.DisasterZone.*;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -38,4 +41,39 @@ public interface DisasterZoneRepository extends
     List<DisasterZone> findAllActiveOrderBySeverity();
 
     List<DisasterZone> findByRegionContainingIgnoreCase(String region);
+
+    /**
+     * Zone chưa RESOLVED có expectedEndAt trước until (index idx_disaster_zones_expected_end)
+     */
+    @Query("SELECT d.id AS id, d.status AS status, d.expectedEndAt AS expectedEndAt FROM DisasterZone d " +
+           "WHERE d.expectedEndAt <= :until AND d.status NOT IN ('RESOLVED')")
+    List<ZoneDeadline> findDeadlinesBefore(@Param("until") LocalDateTime until);
+
+    @Query("SELECT d.id AS id, d.status AS status FROM DisasterZone d WHERE d.id IN :ids")
+    List<ZoneStatusRow> findStatusesByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Một câu UPDATE cho cả tập id, bỏ qua zone đã ở status đích. Persistence context được
+     * flush trước và clear sau để lần đọc tiếp theo thấy status mới.
+     * endedAt != null (chuyển sang RESOLVED) điền endedAt cho zone còn trống, null giữ nguyên.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE DisasterZone d SET d.status = :status, d.updatedAt = :now, " +
+           "d.endedAt = COALESCE(d.endedAt, :endedAt) " +
+           "WHERE d.id IN :ids AND (d.status IS NULL OR d.status <> :status)")
+    int updateStatusByIds(@Param("ids") Collection<Long> ids,
+                          @Param("status") ZoneStatus status,
+                          @Param("now") LocalDateTime now,
+                          @Param("endedAt") LocalDateTime endedAt);
+
+    interface ZoneStatusRow {
+        Long getId();
+        ZoneStatus getStatus();
+    }
+
+    interface ZoneDeadline {
+        Long getId();
+        ZoneStatus getStatus();
+        LocalDateTime getExpectedEndAt();
+    }
 }
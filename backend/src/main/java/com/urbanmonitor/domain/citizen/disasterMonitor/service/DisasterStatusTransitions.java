@@ -0,0 +1,134 @@
+package com.urbanmonitor.domain.citizen.disasterMonitor.service;
+
+import com.urbanmonitor.domain.citizen.disasterMonitor.entity.DisasterZone;
+import com.urbanmonitor.domain.citizen.disasterMonitor.entity.DisasterZone.ZoneStatus;
+import com.urbanmonitor.domain.citizen.disasterMonitor.observer.DisasterZoneEvent;
+import com.urbanmonitor.domain.citizen.disasterMonitor.observer.DisasterZoneEventPublisher;
+import com.urbanmonitor.domain.citizen.disasterMonitor.observer.DisasterZoneObserver;
+import com.urbanmonitor.domain.citizen.disasterMonitor.repository.DisasterZoneRepository;
+import com.urbanmonitor.domain.citizen.disasterMonitor.repository.DisasterZoneRepository.ZoneDeadline;
+import com.urbanmonitor.shared.scheduling.DeadlineScheduler;
+import com.urbanmonitor.shared.scheduling.DeadlineSource;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Transition theo thời gian của DisasterZone:
+ * - zone đang active (MONITORING..EMERGENCY) quá expectedEndAt → RECOVERING
+ * - zone RECOVERING quá expectedEndAt + resolve-after-hours → RESOLVED (updateStatus điền endedAt nếu trống)
+ *
+ * Deadline được nạp bởi {@link DeadlineScheduler} và cập nhật theo events (Observer Pattern).
+ * Transition đi qua {@link DisasterZoneService#updateStatus} nên các views nhận STATUS_CHANGED như bình thường.
+ * Scheduler giữ chính object này (không phải proxy) nên transaction của applyDue mở bằng TransactionTemplate.
+ */
+@Component
+@Slf4j
+public class DisasterStatusTransitions implements DeadlineSource, DisasterZoneObserver {
+
+    private final DeadlineScheduler scheduler;
+    private final DisasterZoneEventPublisher publisher;
+    private final DisasterZoneRepository repository;
+    private final DisasterZoneService zoneService;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration resolveAfter;
+
+    public DisasterStatusTransitions(
+            DeadlineScheduler scheduler,
+            DisasterZoneEventPublisher publisher,
+            DisasterZoneRepository repository,
+            DisasterZoneService zoneService,
+            PlatformTransactionManager transactionManager,
+            @Value("${disaster.transitions.resolve-after-hours:24}") long resolveAfterHours) {
+        this.scheduler = scheduler;
+        this.publisher = publisher;
+        this.repository = repository;
+        this.zoneService = zoneService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.resolveAfter = Duration.ofHours(resolveAfterHours);
+    }
+
+    @PostConstruct
+    public void init() {
+        scheduler.register(this);
+        publisher.subscribe(this);
+    }
+
+    @Override
+    public String name() {
+        return "disaster-zone";
+    }
+
+    @Override
+    public Map<Long, LocalDateTime> loadUpcoming(LocalDateTime until) {
+        Map<Long, LocalDateTime> deadlines = new HashMap<>();
+        for (ZoneDeadline row : repository.findDeadlinesBefore(until)) {
+            LocalDateTime deadline = deadlineOf(row.getStatus(), row.getExpectedEndAt());
+            if (deadline != null && !deadline.isAfter(until)) {
+                deadlines.put(row.getId(), deadline);
+            }
+        }
+        return deadlines;
+    }
+
+    /**
+     * Một transaction cho cả batch: updateStatus join transaction này, zone đã load sẵn trong
+     * persistence context nên không query lại từng cái
+     */
+    @Override
+    public void applyDue(List<Long> ids) {
+        LocalDateTime now = LocalDateTime.now();
+        Integer applied = transactionTemplate.execute(status -> {
+            int count = 0;
+            for (DisasterZone zone : repository.findAllById(ids)) {
+                ZoneStatus next = nextStatus(zone, now);
+                if (next == null) {
+                    continue; // đã đổi status / expectedEndAt từ lúc schedule
+                }
+                zoneService.updateStatus(zone.getId(), next);
+                count++;
+            }
+            return count;
+        });
+        if (applied != null && applied > 0) {
+            log.info("Applied {} scheduled disaster status transitions", applied);
+        }
+    }
+
+    @Override
+    public void onDisasterZoneEvent(DisasterZoneEvent event) {
+        DisasterZone zone = event.getZone();
+        if (zone == null || zone.getId() == null) {
+            return;
+        }
+        switch (event.getType()) {
+            case CREATED, UPDATED, STATUS_CHANGED ->
+                scheduler.schedule(this, zone.getId(), deadlineOf(zone.getStatus(), zone.getExpectedEndAt()));
+            case DELETED -> scheduler.cancel(this, zone.getId());
+        }
+    }
+
+    private ZoneStatus nextStatus(DisasterZone zone, LocalDateTime now) {
+        LocalDateTime deadline = deadlineOf(zone.getStatus(), zone.getExpectedEndAt());
+        if (deadline == null || deadline.isAfter(now)) {
+            return null;
+        }
+        return zone.getStatus() == ZoneStatus.RECOVERING ? ZoneStatus.RESOLVED : ZoneStatus.RECOVERING;
+    }
+
+    private LocalDateTime deadlineOf(ZoneStatus status, LocalDateTime expectedEndAt) {
+        if (status == null || status == ZoneStatus.RESOLVED || expectedEndAt == null) {
+            return null;
+        }
+        return status == ZoneStatus.RECOVERING ? expectedEndAt.plus(resolveAfter) : expectedEndAt;
+    }
+}
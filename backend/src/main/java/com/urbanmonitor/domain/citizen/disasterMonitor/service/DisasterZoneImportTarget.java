@@ -0,0 +1,170 @@
+package com.urbanmonitor.domain.citizen.disasterMonitor.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.urbanmonitor.domain.citizen.disasterMonitor.converter.DisasterGeometryPipeline;
+import com.urbanmonitor.domain.citizen.disasterMonitor.entity.DisasterZone;
+import com.urbanmonitor.domain.citizen.disasterMonitor.entity.ProvinceOverlap;
+import com.urbanmonitor.domain.citizen.disasterMonitor.observer.DisasterZoneEvent;
+import com.urbanmonitor.domain.citizen.disasterMonitor.observer.DisasterZoneEventPublisher;
+import com.urbanmonitor.shared.imports.ImportColumn;
+import com.urbanmonitor.shared.imports.ImportTarget;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Array;
+import java.sql.PreparedStatement;
+import java.util.*;
+
+/**
+ * Import disaster zones: Polygon / MultiPolygon → polygonCoordinates, Point → tâm zone.
+ * Geometry được compile + spatial join + exposure song song như recompute, province overlaps ghi theo batch.
+ */
+@Component
+@RequiredArgsConstructor
+public class DisasterZoneImportTarget implements ImportTarget<DisasterZone> {
+
+    private static final List<ImportColumn<DisasterZone>> COLUMNS = List.of(
+        ImportColumn.of("disaster_type", DisasterZone::getDisasterType),
+        ImportColumn.of("name", DisasterZone::getName),
+        ImportColumn.of("description", DisasterZone::getDescription),
+        ImportColumn.of("region", DisasterZone::getRegion),
+        ImportColumn.of("severity", DisasterZone::getSeverity),
+        ImportColumn.of("status", DisasterZone::getStatus),
+        ImportColumn.of("center_longitude", DisasterZone::getCenterLongitude),
+        ImportColumn.of("center_latitude", DisasterZone::getCenterLatitude),
+        ImportColumn.of("polygon_coordinates", DisasterZone::getPolygonCoordinates),
+        ImportColumn.of("geometry_data", DisasterZone::getGeometryData),
+        ImportColumn.of("bbox_min_lng", DisasterZone::getBboxMinLng),
+        ImportColumn.of("bbox_min_lat", DisasterZone::getBboxMinLat),
+        ImportColumn.of("bbox_max_lng", DisasterZone::getBboxMaxLng),
+        ImportColumn.of("bbox_max_lat", DisasterZone::getBboxMaxLat),
+        ImportColumn.of("centroid_longitude", DisasterZone::getCentroidLongitude),
+        ImportColumn.of("centroid_latitude", DisasterZone::getCentroidLatitude),
+        ImportColumn.of("geometry_area_km2", DisasterZone::getGeometryAreaKm2),
+        ImportColumn.of("affected_area_km2", DisasterZone::getAffectedAreaKm2),
+        ImportColumn.of("affected_population", DisasterZone::getAffectedPopulation),
+        ImportColumn.of("exposed_population", DisasterZone::getExposedPopulation),
+        ImportColumn.of("measurement_value", DisasterZone::getMeasurementValue),
+        ImportColumn.of("measurement_unit", DisasterZone::getMeasurementUnit),
+        ImportColumn.of("alert_message", DisasterZone::getAlertMessage),
+        ImportColumn.of("evacuation_info", DisasterZone::getEvacuationInfo),
+        ImportColumn.of("contact_hotline", DisasterZone::getContactHotline),
+        ImportColumn.of("started_at", DisasterZone::getStartedAt),
+        ImportColumn.of("expected_end_at", DisasterZone::getExpectedEndAt),
+        ImportColumn.of("ended_at", DisasterZone::getEndedAt),
+        ImportColumn.insertOnly("created_at", DisasterZone::getCreatedAt),
+        ImportColumn.of("updated_at", DisasterZone::getUpdatedAt)
+    );
+
+    private final DisasterGeometryPipeline geometryPipeline;
+    private final DisasterZoneEventPublisher eventPublisher;
+
+    @Override
+    public String name() {
+        return "disasters";
+    }
+
+    @Override
+    public Class<DisasterZone> type() {
+        return DisasterZone.class;
+    }
+
+    @Override
+    public String table() {
+        return "disaster_zones";
+    }
+
+    @Override
+    public List<ImportColumn<DisasterZone>> columns() {
+        return COLUMNS;
+    }
+
+    @Override
+    public Long getId(DisasterZone zone) {
+        return zone.getId();
+    }
+
+    @Override
+    public void setId(DisasterZone zone, Long id) {
+        zone.setId(id);
+    }
+
+    @Override
+    public void applyGeometry(ObjectNode fields, JsonNode geometry) {
+        if (geometry == null || fields.has("polygonCoordinates")) {
+            return;
+        }
+        switch (geometry.path("type").asText()) {
+            case "Polygon", "MultiPolygon" -> fields.put("polygonCoordinates", geometry.path("coordinates").toString());
+            case "Point" -> {
+                if (!fields.has("centerLongitude")) fields.set("centerLongitude", geometry.path("coordinates").path(0));
+                if (!fields.has("centerLatitude")) fields.set("centerLatitude", geometry.path("coordinates").path(1));
+            }
+            default -> { }
+        }
+    }
+
+    @Override
+    public void prepare(DisasterZone zone) {
+        if (zone.getDisasterType() == null) {
+            throw new IllegalArgumentException("disasterType is required");
+        }
+        zone.prePersist();
+        if (zone.getProvinceOverlaps() == null) {
+            zone.setProvinceOverlaps(new ArrayList<>());
+        }
+    }
+
+    /**
+     * Validate field trước, zone hợp lệ mới đi qua geometry pipeline (ForkJoinPool riêng)
+     */
+    @Override
+    public Map<Integer, String> prepareAll(List<DisasterZone> zones) {
+        Map<Integer, String> failures = new HashMap<>(ImportTarget.super.prepareAll(zones));
+        List<Integer> indexes = new ArrayList<>();
+        List<DisasterZone> valid = new ArrayList<>();
+        for (int i = 0; i < zones.size(); i++) {
+            if (!failures.containsKey(i)) {
+                indexes.add(i);
+                valid.add(zones.get(i));
+            }
+        }
+        geometryPipeline.processAll(valid).forEach((i, error) -> failures.put(indexes.get(i), error));
+        return failures;
+    }
+
+    @Override
+    public void afterWrite(JdbcTemplate jdbc, List<DisasterZone> zones) {
+        Long[] ids = zones.stream().map(DisasterZone::getId).toArray(Long[]::new);
+        jdbc.update(connection -> {
+            PreparedStatement ps = connection.prepareStatement("DELETE FROM disaster_zone_provinces WHERE zone_id = ANY(?)");
+            Array array = connection.createArrayOf("bigint", ids);
+            ps.setArray(1, array);
+            return ps;
+        });
+
+        List<Object[]> rows = new ArrayList<>();
+        for (DisasterZone zone : zones) {
+            for (ProvinceOverlap overlap : zone.getProvinceOverlaps()) {
+                rows.add(new Object[] {
+                    zone.getId(), overlap.getProvinceCode(), overlap.getOverlapFraction(), overlap.getOverlapAreaKm2(),
+                    overlap.getExposedPopulation()
+                });
+            }
+        }
+        if (!rows.isEmpty()) {
+            jdbc.batchUpdate("INSERT INTO disaster_zone_provinces (zone_id, province_code, overlap_fraction, overlap_area_km2, exposed_population) "
+                + "VALUES (?, ?, ?, ?, ?)", rows);
+        }
+    }
+
+    @Override
+    public void afterCommit(List<DisasterZone> created, List<DisasterZone> updated) {
+        List<DisasterZoneEvent> events = new ArrayList<>(created.size() + updated.size());
+        created.forEach(zone -> events.add(DisasterZoneEvent.created(zone)));
+        updated.forEach(zone -> events.add(DisasterZoneEvent.updated(zone)));
+        eventPublisher.publishAll(events);
+    }
+}
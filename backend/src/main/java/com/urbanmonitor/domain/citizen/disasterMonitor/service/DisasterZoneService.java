@@ -1,12 +1,25 @@
 package com.urbanmonitor.domain.citizen.disasterMonitor.service;
 
+import com.urbanmonitor.domain.citizen.disasterMonitor.dto.BulkStatusUpdateRequest;
+import com.urbanmonitor.domain.citizen.disasterMonitor.dto.BulkStatusUpdateResult;
 import com.urbanmonitor.domain.citizen.disasterMonitor.dto.DisasterDashboardResponse;
+import com.urbanmonitor.domain.citizen.disasterMonitor.dto.DisasterLocationResult;
+import com.urbanmonitor.domain.citizen.disasterMonitor.dto.DisasterZoneHit;
+import com.urbanmonitor.domain.citizen.disasterMonitor.dto.DisasterZoneQuery;
+import com.urbanmonitor.domain.citizen.disasterMonitor.dto.GeometryRecomputeResult;
+import com.urbanmonitor.domain.citizen.disasterMonitor.dto.TimelineQuery;
+import com.urbanmonitor.domain.citizen.disasterMonitor.dto.PointQuery;
 import com.urbanmonitor.domain.citizen.disasterMonitor.entity.DisasterZone;
 import com.urbanmonitor.domain.citizen.disasterMonitor.entity.DisasterZone.*;
+import com.urbanmonitor.shared.geo.BoundingBox;
+import com.urbanmonitor.shared.geo.GeometryView;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * DEPENDENCY INVERSION PRINCIPLE
@@ -40,13 +53,64 @@ public interface DisasterZoneService {
     
     void deleteById(Long id);
     
+    /**
+     * Đổi status một zone; sang RESOLVED thì điền endedAt nếu còn trống
+     */
     DisasterZone updateStatus(Long id, ZoneStatus newStatus);
+
+    /**
+     * Đổi status hàng loạt (theo ids hoặc filter) bằng một câu UPDATE, một batch event cho observers
+     *
+     * @throws org.springframework.web.server.ResponseStatusException 400 khi request không hợp lệ
+     *                                                                hoặc khớp quá nhiều zone
+     */
+    BulkStatusUpdateResult updateStatuses(BulkStatusUpdateRequest request);
+    
+    /**
+     * Tính lại geometry (diện tích geodesic, overlap tỉnh) cho toàn bộ zones, song song theo chunk
+     */
+    GeometryRecomputeResult recomputeGeometry();
     
     //  GEOJSON OPERATIONS
 
-    Map<String, Object> getPolygonGeoJson(List<DisasterZone> zones);
+    Map<String, Object> getPolygonGeoJson(List<DisasterZone> zones, GeometryView view);
+    
+    /**
+     * Overlay dissolve: mỗi loại + severity một MultiPolygon gộp từ các zone active
+     *
+     * @param types rỗng = mọi loại
+     */
+    Map<String, Object> getActiveOverlay(Set<DisasterType> types, GeometryView view);
+    
+    /**
+     * Một trang kết quả query (filter + keyset pagination chạy trong SQL), stream ra GeoJSON
+     */
+    void writeQueryResult(OutputStream out, DisasterZoneQuery query, GeometryView view) throws IOException;
+    
+    /**
+     * Timeline theo giờ (zones active + stats mỗi frame), stream ra JSON
+     */
+    void writeTimeline(OutputStream out, TimelineQuery query) throws IOException;
+    
+    /**
+     * Mapbox Vector Tile (layers "provinces" + "disasters") cho tile z/x/y
+     */
+    byte[] getTile(int z, int x, int y);
     
     //  DASHBOARD OPERATIONS
     
-    DisasterDashboardResponse getDashboardData();
+    DisasterDashboardResponse getDashboardData(GeometryView view);
+    
+    /**
+     * Streaming dashboard: cùng format với getDashboardData, ghi thẳng ra output
+     */
+    void writeDashboardData(OutputStream out, GeometryView view) throws IOException;
+    
+    //  SPATIAL QUERY OPERATIONS (in-memory R-tree, không query DB)
+    
+    DisasterLocationResult findAt(double lat, double lng);
+    
+    List<DisasterLocationResult> findAt(List<PointQuery> points);
+    
+    List<DisasterZoneHit> findWithin(BoundingBox bbox);
 }
@@ -1,22 +1,60 @@
 package com.urbanmonitor.domain.citizen.disasterMonitor.service;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.urbanmonitor.domain.citizen.disasterMonitor.converter.DisasterGeometryPipeline;
 import com.urbanmonitor.domain.citizen.disasterMonitor.converter.GeoJsonConverter;
+import com.urbanmonitor.domain.citizen.disasterMonitor.converter.MergedProvinceGeoJsonConverter;
+import com.urbanmonitor.domain.citizen.disasterMonitor.converter.PolygonGeoJsonConverter;
+import com.urbanmonitor.domain.citizen.disasterMonitor.dto.BulkStatusUpdateRequest;
+import com.urbanmonitor.domain.citizen.disasterMonitor.dto.BulkStatusUpdateResult;
 import com.urbanmonitor.domain.citizen.disasterMonitor.dto.DisasterDashboardResponse;
+import com.urbanmonitor.domain.citizen.disasterMonitor.dto.DisasterLocationResult;
+import com.urbanmonitor.domain.citizen.disasterMonitor.dto.DisasterZoneHit;
+import com.urbanmonitor.domain.citizen.disasterMonitor.dto.DisasterZoneQuery;
+import com.urbanmonitor.domain.citizen.disasterMonitor.dto.GeometryRecomputeResult;
+import com.urbanmonitor.domain.citizen.disasterMonitor.dto.TimelineQuery;
+import com.urbanmonitor.domain.citizen.disasterMonitor.dto.PointQuery;
 import com.urbanmonitor.domain.citizen.disasterMonitor.entity.DisasterZone;
 import com.urbanmonitor.domain.citizen.disasterMonitor.entity.DisasterZone.*;
 import com.urbanmonitor.domain.citizen.disasterMonitor.factory.GeoJsonConverterFactory;
 import com.urbanmonitor.domain.citizen.disasterMonitor.observer.DisasterZoneEvent;
 import com.urbanmonitor.domain.citizen.disasterMonitor.observer.DisasterZoneEventPublisher;
 import com.urbanmonitor.domain.citizen.disasterMonitor.repository.DisasterZoneRepository;
+import com.urbanmonitor.domain.citizen.disasterMonitor.repository.DisasterZoneRepository.ZoneStatusRow;
+import com.urbanmonitor.domain.citizen.disasterMonitor.specification.DisasterZoneSpecifications;
 import com.urbanmonitor.domain.citizen.disasterMonitor.strategy.StatsCalculator;
+import com.urbanmonitor.domain.citizen.disasterMonitor.view.DisasterDashboardSnapshot;
+import com.urbanmonitor.domain.citizen.disasterMonitor.view.DisasterDashboardView;
+import com.urbanmonitor.domain.citizen.disasterMonitor.view.DisasterOverlayView;
+import com.urbanmonitor.domain.citizen.disasterMonitor.view.DisasterTileCache;
+import com.urbanmonitor.domain.citizen.disasterMonitor.view.DisasterTimelineView;
+import com.urbanmonitor.domain.citizen.disasterMonitor.view.DisasterTimelineView.TimelineFrame;
+import com.urbanmonitor.domain.citizen.disasterMonitor.view.DisasterZoneSpatialIndex;
+import com.urbanmonitor.domain.citizen.disasterMonitor.view.ProvinceDisasterSummary;
+import com.urbanmonitor.shared.geo.BoundingBox;
+import com.urbanmonitor.shared.geo.GeometryView;
+import com.urbanmonitor.shared.geo.tile.TileCoordinates;
+import com.urbanmonitor.shared.province.ProvinceGeometry;
+import com.urbanmonitor.shared.province.ProvinceLocator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * SOLID PRINCIPLES IMPLEMENTATION:
@@ -27,6 +65,7 @@ import java.util.Optional;
  *                      Stats calculation → StatsCalculator
  *                      GeoJSON conversion → GeoJsonConverterFactory
  *                      Event publishing → DisasterZoneEventPublisher
+ *                      Geometry validate/compile + zone → tỉnh (spatial join) → DisasterGeometryPipeline
  *                 )
  * 
  * O :
@@ -54,8 +93,12 @@ import java.util.Optional;
  * Strategy Pattern: StatsCalculator với các DisasterStatsStrategy
  * Factory Pattern: GeoJsonConverterFactory
  * Builder Pattern: GeoJsonFeatureBuilder, GeoJsonCollectionBuilder
- * Observer Pattern: DisasterZoneEventPublisher
- * Specification Pattern: DisasterZoneSpecifications (có thể dùng với JpaSpecificationExecutor)
+ * Observer Pattern: DisasterZoneEventPublisher, DisasterDashboardView (materialized dashboard),
+ *                   DisasterZoneSpatialIndex (R-tree cho point / bbox queries),
+ *                   DisasterTileCache (vector tiles, invalidate theo tile),
+ *                   DisasterTimelineView (timeline theo giờ, append-only),
+ *                   DisasterOverlayView (overlay dissolve theo loại + severity)
+ * Specification Pattern: DisasterZoneSpecifications (JpaSpecificationExecutor, dùng cho /query)
  */
 @Service
 @RequiredArgsConstructor
@@ -67,6 +110,19 @@ public class DisasterZoneServiceImpl implements DisasterZoneService {
     private final StatsCalculator statsCalculator;
     private final GeoJsonConverterFactory converterFactory;
     private final DisasterZoneEventPublisher eventPublisher;
+    private final ObjectMapper objectMapper;
+    private final DisasterDashboardView dashboardView;
+    private final DisasterGeometryPipeline geometryPipeline;
+    private final DisasterZoneSpatialIndex spatialIndex;
+    private final ProvinceLocator provinceLocator;
+    private final DisasterTileCache tileCache;
+    private final DisasterTimelineView timelineView;
+    private final DisasterOverlayView overlayView;
+
+    private static final int MAX_BATCH_POINTS = 5000;
+    private static final int RECOMPUTE_CHUNK_SIZE = 500;
+    private static final int MAX_REPORTED_FAILURES = 100;
+    private static final int MAX_BULK_STATUS_ZONES = 10_000;
 
     //  QUERY OPERATIONS
 
@@ -126,6 +182,7 @@ public class DisasterZoneServiceImpl implements DisasterZoneService {
         log.info("Saving disaster zone: {} - {}", zone.getDisasterType(), zone.getName());
         
         boolean isNew = zone.getId() == null;
+        compileGeometry(zone);
         DisasterZone saved = repository.save(zone);
         
         // Publish event - Observer Pattern
@@ -141,6 +198,8 @@ public class DisasterZoneServiceImpl implements DisasterZoneService {
     @Transactional
     public List<DisasterZone> saveAll(List<DisasterZone> zones) {
         log.info("Saving {} disaster zones", zones.size());
+        // Validate hết trước khi ghi: một polygon lỗi thì cả batch không được lưu
+        zones.forEach(this::compileGeometry);
         List<DisasterZone> saved = repository.saveAll(zones);
         
         // Publish events for each
@@ -149,6 +208,62 @@ public class DisasterZoneServiceImpl implements DisasterZoneService {
         return saved;
     }
 
+    private void compileGeometry(DisasterZone zone) {
+        geometryPipeline.process(zone);
+    }
+
+    /**
+     * Duyệt bảng theo chunk (keyset id tăng dần); mỗi chunk tính song song rồi saveAll
+     * trong transaction riêng, để job dài không giữ một transaction lớn.
+     * Zone có polygon lỗi được bỏ qua và báo lại, không chặn các zone khác.
+     */
+    @Override
+    public GeometryRecomputeResult recomputeGeometry() {
+        long start = System.currentTimeMillis();
+        int processed = 0;
+        int updated = 0;
+        int failed = 0;
+        List<Long> failedIds = new ArrayList<>();
+        Long cursor = null;
+
+        while (true) {
+            List<DisasterZone> chunk = repository.findBy(DisasterZoneSpecifications.idAfter(cursor), q -> q
+                .sortBy(Sort.by(Sort.Direction.ASC, "id"))
+                .limit(RECOMPUTE_CHUNK_SIZE)
+                .all());
+            if (chunk.isEmpty()) {
+                break;
+            }
+            cursor = chunk.get(chunk.size() - 1).getId();
+            processed += chunk.size();
+
+            Map<Integer, String> failures = geometryPipeline.processAll(chunk);
+            List<DisasterZone> valid = new ArrayList<>(chunk.size() - failures.size());
+            for (int i = 0; i < chunk.size(); i++) {
+                if (!failures.containsKey(i)) {
+                    valid.add(chunk.get(i));
+                } else if (failedIds.size() < MAX_REPORTED_FAILURES) {
+                    failedIds.add(chunk.get(i).getId());
+                }
+            }
+            failed += failures.size();
+
+            List<DisasterZone> saved = repository.saveAll(valid);
+            saved.forEach(zone -> eventPublisher.publish(DisasterZoneEvent.updated(zone)));
+            updated += saved.size();
+        }
+
+        long durationMs = System.currentTimeMillis() - start;
+        log.info("Recomputed geometry of {} disaster zones ({} failed) in {} ms", processed, failed, durationMs);
+        return GeometryRecomputeResult.builder()
+            .processed(processed)
+            .updated(updated)
+            .failed(failed)
+            .failedIds(failedIds)
+            .durationMs(durationMs)
+            .build();
+    }
+
     @Override
     @Transactional
     public void deleteById(Long id) {
@@ -166,6 +281,9 @@ public class DisasterZoneServiceImpl implements DisasterZoneService {
             .map(zone -> {
                 ZoneStatus previousStatus = zone.getStatus();
                 zone.setStatus(newStatus);
+                if (newStatus == ZoneStatus.RESOLVED && zone.getEndedAt() == null) {
+                    zone.setEndedAt(LocalDateTime.now());
+                }
                 DisasterZone saved = repository.save(zone);
                 
                 log.info("Updated zone {} status: {} -> {}", id, previousStatus, newStatus);
@@ -180,22 +298,170 @@ public class DisasterZoneServiceImpl implements DisasterZoneService {
             .orElseThrow(() -> new RuntimeException("Disaster zone not found with id: " + id));
     }
 
+    /**
+     * 1. Đọc (id, status) của các zone khớp - chỉ 2 cột, không load entity
+     * 2. Một câu UPDATE cho các zone cần đổi (sang RESOLVED: điền endedAt nếu còn trống)
+     * 3. Load lại các zone đã đổi, publish một batch STATUS_CHANGED (observers xử lý một lượt)
+     */
+    @Override
+    @Transactional
+    public BulkStatusUpdateResult updateStatuses(BulkStatusUpdateRequest request) {
+        ZoneStatus newStatus;
+        try {
+            request.validate();
+            newStatus = request.zoneStatus();
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        }
+
+        List<ZoneStatusRow> matched = request.hasIds()
+            ? repository.findStatusesByIdIn(request.getIds())
+            : repository.findBy(toSpecification(request.getFilter()), q -> q.as(ZoneStatusRow.class).all());
+        if (matched.size() > MAX_BULK_STATUS_ZONES) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                "Too many zones matched: " + matched.size() + " (max " + MAX_BULK_STATUS_ZONES + ")");
+        }
+
+        Map<Long, ZoneStatus> previousStatuses = new LinkedHashMap<>();
+        for (ZoneStatusRow row : matched) {
+            if (row.getStatus() != newStatus) {
+                previousStatuses.put(row.getId(), row.getStatus());
+            }
+        }
+
+        List<DisasterZone> changed = List.of();
+        if (!previousStatuses.isEmpty()) {
+            LocalDateTime now = LocalDateTime.now();
+            int updated = repository.updateStatusByIds(previousStatuses.keySet(), newStatus, now,
+                newStatus == ZoneStatus.RESOLVED ? now : null);
+            changed = repository.findAllById(previousStatuses.keySet());
+            log.info("Bulk status update: {} of {} matched zones -> {}", updated, matched.size(), newStatus);
+
+            List<DisasterZoneEvent> events = new ArrayList<>(changed.size());
+            for (DisasterZone zone : changed) {
+                events.add(DisasterZoneEvent.statusChanged(zone, previousStatuses.get(zone.getId()), newStatus));
+            }
+            eventPublisher.publishAll(events);
+        }
+
+        return BulkStatusUpdateResult.builder()
+            .status(newStatus.name())
+            .matched(matched.size())
+            .updated(changed.size())
+            .zones(changed)
+            .build();
+    }
+
     //  GEOJSON OPERATIONS
 
     @Override
     @Transactional(readOnly = true)
-    public Map<String, Object> getPolygonGeoJson(List<DisasterZone> zones) {
+    public Map<String, Object> getPolygonGeoJson(List<DisasterZone> zones, GeometryView view) {
         // Factory Pattern - get appropriate converter
         GeoJsonConverter converter = converterFactory.getPolygonConverter();
-        return converter.convert(zones);
+        return converter.convert(zones, view);
+    }
+    
+    @Override
+    public Map<String, Object> getActiveOverlay(Set<DisasterType> types, GeometryView view) {
+        return overlayView.getOverlay(types, view);
     }
 
+    /**
+     * Lấy limit + 1 dòng để biết còn trang sau không, không cần count query.
+     * Query chạy trước khi mở generator; ghi response không giữ transaction.
+     */
+    @Override
+    public void writeQueryResult(OutputStream out, DisasterZoneQuery query, GeometryView view) throws IOException {
+        int limit = query.effectiveLimit();
+        List<DisasterZone> rows = repository.findBy(toSpecification(query), q -> q
+            .sortBy(Sort.by(Sort.Direction.DESC, "id"))
+            .limit(limit + 1)
+            .all());
+        
+        boolean hasMore = rows.size() > limit;
+        List<DisasterZone> page = hasMore ? rows.subList(0, limit) : rows;
+        Long nextCursor = hasMore ? page.get(page.size() - 1).getId() : null;
+        
+        PolygonGeoJsonConverter converter = converterFactory.getStreamingPolygonConverter();
+        try (JsonGenerator gen = objectMapper.createGenerator(out)) {
+            gen.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            gen.writeStartObject();
+            gen.writeStringField("type", "FeatureCollection");
+            gen.writeArrayFieldStart("features");
+            converter.writeFeatures(page, view, gen);
+            gen.writeEndArray();
+            gen.writeNumberField("count", page.size());
+            gen.writeObjectField("nextCursor", nextCursor);
+            gen.writeEndObject();
+        }
+    }
+    
+    private Specification<DisasterZone> toSpecification(DisasterZoneQuery query) {
+        Specification<DisasterZone> spec = Specification
+            .where(DisasterZoneSpecifications.hasType(query.disasterType()))
+            .and(DisasterZoneSpecifications.hasStatus(query.zoneStatus()))
+            .and(DisasterZoneSpecifications.severityAtLeast(query.minSeverityLevel()))
+            .and(DisasterZoneSpecifications.inRegion(query.getRegion()))
+            .and(DisasterZoneSpecifications.intersectsBbox(query.boundingBox()))
+            .and(DisasterZoneSpecifications.activeBetween(query.getFrom(), query.getTo()))
+            .and(DisasterZoneSpecifications.idBefore(query.getCursor()));
+        if (Boolean.TRUE.equals(query.getActive())) {
+            spec = spec.and(DisasterZoneSpecifications.isActive());
+        } else if (Boolean.FALSE.equals(query.getActive())) {
+            spec = spec.and(DisasterZoneSpecifications.hasStatus(ZoneStatus.RESOLVED));
+        }
+        return spec;
+    }
+    
+    /**
+     * Frames tính từ timeline view (replay delta theo giờ, không query DB), ghi ngoài lock
+     */
+    @Override
+    public void writeTimeline(OutputStream out, TimelineQuery query) throws IOException {
+        List<TimelineFrame> frames = timelineView.frames(
+            query.effectiveFrom(), query.effectiveTo(), query.effectiveStep());
+        
+        try (JsonGenerator gen = objectMapper.createGenerator(out)) {
+            gen.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            gen.writeStartObject();
+            gen.writeNumberField("stepHours", query.effectiveStep());
+            gen.writeArrayFieldStart("frames");
+            for (TimelineFrame frame : frames) {
+                gen.writeStartObject();
+                gen.writeStringField("time", frame.time().toString());
+                gen.writeNumberField("activeCount", frame.zoneIds().length);
+                gen.writeFieldName("zoneIds");
+                gen.writeArray(frame.zoneIds(), 0, frame.zoneIds().length);
+                gen.writeObjectField("stats", frame.stats());
+                gen.writeEndObject();
+            }
+            gen.writeEndArray();
+            gen.writeEndObject();
+        }
+    }
+    
+    @Override
+    public byte[] getTile(int z, int x, int y) {
+        return tileCache.getTile(new TileCoordinates(z, x, y));
+    }
+    
     //  DASHBOARD OPERATIONS
 
+    /**
+     * Đọc từ materialized view (không query DB); fallback về DB khi view chưa rebuild xong
+     */
     @Override
-    @Transactional(readOnly = true)
-    public DisasterDashboardResponse getDashboardData() {
-        List<DisasterZone> activeZones = getAllActiveOrderBySeverity();
+    public DisasterDashboardResponse getDashboardData(GeometryView view) {
+        Optional<DisasterDashboardSnapshot> snapshot = dashboardView.current();
+        if (snapshot.isPresent()) {
+            return DisasterDashboardResponse.builder()
+                .stats(snapshot.get().getStats())
+                .mapData(converterFactory.getStreamingMergedConverter().convertSummaries(snapshot.get().getSummaries(), view))
+                .build();
+        }
+        
+        List<DisasterZone> activeZones = repository.findAllActiveOrderBySeverity();
         
         log.debug("Building dashboard with {} active zones", activeZones.size());
         
@@ -204,11 +470,83 @@ public class DisasterZoneServiceImpl implements DisasterZoneService {
         
         // Factory Pattern - get merged GeoJSON converter
         GeoJsonConverter converter = converterFactory.getMergedConverter();
-        Map<String, Object> mapData = converter.convert(activeZones);
+        Map<String, Object> mapData = converter.convert(activeZones, view);
         
         return DisasterDashboardResponse.builder()
             .stats(stats)
             .mapData(mapData)
             .build();
     }
+    
+    /**
+     * Không mở transaction quanh phần ghi response.
+     * Geometry tỉnh được splice từ bytes encode sẵn, chỉ properties là ghi theo request.
+     */
+    @Override
+    public void writeDashboardData(OutputStream out, GeometryView view) throws IOException {
+        MergedProvinceGeoJsonConverter converter = converterFactory.getStreamingMergedConverter();
+        Optional<DisasterDashboardSnapshot> snapshot = dashboardView.current();
+        
+        DisasterDashboardResponse.Stats stats;
+        Map<Integer, ProvinceDisasterSummary> summaries;
+        if (snapshot.isPresent()) {
+            stats = snapshot.get().getStats();
+            summaries = snapshot.get().getSummaries();
+        } else {
+            List<DisasterZone> activeZones = repository.findAllActiveOrderBySeverity();
+            stats = statsCalculator.calculate(activeZones);
+            summaries = converter.summarize(activeZones);
+        }
+        
+        try (JsonGenerator gen = objectMapper.createGenerator(out)) {
+            // Servlet container tự quản lý output stream
+            gen.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            gen.writeStartObject();
+            gen.writeObjectField("stats", stats);
+            gen.writeFieldName("mapData");
+            converter.writeTo(summaries, view, gen);
+            gen.writeEndObject();
+        }
+    }
+    
+    //  SPATIAL QUERY OPERATIONS
+    
+    @Override
+    public DisasterLocationResult findAt(double lat, double lng) {
+        validatePoint(lat, lng);
+        Optional<ProvinceGeometry> province = provinceLocator.locate(lng, lat);
+        return DisasterLocationResult.builder()
+            .lat(lat)
+            .lng(lng)
+            .provinceCode(province.map(ProvinceGeometry::getCode).orElse(null))
+            .provinceName(province.map(ProvinceGeometry::getName).orElse(null))
+            .disasters(spatialIndex.findAt(lng, lat).stream().map(DisasterZoneHit::from).toList())
+            .build();
+    }
+    
+    @Override
+    public List<DisasterLocationResult> findAt(List<PointQuery> points) {
+        if (points.size() > MAX_BATCH_POINTS) {
+            throw new IllegalArgumentException("Too many points in one request: " + points.size() + " (max " + MAX_BATCH_POINTS + ")");
+        }
+        List<DisasterLocationResult> results = new ArrayList<>(points.size());
+        for (PointQuery point : points) {
+            if (point == null || point.getLat() == null || point.getLng() == null) {
+                throw new IllegalArgumentException("Each point needs lat and lng");
+            }
+            results.add(findAt(point.getLat(), point.getLng()));
+        }
+        return results;
+    }
+    
+    @Override
+    public List<DisasterZoneHit> findWithin(BoundingBox bbox) {
+        return spatialIndex.findWithin(bbox).stream().map(DisasterZoneHit::from).toList();
+    }
+    
+    private void validatePoint(double lat, double lng) {
+        if (!(lat >= -90 && lat <= 90) || !(lng >= -180 && lng <= 180)) {
+            throw new IllegalArgumentException("Coordinate out of range: lat=" + lat + ", lng=" + lng);
+        }
+    }
 }
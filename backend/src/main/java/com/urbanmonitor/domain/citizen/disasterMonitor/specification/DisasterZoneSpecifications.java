@@ -2,9 +2,12 @@ package com.urbanmonitor.domain.citizen.disasterMonitor.specification;
 
 import com.urbanmonitor.domain.citizen.disasterMonitor.entity.DisasterZone;
 import com.urbanmonitor.domain.citizen.disasterMonitor.entity.DisasterZone.*;
+import com.urbanmonitor.shared.geo.BoundingBox;
 import org.springframework.data.jpa.domain.Specification;
 import jakarta.persistence.criteria.Predicate;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 /**
@@ -59,12 +62,72 @@ public class DisasterZoneSpecifications {
     }
 
     /**
-     * Specification cho severity >= một level
+     * Specification cho severity >= một level.
+     * Severity lưu dạng STRING nên so sánh >= trong SQL là so theo alphabet → dùng IN các level đủ nặng.
      */
     public static Specification<DisasterZone> severityAtLeast(SeverityLevel minSeverity) {
+        return (root, query, cb) -> {
+            if (minSeverity == null) return cb.conjunction();
+            List<SeverityLevel> levels = Arrays.stream(SeverityLevel.values())
+                .filter(level -> level.ordinal() >= minSeverity.ordinal())
+                .toList();
+            return root.get("severity").in(levels);
+        };
+    }
+
+    /**
+     * Specification cho zone có bbox (cột tính sẵn lúc ghi) giao với bbox query.
+     * Dữ liệu cũ chưa có bbox thì xét theo tâm zone.
+     */
+    public static Specification<DisasterZone> intersectsBbox(BoundingBox bbox) {
+        return (root, query, cb) -> {
+            if (bbox == null) return cb.conjunction();
+            Predicate compiled = cb.and(
+                cb.lessThanOrEqualTo(root.get("bboxMinLng"), bbox.getMaxLng()),
+                cb.greaterThanOrEqualTo(root.get("bboxMaxLng"), bbox.getMinLng()),
+                cb.lessThanOrEqualTo(root.get("bboxMinLat"), bbox.getMaxLat()),
+                cb.greaterThanOrEqualTo(root.get("bboxMaxLat"), bbox.getMinLat()));
+            Predicate legacy = cb.and(
+                cb.isNull(root.get("bboxMinLng")),
+                cb.between(root.get("centerLongitude"), bbox.getMinLng(), bbox.getMaxLng()),
+                cb.between(root.get("centerLatitude"), bbox.getMinLat(), bbox.getMaxLat()));
+            return cb.or(compiled, legacy);
+        };
+    }
+
+    /**
+     * Specification cho zone diễn ra trong khoảng [from, to]:
+     * bắt đầu trước to và (chưa kết thúc hoặc kết thúc sau from). Cận nào null thì bỏ qua.
+     */
+    public static Specification<DisasterZone> activeBetween(LocalDateTime from, LocalDateTime to) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            if (to != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("startedAt"), to));
+            }
+            if (from != null) {
+                predicates.add(cb.or(
+                    cb.isNull(root.get("endedAt")),
+                    cb.greaterThanOrEqualTo(root.get("endedAt"), from)));
+            }
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    /**
+     * Keyset pagination theo id giảm dần: chỉ lấy các zone sau cursor
+     */
+    public static Specification<DisasterZone> idBefore(Long cursor) {
+        return (root, query, cb) -> 
+            cursor == null ? cb.conjunction() : cb.lessThan(root.get("id"), cursor);
+    }
+
+    /**
+     * Keyset theo id tăng dần (duyệt toàn bảng theo chunk)
+     */
+    public static Specification<DisasterZone> idAfter(Long cursor) {
         return (root, query, cb) -> 
-            minSeverity == null ? cb.conjunction() : 
-            cb.greaterThanOrEqualTo(root.get("severity"), minSeverity);
+            cursor == null ? cb.conjunction() : cb.greaterThan(root.get("id"), cursor);
     }
 
     /**
@@ -32,15 +32,38 @@ public class StatsCalculator {
             processZone(zone, statsMap);
         }
         
+        return toStats(statsMap);
+    }
+    
+    /**
+     * Phần đóng góp của MỘT zone vào stats (dùng cho incremental view: cộng khi thêm, trừ khi bỏ).
+     * Null nếu không strategy nào support zone.
+     */
+    public StatDetail contributionOf(DisasterZone zone) {
+        for (DisasterStatsStrategy strategy : strategies) {
+            if (strategy.supports(zone)) {
+                StatDetail contribution = new StatDetail();
+                strategy.updateStats(contribution, zone);
+                addPeopleAffected(contribution, zone);
+                return contribution;
+            }
+        }
+        return null;
+    }
+    
+    /**
+     * Copy counters ra Stats DTO mới
+     */
+    public Stats toStats(Map<DisasterType, StatDetail> statsMap) {
         return Stats.builder()
-                .flood(statsMap.get(DisasterType.FLOOD))
-                .earthquake(statsMap.get(DisasterType.EARTHQUAKE))
-                .heatwave(statsMap.get(DisasterType.HEATWAVE))
-                .storm(statsMap.get(DisasterType.STORM))
+                .flood(copy(statsMap.get(DisasterType.FLOOD)))
+                .earthquake(copy(statsMap.get(DisasterType.EARTHQUAKE)))
+                .heatwave(copy(statsMap.get(DisasterType.HEATWAVE)))
+                .storm(copy(statsMap.get(DisasterType.STORM)))
                 .build();
     }
     
-    private Map<DisasterType, StatDetail> initializeStatsMap() {
+    public Map<DisasterType, StatDetail> initializeStatsMap() {
         Map<DisasterType, StatDetail> map = new EnumMap<>(DisasterType.class);
         for (DisasterType type : DisasterType.values()) {
             map.put(type, new StatDetail());
@@ -53,8 +76,25 @@ public class StatsCalculator {
             if (strategy.supports(zone)) {
                 StatDetail stats = statsMap.get(zone.getDisasterType());
                 strategy.updateStats(stats, zone);
+                addPeopleAffected(stats, zone);
                 break; // Chỉ 1 strategy xử lý mỗi zone
             }
         }
     }
+    
+    /**
+     * Chung cho mọi loại thiên tai nên không nằm trong strategy
+     */
+    private void addPeopleAffected(StatDetail stats, DisasterZone zone) {
+        Long people = zone.getExposedPopulation() != null ? zone.getExposedPopulation() : zone.getAffectedPopulation();
+        if (people != null) {
+            stats.setPeopleAffected(stats.getPeopleAffected() + people);
+        }
+    }
+    
+    private StatDetail copy(StatDetail detail) {
+        return detail == null ? new StatDetail()
+                : new StatDetail(detail.getTotal(), detail.getEmergency(), detail.getAlert(), detail.getExtreme(),
+                        detail.getPeopleAffected());
+    }
 }
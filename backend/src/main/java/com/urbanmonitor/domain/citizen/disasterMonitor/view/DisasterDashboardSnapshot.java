@@ -0,0 +1,21 @@
+package com.urbanmonitor.domain.citizen.disasterMonitor.view;
+
+import com.urbanmonitor.domain.citizen.disasterMonitor.dto.DisasterDashboardResponse;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Immutable snapshot của dashboard view. Readers chỉ đọc, KHÔNG sửa stats / summaries.
+ */
+@Getter
+@AllArgsConstructor
+public class DisasterDashboardSnapshot {
+    private final long version;
+    private final int activeZoneCount;
+    private final DisasterDashboardResponse.Stats stats;
+    private final Map<Integer, ProvinceDisasterSummary> summaries; // province id → summary
+    private final LocalDateTime builtAt;
+}
@@ -0,0 +1,286 @@
+package com.urbanmonitor.domain.citizen.disasterMonitor.view;
+
+import com.urbanmonitor.domain.citizen.disasterMonitor.converter.ProvinceSpatialJoin;
+import com.urbanmonitor.domain.citizen.disasterMonitor.dto.DisasterDashboardResponse.StatDetail;
+import com.urbanmonitor.domain.citizen.disasterMonitor.entity.DisasterZone;
+import com.urbanmonitor.domain.citizen.disasterMonitor.entity.DisasterZone.DisasterType;
+import com.urbanmonitor.domain.citizen.disasterMonitor.entity.DisasterZone.ZoneStatus;
+import com.urbanmonitor.domain.citizen.disasterMonitor.entity.ProvinceOverlap;
+import com.urbanmonitor.domain.citizen.disasterMonitor.observer.DisasterZoneEvent;
+import com.urbanmonitor.domain.citizen.disasterMonitor.observer.DisasterZoneEventPublisher;
+import com.urbanmonitor.domain.citizen.disasterMonitor.observer.DisasterZoneObserver;
+import com.urbanmonitor.domain.citizen.disasterMonitor.observer.JournalDisasterZoneObserver;
+import com.urbanmonitor.domain.citizen.disasterMonitor.repository.DisasterZoneRepository;
+import com.urbanmonitor.domain.citizen.disasterMonitor.strategy.StatsCalculator;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * OBSERVER PATTERN - Concrete Observer: materialized view cho /api/disaster/dashboard.
+ *
+ * - Write: mỗi DisasterZoneEvent được apply incremental dưới một lock
+ *          (stats cộng/trừ theo phần đóng góp của zone, chỉ tính lại primary của các tỉnh bị ảnh hưởng;
+ *          tỉnh của zone lấy từ spatial join tính sẵn lúc ghi - ProvinceSpatialJoin)
+ * - Read:  snapshot immutable qua AtomicReference, không lock, không query DB
+ * - Rebuild: full reload lúc startup (từ event journal nếu có, không thì DB) và reconcile định kỳ với DB;
+ *            events tới trong lúc đang load được buffer rồi replay lên kết quả để không bị mất
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class DisasterDashboardView implements DisasterZoneObserver {
+
+    private final DisasterZoneEventPublisher publisher;
+    private final DisasterZoneRepository repository;
+    private final StatsCalculator statsCalculator;
+    private final ProvinceSpatialJoin provinceJoin;
+    private final JournalDisasterZoneObserver zoneJournal;
+
+    private final AtomicReference<DisasterDashboardSnapshot> snapshot = new AtomicReference<>();
+    private final Object lock = new Object();
+
+    // ---- Working state, guarded by lock ----
+    private final Map<Long, DisasterZone> activeZones = new HashMap<>();
+    private final Map<Long, StatDetail> contributions = new HashMap<>();
+    private final Map<Long, Map<Integer, ProvinceOverlap>> zoneProvinces = new HashMap<>();
+    private final Map<Integer, Set<Long>> provinceZones = new HashMap<>();
+    private final Map<Integer, ProvinceDisasterSummary> summaries = new HashMap<>();
+    private Map<DisasterType, StatDetail> totals;
+    private List<DisasterZoneEvent> pendingDuringRebuild;
+    private boolean journalReplayed;
+    private long version;
+
+    @PostConstruct
+    public void init() {
+        totals = statsCalculator.initializeStatsMap();
+        publisher.subscribe(this);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+
+    /**
+     * Reconcile với DB (bù cho events của transaction bị rollback, ghi thẳng vào DB, ...)
+     */
+    @Scheduled(
+        initialDelayString = "${disaster.dashboard.reconcile-interval-ms:300000}",
+        fixedDelayString = "${disaster.dashboard.reconcile-interval-ms:300000}")
+    public void reconcile() {
+        rebuild();
+    }
+
+    /**
+     * Snapshot hiện tại, empty nếu chưa rebuild lần đầu
+     */
+    public Optional<DisasterDashboardSnapshot> current() {
+        return Optional.ofNullable(snapshot.get());
+    }
+
+    public boolean isReady() {
+        return snapshot.get() != null;
+    }
+
+    @Override
+    public void onDisasterZoneEvent(DisasterZoneEvent event) {
+        synchronized (lock) {
+            if (pendingDuringRebuild != null) {
+                pendingDuringRebuild.add(event);
+            }
+            apply(event);
+            // Trước lần rebuild đầu tiên state chưa đầy đủ, chưa publish
+            if (snapshot.get() != null) {
+                publishSnapshot();
+            }
+        }
+    }
+
+    /**
+     * Cả chunk trong một lần giữ lock, publish snapshot một lần
+     */
+    @Override
+    public void onDisasterZoneEvents(List<DisasterZoneEvent> events) {
+        synchronized (lock) {
+            if (pendingDuringRebuild != null) {
+                pendingDuringRebuild.addAll(events);
+            }
+            events.forEach(this::apply);
+            if (snapshot.get() != null) {
+                publishSnapshot();
+            }
+        }
+    }
+
+    /**
+     * Full rebuild. Load chạy ngoài lock, events trong lúc đó được replay sau.
+     */
+    public void rebuild() {
+        synchronized (lock) {
+            if (pendingDuringRebuild != null) {
+                log.debug("Dashboard rebuild already in progress");
+                return;
+            }
+            pendingDuringRebuild = new ArrayList<>();
+        }
+
+        try {
+            List<DisasterZone> zones = loadZones();
+
+            synchronized (lock) {
+                resetState();
+                zones.forEach(this::upsert);
+                pendingDuringRebuild.forEach(this::apply);
+                publishSnapshot();
+                log.info("Disaster dashboard view rebuilt: {} active zones, {} events replayed",
+                    activeZones.size(), pendingDuringRebuild.size());
+                pendingDuringRebuild = null;
+            }
+        } catch (RuntimeException e) {
+            synchronized (lock) {
+                pendingDuringRebuild = null;
+            }
+            log.error("Failed to rebuild disaster dashboard view: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Lần rebuild đầu (startup) lấy state từ event journal nếu đã có checkpoint, các lần sau query DB
+     */
+    private List<DisasterZone> loadZones() {
+        if (!journalReplayed) {
+            journalReplayed = true;
+            Optional<List<DisasterZone>> journaled = zoneJournal.replayActiveZones();
+            if (journaled.isPresent()) {
+                log.debug("{} zones replayed from event journal", journaled.get().size());
+                return journaled.get();
+            }
+        }
+        return repository.findAllActiveOrderBySeverity();
+    }
+
+    // ==================== APPLY (caller holds lock) ====================
+
+    private void apply(DisasterZoneEvent event) {
+        DisasterZone zone = event.getZone();
+        if (zone == null || zone.getId() == null) {
+            return;
+        }
+        switch (event.getType()) {
+            case CREATED, UPDATED, STATUS_CHANGED -> upsert(zone);
+            case DELETED -> remove(zone.getId());
+        }
+    }
+
+    private void upsert(DisasterZone zone) {
+        remove(zone.getId());
+        if (zone.getStatus() == ZoneStatus.RESOLVED) {
+            return;
+        }
+
+        activeZones.put(zone.getId(), zone);
+
+        StatDetail contribution = statsCalculator.contributionOf(zone);
+        if (contribution != null) {
+            contributions.put(zone.getId(), contribution);
+            add(totals.get(zone.getDisasterType()), contribution, 1);
+        }
+
+        Map<Integer, ProvinceOverlap> provinces = provinceJoin.overlapsByProvince(zone);
+        zoneProvinces.put(zone.getId(), provinces);
+        for (int provinceId : provinces.keySet()) {
+            provinceZones.computeIfAbsent(provinceId, k -> new HashSet<>()).add(zone.getId());
+            refreshSummary(provinceId);
+        }
+    }
+
+    private void remove(Long zoneId) {
+        DisasterZone previous = activeZones.remove(zoneId);
+        if (previous == null) {
+            return;
+        }
+
+        StatDetail contribution = contributions.remove(zoneId);
+        if (contribution != null) {
+            add(totals.get(previous.getDisasterType()), contribution, -1);
+        }
+
+        Map<Integer, ProvinceOverlap> provinces = zoneProvinces.remove(zoneId);
+        if (provinces != null) {
+            for (int provinceId : provinces.keySet()) {
+                Set<Long> ids = provinceZones.get(provinceId);
+                if (ids != null) {
+                    ids.remove(zoneId);
+                    if (ids.isEmpty()) {
+                        provinceZones.remove(provinceId);
+                    }
+                }
+                refreshSummary(provinceId);
+            }
+        }
+    }
+
+    /**
+     * Primary = severity cao nhất, hoà thì id nhỏ hơn; diện tích / dân số cộng lại từ overlap
+     * của mọi zone trong tỉnh (chỉ các tỉnh bị event chạm tới)
+     */
+    private void refreshSummary(int provinceId) {
+        Set<Long> ids = provinceZones.get(provinceId);
+        if (ids == null || ids.isEmpty()) {
+            summaries.remove(provinceId);
+            return;
+        }
+
+        DisasterZone primary = null;
+        ProvinceExposure exposure = new ProvinceExposure();
+        for (Long id : ids) {
+            DisasterZone candidate = activeZones.get(id);
+            if (primary == null || moreSevere(candidate, primary)) {
+                primary = candidate;
+            }
+            exposure.add(candidate, zoneProvinces.get(id).get(provinceId));
+        }
+        summaries.put(provinceId, exposure.summarize(primary, ids.size()));
+    }
+
+    private boolean moreSevere(DisasterZone a, DisasterZone b) {
+        int sa = a.getSeverity() != null ? a.getSeverity().ordinal() : -1;
+        int sb = b.getSeverity() != null ? b.getSeverity().ordinal() : -1;
+        return sa != sb ? sa > sb : a.getId() < b.getId();
+    }
+
+    private void add(StatDetail target, StatDetail delta, int sign) {
+        target.setTotal(target.getTotal() + sign * delta.getTotal());
+        target.setEmergency(target.getEmergency() + sign * delta.getEmergency());
+        target.setAlert(target.getAlert() + sign * delta.getAlert());
+        target.setExtreme(target.getExtreme() + sign * delta.getExtreme());
+        target.setPeopleAffected(target.getPeopleAffected() + sign * delta.getPeopleAffected());
+    }
+
+    private void resetState() {
+        activeZones.clear();
+        contributions.clear();
+        zoneProvinces.clear();
+        provinceZones.clear();
+        summaries.clear();
+        totals = statsCalculator.initializeStatsMap();
+    }
+
+    private void publishSnapshot() {
+        snapshot.set(new DisasterDashboardSnapshot(
+            ++version,
+            activeZones.size(),
+            statsCalculator.toStats(totals),
+            Collections.unmodifiableMap(new HashMap<>(summaries)),
+            LocalDateTime.now()));
+    }
+}
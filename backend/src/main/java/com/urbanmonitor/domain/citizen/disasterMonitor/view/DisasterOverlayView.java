@@ -0,0 +1,287 @@
+package com.urbanmonitor.domain.citizen.disasterMonitor.view;
+
+import com.urbanmonitor.domain.citizen.disasterMonitor.builder.GeoJsonCollectionBuilder;
+import com.urbanmonitor.domain.citizen.disasterMonitor.builder.GeoJsonFeatureBuilder;
+import com.urbanmonitor.domain.citizen.disasterMonitor.config.DisasterColorConfig;
+import com.urbanmonitor.domain.citizen.disasterMonitor.entity.DisasterZone;
+import com.urbanmonitor.domain.citizen.disasterMonitor.entity.DisasterZone.DisasterType;
+import com.urbanmonitor.domain.citizen.disasterMonitor.entity.DisasterZone.SeverityLevel;
+import com.urbanmonitor.domain.citizen.disasterMonitor.observer.DisasterZoneEvent;
+import com.urbanmonitor.domain.citizen.disasterMonitor.observer.DisasterZoneEventPublisher;
+import com.urbanmonitor.domain.citizen.disasterMonitor.observer.DisasterZoneObserver;
+import com.urbanmonitor.shared.geo.BoundingBox;
+import com.urbanmonitor.shared.geo.GeodesicArea;
+import com.urbanmonitor.shared.geo.GeometryView;
+import com.urbanmonitor.shared.geo.PackedGeometry;
+import com.urbanmonitor.shared.geo.PolygonUnion;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * OBSERVER PATTERN - Concrete Observer: overlay toàn quốc, mỗi (loại thiên tai, severity) một
+ * MultiPolygon đã dissolve ({@link PolygonUnion}) từ polygon của các zone active.
+ *
+ * - Cache theo loại thiên tai. Event chỉ tính lại loại của zone (cả loại cũ nếu zone đổi loại),
+ *   ở background trên pool riêng; nhiều loại cần tính thì chạy song song, mỗi loại một task.
+ * - Mỗi overlay giữ fingerprint của tập zone đã dùng (id, severity, updatedAt, bbox). Request so lại
+ *   với spatial index, nên thay đổi không đi qua events (reconcile với DB) cũng được tính lại.
+ *
+ * Subscribe "after" spatial index vì zones được đọc từ index: index phải apply event trước.
+ */
+@Component
+@Slf4j
+public class DisasterOverlayView implements DisasterZoneObserver {
+
+    private static final BoundingBox WORLD = new BoundingBox(-180, -90, 180, 90);
+
+    private final DisasterZoneEventPublisher publisher;
+    private final DisasterZoneSpatialIndex spatialIndex;
+    private final DisasterColorConfig colorConfig;
+    private final ForkJoinPool pool;
+
+    private final Map<DisasterType, TypeOverlay> overlays = new ConcurrentHashMap<>();
+    /** Loại hiện tại của mỗi zone đã thấy, để event đổi loại tính lại cả loại cũ */
+    private final Map<Long, DisasterType> zoneTypes = new ConcurrentHashMap<>();
+    /** Loại đang chờ tính lại ở background (gộp nhiều event liên tiếp thành một lần tính) */
+    private final Set<DisasterType> scheduled = ConcurrentHashMap.newKeySet();
+    private final AtomicLong sequence = new AtomicLong();
+
+    public DisasterOverlayView(DisasterZoneEventPublisher publisher,
+                               DisasterZoneSpatialIndex spatialIndex,
+                               DisasterColorConfig colorConfig,
+                               @Value("${disaster.overlay.parallelism:0}") int parallelism) {
+        this.publisher = publisher;
+        this.spatialIndex = spatialIndex;
+        this.colorConfig = colorConfig;
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : DisasterType.values().length);
+    }
+
+    @PostConstruct
+    public void init() {
+        publisher.subscribe(this, spatialIndex);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        spatialIndex.forEachCandidate(WORLD, (zone, geometry) -> zoneTypes.put(zone.getId(), zone.getDisasterType()));
+        schedule(EnumSet.allOf(DisasterType.class));
+    }
+
+    /**
+     * FeatureCollection: mỗi feature là vùng hợp của các zone active cùng loại + severity,
+     * severity tăng dần (client vẽ band nặng nhất lên trên). Level of detail áp dụng sau dissolve.
+     *
+     * @param types rỗng = mọi loại
+     */
+    public Map<String, Object> getOverlay(Set<DisasterType> types, GeometryView view) {
+        Set<DisasterType> requested = types.isEmpty() ? EnumSet.allOf(DisasterType.class) : EnumSet.copyOf(types);
+        long seq = sequence.incrementAndGet();
+        Map<DisasterType, List<Member>> members = activeMembers(requested);
+
+        List<Callable<TypeOverlay>> stale = new ArrayList<>();
+        for (DisasterType type : requested) {
+            List<Member> typeMembers = members.get(type);
+            TypeOverlay cached = overlays.get(type);
+            if (cached == null || cached.fingerprint != fingerprint(typeMembers)) {
+                stale.add(() -> store(compute(type, typeMembers, seq)));
+            }
+        }
+        Map<DisasterType, TypeOverlay> current = new EnumMap<>(DisasterType.class);
+        for (TypeOverlay overlay : invokeAll(stale)) {
+            current.put(overlay.type, overlay);
+        }
+
+        GeoJsonCollectionBuilder collection = GeoJsonCollectionBuilder.create();
+        for (DisasterType type : requested) {
+            TypeOverlay overlay = current.containsKey(type) ? current.get(type) : overlays.get(type);
+            for (Band band : overlay.bands) {
+                PackedGeometry geometry = view.apply(band.geometry);
+                if (geometry == null) {
+                    continue;
+                }
+                collection.addFeature(GeoJsonFeatureBuilder.create()
+                    .withGeometry(geometry)
+                    .withProperty("disasterType", type.name())
+                    .withProperty("severity", band.severity.name())
+                    .withProperty("zoneCount", band.zoneCount)
+                    .withProperty("areaKm2", band.areaKm2)
+                    .withProperty("color", colorConfig.getColor(type)));
+            }
+        }
+        return collection.build();
+    }
+
+    @Override
+    public void onDisasterZoneEvent(DisasterZoneEvent event) {
+        onDisasterZoneEvents(List.of(event));
+    }
+
+    @Override
+    public void onDisasterZoneEvents(List<DisasterZoneEvent> events) {
+        Set<DisasterType> affected = EnumSet.noneOf(DisasterType.class);
+        for (DisasterZoneEvent event : events) {
+            DisasterZone zone = event.getZone();
+            if (zone == null || zone.getId() == null) {
+                continue;
+            }
+            DisasterType previous = event.getType() == DisasterZoneEvent.EventType.DELETED
+                ? zoneTypes.remove(zone.getId())
+                : zone.getDisasterType() != null ? zoneTypes.put(zone.getId(), zone.getDisasterType()) : null;
+            if (previous != null) {
+                affected.add(previous);
+            }
+            if (zone.getDisasterType() != null) {
+                affected.add(zone.getDisasterType());
+            }
+        }
+        schedule(affected);
+    }
+
+    private void schedule(Collection<DisasterType> types) {
+        for (DisasterType type : types) {
+            if (scheduled.add(type)) {
+                pool.execute(() -> {
+                    scheduled.remove(type);
+                    refresh(type);
+                });
+            }
+        }
+    }
+
+    private void refresh(DisasterType type) {
+        try {
+            long seq = sequence.incrementAndGet();
+            List<Member> members = activeMembers(EnumSet.of(type)).get(type);
+            TypeOverlay cached = overlays.get(type);
+            if (cached == null || cached.fingerprint != fingerprint(members)) {
+                store(compute(type, members, seq));
+            }
+        } catch (RuntimeException e) {
+            log.warn("Failed to refresh {} overlay: {}", type, e.getMessage());
+        }
+    }
+
+    /**
+     * Bản tính từ snapshot index mới hơn thắng (request và background có thể tính cùng lúc)
+     */
+    private TypeOverlay store(TypeOverlay overlay) {
+        overlays.merge(overlay.type, overlay, (old, computed) -> computed.sequence > old.sequence ? computed : old);
+        return overlay;
+    }
+
+    private TypeOverlay compute(DisasterType type, List<Member> members, long seq) {
+        long start = System.currentTimeMillis();
+        Map<SeverityLevel, List<PackedGeometry>> bySeverity = new EnumMap<>(SeverityLevel.class);
+        for (Member member : members) {
+            bySeverity.computeIfAbsent(member.severity(), severity -> new ArrayList<>()).add(member.geometry());
+        }
+
+        List<Band> bands = new ArrayList<>(bySeverity.size());
+        int vertices = 0;
+        for (Map.Entry<SeverityLevel, List<PackedGeometry>> entry : bySeverity.entrySet()) {
+            PackedGeometry dissolved = PolygonUnion.union(entry.getValue());
+            if (dissolved == null) {
+                continue;
+            }
+            vertices += dissolved.getVertexCount();
+            bands.add(new Band(entry.getKey(), dissolved, entry.getValue().size(),
+                Math.round(GeodesicArea.areaKm2(dissolved) * 100) / 100.0));
+        }
+        log.debug("{} overlay: {} zones dissolved into {} bands ({} vertices) in {} ms",
+            type, members.size(), bands.size(), vertices, System.currentTimeMillis() - start);
+        return new TypeOverlay(type, seq, fingerprint(members), bands);
+    }
+
+    private List<TypeOverlay> invokeAll(List<Callable<TypeOverlay>> tasks) {
+        List<TypeOverlay> result = new ArrayList<>(tasks.size());
+        if (tasks.size() == 1) {
+            try {
+                result.add(tasks.get(0).call());
+            } catch (Exception e) {
+                throw new RuntimeException("Failed to compute disaster overlay", e);
+            }
+            return result;
+        }
+        for (Future<TypeOverlay> future : pool.invokeAll(tasks)) {
+            try {
+                result.add(future.get());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Interrupted while computing disaster overlay", e);
+            } catch (ExecutionException e) {
+                throw new RuntimeException("Failed to compute disaster overlay", e.getCause());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Zones active có polygon của các loại cần, từ spatial index (không query DB).
+     * Zone chưa có severity xếp vào band thấp nhất.
+     */
+    private Map<DisasterType, List<Member>> activeMembers(Set<DisasterType> types) {
+        Map<DisasterType, List<Member>> members = new EnumMap<>(DisasterType.class);
+        types.forEach(type -> members.put(type, new ArrayList<>()));
+        spatialIndex.forEachCandidate(WORLD, (zone, geometry) -> {
+            List<Member> list = zone.getDisasterType() == null ? null : members.get(zone.getDisasterType());
+            if (list != null) {
+                SeverityLevel severity = zone.getSeverity() != null ? zone.getSeverity() : SeverityLevel.LOW;
+                list.add(new Member(zone.getId(), severity, Objects.hashCode(zone.getUpdatedAt()), geometry));
+            }
+        });
+        return members;
+    }
+
+    /**
+     * Không phụ thuộc thứ tự: tổng hash của từng zone
+     */
+    private static long fingerprint(List<Member> members) {
+        long sum = members.size();
+        for (Member member : members) {
+            BoundingBox bbox = member.geometry().getBbox();
+            long h = member.id() * 31 + member.severity().ordinal();
+            h = h * 31 + member.updatedAtHash();
+            h = h * 31 + Double.hashCode(bbox.getMinLng()) + 7L * Double.hashCode(bbox.getMaxLat());
+            h = h * 31 + member.geometry().getVertexCount();
+            sum += mix(h);
+        }
+        return sum;
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    private record Member(long id, SeverityLevel severity, int updatedAtHash, PackedGeometry geometry) {}
+
+    private record Band(SeverityLevel severity, PackedGeometry geometry, int zoneCount, double areaKm2) {}
+
+    private record TypeOverlay(DisasterType type, long sequence, long fingerprint, List<Band> bands) {}
+}
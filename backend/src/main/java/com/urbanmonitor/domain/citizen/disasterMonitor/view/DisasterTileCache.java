@@ -0,0 +1,187 @@
+package com.urbanmonitor.domain.citizen.disasterMonitor.view;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.urbanmonitor.domain.citizen.disasterMonitor.converter.DisasterTileRenderer;
+import com.urbanmonitor.domain.citizen.disasterMonitor.converter.DisasterZoneGeometryCompiler;
+import com.urbanmonitor.domain.citizen.disasterMonitor.converter.ProvinceSpatialJoin;
+import com.urbanmonitor.domain.citizen.disasterMonitor.entity.DisasterZone;
+import com.urbanmonitor.domain.citizen.disasterMonitor.observer.DisasterZoneEvent;
+import com.urbanmonitor.domain.citizen.disasterMonitor.observer.DisasterZoneEventPublisher;
+import com.urbanmonitor.domain.citizen.disasterMonitor.observer.DisasterZoneObserver;
+import com.urbanmonitor.shared.geo.BoundingBox;
+import com.urbanmonitor.shared.geo.PackedGeometry;
+import com.urbanmonitor.shared.geo.tile.TileCoordinates;
+import com.urbanmonitor.shared.province.ProvinceGeometry;
+import com.urbanmonitor.shared.province.ProvinceGeometryRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * OBSERVER PATTERN - Concrete Observer: cache vector tiles (Caffeine, giới hạn theo bytes).
+ *
+ * Invalidation theo từng tile: mỗi event tính vùng bị ảnh hưởng (bbox cũ + mới của zone,
+ * cộng bbox các tỉnh chứa zone vì màu tỉnh đổi theo) rồi chỉ xoá các tile giao với vùng đó.
+ * Tile render trong lúc có event đến thì không được cache (tránh cache lại dữ liệu cũ).
+ *
+ * Subscribe "after" spatial index / dashboard view: mỗi observer chạy trên thread riêng của event bus,
+ * nên phải đợi hai view kia apply xong event thì invalidate mới không cache lại dữ liệu cũ.
+ */
+@Component
+@Slf4j
+public class DisasterTileCache implements DisasterZoneObserver {
+
+    private static final BoundingBox WORLD = new BoundingBox(-180, -90, 180, 90);
+
+    private final DisasterZoneEventPublisher publisher;
+    private final DisasterTileRenderer renderer;
+    private final DisasterDashboardView dashboardView;
+    private final ProvinceSpatialJoin provinceJoin;
+    private final ProvinceGeometryRegistry provinceRegistry;
+    private final DisasterZoneGeometryCompiler geometryCompiler;
+    private final DisasterZoneSpatialIndex spatialIndex;
+    private final Cache<TileCoordinates, byte[]> cache;
+
+    /** Vùng ảnh hưởng lần trước của mỗi zone, để invalidate cả vị trí cũ khi zone bị sửa / xoá */
+    private final Map<Long, BoundingBox> zoneFootprints = new ConcurrentHashMap<>();
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public DisasterTileCache(DisasterZoneEventPublisher publisher,
+                             DisasterTileRenderer renderer,
+                             DisasterDashboardView dashboardView,
+                             ProvinceSpatialJoin provinceJoin,
+                             ProvinceGeometryRegistry provinceRegistry,
+                             DisasterZoneGeometryCompiler geometryCompiler,
+                             DisasterZoneSpatialIndex spatialIndex,
+                             @Value("${disaster.tiles.cache-max-bytes:67108864}") long maxBytes,
+                             @Value("${disaster.tiles.cache-ttl-seconds:300}") long ttlSeconds) {
+        this.publisher = publisher;
+        this.renderer = renderer;
+        this.dashboardView = dashboardView;
+        this.provinceJoin = provinceJoin;
+        this.provinceRegistry = provinceRegistry;
+        this.geometryCompiler = geometryCompiler;
+        this.spatialIndex = spatialIndex;
+        // TTL bù cho reconcile định kỳ của các view (thay đổi không đi qua events)
+        this.cache = Caffeine.newBuilder()
+            .maximumWeight(maxBytes)
+            .weigher((TileCoordinates key, byte[] tile) -> tile.length + 64)
+            .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+            .build();
+    }
+
+    @PostConstruct
+    public void init() {
+        publisher.subscribe(this, spatialIndex, dashboardView);
+    }
+
+    /**
+     * Ghi nhận vị trí các zone đã có trong DB, để event sửa / xoá đầu tiên invalidate đúng chỗ cũ
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        spatialIndex.forEachCandidate(WORLD, (zone, geometry) ->
+            zoneFootprints.putIfAbsent(zone.getId(), footprintOf(zone, geometry.getBbox())));
+        log.info("Disaster tile cache tracking {} zones", zoneFootprints.size());
+    }
+
+    public byte[] getTile(TileCoordinates tile) {
+        byte[] cached = cache.getIfPresent(tile);
+        if (cached != null) {
+            return cached;
+        }
+
+        long before = invalidations.get();
+        Optional<DisasterDashboardSnapshot> snapshot = dashboardView.current();
+        byte[] rendered = renderer.render(tile,
+            snapshot.map(DisasterDashboardSnapshot::getSummaries).orElse(Map.of()));
+
+        // Chưa có snapshot (màu tỉnh chưa đúng) hoặc có event trong lúc render → không cache
+        if (snapshot.isPresent() && invalidations.get() == before) {
+            cache.put(tile, rendered);
+        }
+        return rendered;
+    }
+
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    @Override
+    public void onDisasterZoneEvent(DisasterZoneEvent event) {
+        onDisasterZoneEvents(List.of(event));
+    }
+
+    /**
+     * Gom vùng ảnh hưởng của cả chunk rồi quét cache một lần
+     */
+    @Override
+    public void onDisasterZoneEvents(List<DisasterZoneEvent> events) {
+        List<BoundingBox> changedBoxes = new ArrayList<>();
+        BoundingBox changed = BoundingBox.EMPTY;
+        boolean invalidateAll = false;
+        for (DisasterZoneEvent event : events) {
+            DisasterZone zone = event.getZone();
+            if (zone == null || zone.getId() == null) {
+                continue;
+            }
+            invalidations.incrementAndGet();
+
+            BoundingBox previous = zoneFootprints.remove(zone.getId());
+            BoundingBox current = null;
+            if (event.getType() != DisasterZoneEvent.EventType.DELETED) {
+                current = footprintOf(zone, geometryCompiler.geometryOf(zone).map(PackedGeometry::getBbox).orElse(null));
+                if (current != null) {
+                    zoneFootprints.put(zone.getId(), current);
+                }
+            }
+
+            // Zone cũ chưa được track (không biết vị trí trước đó) hoặc không có vị trí → xoá hết cho chắc
+            boolean unknownPrevious = previous == null && event.getType() != DisasterZoneEvent.EventType.CREATED;
+            if (unknownPrevious || (previous == null && current == null)) {
+                invalidateAll = true;
+                continue;
+            }
+            BoundingBox box = previous == null ? current : current == null ? previous : previous.union(current);
+            changedBoxes.add(box);
+            changed = changed.union(box);
+        }
+
+        if (invalidateAll) {
+            cache.invalidateAll();
+            return;
+        }
+        if (changedBoxes.isEmpty()) {
+            return;
+        }
+        BoundingBox bounds = changed;
+        int before = (int) cache.estimatedSize();
+        cache.asMap().keySet().removeIf(tile -> tile.bounds().intersects(bounds)
+            && changedBoxes.stream().anyMatch(box -> tile.bounds().intersects(box)));
+        log.debug("{} zone events: invalidated {} of {} cached tiles",
+            changedBoxes.size(), before - cache.estimatedSize(), before);
+    }
+
+    /**
+     * Bbox zone ∪ bbox các tỉnh chứa zone (layer provinces đổi màu theo zone)
+     */
+    private BoundingBox footprintOf(DisasterZone zone, BoundingBox geometryBbox) {
+        BoundingBox box = geometryBbox != null ? geometryBbox : BoundingBox.EMPTY;
+        for (int provinceId : provinceJoin.provinceIdsOf(zone)) {
+            box = box.union(provinceRegistry.findById(provinceId).map(ProvinceGeometry::getBbox).orElse(BoundingBox.EMPTY));
+        }
+        return box.isEmpty() ? null : box;
+    }
+}
@@ -0,0 +1,337 @@
+package com.urbanmonitor.domain.citizen.disasterMonitor.view;
+
+import com.urbanmonitor.domain.citizen.disasterMonitor.dto.DisasterDashboardResponse.StatDetail;
+import com.urbanmonitor.domain.citizen.disasterMonitor.dto.DisasterDashboardResponse.Stats;
+import com.urbanmonitor.domain.citizen.disasterMonitor.entity.DisasterZone;
+import com.urbanmonitor.domain.citizen.disasterMonitor.entity.DisasterZone.DisasterType;
+import com.urbanmonitor.domain.citizen.disasterMonitor.entity.DisasterZone.SeverityLevel;
+import com.urbanmonitor.domain.citizen.disasterMonitor.entity.DisasterZone.ZoneStatus;
+import com.urbanmonitor.domain.citizen.disasterMonitor.observer.DisasterZoneEvent;
+import com.urbanmonitor.domain.citizen.disasterMonitor.observer.DisasterZoneEventPublisher;
+import com.urbanmonitor.domain.citizen.disasterMonitor.observer.DisasterZoneObserver;
+import com.urbanmonitor.domain.citizen.disasterMonitor.observer.JournalDisasterZoneObserver;
+import com.urbanmonitor.domain.citizen.disasterMonitor.repository.DisasterZoneRepository;
+import com.urbanmonitor.domain.citizen.disasterMonitor.strategy.StatsCalculator;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.*;
+
+/**
+ * OBSERVER PATTERN - Concrete Observer: timeline theo giờ cho /api/disaster/timeline.
+ *
+ * Mỗi zone là các segment [from, to) (đơn vị giờ) gắn với một version (type, severity, phần đóng góp
+ * vào stats). Event chỉ append delta vào {@link HourlyTimeline}: phần quá khứ giữ version cũ,
+ * từ giờ của event trở đi dùng version mới, nên stats của các frame cũ không bị viết lại.
+ * Khoảng active lấy từ startedAt / endedAt (RESOLVED mà không có endedAt thì kết thúc ở giờ của event).
+ *
+ * Đọc một khoảng = replay delta từ keyframe gần nhất, không query DB.
+ * Chỉ rebuild lúc startup (rebuild làm mất lịch sử version; state lấy từ event journal nếu có),
+ * dữ liệu cũ hơn retention bị gộp vào base.
+ */
+@Component
+@Slf4j
+public class DisasterTimelineView implements DisasterZoneObserver {
+
+    private final DisasterZoneEventPublisher publisher;
+    private final DisasterZoneRepository repository;
+    private final StatsCalculator statsCalculator;
+    private final JournalDisasterZoneObserver zoneJournal;
+    private final int retentionHours;
+
+    private final Object lock = new Object();
+
+    // ---- Working state, guarded by lock ----
+    private HourlyTimeline timeline = new HourlyTimeline();
+    private final Map<Integer, TimelineVersion> versions = new HashMap<>();
+    private final Map<Long, List<Segment>> zoneSegments = new HashMap<>();
+    private List<DisasterZoneEvent> pendingDuringRebuild;
+    private boolean journalReplayed;
+    private int nextVersion;
+    private boolean ready;
+
+    public DisasterTimelineView(
+            DisasterZoneEventPublisher publisher,
+            DisasterZoneRepository repository,
+            StatsCalculator statsCalculator,
+            JournalDisasterZoneObserver zoneJournal,
+            @Value("${disaster.timeline.retention-days:90}") int retentionDays) {
+        this.publisher = publisher;
+        this.repository = repository;
+        this.statsCalculator = statsCalculator;
+        this.zoneJournal = zoneJournal;
+        this.retentionHours = retentionDays * 24;
+    }
+
+    @PostConstruct
+    public void init() {
+        publisher.subscribe(this);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+
+    /**
+     * Gộp bucket quá retention vào base, bỏ segment / version không còn được tham chiếu
+     */
+    @Scheduled(fixedDelayString = "${disaster.timeline.prune-interval-ms:3600000}")
+    public void prune() {
+        synchronized (lock) {
+            int horizon = hourOf(LocalDateTime.now()) - retentionHours;
+            timeline.prune(horizon);
+            Set<Integer> referenced = new HashSet<>();
+            zoneSegments.values().removeIf(segments -> {
+                segments.removeIf(segment -> segment.to() <= horizon);
+                segments.forEach(segment -> referenced.add(segment.version()));
+                return segments.isEmpty();
+            });
+            versions.keySet().retainAll(referenced);
+        }
+    }
+
+    @Override
+    public void onDisasterZoneEvent(DisasterZoneEvent event) {
+        synchronized (lock) {
+            if (pendingDuringRebuild != null) {
+                pendingDuringRebuild.add(event);
+            }
+            apply(event, hourOf(LocalDateTime.now()));
+        }
+    }
+
+    @Override
+    public void onDisasterZoneEvents(List<DisasterZoneEvent> events) {
+        synchronized (lock) {
+            if (pendingDuringRebuild != null) {
+                pendingDuringRebuild.addAll(events);
+            }
+            int now = hourOf(LocalDateTime.now());
+            events.forEach(event -> apply(event, now));
+        }
+    }
+
+    /**
+     * Full rebuild (mọi zone, kể cả đã RESOLVED). Load chạy ngoài lock, events trong lúc đó được replay sau.
+     */
+    public void rebuild() {
+        synchronized (lock) {
+            if (pendingDuringRebuild != null) {
+                log.debug("Timeline rebuild already in progress");
+                return;
+            }
+            pendingDuringRebuild = new ArrayList<>();
+        }
+
+        try {
+            List<DisasterZone> zones = loadZones();
+
+            synchronized (lock) {
+                int now = hourOf(LocalDateTime.now());
+                timeline = new HourlyTimeline();
+                versions.clear();
+                zoneSegments.clear();
+                nextVersion = 0;
+                zones.forEach(zone -> upsert(zone, now));
+                pendingDuringRebuild.forEach(event -> apply(event, now));
+                timeline.prune(now - retentionHours);
+                ready = true;
+                log.info("Disaster timeline rebuilt: {} zones, {} hourly buckets, {} events replayed",
+                    zoneSegments.size(), timeline.bucketCount(), pendingDuringRebuild.size());
+                pendingDuringRebuild = null;
+            }
+        } catch (RuntimeException e) {
+            synchronized (lock) {
+                pendingDuringRebuild = null;
+            }
+            log.error("Failed to rebuild disaster timeline: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Frames cho from, from + stepHours, ... ≤ to (đã làm tròn xuống giờ). from trước retention
+     * được kéo lên mốc sớm nhất còn dữ liệu.
+     */
+    public List<TimelineFrame> frames(LocalDateTime from, LocalDateTime to, int stepHours) {
+        if (!isReady()) {
+            rebuild();
+        }
+        List<TimelineFrame> frames = new ArrayList<>();
+        synchronized (lock) {
+            int start = Math.max(hourOf(from), timeline.getBaseHour());
+            timeline.forEachFrame(start, hourOf(to), stepHours, (hour, active) ->
+                frames.add(frameOf(hour, active)));
+        }
+        return frames;
+    }
+
+    public boolean isReady() {
+        synchronized (lock) {
+            return ready;
+        }
+    }
+
+    /**
+     * Chỉ rebuild lúc startup nên thường replay từ event journal; stream chưa có checkpoint thì query DB
+     */
+    private List<DisasterZone> loadZones() {
+        if (!journalReplayed) {
+            journalReplayed = true;
+            Optional<List<DisasterZone>> journaled = zoneJournal.replayZones();
+            if (journaled.isPresent()) {
+                log.debug("{} zones replayed from event journal", journaled.get().size());
+                return journaled.get();
+            }
+        }
+        return repository.findAll();
+    }
+
+    // ==================== APPLY (caller holds lock) ====================
+
+    private void apply(DisasterZoneEvent event, int eventHour) {
+        DisasterZone zone = event.getZone();
+        if (zone == null || zone.getId() == null) {
+            return;
+        }
+        switch (event.getType()) {
+            case CREATED, UPDATED, STATUS_CHANGED -> upsert(zone, eventHour);
+            case DELETED -> {
+                List<Segment> removed = zoneSegments.remove(zone.getId());
+                if (removed != null) {
+                    removed.forEach(s -> timeline.remove(s.version(), s.from(), s.to()));
+                }
+            }
+        }
+    }
+
+    /**
+     * Trước eventHour giữ các segment cũ (cắt theo khoảng active mới), phần còn lại dùng version mới
+     */
+    private void upsert(DisasterZone zone, int eventHour) {
+        int from = hourOf(zone.getStartedAt() != null ? zone.getStartedAt()
+            : zone.getCreatedAt() != null ? zone.getCreatedAt() : LocalDateTime.now());
+        int to;
+        if (zone.getEndedAt() != null) {
+            to = hourOf(zone.getEndedAt()) + 1;
+        } else if (zone.getStatus() == ZoneStatus.RESOLVED) {
+            to = eventHour + 1;
+        } else {
+            to = HourlyTimeline.OPEN;
+        }
+        to = Math.max(to, from + 1);
+
+        List<Segment> previous = zoneSegments.getOrDefault(zone.getId(), List.of());
+        int version = versionOf(zone, previous);
+
+        List<Segment> next = new ArrayList<>();
+        int keepUntil = Math.min(eventHour, to);
+        for (Segment segment : previous) {
+            int f = Math.max(segment.from(), from);
+            int t = Math.min(segment.to(), keepUntil);
+            if (f < t) {
+                next.add(new Segment(segment.version(), f, t));
+            }
+        }
+        if (next.isEmpty()) {
+            next.add(new Segment(version, from, to));
+        } else {
+            if (from < next.get(0).from()) {
+                next.add(0, new Segment(version, from, next.get(0).from()));
+            }
+            int coveredUntil = next.get(next.size() - 1).to();
+            if (coveredUntil < to) {
+                next.add(new Segment(version, coveredUntil, to));
+            }
+        }
+        next = merge(next);
+
+        // Chỉ append delta cho phần thay đổi
+        for (Segment segment : previous) {
+            if (!next.contains(segment)) {
+                timeline.remove(segment.version(), segment.from(), segment.to());
+            }
+        }
+        for (Segment segment : next) {
+            if (!previous.contains(segment)) {
+                timeline.add(segment.version(), segment.from(), segment.to());
+            }
+        }
+        zoneSegments.put(zone.getId(), next);
+    }
+
+    /**
+     * Dùng lại version cuối nếu type / severity / phần đóng góp không đổi
+     */
+    private int versionOf(DisasterZone zone, List<Segment> previous) {
+        TimelineVersion candidate = new TimelineVersion(
+            zone.getId(), zone.getDisasterType(), zone.getSeverity(), statsCalculator.contributionOf(zone));
+        if (!previous.isEmpty()) {
+            int last = previous.get(previous.size() - 1).version();
+            if (candidate.equals(versions.get(last))) {
+                return last;
+            }
+        }
+        int id = nextVersion++;
+        versions.put(id, candidate);
+        return id;
+    }
+
+    private static List<Segment> merge(List<Segment> segments) {
+        List<Segment> merged = new ArrayList<>(segments.size());
+        for (Segment segment : segments) {
+            Segment last = merged.isEmpty() ? null : merged.get(merged.size() - 1);
+            if (last != null && last.version() == segment.version() && last.to() == segment.from()) {
+                merged.set(merged.size() - 1, new Segment(last.version(), last.from(), segment.to()));
+            } else {
+                merged.add(segment);
+            }
+        }
+        return merged;
+    }
+
+    private TimelineFrame frameOf(int hour, Set<Integer> activeVersions) {
+        Map<DisasterType, StatDetail> totals = statsCalculator.initializeStatsMap();
+        long[] zoneIds = new long[activeVersions.size()];
+        int n = 0;
+        for (int id : activeVersions) {
+            TimelineVersion version = versions.get(id);
+            zoneIds[n++] = version.zoneId();
+            StatDetail contribution = version.contribution();
+            if (contribution != null && version.type() != null) {
+                StatDetail target = totals.get(version.type());
+                target.setTotal(target.getTotal() + contribution.getTotal());
+                target.setEmergency(target.getEmergency() + contribution.getEmergency());
+                target.setAlert(target.getAlert() + contribution.getAlert());
+                target.setExtreme(target.getExtreme() + contribution.getExtreme());
+                target.setPeopleAffected(target.getPeopleAffected() + contribution.getPeopleAffected());
+            }
+        }
+        Arrays.sort(zoneIds);
+        return new TimelineFrame(timeOf(hour), zoneIds, statsCalculator.toStats(totals));
+    }
+
+    static int hourOf(LocalDateTime time) {
+        return (int) Math.floorDiv(time.toEpochSecond(ZoneOffset.UTC), 3600L);
+    }
+
+    static LocalDateTime timeOf(int hour) {
+        return LocalDateTime.ofEpochSecond(hour * 3600L, 0, ZoneOffset.UTC);
+    }
+
+    /**
+     * Một frame của timeline: các zone active trong giờ đó và stats tương ứng
+     */
+    public record TimelineFrame(LocalDateTime time, long[] zoneIds, Stats stats) {}
+
+    private record TimelineVersion(Long zoneId, DisasterType type, SeverityLevel severity, StatDetail contribution) {}
+
+    private record Segment(int version, int from, int to) {}
+}
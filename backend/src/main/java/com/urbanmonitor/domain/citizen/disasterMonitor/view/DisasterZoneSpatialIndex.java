@@ -0,0 +1,319 @@
+package com.urbanmonitor.domain.citizen.disasterMonitor.view;
+
+import com.urbanmonitor.domain.citizen.disasterMonitor.converter.DisasterZoneGeometryCompiler;
+import com.urbanmonitor.domain.citizen.disasterMonitor.entity.DisasterZone;
+import com.urbanmonitor.domain.citizen.disasterMonitor.entity.DisasterZone.ZoneStatus;
+import com.urbanmonitor.domain.citizen.disasterMonitor.observer.DisasterZoneEvent;
+import com.urbanmonitor.domain.citizen.disasterMonitor.observer.DisasterZoneEventPublisher;
+import com.urbanmonitor.domain.citizen.disasterMonitor.observer.DisasterZoneObserver;
+import com.urbanmonitor.domain.citizen.disasterMonitor.observer.JournalDisasterZoneObserver;
+import com.urbanmonitor.domain.citizen.disasterMonitor.repository.DisasterZoneRepository;
+import com.urbanmonitor.shared.geo.BoundingBox;
+import com.urbanmonitor.shared.geo.GeometryPredicates;
+import com.urbanmonitor.shared.geo.PackedGeometry;
+import com.urbanmonitor.shared.geo.StrTree;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * OBSERVER PATTERN - Concrete Observer: spatial index trên polygon của các disaster đang active.
+ *
+ * - Base: STR R-tree immutable ({@link StrTree}) build từ toàn bộ zones
+ * - Delta: zones tạo/sửa sau lần build (quét tuyến tính, luôn nhỏ)
+ * - Tombstones: id trong base đã bị sửa/xoá/resolved, bị bỏ qua khi đọc base
+ * - Khi delta + tombstones vượt ngưỡng thì pack lại base (compaction) ngay trong lock
+ *
+ * Read: snapshot immutable qua AtomicReference, không lock, không query DB.
+ * Rebuild lúc startup (từ event journal nếu có) và reconcile định kỳ với DB, giống DisasterDashboardView.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class DisasterZoneSpatialIndex implements DisasterZoneObserver {
+
+    private static final int MIN_COMPACTION_THRESHOLD = 64;
+
+    private static final Comparator<IndexedZone> BY_SEVERITY_ASC = Comparator
+        .comparing((IndexedZone e) -> e.zone.getSeverity() != null ? e.zone.getSeverity().ordinal() : -1)
+        .thenComparing(e -> e.zone.getId());
+
+    private static final Comparator<DisasterZone> BY_SEVERITY = Comparator
+        .comparing((DisasterZone z) -> z.getSeverity() != null ? z.getSeverity().ordinal() : -1)
+        .reversed()
+        .thenComparing(DisasterZone::getId);
+
+    private final DisasterZoneEventPublisher publisher;
+    private final DisasterZoneRepository repository;
+    private final DisasterZoneGeometryCompiler geometryCompiler;
+    private final JournalDisasterZoneObserver zoneJournal;
+
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>();
+    private final Object lock = new Object();
+
+    // ---- Working state, guarded by lock ----
+    private StrTree<IndexedZone> base = StrTree.empty();
+    private final Map<Long, IndexedZone> baseEntries = new HashMap<>();
+    private final Map<Long, IndexedZone> delta = new LinkedHashMap<>();
+    private final Set<Long> tombstones = new HashSet<>();
+    private List<DisasterZoneEvent> pendingDuringRebuild;
+    private boolean journalReplayed;
+
+    @PostConstruct
+    public void init() {
+        publisher.subscribe(this);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+
+    @Scheduled(
+        initialDelayString = "${disaster.spatial-index.reconcile-interval-ms:300000}",
+        fixedDelayString = "${disaster.spatial-index.reconcile-interval-ms:300000}")
+    public void reconcile() {
+        rebuild();
+    }
+
+    public boolean isReady() {
+        return snapshot.get() != null;
+    }
+
+    public int size() {
+        Snapshot current = snapshot.get();
+        return current == null ? 0 : current.size;
+    }
+
+    // ==================== QUERIES ====================
+
+    /**
+     * Active zones có polygon chứa điểm, severity giảm dần
+     */
+    public List<DisasterZone> findAt(double lng, double lat) {
+        List<DisasterZone> result = new ArrayList<>();
+        readSnapshot().search(lng, lat, lng, lat, entry -> {
+            if (GeometryPredicates.contains(entry.geometry, lng, lat)) {
+                result.add(entry.zone);
+            }
+        });
+        result.sort(BY_SEVERITY);
+        return result;
+    }
+
+    /**
+     * Active zones có polygon giao với bbox, severity giảm dần
+     */
+    public List<DisasterZone> findWithin(BoundingBox bbox) {
+        List<DisasterZone> result = new ArrayList<>();
+        readSnapshot().search(bbox.getMinLng(), bbox.getMinLat(), bbox.getMaxLng(), bbox.getMaxLat(), entry -> {
+            if (GeometryPredicates.intersects(entry.geometry, bbox)) {
+                result.add(entry.zone);
+            }
+        });
+        result.sort(BY_SEVERITY);
+        return result;
+    }
+
+    /**
+     * Zones có bbox giao với bbox (chưa kiểm tra geometry chính xác) kèm geometry đã index,
+     * severity tăng dần để renderer vẽ zone nặng nhất lên trên cùng
+     */
+    public void forEachCandidate(BoundingBox bbox, BiConsumer<DisasterZone, PackedGeometry> consumer) {
+        List<IndexedZone> candidates = new ArrayList<>();
+        readSnapshot().search(bbox.getMinLng(), bbox.getMinLat(), bbox.getMaxLng(), bbox.getMaxLat(), candidates::add);
+        candidates.sort(BY_SEVERITY_ASC);
+        candidates.forEach(entry -> consumer.accept(entry.zone, entry.geometry));
+    }
+
+    /**
+     * Request tới trước lần rebuild đầu tiên: build đồng bộ (hoặc snapshot tạm nếu đang có rebuild khác chạy)
+     */
+    private Snapshot readSnapshot() {
+        Snapshot current = snapshot.get();
+        if (current != null) {
+            return current;
+        }
+        rebuild();
+        current = snapshot.get();
+        if (current != null) {
+            return current;
+        }
+        List<IndexedZone> entries = index(repository.findAllActiveOrderBySeverity());
+        return new Snapshot(StrTree.build(entries, IndexedZone::bbox), new IndexedZone[0], Set.of(), entries.size());
+    }
+
+    // ==================== WRITES ====================
+
+    @Override
+    public void onDisasterZoneEvent(DisasterZoneEvent event) {
+        synchronized (lock) {
+            if (pendingDuringRebuild != null) {
+                pendingDuringRebuild.add(event);
+            }
+            apply(event);
+            if (snapshot.get() != null) {
+                publishSnapshot();
+            }
+        }
+    }
+
+    /**
+     * Cả chunk trong một lần giữ lock, publish snapshot một lần
+     */
+    @Override
+    public void onDisasterZoneEvents(List<DisasterZoneEvent> events) {
+        synchronized (lock) {
+            if (pendingDuringRebuild != null) {
+                pendingDuringRebuild.addAll(events);
+            }
+            events.forEach(this::apply);
+            if (snapshot.get() != null) {
+                publishSnapshot();
+            }
+        }
+    }
+
+    /**
+     * Full rebuild. Load + decode chạy ngoài lock, events trong lúc đó được replay sau.
+     */
+    public void rebuild() {
+        synchronized (lock) {
+            if (pendingDuringRebuild != null) {
+                log.debug("Spatial index rebuild already in progress");
+                return;
+            }
+            pendingDuringRebuild = new ArrayList<>();
+        }
+
+        try {
+            List<IndexedZone> entries = index(loadZones());
+            StrTree<IndexedZone> tree = StrTree.build(entries, IndexedZone::bbox);
+
+            synchronized (lock) {
+                base = tree;
+                baseEntries.clear();
+                entries.forEach(entry -> baseEntries.put(entry.zone.getId(), entry));
+                delta.clear();
+                tombstones.clear();
+                pendingDuringRebuild.forEach(this::apply);
+                publishSnapshot();
+                log.info("Disaster spatial index rebuilt: {} zones, {} events replayed",
+                    baseEntries.size(), pendingDuringRebuild.size());
+                pendingDuringRebuild = null;
+            }
+        } catch (RuntimeException e) {
+            synchronized (lock) {
+                pendingDuringRebuild = null;
+            }
+            log.error("Failed to rebuild disaster spatial index: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Lần build đầu replay từ event journal (nếu có checkpoint), reconcile về sau query DB
+     */
+    private List<DisasterZone> loadZones() {
+        if (!journalReplayed) {
+            journalReplayed = true;
+            Optional<List<DisasterZone>> journaled = zoneJournal.replayActiveZones();
+            if (journaled.isPresent()) {
+                log.debug("{} zones replayed from event journal", journaled.get().size());
+                return journaled.get();
+            }
+        }
+        return repository.findAllActiveOrderBySeverity();
+    }
+
+    // ==================== APPLY (caller holds lock) ====================
+
+    private void apply(DisasterZoneEvent event) {
+        DisasterZone zone = event.getZone();
+        if (zone == null || zone.getId() == null) {
+            return;
+        }
+        remove(zone.getId());
+        if (event.getType() != DisasterZoneEvent.EventType.DELETED && zone.getStatus() != ZoneStatus.RESOLVED) {
+            toEntry(zone).ifPresent(entry -> delta.put(zone.getId(), entry));
+        }
+        if (delta.size() + tombstones.size() > Math.max(MIN_COMPACTION_THRESHOLD, baseEntries.size() / 4)) {
+            compact();
+        }
+    }
+
+    private void remove(Long id) {
+        delta.remove(id);
+        if (baseEntries.containsKey(id)) {
+            tombstones.add(id);
+        }
+    }
+
+    /**
+     * Pack lại base từ entries còn sống + delta
+     */
+    private void compact() {
+        tombstones.forEach(baseEntries::remove);
+        baseEntries.putAll(delta);
+        base = StrTree.build(new ArrayList<>(baseEntries.values()), IndexedZone::bbox);
+        delta.clear();
+        tombstones.clear();
+    }
+
+    private void publishSnapshot() {
+        snapshot.set(new Snapshot(
+            base,
+            delta.values().toArray(new IndexedZone[0]),
+            Set.copyOf(tombstones),
+            baseEntries.size() - tombstones.size() + delta.size()));
+    }
+
+    private List<IndexedZone> index(List<DisasterZone> zones) {
+        List<IndexedZone> entries = new ArrayList<>(zones.size());
+        for (DisasterZone zone : zones) {
+            toEntry(zone).ifPresent(entries::add);
+        }
+        return entries;
+    }
+
+    private Optional<IndexedZone> toEntry(DisasterZone zone) {
+        return geometryCompiler.geometryOf(zone).map(geometry -> new IndexedZone(zone, geometry));
+    }
+
+    // ==================== SNAPSHOT ====================
+
+    private record IndexedZone(DisasterZone zone, PackedGeometry geometry) {
+        BoundingBox bbox() {
+            return geometry.getBbox();
+        }
+    }
+
+    /**
+     * Immutable view: base tree (trừ tombstones) + delta
+     */
+    private record Snapshot(StrTree<IndexedZone> base, IndexedZone[] delta, Set<Long> tombstones, int size) {
+
+        void search(double minLng, double minLat, double maxLng, double maxLat, Consumer<IndexedZone> consumer) {
+            base.search(minLng, minLat, maxLng, maxLat, entry -> {
+                if (!tombstones.contains(entry.zone.getId())) {
+                    consumer.accept(entry);
+                }
+            });
+            for (IndexedZone entry : delta) {
+                BoundingBox box = entry.bbox();
+                if (box.getMinLng() <= maxLng && minLng <= box.getMaxLng()
+                        && box.getMinLat() <= maxLat && minLat <= box.getMaxLat()) {
+                    consumer.accept(entry);
+                }
+            }
+        }
+    }
+}
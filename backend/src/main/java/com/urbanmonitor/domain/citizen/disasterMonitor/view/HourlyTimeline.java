@@ -0,0 +1,159 @@
+package com.urbanmonitor.domain.citizen.disasterMonitor.view;
+
+import java.util.*;
+import java.util.function.BiConsumer;
+
+/**
+ * Log append-only theo bucket giờ (giờ = số giờ kể từ epoch). Mỗi bucket chỉ giữ delta
+ * (+version / -version) dạng int packed; trạng thái tại giờ h = base + Σ delta của các bucket ≤ h,
+ * là multiset các version đang active.
+ *
+ * - Keyframe: trạng thái đầy đủ cache mỗi KEYFRAME_HOURS giờ lúc replay, bị bỏ khi có delta
+ *   ghi vào bucket trước nó
+ * - Prune: gộp các bucket quá cũ vào base, bucket trước baseHour ghi thẳng vào base
+ *
+ * Không thread-safe: caller giữ lock.
+ */
+class HourlyTimeline {
+
+    /** to của segment chưa kết thúc */
+    static final int OPEN = Integer.MAX_VALUE;
+
+    private static final int KEYFRAME_HOURS = 24;
+
+    private final TreeMap<Integer, Deltas> buckets = new TreeMap<>();
+    private final TreeMap<Integer, int[]> keyframes = new TreeMap<>();
+    private final Map<Integer, Integer> base = new HashMap<>();
+    private int baseHour = Integer.MIN_VALUE;
+
+    /**
+     * version active trong [from, to)
+     */
+    void add(int version, int from, int to) {
+        append(from, version, 1);
+        if (to != OPEN) {
+            append(to, version, -1);
+        }
+    }
+
+    void remove(int version, int from, int to) {
+        append(from, version, -1);
+        if (to != OPEN) {
+            append(to, version, 1);
+        }
+    }
+
+    /**
+     * Giờ sớm nhất còn dữ liệu chính xác (trước đó đã bị gộp vào base)
+     */
+    int getBaseHour() {
+        return baseHour;
+    }
+
+    int bucketCount() {
+        return buckets.size();
+    }
+
+    /**
+     * Gọi sink cho các giờ from, from + step, ... ≤ to với tập version active tại giờ đó.
+     * Set truyền vào sink chỉ hợp lệ trong lúc gọi.
+     */
+    void forEachFrame(int from, int to, int step, BiConsumer<Integer, Set<Integer>> sink) {
+        Map<Integer, Integer> counts;
+        int current;
+        Map.Entry<Integer, int[]> keyframe = keyframes.floorEntry(from);
+        if (keyframe != null) {
+            counts = decode(keyframe.getValue());
+            current = keyframe.getKey();
+        } else {
+            counts = new HashMap<>(base);
+            current = buckets.isEmpty() ? from : Math.min(from, buckets.firstKey()) - 1;
+        }
+
+        for (long hour = from; hour <= to; hour += step) {
+            int h = (int) hour;
+            if (h > current) {
+                int nextKeyframe = Math.floorDiv(current, KEYFRAME_HOURS) * KEYFRAME_HOURS + KEYFRAME_HOURS;
+                for (Map.Entry<Integer, Deltas> bucket : buckets.subMap(current, false, h, true).entrySet()) {
+                    // Lưu keyframe khi đi qua mốc KEYFRAME_HOURS (trạng thái ngay trước bucket tiếp theo)
+                    while (nextKeyframe < bucket.getKey()) {
+                        keyframes.putIfAbsent(nextKeyframe, encode(counts));
+                        nextKeyframe += KEYFRAME_HOURS;
+                    }
+                    bucket.getValue().applyTo(counts);
+                }
+                current = h;
+            }
+            sink.accept(h, counts.keySet());
+        }
+    }
+
+    /**
+     * Gộp mọi bucket trước horizon vào base
+     */
+    void prune(int horizon) {
+        if (horizon <= baseHour) {
+            return;
+        }
+        SortedMap<Integer, Deltas> expired = buckets.headMap(horizon);
+        for (Deltas deltas : expired.values()) {
+            deltas.applyTo(base);
+        }
+        expired.clear();
+        keyframes.headMap(horizon).clear();
+        baseHour = horizon;
+    }
+
+    private void append(int hour, int version, int sign) {
+        if (hour < baseHour) {
+            Deltas.apply(base, version, sign);
+            keyframes.clear();
+            return;
+        }
+        buckets.computeIfAbsent(hour, k -> new Deltas()).add(version, sign);
+        keyframes.tailMap(hour, true).clear();
+    }
+
+    private static int[] encode(Map<Integer, Integer> counts) {
+        int[] packed = new int[counts.size() * 2];
+        int i = 0;
+        for (Map.Entry<Integer, Integer> entry : counts.entrySet()) {
+            packed[i++] = entry.getKey();
+            packed[i++] = entry.getValue();
+        }
+        return packed;
+    }
+
+    private static Map<Integer, Integer> decode(int[] packed) {
+        Map<Integer, Integer> counts = new HashMap<>(packed.length);
+        for (int i = 0; i < packed.length; i += 2) {
+            counts.put(packed[i], packed[i + 1]);
+        }
+        return counts;
+    }
+
+    /**
+     * Delta của một bucket: version << 1 | (1 nếu là -1)
+     */
+    private static final class Deltas {
+        private int[] data = new int[4];
+        private int size;
+
+        void add(int version, int sign) {
+            if (size == data.length) {
+                data = Arrays.copyOf(data, size * 2);
+            }
+            data[size++] = version << 1 | (sign < 0 ? 1 : 0);
+        }
+
+        void applyTo(Map<Integer, Integer> counts) {
+            for (int i = 0; i < size; i++) {
+                apply(counts, data[i] >>> 1, (data[i] & 1) == 0 ? 1 : -1);
+            }
+        }
+
+        static void apply(Map<Integer, Integer> counts, int version, int sign) {
+            counts.merge(version, sign, (a, b) -> a + b == 0 ? null : a + b);
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.urbanmonitor.domain.citizen.disasterMonitor.view;
+
+import com.urbanmonitor.domain.citizen.disasterMonitor.entity.DisasterZone;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * VALUE OBJECT - Thiên tai chính (nghiêm trọng nhất) và số lượng thiên tai của một tỉnh,
+ * cùng diện tích / dân số bị ảnh hưởng nằm trong tỉnh (chia theo overlap của spatial join)
+ */
+@Getter
+@AllArgsConstructor
+public class ProvinceDisasterSummary {
+    private final DisasterZone primary;
+    private final int disasterCount;
+    /** Tổng diện tích giao (km²) của các zone với tỉnh, null nếu không zone nào có polygon */
+    private final Double affectedAreaKm2;
+    /** Dân số bị ảnh hưởng: theo population raster nếu có, không thì affectedPopulation × overlap fraction */
+    private final Long affectedPopulation;
+}
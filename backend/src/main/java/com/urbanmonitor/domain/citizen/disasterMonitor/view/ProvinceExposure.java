@@ -0,0 +1,38 @@
+package com.urbanmonitor.domain.citizen.disasterMonitor.view;
+
+import com.urbanmonitor.domain.citizen.disasterMonitor.entity.DisasterZone;
+import com.urbanmonitor.domain.citizen.disasterMonitor.entity.ProvinceOverlap;
+
+/**
+ * Accumulator diện tích / dân số bị ảnh hưởng của một tỉnh, cộng từ overlap tính sẵn lúc ghi
+ * (không duyệt polygon lúc đọc). Dân số ưu tiên số tính từ population raster cho đúng phần giao,
+ * không có thì chia affectedPopulation khai báo theo tỷ lệ diện tích.
+ */
+public class ProvinceExposure {
+
+    private double areaKm2;
+    private boolean hasArea;
+    private long population;
+    private boolean hasPopulation;
+
+    public void add(DisasterZone zone, ProvinceOverlap overlap) {
+        if (overlap.getOverlapAreaKm2() != null) {
+            areaKm2 += overlap.getOverlapAreaKm2();
+            hasArea = true;
+        }
+        if (overlap.getExposedPopulation() != null) {
+            population += overlap.getExposedPopulation();
+            hasPopulation = true;
+        } else if (zone.getAffectedPopulation() != null) {
+            double fraction = overlap.getOverlapFraction() != null ? overlap.getOverlapFraction() : 1.0;
+            population += Math.round(zone.getAffectedPopulation() * fraction);
+            hasPopulation = true;
+        }
+    }
+
+    public ProvinceDisasterSummary summarize(DisasterZone primary, int disasterCount) {
+        return new ProvinceDisasterSummary(primary, disasterCount,
+            hasArea ? Math.round(areaKm2 * 100) / 100.0 : null,
+            hasPopulation ? population : null);
+    }
+}
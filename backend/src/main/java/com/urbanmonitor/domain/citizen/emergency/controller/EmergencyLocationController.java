@@ -1,16 +1,28 @@
 package com.urbanmonitor.domain.citizen.emergency.controller;
 
+import com.urbanmonitor.domain.citizen.emergency.dispatch.EmergencyDispatcher;
+import com.urbanmonitor.domain.citizen.emergency.dto.BulkStatusUpdateRequest;
+import com.urbanmonitor.domain.citizen.emergency.dto.BulkStatusUpdateResult;
 import com.urbanmonitor.domain.citizen.emergency.dto.EmergencyDashboardResponse;
+import com.urbanmonitor.domain.citizen.emergency.dto.EmergencyIntakeResult;
+import com.urbanmonitor.domain.citizen.emergency.dto.NearestEmergencyLocation;
 import com.urbanmonitor.domain.citizen.emergency.entity.EmergencyLocation;
+import com.urbanmonitor.domain.citizen.emergency.entity.EmergencyLocation.EmergencyStatus;
 import com.urbanmonitor.domain.citizen.emergency.entity.EmergencyLocation.EmergencyType;
+import com.urbanmonitor.domain.citizen.emergency.intake.EmergencyIntakeGate;
 import com.urbanmonitor.domain.citizen.emergency.service.EmergencyLocationService;
+import com.urbanmonitor.shared.geo.BoundingBox;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * REST Controller : Emergency Location API.
@@ -23,6 +35,8 @@ import java.util.Map;
 public class EmergencyLocationController {
 
     private final EmergencyLocationService service;
+    private final EmergencyIntakeGate intakeGate;
+    private final EmergencyDispatcher dispatcher;
 
     //  DATA ENDPOINTS
 
@@ -37,8 +51,58 @@ public class EmergencyLocationController {
         return ResponseEntity.ok(service.getByType(emergencyType));
     }
 
+    /**
+     * k location gần nhất theo haversine: /nearest?lat=10.77&lng=106.70&type=ambulance,fire&k=5&status=active,responding
+     * (bỏ type / status = mọi type / status)
+     */
+    @GetMapping("/nearest")
+    public ResponseEntity<List<NearestEmergencyLocation>> getNearest(
+            @RequestParam double lat,
+            @RequestParam double lng,
+            @RequestParam(required = false) List<String> type,
+            @RequestParam(defaultValue = "5") int k,
+            @RequestParam(required = false) List<String> status) {
+        Set<EmergencyType> types = parseEmergencyTypes(type);
+        Set<EmergencyStatus> statuses = EnumSet.noneOf(EmergencyStatus.class);
+        if (status != null) {
+            status.stream().filter(value -> !value.isBlank())
+                .map(value -> EmergencyStatus.valueOf(value.trim().toUpperCase())).forEach(statuses::add);
+        }
+        return ResponseEntity.ok(service.getNearest(lat, lng, k, types, statuses));
+    }
+
+    /**
+     * Hàng đợi điều phối (location ACTIVE theo priority → reportedAt → type), không query DB:
+     * /queue?limit=20&type=fire
+     */
+    @GetMapping("/queue")
+    public ResponseEntity<List<EmergencyLocation>> getQueue(
+            @RequestParam(defaultValue = "20") int limit,
+            @RequestParam(required = false) List<String> type) {
+        return ResponseEntity.ok(dispatcher.queue(limit, parseEmergencyTypes(type)));
+    }
+
     //  GEOJSON ENDPOINTS
 
+    /**
+     * Cluster phân cấp cho map: /clusters?bbox=105.5,20.8,106.1,21.2&zoom=12&type=fire
+     * Feature có "cluster": true là cluster (clusterId, pointCount, priorities), còn lại là location lẻ
+     */
+    @GetMapping("/clusters")
+    public ResponseEntity<Map<String, Object>> getClusters(
+            @RequestParam String bbox,
+            @RequestParam int zoom,
+            @RequestParam(required = false) List<String> type) {
+        return ResponseEntity.ok(service.getClusters(BoundingBox.parse(bbox), zoom, parseEmergencyTypes(type)));
+    }
+
+    @GetMapping("/clusters/{clusterId}/children")
+    public ResponseEntity<Map<String, Object>> expandCluster(@PathVariable long clusterId) {
+        return service.expandCluster(clusterId)
+            .map(ResponseEntity::ok)
+            .orElse(ResponseEntity.notFound().build());
+    }
+
     @GetMapping("/geojson")
     public ResponseEntity<Map<String, Object>> getAllGeoJSON() {
         return ResponseEntity.ok(service.getGeoJson(service.getAll()));
@@ -86,9 +150,59 @@ public class EmergencyLocationController {
         return ResponseEntity.ok(service.getDashboardByType(EmergencyType.FAMILY));
     }
 
+    //  COMMAND ENDPOINTS
+
+    /**
+     * Nhận report mới qua intake gate: 201 khi tạo mới, 200 khi gộp vào report trùng, 429 khi IP / số điện thoại spam.
+     */
+    @PostMapping
+    public ResponseEntity<EmergencyIntakeResult> report(@RequestBody EmergencyLocation report, HttpServletRequest request) {
+        EmergencyIntakeResult result = intakeGate.submit(report, request.getRemoteAddr(), request.getHeader("X-Forwarded-For"));
+        HttpStatus status = result.getOutcome() == EmergencyIntakeResult.Outcome.CREATED ? HttpStatus.CREATED : HttpStatus.OK;
+        return ResponseEntity.status(status).body(result);
+    }
+
+    /**
+     * Đổi status hàng loạt: {"status": "RESPONDING", "ids": [1, 2]}
+     * hoặc {"status": "RESPONDING", "filter": {"type": "fire", "priority": "critical"}}
+     */
+    @PatchMapping("/status")
+    public ResponseEntity<BulkStatusUpdateResult> updateStatuses(@RequestBody BulkStatusUpdateRequest request) {
+        return ResponseEntity.ok(service.updateStatuses(request));
+    }
+
+    /**
+     * Nhận location đầu hàng đợi (lọc theo type nếu có) và chuyển sang RESPONDING, 204 khi hàng đợi rỗng
+     */
+    @PostMapping("/queue/claim")
+    public ResponseEntity<EmergencyLocation> claimNext(@RequestParam(required = false) List<String> type) {
+        return dispatcher.claimNext(parseEmergencyTypes(type))
+            .map(ResponseEntity::ok)
+            .orElse(ResponseEntity.noContent().build());
+    }
+
+    /**
+     * Trả location đang RESPONDING về hàng đợi (ACTIVE), 409 nếu location không ở RESPONDING
+     */
+    @PostMapping("/queue/{id}/release")
+    public ResponseEntity<EmergencyLocation> release(@PathVariable Long id) {
+        return dispatcher.release(id)
+            .map(ResponseEntity::ok)
+            .orElse(ResponseEntity.notFound().build());
+    }
+
     //  HELPER
 
     private EmergencyType parseEmergencyType(String type) {
         return EmergencyType.valueOf(type.toUpperCase());
     }
+
+    // ?type=ambulance,fire (hoặc lặp lại param), rỗng = mọi type
+    private Set<EmergencyType> parseEmergencyTypes(List<String> types) {
+        Set<EmergencyType> parsed = EnumSet.noneOf(EmergencyType.class);
+        if (types != null) {
+            types.stream().filter(value -> !value.isBlank()).map(value -> parseEmergencyType(value.trim())).forEach(parsed::add);
+        }
+        return parsed;
+    }
 }
@@ -0,0 +1,68 @@
+package com.urbanmonitor.domain.citizen.emergency.converter;
+
+import com.urbanmonitor.domain.citizen.emergency.entity.EmergencyLocation;
+import com.urbanmonitor.domain.citizen.emergency.entity.EmergencyLocation.EmergencyStatus;
+import com.urbanmonitor.domain.citizen.emergency.entity.EmergencyLocation.EmergencyType;
+import com.urbanmonitor.domain.citizen.emergency.entity.EmergencyLocation.PriorityLevel;
+import com.urbanmonitor.shared.journal.JournalCodec;
+import org.springframework.stereotype.Component;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+import static com.urbanmonitor.shared.journal.JournalCodecs.*;
+
+/**
+ * Binary encoding của EmergencyLocation trong event journal
+ */
+@Component
+public class EmergencyLocationJournalCodec implements JournalCodec<EmergencyLocation> {
+
+    private static final int VERSION = 1;
+
+    @Override
+    public void write(EmergencyLocation location, DataOutput out) throws IOException {
+        out.writeByte(VERSION);
+        writeLong(out, location.getId());
+        writeEnum(out, location.getEmergencyType());
+        writeString(out, location.getName());
+        writeString(out, location.getDescription());
+        writeString(out, location.getAddress());
+        writeDouble(out, location.getLongitude());
+        writeDouble(out, location.getLatitude());
+        writeEnum(out, location.getStatus());
+        writeEnum(out, location.getPriority());
+        writeString(out, location.getContactPhone());
+        writeString(out, location.getImageUrl());
+        writeTime(out, location.getReportedAt());
+        writeTime(out, location.getResolvedAt());
+        writeTime(out, location.getCreatedAt());
+        writeTime(out, location.getUpdatedAt());
+    }
+
+    @Override
+    public EmergencyLocation read(DataInput in) throws IOException {
+        int version = in.readUnsignedByte();
+        if (version != VERSION) {
+            throw new IOException("Unsupported emergency location journal version " + version);
+        }
+        EmergencyLocation location = new EmergencyLocation();
+        location.setId(readLong(in));
+        location.setEmergencyType(readEnum(in, EmergencyType.class));
+        location.setName(readString(in));
+        location.setDescription(readString(in));
+        location.setAddress(readString(in));
+        location.setLongitude(readDouble(in));
+        location.setLatitude(readDouble(in));
+        location.setStatus(readEnum(in, EmergencyStatus.class));
+        location.setPriority(readEnum(in, PriorityLevel.class));
+        location.setContactPhone(readString(in));
+        location.setImageUrl(readString(in));
+        location.setReportedAt(readTime(in));
+        location.setResolvedAt(readTime(in));
+        location.setCreatedAt(readTime(in));
+        location.setUpdatedAt(readTime(in));
+        return location;
+    }
+}
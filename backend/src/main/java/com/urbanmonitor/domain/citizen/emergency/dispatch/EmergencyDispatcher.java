@@ -0,0 +1,94 @@
+package com.urbanmonitor.domain.citizen.emergency.dispatch;
+
+import com.urbanmonitor.domain.citizen.emergency.entity.EmergencyLocation;
+import com.urbanmonitor.domain.citizen.emergency.entity.EmergencyLocation.EmergencyStatus;
+import com.urbanmonitor.domain.citizen.emergency.entity.EmergencyLocation.EmergencyType;
+import com.urbanmonitor.domain.citizen.emergency.service.EmergencyLocationService;
+import com.urbanmonitor.domain.citizen.emergency.view.EmergencyDispatchQueue;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Điều phối trên EmergencyDispatchQueue:
+ * - queue: top N location ACTIVE, đọc từ bộ nhớ
+ * - claim: lấy location đầu hàng đợi → RESPONDING (claim trong queue đảm bảo mỗi location chỉ một dispatcher nhận)
+ * - release: RESPONDING → ACTIVE, event STATUS_CHANGED đưa location về lại hàng đợi
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class EmergencyDispatcher {
+
+    private static final int MAX_QUEUE_LIMIT = 500;
+    // Location trong queue có thể đã đổi status ở DB (vd instance khác): bỏ qua và thử location kế tiếp
+    private static final int MAX_CLAIM_ATTEMPTS = 5;
+
+    private final EmergencyDispatchQueue dispatchQueue;
+    private final EmergencyLocationService service;
+
+    public List<EmergencyLocation> queue(int limit, Set<EmergencyType> types) {
+        if (limit < 1 || limit > MAX_QUEUE_LIMIT) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_QUEUE_LIMIT + ": " + limit);
+        }
+        requireReady();
+        return dispatchQueue.top(limit, types);
+    }
+
+    /**
+     * @return location vừa chuyển sang RESPONDING, empty nếu hàng đợi (theo types) rỗng
+     */
+    public Optional<EmergencyLocation> claimNext(Set<EmergencyType> types) {
+        requireReady();
+        for (int attempt = 0; attempt < MAX_CLAIM_ATTEMPTS; attempt++) {
+            Optional<EmergencyLocation> claimed = dispatchQueue.claimNext(types);
+            if (claimed.isEmpty()) {
+                return Optional.empty();
+            }
+            Long id = claimed.get().getId();
+            Optional<EmergencyLocation> current;
+            try {
+                current = service.getById(id);
+                if (current.isPresent() && current.get().getStatus() == EmergencyStatus.ACTIVE) {
+                    EmergencyLocation responding = service.updateStatus(id, EmergencyStatus.RESPONDING);
+                    log.info("Dispatched {} location {} ({})", responding.getEmergencyType(), id, responding.getPriority());
+                    return Optional.of(responding);
+                }
+            } catch (RuntimeException e) {
+                dispatchQueue.unclaim(id, Optional.of(claimed.get()));
+                throw e;
+            }
+            dispatchQueue.unclaim(id, current);
+        }
+        throw new ResponseStatusException(HttpStatus.CONFLICT, "Dispatch queue is out of date, please retry");
+    }
+
+    /**
+     * Trả location đang RESPONDING về hàng đợi
+     */
+    public Optional<EmergencyLocation> release(Long id) {
+        Optional<EmergencyLocation> current = service.getById(id);
+        if (current.isEmpty()) {
+            return Optional.empty();
+        }
+        if (current.get().getStatus() != EmergencyStatus.RESPONDING) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT,
+                "Location " + id + " is " + current.get().getStatus() + ", only RESPONDING can be released");
+        }
+        EmergencyLocation released = service.updateStatus(id, EmergencyStatus.ACTIVE);
+        log.info("Released location {} back to the dispatch queue", id);
+        return Optional.of(released);
+    }
+
+    private void requireReady() {
+        if (!dispatchQueue.isReady()) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Dispatch queue is still loading");
+        }
+    }
+}
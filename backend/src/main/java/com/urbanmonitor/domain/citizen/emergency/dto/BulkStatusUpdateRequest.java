@@ -0,0 +1,45 @@
+package com.urbanmonitor.domain.citizen.emergency.dto;
+
+import com.urbanmonitor.domain.citizen.emergency.entity.EmergencyLocation.EmergencyStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Body của PATCH /api/emergency/status: chọn theo ids HOẶC theo filter
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkStatusUpdateRequest {
+
+    private String status;
+    private List<Long> ids;
+    private EmergencyLocationFilter filter;
+
+    public EmergencyStatus emergencyStatus() {
+        if (status == null || status.isBlank()) {
+            throw new IllegalArgumentException("status is required");
+        }
+        return EmergencyStatus.valueOf(status.trim().toUpperCase());
+    }
+
+    public boolean hasIds() {
+        return ids != null && !ids.isEmpty();
+    }
+
+    /**
+     * @throws IllegalArgumentException nếu thiếu status, thiếu cả ids lẫn filter, hoặc filter rỗng
+     */
+    public void validate() {
+        emergencyStatus();
+        if (hasIds() == (filter != null)) {
+            throw new IllegalArgumentException("Exactly one of ids or filter is required");
+        }
+        if (filter != null && !filter.hasCriteria()) {
+            throw new IllegalArgumentException("filter must have at least one criterion");
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.urbanmonitor.domain.citizen.emergency.dto;
+
+import com.urbanmonitor.domain.citizen.emergency.entity.EmergencyLocation;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Kết quả bulk status update: matched = số location khớp, locations = các location thực sự đổi status
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkStatusUpdateResult {
+    private String status;
+    private int matched;
+    private int updated;
+    private List<EmergencyLocation> locations;
+}
@@ -26,5 +26,17 @@ public class EmergencyDashboardResponse {
         private int responding;
         private int active;
         private List<Map<String, Object>> recentReports;
+        // "5m" / "1h" / "24h" → location báo cáo trong cửa sổ, theo status / priority hiện tại
+        private Map<String, WindowStats> windows;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class WindowStats {
+        private long reported;
+        private Map<String, Long> byStatus;
+        private Map<String, Long> byPriority;
     }
 }
@@ -0,0 +1,24 @@
+package com.urbanmonitor.domain.citizen.emergency.dto;
+
+import com.urbanmonitor.domain.citizen.emergency.entity.EmergencyLocation;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Kết quả POST /api/emergency: CREATED = report mới, MERGED = gộp vào report trùng đã có (location = report đó)
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class EmergencyIntakeResult {
+
+    public enum Outcome {
+        CREATED, MERGED
+    }
+
+    private Outcome outcome;
+    private EmergencyLocation location;
+}
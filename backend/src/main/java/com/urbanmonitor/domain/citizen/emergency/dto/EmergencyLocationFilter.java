@@ -0,0 +1,38 @@
+package com.urbanmonitor.domain.citizen.emergency.dto;
+
+import com.urbanmonitor.domain.citizen.emergency.entity.EmergencyLocation.EmergencyStatus;
+import com.urbanmonitor.domain.citizen.emergency.entity.EmergencyLocation.EmergencyType;
+import com.urbanmonitor.domain.citizen.emergency.entity.EmergencyLocation.PriorityLevel;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Filter cho các thao tác hàng loạt, map sang EmergencyLocationSpecifications.
+ * Enum nhận cả chữ thường.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class EmergencyLocationFilter {
+
+    private String type;
+    private String status;
+    private String priority;
+
+    public EmergencyType emergencyType() {
+        return type == null || type.isBlank() ? null : EmergencyType.valueOf(type.trim().toUpperCase());
+    }
+
+    public EmergencyStatus emergencyStatus() {
+        return status == null || status.isBlank() ? null : EmergencyStatus.valueOf(status.trim().toUpperCase());
+    }
+
+    public PriorityLevel priorityLevel() {
+        return priority == null || priority.isBlank() ? null : PriorityLevel.valueOf(priority.trim().toUpperCase());
+    }
+
+    public boolean hasCriteria() {
+        return emergencyType() != null || emergencyStatus() != null || priorityLevel() != null;
+    }
+}
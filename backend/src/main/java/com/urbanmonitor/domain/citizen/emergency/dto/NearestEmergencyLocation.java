@@ -0,0 +1,19 @@
+package com.urbanmonitor.domain.citizen.emergency.dto;
+
+import com.urbanmonitor.domain.citizen.emergency.entity.EmergencyLocation;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Một kết quả của /api/emergency/nearest: location + khoảng cách haversine (km) tới điểm truy vấn
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class NearestEmergencyLocation {
+    private EmergencyLocation location;
+    private double distanceKm;
+}
@@ -0,0 +1,164 @@
+package com.urbanmonitor.domain.citizen.emergency.intake;
+
+import com.urbanmonitor.domain.citizen.emergency.entity.EmergencyLocation.EmergencyType;
+import com.urbanmonitor.shared.geo.GeohashGrid;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Index các report gần đây để phát hiện trùng: cùng type, cách nhau ≤ radiusKm và ≤ windowMillis.
+ *
+ * Ô lưới vuông cạnh radius (theo độ vĩ), bucket thời gian dài window: một lần tìm chỉ xem
+ * bucket hiện tại + bucket trước, và các ô lân cận đủ phủ bán kính (3 × 3 ở xích đạo, rộng hơn theo 1 / cos(lat)),
+ * nên O(1) kỳ vọng. Report mới được "giữ chỗ" ngay trong lần tìm (id chưa có, hoàn tất sau khi lưu DB)
+ * để hai report trùng tới cùng lúc không cùng được insert.
+ */
+final class DuplicateReportIndex {
+
+    private static final double KM_PER_DEGREE = Math.PI * GeohashGrid.EARTH_RADIUS_KM / 180;
+
+    /**
+     * Một report trong index, id hoàn tất sau khi lưu (hoặc exceptionally nếu lưu lỗi)
+     */
+    static final class Entry {
+        final EmergencyType type;
+        final double lng;
+        final double lat;
+        final long reportedMillis;
+        final long key;
+        final CompletableFuture<Long> id = new CompletableFuture<>();
+
+        Entry(EmergencyType type, double lng, double lat, long reportedMillis, long key) {
+            this.type = type;
+            this.lng = lng;
+            this.lat = lat;
+            this.reportedMillis = reportedMillis;
+            this.key = key;
+        }
+    }
+
+    /**
+     * reserved = true: không có report trùng, entry là chỗ giữ cho report mới
+     */
+    record Match(Entry entry, boolean reserved) {
+    }
+
+    private final double radiusKm;
+    private final long windowMillis;
+    private final double cellDegrees;
+
+    // ---- guarded by this ----
+    private final Map<Long, Map<Long, List<Entry>>> buckets = new HashMap<>();
+
+    DuplicateReportIndex(double radiusKm, long windowMillis) {
+        if (radiusKm <= 0 || windowMillis <= 0) {
+            throw new IllegalArgumentException("radiusKm and windowMillis must be positive");
+        }
+        this.radiusKm = radiusKm;
+        this.windowMillis = windowMillis;
+        this.cellDegrees = radiusKm / KM_PER_DEGREE;
+    }
+
+    synchronized Match findOrReserve(EmergencyType type, double lng, double lat, long nowMillis) {
+        Entry nearest = nearest(type, lng, lat, nowMillis);
+        if (nearest != null) {
+            return new Match(nearest, false);
+        }
+        return new Match(add(type, lng, lat, nowMillis), true);
+    }
+
+    /**
+     * Nạp report đã lưu (vd lúc startup), id đã biết
+     */
+    synchronized void add(EmergencyType type, double lng, double lat, long reportedMillis, long id) {
+        add(type, lng, lat, reportedMillis).id.complete(id);
+    }
+
+    synchronized void remove(Entry entry) {
+        Map<Long, List<Entry>> cells = buckets.get(Math.floorDiv(entry.reportedMillis, windowMillis));
+        if (cells == null) {
+            return;
+        }
+        List<Entry> entries = cells.get(entry.key);
+        if (entries != null && entries.remove(entry) && entries.isEmpty()) {
+            cells.remove(entry.key);
+        }
+    }
+
+    /**
+     * Bỏ các bucket không còn nằm trong cửa sổ
+     */
+    synchronized void expire(long nowMillis) {
+        long oldest = Math.floorDiv(nowMillis, windowMillis) - 1;
+        buckets.keySet().removeIf(bucket -> bucket < oldest);
+    }
+
+    synchronized int size() {
+        int size = 0;
+        for (Map<Long, List<Entry>> cells : buckets.values()) {
+            for (List<Entry> entries : cells.values()) {
+                size += entries.size();
+            }
+        }
+        return size;
+    }
+
+    private Entry add(EmergencyType type, double lng, double lat, long reportedMillis) {
+        long key = keyOf(type, column(lng), row(lat));
+        Entry entry = new Entry(type, lng, lat, reportedMillis, key);
+        buckets.computeIfAbsent(Math.floorDiv(reportedMillis, windowMillis), bucket -> new HashMap<>())
+            .computeIfAbsent(key, k -> new ArrayList<>(2))
+            .add(entry);
+        return entry;
+    }
+
+    private Entry nearest(EmergencyType type, double lng, double lat, long nowMillis) {
+        long bucket = Math.floorDiv(nowMillis, windowMillis);
+        int cx = column(lng);
+        int cy = row(lat);
+        // Ô vuông theo độ: theo kinh độ cần nhiều ô hơn khi lên vĩ độ cao
+        double cos = Math.max(Math.cos(Math.toRadians(Math.min(Math.abs(lat) + cellDegrees, 90))), 1e-6);
+        int dx = (int) Math.min(Math.ceil(1 / cos), 360 / cellDegrees);
+
+        Entry best = null;
+        double bestDistance = Double.POSITIVE_INFINITY;
+        for (long b = bucket - 1; b <= bucket; b++) {
+            Map<Long, List<Entry>> cells = buckets.get(b);
+            if (cells == null) {
+                continue;
+            }
+            for (int y = cy - 1; y <= cy + 1; y++) {
+                for (int x = cx - dx; x <= cx + dx; x++) {
+                    List<Entry> entries = cells.get(keyOf(type, x, y));
+                    if (entries == null) {
+                        continue;
+                    }
+                    for (Entry entry : entries) {
+                        if (nowMillis - entry.reportedMillis > windowMillis) {
+                            continue;
+                        }
+                        double distance = GeohashGrid.haversineKm(lng, lat, entry.lng, entry.lat);
+                        if (distance <= radiusKm && distance < bestDistance) {
+                            best = entry;
+                            bestDistance = distance;
+                        }
+                    }
+                }
+            }
+        }
+        return best;
+    }
+
+    private int column(double lng) {
+        return (int) Math.floor((lng + 180) / cellDegrees);
+    }
+
+    private int row(double lat) {
+        return (int) Math.floor((lat + 90) / cellDegrees);
+    }
+
+    private static long keyOf(EmergencyType type, int x, int y) {
+        return ((long) type.ordinal() << 56) | (((long) x & 0xFFFFFFFL) << 28) | ((long) y & 0xFFFFFFFL);
+    }
+}
@@ -0,0 +1,244 @@
+package com.urbanmonitor.domain.citizen.emergency.intake;
+
+import com.urbanmonitor.domain.citizen.emergency.dto.EmergencyIntakeResult;
+import com.urbanmonitor.domain.citizen.emergency.entity.EmergencyLocation;
+import com.urbanmonitor.domain.citizen.emergency.entity.EmergencyLocation.EmergencyStatus;
+import com.urbanmonitor.domain.citizen.emergency.repository.EmergencyLocationRepository;
+import com.urbanmonitor.domain.citizen.emergency.service.EmergencyLocationService;
+import com.urbanmonitor.shared.ratelimit.StripedRateLimiter;
+import com.urbanmonitor.shared.ratelimit.StripedRateLimiter.Limit;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Cổng nhận report mới trước EmergencyLocationService.save:
+ * 1. Spam: token bucket theo IP client và theo số điện thoại nếu report có (validation.spam.*), vượt một trong hai → 429.
+ *    IP là remote address; X-Forwarded-For chỉ được tin khi request tới từ validation.spam.trusted-proxies
+ * 2. Trùng: report cùng type trong validation.duplicate.radius-km và window-minutes được gộp vào report cũ
+ *    (priority lấy mức cao hơn, bổ sung các field còn trống) thay vì insert dòng mới
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class EmergencyIntakeGate {
+
+    private static final long PENDING_WAIT_MS = 5_000;
+
+    private final EmergencyLocationService service;
+    private final EmergencyLocationRepository repository;
+
+    @Value("${validation.spam.max-reports-per-5min:3}")
+    private long maxReportsPer5Min;
+
+    @Value("${validation.spam.max-reports-per-hour:10}")
+    private long maxReportsPerHour;
+
+    // Reverse proxy đứng trước app (vd "127.0.0.1,10.0.0.5"), rỗng = bỏ qua X-Forwarded-For
+    @Value("${validation.spam.trusted-proxies:}")
+    private List<String> trustedProxyList;
+
+    @Value("${validation.duplicate.radius-km:0.1}")
+    private double duplicateRadiusKm;
+
+    @Value("${validation.duplicate.window-minutes:30}")
+    private long duplicateWindowMinutes;
+
+    private StripedRateLimiter limiter;
+    private DuplicateReportIndex duplicates;
+    private Set<String> trustedProxies;
+
+    @PostConstruct
+    public void init() {
+        limiter = new StripedRateLimiter(
+            new Limit(maxReportsPer5Min, TimeUnit.MINUTES.toMillis(5)),
+            new Limit(maxReportsPerHour, TimeUnit.HOURS.toMillis(1)));
+        duplicates = new DuplicateReportIndex(duplicateRadiusKm, TimeUnit.MINUTES.toMillis(duplicateWindowMinutes));
+        trustedProxies = trustedProxyList.stream().map(String::trim).filter(proxy -> !proxy.isEmpty())
+            .collect(Collectors.toUnmodifiableSet());
+    }
+
+    /**
+     * Nạp các report trong cửa sổ trùng để restart không làm lọt report trùng
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        try {
+            long now = System.currentTimeMillis();
+            LocalDateTime since = LocalDateTime.now().minusMinutes(duplicateWindowMinutes);
+            int loaded = 0;
+            for (EmergencyLocation location : repository.findByReportedAtAfter(since)) {
+                if (location.getEmergencyType() != null && location.getLongitude() != null
+                    && location.getLatitude() != null && isOpen(location)) {
+                    duplicates.add(location.getEmergencyType(), location.getLongitude(), location.getLatitude(),
+                        Math.min(now, millisOf(location.getReportedAt())), location.getId());
+                    loaded++;
+                }
+            }
+            log.info("Emergency intake duplicate index seeded with {} recent reports", loaded);
+        } catch (RuntimeException e) {
+            log.error("Failed to seed emergency duplicate index: {}", e.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${validation.cleanup-interval-ms:60000}")
+    public void cleanup() {
+        long now = System.currentTimeMillis();
+        duplicates.expire(now);
+        limiter.evictIdle(now);
+    }
+
+    /**
+     * @param remoteAddr   địa chỉ TCP của request
+     * @param forwardedFor header X-Forwarded-For (null nếu không có), chỉ dùng khi remoteAddr là trusted proxy
+     * @throws ResponseStatusException 429 khi IP hoặc số điện thoại vượt giới hạn
+     * @throws IllegalArgumentException khi thiếu type / toạ độ
+     */
+    public EmergencyIntakeResult submit(EmergencyLocation report, String remoteAddr, String forwardedFor) {
+        validate(report);
+
+        long now = System.currentTimeMillis();
+        // Body tự khai nên số điện thoại chỉ thêm giới hạn, không thay cho giới hạn theo IP
+        long waitMillis = limiter.tryAcquire("ip:" + clientAddress(remoteAddr, forwardedFor), now);
+        String phone = report.getContactPhone() == null ? "" : report.getContactPhone().replaceAll("[^0-9+]", "");
+        if (waitMillis == 0 && !phone.isEmpty()) {
+            waitMillis = limiter.tryAcquire("phone:" + phone, now);
+        }
+        if (waitMillis > 0) {
+            throw new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS,
+                "Too many reports, retry in " + TimeUnit.MILLISECONDS.toSeconds(waitMillis + 999) + "s");
+        }
+
+        // Vòng 2 chỉ xảy ra khi report trùng vừa lưu lỗi / đã bị xoá / đã đóng
+        for (int attempt = 0; attempt < 2; attempt++) {
+            DuplicateReportIndex.Match match = duplicates.findOrReserve(
+                report.getEmergencyType(), report.getLongitude(), report.getLatitude(), now);
+            if (match.reserved()) {
+                return create(report, match.entry());
+            }
+            Optional<EmergencyLocation> existing = awaitId(match.entry())
+                .flatMap(service::getById)
+                .filter(EmergencyIntakeGate::isOpen);
+            if (existing.isPresent()) {
+                EmergencyLocation merged = service.save(merge(existing.get(), report));
+                log.info("Duplicate {} report merged into {}", report.getEmergencyType(), merged.getId());
+                return EmergencyIntakeResult.builder()
+                    .outcome(EmergencyIntakeResult.Outcome.MERGED)
+                    .location(merged)
+                    .build();
+            }
+            duplicates.remove(match.entry());
+        }
+        throw new IllegalStateException("Could not resolve duplicate report, please retry");
+    }
+
+    /**
+     * IP client: đi từ phải sang trái trong X-Forwarded-For qua các trusted proxy,
+     * dừng ở hop đầu tiên không phải proxy (các hop bên trái nó do client tự ghi)
+     */
+    String clientAddress(String remoteAddr, String forwardedFor) {
+        String client = remoteAddr;
+        if (forwardedFor == null || forwardedFor.isBlank() || !trustedProxies.contains(remoteAddr)) {
+            return client;
+        }
+        List<String> hops = new ArrayList<>(List.of(forwardedFor.split(",")));
+        for (int i = hops.size() - 1; i >= 0 && trustedProxies.contains(client); i--) {
+            String hop = hops.get(i).trim();
+            if (!hop.isEmpty()) {
+                client = hop;
+            }
+        }
+        return client;
+    }
+
+    private EmergencyIntakeResult create(EmergencyLocation report, DuplicateReportIndex.Entry reservation) {
+        try {
+            report.setId(null);
+            if (report.getStatus() == null) {
+                report.setStatus(EmergencyStatus.ACTIVE);
+            }
+            EmergencyLocation saved = service.save(report);
+            reservation.id.complete(saved.getId());
+            return EmergencyIntakeResult.builder()
+                .outcome(EmergencyIntakeResult.Outcome.CREATED)
+                .location(saved)
+                .build();
+        } catch (RuntimeException e) {
+            duplicates.remove(reservation);
+            reservation.id.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private static Optional<Long> awaitId(DuplicateReportIndex.Entry entry) {
+        try {
+            return Optional.ofNullable(entry.id.get(PENDING_WAIT_MS, TimeUnit.MILLISECONDS));
+        } catch (ExecutionException | TimeoutException e) {
+            return Optional.empty();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Report cũ giữ tên / vị trí; priority lấy mức cao hơn, field trống lấy từ report mới
+     */
+    private static EmergencyLocation merge(EmergencyLocation existing, EmergencyLocation report) {
+        if (report.getPriority() != null
+            && (existing.getPriority() == null || report.getPriority().compareTo(existing.getPriority()) > 0)) {
+            existing.setPriority(report.getPriority());
+        }
+        if (existing.getDescription() == null) {
+            existing.setDescription(report.getDescription());
+        }
+        if (existing.getAddress() == null) {
+            existing.setAddress(report.getAddress());
+        }
+        if (existing.getContactPhone() == null) {
+            existing.setContactPhone(report.getContactPhone());
+        }
+        if (existing.getImageUrl() == null) {
+            existing.setImageUrl(report.getImageUrl());
+        }
+        existing.setUpdatedAt(LocalDateTime.now());
+        return existing;
+    }
+
+    private static boolean isOpen(EmergencyLocation location) {
+        return location.getStatus() != EmergencyStatus.RESOLVED && location.getStatus() != EmergencyStatus.CANCELLED;
+    }
+
+    private static void validate(EmergencyLocation report) {
+        if (report == null || report.getEmergencyType() == null) {
+            throw new IllegalArgumentException("emergencyType is required");
+        }
+        Double lng = report.getLongitude();
+        Double lat = report.getLatitude();
+        if (lng == null || lat == null || lng < -180 || lng > 180 || lat < -90 || lat > 90) {
+            throw new IllegalArgumentException("longitude / latitude are required and must be valid coordinates");
+        }
+    }
+
+    private static long millisOf(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
@@ -51,4 +51,16 @@ public class EmergencyLocationEvent {
         EmergencyLocation placeholder = EmergencyLocation.builder().id(id).build();
         return new EmergencyLocationEvent(EventType.DELETED, placeholder, null, null);
     }
+
+    // Gộp hai event còn chờ của cùng một location: giữ bản mới nhất, CREATED / status gốc được giữ lại
+    public static EmergencyLocationEvent coalesce(EmergencyLocationEvent older, EmergencyLocationEvent newer) {
+        if (newer.type == EventType.DELETED) {
+            return newer;
+        }
+        return switch (older.type) {
+            case CREATED -> created(newer.location);
+            case STATUS_CHANGED -> statusChanged(newer.location, older.previousStatus, newer.location.getStatus());
+            default -> newer;
+        };
+    }
 }
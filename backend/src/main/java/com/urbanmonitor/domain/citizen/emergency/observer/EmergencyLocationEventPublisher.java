@@ -1,43 +1,63 @@
 package com.urbanmonitor.domain.citizen.emergency.observer;
 
+import com.urbanmonitor.shared.events.DomainEventBus;
+import com.urbanmonitor.shared.events.EventTopic;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
-
 import java.util.List;
-import java.util.concurrent.CopyOnWriteArrayList;
+
 
 /**
  * OBSERVER PATTERN :Publisher/Subject
+ * Dispatch qua DomainEventBus: observers nhận event sau commit, trên thread riêng.
  */
 @Component
 @Slf4j
 public class EmergencyLocationEventPublisher {
     
-    private final List<EmergencyLocationObserver> observers = new CopyOnWriteArrayList<>();
+    private final EventTopic<EmergencyLocationEvent> topic;
+
+    public EmergencyLocationEventPublisher(DomainEventBus eventBus) {
+        this.topic = eventBus.topic("emergency-locations",
+            event -> event.getLocation() != null ? event.getLocation().getId() : null,
+            EmergencyLocationEvent::coalesce);
+    }
     
     public void subscribe(EmergencyLocationObserver observer) {
-        if (observer != null && !observers.contains(observer)) {
-            observers.add(observer);
-            log.info("Observer subscribed: {}", observer.getClass().getSimpleName());
+        if (observer != null) {
+            topic.subscribe(observer.getClass().getSimpleName(), observer,
+                events -> deliver(observer, events), List.of());
         }
     }
 
     //chưa xài
     public void unsubscribe(EmergencyLocationObserver observer) {
-        observers.remove(observer);
+        topic.unsubscribe(observer);
     }
     
     public void publish(EmergencyLocationEvent event) {
         log.debug("Publishing event: {} for location {}", event.getType(), 
             event.getLocation() != null ? event.getLocation().getId() : "null");
-        
-        for (EmergencyLocationObserver observer : observers) {
-            try {
-                observer.onEmergencyLocationEvent(event);
-            } catch (Exception e) {
-                log.error("Error notifying observer {}: {}", 
-                    observer.getClass().getSimpleName(), e.getMessage());
-            }
+        topic.publish(event);
+    }
+
+    public void publishAll(List<EmergencyLocationEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        log.debug("Publishing {} events", events.size());
+        topic.publishAll(events);
+    }
+
+    public int getObserverCount() {
+        return topic.getSubscriberCount();
+    }
+
+    private static void deliver(EmergencyLocationObserver observer, List<EmergencyLocationEvent> events) {
+        if (events.size() == 1) {
+            observer.onEmergencyLocationEvent(events.get(0));
+        } else {
+            observer.onEmergencyLocationEvents(events);
         }
     }
 }
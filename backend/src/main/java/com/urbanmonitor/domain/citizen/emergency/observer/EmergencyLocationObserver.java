@@ -1,8 +1,15 @@
 package com.urbanmonitor.domain.citizen.emergency.observer;
 
+import java.util.List;
+
 /**
  * OBSERVER PATTERN
  */
 public interface EmergencyLocationObserver {
     void onEmergencyLocationEvent(EmergencyLocationEvent event);
+
+    // Một chunk events khi ghi hàng loạt (import), mặc định xử lý từng event
+    default void onEmergencyLocationEvents(List<EmergencyLocationEvent> events) {
+        events.forEach(this::onEmergencyLocationEvent);
+    }
 }
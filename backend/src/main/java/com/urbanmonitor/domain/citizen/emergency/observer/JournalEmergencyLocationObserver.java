@@ -0,0 +1,72 @@
+package com.urbanmonitor.domain.citizen.emergency.observer;
+
+import com.urbanmonitor.domain.citizen.emergency.converter.EmergencyLocationJournalCodec;
+import com.urbanmonitor.domain.citizen.emergency.entity.EmergencyLocation;
+import com.urbanmonitor.domain.citizen.emergency.repository.EmergencyLocationRepository;
+import com.urbanmonitor.shared.journal.EntityJournal;
+import com.urbanmonitor.shared.journal.EventJournal;
+import com.urbanmonitor.shared.journal.JournalStream;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * OBSERVER PATTERN - Concrete Observer: ghi mọi EmergencyLocationEvent vào event journal
+ * (stream EMERGENCY_LOCATIONS), live feed replay bộ đếm từ đây lúc startup.
+ */
+@Component
+@Slf4j
+public class JournalEmergencyLocationObserver implements EmergencyLocationObserver {
+
+    private final EmergencyLocationEventPublisher publisher;
+    private final EntityJournal<EmergencyLocation> journal;
+
+    public JournalEmergencyLocationObserver(EmergencyLocationEventPublisher publisher,
+                                            EventJournal eventJournal,
+                                            EmergencyLocationJournalCodec codec,
+                                            EmergencyLocationRepository repository) {
+        this.publisher = publisher;
+        this.journal = new EntityJournal<>(eventJournal, JournalStream.EMERGENCY_LOCATIONS, codec,
+            EmergencyLocation::getId, repository::findAll);
+    }
+
+    @PostConstruct
+    public void init() {
+        publisher.subscribe(this);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        try {
+            journal.seedIfMissing();
+        } catch (RuntimeException e) {
+            log.error("Failed to seed emergency location journal: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public void onEmergencyLocationEvent(EmergencyLocationEvent event) {
+        EmergencyLocation location = event.getLocation();
+        if (location == null || location.getId() == null) {
+            return;
+        }
+        if (event.getType() == EmergencyLocationEvent.EventType.DELETED) {
+            journal.recordDelete(event.getType().name(), location.getId());
+        } else {
+            journal.recordUpsert(event.getType().name(), location);
+        }
+    }
+
+    /**
+     * Mọi location theo journal, empty nếu chưa có checkpoint
+     */
+    public Optional<List<EmergencyLocation>> replayLocations() {
+        return journal.replay().map(locations -> new ArrayList<>(locations.values()));
+    }
+}
@@ -0,0 +1,206 @@
+package com.urbanmonitor.domain.citizen.emergency.observer;
+
+import com.urbanmonitor.domain.citizen.emergency.dto.EmergencyDashboardResponse.Stats;
+import com.urbanmonitor.domain.citizen.emergency.entity.EmergencyLocation;
+import com.urbanmonitor.domain.citizen.emergency.entity.EmergencyLocation.EmergencyStatus;
+import com.urbanmonitor.domain.citizen.emergency.entity.EmergencyLocation.EmergencyType;
+import com.urbanmonitor.domain.citizen.emergency.entity.EmergencyLocation.PriorityLevel;
+import com.urbanmonitor.domain.citizen.emergency.factory.GeoJsonConverterFactory;
+import com.urbanmonitor.domain.citizen.emergency.repository.EmergencyLocationRepository;
+import com.urbanmonitor.domain.citizen.emergency.repository.EmergencyLocationRepository.LocationCounterRow;
+import com.urbanmonitor.shared.geo.BoundingBox;
+import com.urbanmonitor.shared.live.LiveDelta;
+import com.urbanmonitor.shared.live.LiveFeedHub;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+
+/**
+ * OBSERVER PATTERN
+ * Đẩy thay đổi emergency lên live map (SSE):
+ * - layer "emergencies": Point Feature (added / updated / removed)
+ * - layer "emergency-stats": total / critical / responding / active của từng type (id = type, vd "fire")
+ *
+ * Bộ đếm giữ incremental theo (type, status, priority) của từng location, nạp một lần lúc startup
+ * (replay event journal nếu có checkpoint, không thì query DB);
+ * events tới trong lúc đang nạp được buffer rồi replay.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class LiveFeedEmergencyLocationObserver implements EmergencyLocationObserver {
+
+    static final String LAYER = "emergencies";
+    static final String STATS_LAYER = "emergency-stats";
+
+    private record Row(EmergencyType type, EmergencyStatus status, PriorityLevel priority) {
+    }
+
+    private final EmergencyLocationEventPublisher publisher;
+    private final EmergencyLocationRepository repository;
+    private final JournalEmergencyLocationObserver locationJournal;
+    private final GeoJsonConverterFactory converterFactory;
+    private final LiveFeedHub hub;
+
+    private final Object lock = new Object();
+
+    // ---- guarded by lock ----
+    private final Map<Long, Row> rows = new HashMap<>();
+    private final Map<EmergencyType, int[]> counters = new EnumMap<>(EmergencyType.class);
+    private List<EmergencyLocationEvent> pendingDuringRebuild;
+    private boolean ready;
+
+    @PostConstruct
+    public void init() {
+        publisher.subscribe(this);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        synchronized (lock) {
+            pendingDuringRebuild = new ArrayList<>();
+        }
+        try {
+            Map<Long, Row> loaded = locationJournal.replayLocations()
+                .map(LiveFeedEmergencyLocationObserver::rowsOfLocations)
+                .orElseGet(() -> rowsOfCounters(repository.findCounterRows()));
+            synchronized (lock) {
+                rows.clear();
+                counters.clear();
+                loaded.forEach(this::put);
+                pendingDuringRebuild.forEach(this::apply);
+                ready = true;
+                log.info("Emergency live feed counters loaded: {} locations", rows.size());
+            }
+        } catch (RuntimeException e) {
+            log.error("Failed to load emergency live feed counters: {}", e.getMessage());
+        } finally {
+            synchronized (lock) {
+                pendingDuringRebuild = null;
+            }
+        }
+    }
+
+    @Override
+    public void onEmergencyLocationEvent(EmergencyLocationEvent event) {
+        onEmergencyLocationEvents(List.of(event));
+    }
+
+    @Override
+    public void onEmergencyLocationEvents(List<EmergencyLocationEvent> events) {
+        List<LiveDelta> deltas = new ArrayList<>();
+        for (EmergencyLocationEvent event : events) {
+            EmergencyLocation location = event.getLocation();
+            if (location == null || location.getId() == null) {
+                continue;
+            }
+            Map<String, Object> feature = event.getType() == EmergencyLocationEvent.EventType.DELETED
+                ? null
+                : featureOf(location);
+            if (feature == null) {
+                deltas.add(LiveDelta.removed(LAYER, location.getId()));
+            } else {
+                BoundingBox bbox = new BoundingBox(location.getLongitude(), location.getLatitude(),
+                    location.getLongitude(), location.getLatitude());
+                deltas.add(event.getType() == EmergencyLocationEvent.EventType.CREATED
+                    ? LiveDelta.added(LAYER, location.getId(), bbox, feature)
+                    : LiveDelta.updated(LAYER, location.getId(), bbox, feature));
+            }
+        }
+
+        synchronized (lock) {
+            if (pendingDuringRebuild != null) {
+                pendingDuringRebuild.addAll(events);
+            }
+            Set<EmergencyType> touched = EnumSet.noneOf(EmergencyType.class);
+            events.forEach(event -> touched.addAll(apply(event)));
+            if (ready) {
+                for (EmergencyType type : touched) {
+                    deltas.add(LiveDelta.stats(STATS_LAYER, type.name().toLowerCase(Locale.ROOT), statsOf(type)));
+                }
+            }
+        }
+        hub.publish(deltas);
+    }
+
+    private static Map<Long, Row> rowsOfLocations(List<EmergencyLocation> locations) {
+        Map<Long, Row> loaded = new HashMap<>();
+        for (EmergencyLocation location : locations) {
+            loaded.put(location.getId(), new Row(location.getEmergencyType(), location.getStatus(), location.getPriority()));
+        }
+        return loaded;
+    }
+
+    private static Map<Long, Row> rowsOfCounters(List<LocationCounterRow> counterRows) {
+        Map<Long, Row> loaded = new HashMap<>();
+        for (LocationCounterRow row : counterRows) {
+            loaded.put(row.getId(), new Row(row.getEmergencyType(), row.getStatus(), row.getPriority()));
+        }
+        return loaded;
+    }
+
+    // ==================== COUNTERS (caller holds lock) ====================
+
+    private Set<EmergencyType> apply(EmergencyLocationEvent event) {
+        EmergencyLocation location = event.getLocation();
+        if (location == null || location.getId() == null) {
+            return Set.of();
+        }
+        Set<EmergencyType> touched = EnumSet.noneOf(EmergencyType.class);
+        Row previous = rows.remove(location.getId());
+        if (previous != null) {
+            add(previous, -1);
+            touched.add(previous.type());
+        }
+        if (event.getType() != EmergencyLocationEvent.EventType.DELETED && location.getEmergencyType() != null) {
+            Row row = new Row(location.getEmergencyType(), location.getStatus(), location.getPriority());
+            put(location.getId(), row);
+            touched.add(row.type());
+        }
+        return touched;
+    }
+
+    private void put(Long id, Row row) {
+        if (row.type() == null) {
+            return;
+        }
+        rows.put(id, row);
+        add(row, 1);
+    }
+
+    private void add(Row row, int sign) {
+        int[] counts = counters.computeIfAbsent(row.type(), type -> new int[4]);
+        counts[0] += sign;
+        if (row.priority() == PriorityLevel.CRITICAL) {
+            counts[1] += sign;
+        }
+        if (row.status() == EmergencyStatus.RESPONDING) {
+            counts[2] += sign;
+        }
+        if (row.status() == EmergencyStatus.ACTIVE) {
+            counts[3] += sign;
+        }
+    }
+
+    private Stats statsOf(EmergencyType type) {
+        int[] counts = counters.getOrDefault(type, new int[4]);
+        return Stats.builder()
+            .total(counts[0])
+            .critical(counts[1])
+            .responding(counts[2])
+            .active(counts[3])
+            .build();
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> featureOf(EmergencyLocation location) {
+        List<Map<String, Object>> features = (List<Map<String, Object>>)
+            converterFactory.getPointConverter().convert(List.of(location)).get("features");
+        return features == null || features.isEmpty() ? null : features.get(0);
+    }
+}
@@ -4,8 +4,13 @@ import com.urbanmonitor.domain.citizen.emergency.entity.EmergencyLocation;
 import com.urbanmonitor.domain.citizen.emergency.entity.EmergencyLocation.*;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -16,4 +21,33 @@ public interface EmergencyLocationRepository extends
     List<EmergencyLocation> findByEmergencyType(EmergencyType type);
     List<EmergencyLocation> findByStatus(EmergencyStatus status);  // bỏ qua để chạy demo thuyết trình
     List<EmergencyLocation> findByEmergencyTypeAndStatus(EmergencyType type, EmergencyStatus status);
+    List<EmergencyLocation> findByReportedAtAfter(LocalDateTime since);
+
+    @Query("SELECT e.id AS id, e.status AS status FROM EmergencyLocation e WHERE e.id IN :ids")
+    List<LocationStatusRow> findStatusesByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Một câu UPDATE cho cả tập id; clear persistence context để lần đọc sau thấy status mới
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE EmergencyLocation e SET e.status = :status, e.updatedAt = :now " +
+           "WHERE e.id IN :ids AND (e.status IS NULL OR e.status <> :status)")
+    int updateStatusByIds(@Param("ids") Collection<Long> ids,
+                          @Param("status") EmergencyStatus status,
+                          @Param("now") LocalDateTime now);
+
+    // Chỉ các cột dùng cho bộ đếm của live feed, không load cả entity
+    @Query("SELECT e.id AS id, e.emergencyType AS emergencyType, e.status AS status, e.priority AS priority " +
+           "FROM EmergencyLocation e")
+    List<LocationCounterRow> findCounterRows();
+
+    interface LocationCounterRow {
+        Long getId();
+        EmergencyType getEmergencyType();
+        EmergencyStatus getStatus();
+        PriorityLevel getPriority();
+    }
+
+    interface LocationStatusRow {
+        Long getId();
+        EmergencyStatus getStatus();
+    }
 }
@@ -0,0 +1,87 @@
+package com.urbanmonitor.domain.citizen.emergency.service;
+
+import com.urbanmonitor.domain.citizen.emergency.entity.EmergencyLocation;
+import com.urbanmonitor.domain.citizen.emergency.observer.EmergencyLocationEvent;
+import com.urbanmonitor.domain.citizen.emergency.observer.EmergencyLocationEventPublisher;
+import com.urbanmonitor.shared.imports.ImportColumn;
+import com.urbanmonitor.shared.imports.ImportTarget;
+import com.urbanmonitor.shared.imports.ImportValidation;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Import emergency locations (Point hoặc cột longitude / latitude)
+ */
+@Component
+@RequiredArgsConstructor
+public class EmergencyLocationImportTarget implements ImportTarget<EmergencyLocation> {
+
+    private static final List<ImportColumn<EmergencyLocation>> COLUMNS = List.of(
+        ImportColumn.of("emergency_type", EmergencyLocation::getEmergencyType),
+        ImportColumn.of("name", EmergencyLocation::getName),
+        ImportColumn.of("description", EmergencyLocation::getDescription),
+        ImportColumn.of("address", EmergencyLocation::getAddress),
+        ImportColumn.of("longitude", EmergencyLocation::getLongitude),
+        ImportColumn.of("latitude", EmergencyLocation::getLatitude),
+        ImportColumn.of("status", EmergencyLocation::getStatus),
+        ImportColumn.of("priority", EmergencyLocation::getPriority),
+        ImportColumn.of("contact_phone", EmergencyLocation::getContactPhone),
+        ImportColumn.of("image_url", EmergencyLocation::getImageUrl),
+        ImportColumn.of("reported_at", EmergencyLocation::getReportedAt),
+        ImportColumn.of("resolved_at", EmergencyLocation::getResolvedAt),
+        ImportColumn.insertOnly("created_at", EmergencyLocation::getCreatedAt),
+        ImportColumn.of("updated_at", EmergencyLocation::getUpdatedAt)
+    );
+
+    private final EmergencyLocationEventPublisher eventPublisher;
+
+    @Override
+    public String name() {
+        return "emergencies";
+    }
+
+    @Override
+    public Class<EmergencyLocation> type() {
+        return EmergencyLocation.class;
+    }
+
+    @Override
+    public String table() {
+        return "emergency_locations";
+    }
+
+    @Override
+    public List<ImportColumn<EmergencyLocation>> columns() {
+        return COLUMNS;
+    }
+
+    @Override
+    public Long getId(EmergencyLocation location) {
+        return location.getId();
+    }
+
+    @Override
+    public void setId(EmergencyLocation location, Long id) {
+        location.setId(id);
+    }
+
+    @Override
+    public void prepare(EmergencyLocation location) {
+        if (location.getEmergencyType() == null) {
+            throw new IllegalArgumentException("emergencyType is required");
+        }
+        ImportValidation.requireCoordinates(location.getLongitude(), location.getLatitude());
+        location.prePersist();
+    }
+
+    @Override
+    public void afterCommit(List<EmergencyLocation> created, List<EmergencyLocation> updated) {
+        List<EmergencyLocationEvent> events = new ArrayList<>(created.size() + updated.size());
+        created.forEach(location -> events.add(EmergencyLocationEvent.created(location)));
+        updated.forEach(location -> events.add(EmergencyLocationEvent.updated(location)));
+        eventPublisher.publishAll(events);
+    }
+}
@@ -1,12 +1,17 @@
 package com.urbanmonitor.domain.citizen.emergency.service;
 
+import com.urbanmonitor.domain.citizen.emergency.dto.BulkStatusUpdateRequest;
+import com.urbanmonitor.domain.citizen.emergency.dto.BulkStatusUpdateResult;
 import com.urbanmonitor.domain.citizen.emergency.dto.EmergencyDashboardResponse;
+import com.urbanmonitor.domain.citizen.emergency.dto.NearestEmergencyLocation;
 import com.urbanmonitor.domain.citizen.emergency.entity.EmergencyLocation;
 import com.urbanmonitor.domain.citizen.emergency.entity.EmergencyLocation.*;
+import com.urbanmonitor.shared.geo.BoundingBox;
 
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * DEPENDENCY INVERSION PRINCIPLE
@@ -18,13 +23,20 @@ public interface EmergencyLocationService {
     Optional<EmergencyLocation> getById(Long id);
     List<EmergencyLocation> getByType(EmergencyType type);
     List<EmergencyLocation> getByTypeAndStatus(EmergencyType type, EmergencyStatus status);
+    List<NearestEmergencyLocation> getNearest(double lat, double lng, int k,
+                                              Set<EmergencyType> types, Set<EmergencyStatus> statuses);
     
+    // Map clustering (bbox + zoom), expand một cluster theo id
+    Map<String, Object> getClusters(BoundingBox bbox, int zoom, Set<EmergencyType> types);
+    Optional<Map<String, Object>> expandCluster(long clusterId);
+
     // Command operations
     // Tạm bỏ qua hết để thuyết trình
     EmergencyLocation save(EmergencyLocation location);
     List<EmergencyLocation> saveAll(List<EmergencyLocation> locations);
     void deleteById(Long id);
     EmergencyLocation updateStatus(Long id, EmergencyStatus newStatus);
+    BulkStatusUpdateResult updateStatuses(BulkStatusUpdateRequest request);
     
     // GeoJSON operations
     Map<String, Object> getGeoJson(List<EmergencyLocation> locations);
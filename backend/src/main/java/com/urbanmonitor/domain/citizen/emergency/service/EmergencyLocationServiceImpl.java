@@ -1,22 +1,40 @@
 package com.urbanmonitor.domain.citizen.emergency.service;
 
 import com.urbanmonitor.domain.citizen.emergency.converter.GeoJsonConverter;
+import com.urbanmonitor.domain.citizen.emergency.dto.BulkStatusUpdateRequest;
+import com.urbanmonitor.domain.citizen.emergency.dto.BulkStatusUpdateResult;
 import com.urbanmonitor.domain.citizen.emergency.dto.EmergencyDashboardResponse;
+import com.urbanmonitor.domain.citizen.emergency.dto.EmergencyLocationFilter;
+import com.urbanmonitor.domain.citizen.emergency.dto.NearestEmergencyLocation;
 import com.urbanmonitor.domain.citizen.emergency.entity.EmergencyLocation;
 import com.urbanmonitor.domain.citizen.emergency.entity.EmergencyLocation.*;
 import com.urbanmonitor.domain.citizen.emergency.factory.GeoJsonConverterFactory;
 import com.urbanmonitor.domain.citizen.emergency.observer.EmergencyLocationEvent;
 import com.urbanmonitor.domain.citizen.emergency.observer.EmergencyLocationEventPublisher;
 import com.urbanmonitor.domain.citizen.emergency.repository.EmergencyLocationRepository;
+import com.urbanmonitor.domain.citizen.emergency.repository.EmergencyLocationRepository.LocationStatusRow;
+import com.urbanmonitor.domain.citizen.emergency.specification.EmergencyLocationSpecifications;
 import com.urbanmonitor.domain.citizen.emergency.strategy.EmergencyStatsCalculator;
+import com.urbanmonitor.shared.geo.BoundingBox;
+import com.urbanmonitor.domain.citizen.emergency.view.EmergencyClusterIndex;
+import com.urbanmonitor.domain.citizen.emergency.view.EmergencyCounterView;
+import com.urbanmonitor.domain.citizen.emergency.view.EmergencyCounters;
+import com.urbanmonitor.domain.citizen.emergency.view.EmergencyLocationIndex;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * DESIGN PATTERNS: (
@@ -35,6 +53,12 @@ public class EmergencyLocationServiceImpl implements EmergencyLocationService {
     private final EmergencyStatsCalculator statsCalculator;
     private final GeoJsonConverterFactory converterFactory;
     private final EmergencyLocationEventPublisher eventPublisher;
+    private final EmergencyLocationIndex locationIndex;
+    private final EmergencyCounterView counterView;
+    private final EmergencyClusterIndex clusterIndex;
+
+    private static final int MAX_BULK_STATUS_LOCATIONS = 10_000;
+    private static final int MAX_NEAREST = 100;
 
     // QUERY OPERATIONS
 
@@ -62,6 +86,43 @@ public class EmergencyLocationServiceImpl implements EmergencyLocationService {
         return repository.findByEmergencyTypeAndStatus(type, status);
     }
 
+    // Spatial index in-memory, không query DB
+    @Override
+    public List<NearestEmergencyLocation> getNearest(double lat, double lng, int k,
+                                                     Set<EmergencyType> types, Set<EmergencyStatus> statuses) {
+        if (!Double.isFinite(lat) || lat < -90 || lat > 90) {
+            throw new IllegalArgumentException("lat must be between -90 and 90: " + lat);
+        }
+        if (!Double.isFinite(lng) || lng < -180 || lng > 180) {
+            throw new IllegalArgumentException("lng must be between -180 and 180: " + lng);
+        }
+        if (k < 1 || k > MAX_NEAREST) {
+            throw new IllegalArgumentException("k must be between 1 and " + MAX_NEAREST + ": " + k);
+        }
+        return locationIndex.nearest(lng, lat, k, types, statuses).stream()
+            .map(hit -> NearestEmergencyLocation.builder()
+                .location(hit.location())
+                .distanceKm(hit.distanceKm())
+                .build())
+            .toList();
+    }
+
+    @Override
+    public Map<String, Object> getClusters(BoundingBox bbox, int zoom, Set<EmergencyType> types) {
+        if (bbox == null) {
+            throw new IllegalArgumentException("bbox is required: minLng,minLat,maxLng,maxLat");
+        }
+        if (zoom < 0 || zoom > 24) {
+            throw new IllegalArgumentException("zoom must be between 0 and 24: " + zoom);
+        }
+        return clusterIndex.getClusters(bbox, zoom, types);
+    }
+
+    @Override
+    public Optional<Map<String, Object>> expandCluster(long clusterId) {
+        return clusterIndex.expand(clusterId);
+    }
+
     // COMMAND OPERATIONS
 
     @Override
@@ -120,6 +181,61 @@ public class EmergencyLocationServiceImpl implements EmergencyLocationService {
             .orElseThrow(() -> new RuntimeException("Emergency location not found: " + id));
     }
 
+    // Đọc (id, status) → một câu UPDATE → một batch STATUS_CHANGED. Request sai / khớp quá nhiều → 400
+    @Override
+    @Transactional
+    public BulkStatusUpdateResult updateStatuses(BulkStatusUpdateRequest request) {
+        EmergencyStatus newStatus;
+        try {
+            request.validate();
+            newStatus = request.emergencyStatus();
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        }
+
+        List<LocationStatusRow> matched = request.hasIds()
+            ? repository.findStatusesByIdIn(request.getIds())
+            : repository.findBy(toSpecification(request.getFilter()), q -> q.as(LocationStatusRow.class).all());
+        if (matched.size() > MAX_BULK_STATUS_LOCATIONS) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Too many locations matched: " + matched.size()
+                + " (max " + MAX_BULK_STATUS_LOCATIONS + ")");
+        }
+
+        Map<Long, EmergencyStatus> previousStatuses = new LinkedHashMap<>();
+        for (LocationStatusRow row : matched) {
+            if (row.getStatus() != newStatus) {
+                previousStatuses.put(row.getId(), row.getStatus());
+            }
+        }
+
+        List<EmergencyLocation> changed = List.of();
+        if (!previousStatuses.isEmpty()) {
+            int updated = repository.updateStatusByIds(previousStatuses.keySet(), newStatus, LocalDateTime.now());
+            changed = repository.findAllById(previousStatuses.keySet());
+            log.info("Bulk status update: {} of {} matched locations -> {}", updated, matched.size(), newStatus);
+
+            List<EmergencyLocationEvent> events = new ArrayList<>(changed.size());
+            for (EmergencyLocation location : changed) {
+                events.add(EmergencyLocationEvent.statusChanged(location, previousStatuses.get(location.getId()), newStatus));
+            }
+            eventPublisher.publishAll(events);
+        }
+
+        return BulkStatusUpdateResult.builder()
+            .status(newStatus.name())
+            .matched(matched.size())
+            .updated(changed.size())
+            .locations(changed)
+            .build();
+    }
+
+    private Specification<EmergencyLocation> toSpecification(EmergencyLocationFilter filter) {
+        return Specification
+            .where(EmergencyLocationSpecifications.hasType(filter.emergencyType()))
+            .and(EmergencyLocationSpecifications.hasStatus(filter.emergencyStatus()))
+            .and(EmergencyLocationSpecifications.hasPriority(filter.priorityLevel()));
+    }
+
     //  GEOJSON OPERATIONS
 
     @Override
@@ -139,8 +255,9 @@ public class EmergencyLocationServiceImpl implements EmergencyLocationService {
         
         log.debug("Building dashboard for {} with {} locations", type, locations.size());
         
-        // Strategy Pattern - delegate stats calculation
-        EmergencyDashboardResponse.Stats stats = statsCalculator.calculate(type, locations);
+        // Strategy Pattern - delegate stats calculation (bộ đếm dựng từ events, chưa sẵn sàng thì đếm từ list vừa load)
+        EmergencyCounters counters = counterView.current().orElseGet(() -> EmergencyCounters.of(locations));
+        EmergencyDashboardResponse.Stats stats = statsCalculator.calculate(type, counters);
         
         // Factory Pattern - get GeoJSON converter
         Map<String, Object> geoJson = getGeoJson(locations);
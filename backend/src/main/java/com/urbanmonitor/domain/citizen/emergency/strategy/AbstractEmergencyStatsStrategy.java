@@ -1,34 +1,41 @@
 package com.urbanmonitor.domain.citizen.emergency.strategy;
 
 import com.urbanmonitor.domain.citizen.emergency.dto.EmergencyDashboardResponse.Stats;
-import com.urbanmonitor.domain.citizen.emergency.entity.EmergencyLocation;
+import com.urbanmonitor.domain.citizen.emergency.dto.EmergencyDashboardResponse.WindowStats;
+import com.urbanmonitor.domain.citizen.emergency.entity.EmergencyLocation.EmergencyType;
+import com.urbanmonitor.domain.citizen.emergency.view.EmergencyCounters;
+import com.urbanmonitor.domain.citizen.emergency.view.EmergencyCounters.Tally;
+import com.urbanmonitor.domain.citizen.emergency.view.EmergencyCounters.Window;
 
 import java.util.Collections;
-import java.util.List;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 /**
  * TEMPLATE METHOD PATTERN
-
+ * Hooks đọc số đếm tính sẵn (EmergencyCounters), không duyệt lại danh sách location
  */
 public abstract class AbstractEmergencyStatsStrategy implements EmergencyStatsStrategy {
     
     @Override
-    public final Stats calculateStats(List<EmergencyLocation> locations) {
-        if (locations == null || locations.isEmpty()) {
+    public final Stats calculateStats(EmergencyType type, EmergencyCounters counters) {
+        Tally current = counters.current(type);
+        if (current.total() == 0) {
             return createEmptyStats();
         }
         
         Stats.StatsBuilder builder = Stats.builder()
-            .total(locations.size());
+            .total((int) current.total())
+            .windows(windowsOf(type, counters));
         
         // Hook methods
-        populateCriticalCount(builder, locations);
-        populateRespondingCount(builder, locations);
-        populateActiveCount(builder, locations);
-        populateRecentReports(builder, locations);
+        populateCriticalCount(builder, current);
+        populateRespondingCount(builder, current);
+        populateActiveCount(builder, current);
+        populateRecentReports(builder, type, counters);
         
         // Additional processing hook
-        additionalProcessing(builder, locations);
+        additionalProcessing(builder, type, counters);
         
         return builder.build();
     }
@@ -40,13 +47,31 @@ public abstract class AbstractEmergencyStatsStrategy implements EmergencyStatsSt
             .responding(0)
             .active(0)
             .recentReports(Collections.emptyList())
+            .windows(Collections.emptyMap())
             .build();
     }
+
+    private Map<String, WindowStats> windowsOf(EmergencyType type, EmergencyCounters counters) {
+        Map<String, WindowStats> windows = new LinkedHashMap<>();
+        for (Window window : Window.values()) {
+            Tally tally = counters.window(type, window);
+            Map<String, Long> byStatus = new LinkedHashMap<>();
+            tally.byStatus().forEach((status, count) -> byStatus.put(status.name(), count));
+            Map<String, Long> byPriority = new LinkedHashMap<>();
+            tally.byPriority().forEach((priority, count) -> byPriority.put(priority.name(), count));
+            windows.put(window.label(), WindowStats.builder()
+                .reported(tally.total())
+                .byStatus(byStatus)
+                .byPriority(byPriority)
+                .build());
+        }
+        return windows;
+    }
     
     // Hook methods - default implementations do nothing
-    protected void populateCriticalCount(Stats.StatsBuilder builder, List<EmergencyLocation> locations) {}
-    protected void populateRespondingCount(Stats.StatsBuilder builder, List<EmergencyLocation> locations) {}
-    protected void populateActiveCount(Stats.StatsBuilder builder, List<EmergencyLocation> locations) {}
-    protected void populateRecentReports(Stats.StatsBuilder builder, List<EmergencyLocation> locations) {}
-    protected void additionalProcessing(Stats.StatsBuilder builder, List<EmergencyLocation> locations) {}
+    protected void populateCriticalCount(Stats.StatsBuilder builder, Tally current) {}
+    protected void populateRespondingCount(Stats.StatsBuilder builder, Tally current) {}
+    protected void populateActiveCount(Stats.StatsBuilder builder, Tally current) {}
+    protected void populateRecentReports(Stats.StatsBuilder builder, EmergencyType type, EmergencyCounters counters) {}
+    protected void additionalProcessing(Stats.StatsBuilder builder, EmergencyType type, EmergencyCounters counters) {}
 }
@@ -1,12 +1,10 @@
 package com.urbanmonitor.domain.citizen.emergency.strategy;
 
 import com.urbanmonitor.domain.citizen.emergency.dto.EmergencyDashboardResponse.Stats;
-import com.urbanmonitor.domain.citizen.emergency.entity.EmergencyLocation;
 import com.urbanmonitor.domain.citizen.emergency.entity.EmergencyLocation.*;
+import com.urbanmonitor.domain.citizen.emergency.view.EmergencyCounters.Tally;
 import org.springframework.stereotype.Component;
 
-import java.util.List;
-
 /**
  * Tính: total, critical, responding
  */
@@ -19,18 +17,12 @@ public class AmbulanceStatsStrategy extends AbstractEmergencyStatsStrategy {
     }
     
     @Override
-    protected void populateCriticalCount(Stats.StatsBuilder builder, List<EmergencyLocation> locations) {
-        int critical = (int) locations.stream()
-            .filter(l -> l.getPriority() == PriorityLevel.CRITICAL)
-            .count();
-        builder.critical(critical);
+    protected void populateCriticalCount(Stats.StatsBuilder builder, Tally current) {
+        builder.critical((int) current.priority(PriorityLevel.CRITICAL));
     }
     
     @Override
-    protected void populateRespondingCount(Stats.StatsBuilder builder, List<EmergencyLocation> locations) {
-        int responding = (int) locations.stream()
-            .filter(l -> l.getStatus() == EmergencyStatus.RESPONDING)
-            .count();
-        builder.responding(responding);
+    protected void populateRespondingCount(Stats.StatsBuilder builder, Tally current) {
+        builder.responding((int) current.status(EmergencyStatus.RESPONDING));
     }
 }
@@ -1,9 +1,10 @@
 package com.urbanmonitor.domain.citizen.emergency.strategy;
 
 import com.urbanmonitor.domain.citizen.emergency.dto.EmergencyDashboardResponse.Stats;
-import com.urbanmonitor.domain.citizen.emergency.entity.EmergencyLocation;
 import com.urbanmonitor.domain.citizen.emergency.entity.EmergencyLocation.*;
 import com.urbanmonitor.domain.citizen.emergency.mapper.EmergencyLocationMapper;
+import com.urbanmonitor.domain.citizen.emergency.view.EmergencyCounters;
+import com.urbanmonitor.domain.citizen.emergency.view.EmergencyCounters.Tally;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
@@ -12,7 +13,7 @@ import java.util.Map;
 import java.util.stream.Collectors;
 
 /**
- * Tính: total, active, responding, recentReports (top 5)
+ * Tính: total, active, responding, recentReports (5 báo cáo mới nhất)
  */
 @Component
 @RequiredArgsConstructor
@@ -26,25 +27,18 @@ public class CrimeStatsStrategy extends AbstractEmergencyStatsStrategy {
     }
     
     @Override
-    protected void populateActiveCount(Stats.StatsBuilder builder, List<EmergencyLocation> locations) {
-        int active = (int) locations.stream()
-            .filter(l -> l.getStatus() == EmergencyStatus.ACTIVE)
-            .count();
-        builder.active(active);
+    protected void populateActiveCount(Stats.StatsBuilder builder, Tally current) {
+        builder.active((int) current.status(EmergencyStatus.ACTIVE));
     }
     
     @Override
-    protected void populateRespondingCount(Stats.StatsBuilder builder, List<EmergencyLocation> locations) {
-        int responding = (int) locations.stream()
-            .filter(l -> l.getStatus() == EmergencyStatus.RESPONDING)
-            .count();
-        builder.responding(responding);
+    protected void populateRespondingCount(Stats.StatsBuilder builder, Tally current) {
+        builder.responding((int) current.status(EmergencyStatus.RESPONDING));
     }
     
     @Override
-    protected void populateRecentReports(Stats.StatsBuilder builder, List<EmergencyLocation> locations) {
-        List<Map<String, Object>> recentReports = locations.stream()
-            .limit(5)
+    protected void populateRecentReports(Stats.StatsBuilder builder, EmergencyType type, EmergencyCounters counters) {
+        List<Map<String, Object>> recentReports = counters.recent(type, 5).stream()
             .map(mapper::toPropertiesMap)
             .collect(Collectors.toList());
         builder.recentReports(recentReports);
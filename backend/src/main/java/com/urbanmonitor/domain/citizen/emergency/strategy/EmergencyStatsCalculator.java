@@ -1,8 +1,8 @@
 package com.urbanmonitor.domain.citizen.emergency.strategy;
 
 import com.urbanmonitor.domain.citizen.emergency.dto.EmergencyDashboardResponse.Stats;
-import com.urbanmonitor.domain.citizen.emergency.entity.EmergencyLocation;
 import com.urbanmonitor.domain.citizen.emergency.entity.EmergencyLocation.EmergencyType;
+import com.urbanmonitor.domain.citizen.emergency.view.EmergencyCounters;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
@@ -21,13 +21,13 @@ public class EmergencyStatsCalculator {
 
      //Tính stats cho emergency type
 
-    public Stats calculate(EmergencyType type, List<EmergencyLocation> locations) {
+    public Stats calculate(EmergencyType type, EmergencyCounters counters) {
         return strategies.stream()
             .filter(strategy -> strategy.supports(type))
             .findFirst()
             .map(strategy -> {
                 log.debug("Using strategy {} for type {}", strategy.getClass().getSimpleName(), type);
-                return strategy.calculateStats(locations);
+                return strategy.calculateStats(type, counters);
             })
             .orElseGet(() -> {
                 log.warn("No strategy found for type {}", type);
@@ -1,10 +1,8 @@
 package com.urbanmonitor.domain.citizen.emergency.strategy;
 
 import com.urbanmonitor.domain.citizen.emergency.dto.EmergencyDashboardResponse.Stats;
-import com.urbanmonitor.domain.citizen.emergency.entity.EmergencyLocation;
 import com.urbanmonitor.domain.citizen.emergency.entity.EmergencyLocation.EmergencyType;
-
-import java.util.List;
+import com.urbanmonitor.domain.citizen.emergency.view.EmergencyCounters;
 
 /**
  * STRATEGY PATTERN
@@ -13,5 +11,5 @@ public interface EmergencyStatsStrategy {
 
     boolean supports(EmergencyType type);
 
-    Stats calculateStats(List<EmergencyLocation> locations);
+    Stats calculateStats(EmergencyType type, EmergencyCounters counters);
 }
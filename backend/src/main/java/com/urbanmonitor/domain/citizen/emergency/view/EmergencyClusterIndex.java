@@ -0,0 +1,325 @@
+package com.urbanmonitor.domain.citizen.emergency.view;
+
+import com.urbanmonitor.domain.citizen.emergency.builder.GeoJsonCollectionBuilder;
+import com.urbanmonitor.domain.citizen.emergency.builder.GeoJsonPointFeatureBuilder;
+import com.urbanmonitor.domain.citizen.emergency.entity.EmergencyLocation;
+import com.urbanmonitor.domain.citizen.emergency.entity.EmergencyLocation.EmergencyType;
+import com.urbanmonitor.domain.citizen.emergency.entity.EmergencyLocation.PriorityLevel;
+import com.urbanmonitor.domain.citizen.emergency.observer.EmergencyLocationEvent;
+import com.urbanmonitor.domain.citizen.emergency.observer.EmergencyLocationEventPublisher;
+import com.urbanmonitor.domain.citizen.emergency.observer.EmergencyLocationObserver;
+import com.urbanmonitor.domain.citizen.emergency.observer.JournalEmergencyLocationObserver;
+import com.urbanmonitor.domain.citizen.emergency.repository.EmergencyLocationRepository;
+import com.urbanmonitor.domain.citizen.emergency.view.EmergencyClusterTree.Node;
+import com.urbanmonitor.shared.geo.BoundingBox;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+/**
+ * OBSERVER PATTERN - Concrete Observer: cluster phân cấp cho /api/emergency/clusters.
+ *
+ * Mỗi EmergencyType một EmergencyClusterTree (KD-tree mỗi zoom), events cập nhật incremental;
+ * khi số thay đổi tích luỹ vượt ngưỡng thì compact = build lại từ chính các location đang giữ (không query DB).
+ * Rebuild từ DB lúc startup (event journal nếu có checkpoint) và reconcile định kỳ, events trong lúc load được buffer.
+ *
+ * Số feature trả về bị chặn bởi số cluster nhìn thấy trong bbox ở zoom đó, không phụ thuộc tổng số điểm;
+ * bbox quá lớn so với zoom (vượt max-features) thì hạ dần zoom, response ghi zoom thực dùng.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class EmergencyClusterIndex implements EmergencyLocationObserver {
+
+    private final EmergencyLocationEventPublisher publisher;
+    private final EmergencyLocationRepository repository;
+    private final JournalEmergencyLocationObserver locationJournal;
+
+    @Value("${emergency.clusters.radius:40}")
+    private double radius;
+
+    @Value("${emergency.clusters.extent:512}")
+    private double extent;
+
+    @Value("${emergency.clusters.min-zoom:0}")
+    private int minZoom;
+
+    @Value("${emergency.clusters.max-zoom:16}")
+    private int maxZoom;
+
+    @Value("${emergency.clusters.max-features:5000}")
+    private int maxFeatures;
+
+    @Value("${emergency.clusters.compact-ratio:0.1}")
+    private double compactRatio;
+
+    private final AtomicLong clusterIds = new AtomicLong();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Object rebuildLock = new Object();
+
+    // ---- guarded by lock (write) ----
+    private Map<EmergencyType, EmergencyClusterTree> trees;
+    // ---- guarded by rebuildLock ----
+    private List<EmergencyLocationEvent> pendingDuringRebuild;
+    private boolean journalReplayed;
+
+    @PostConstruct
+    public void init() {
+        trees = newTrees(List.of());
+        publisher.subscribe(this);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild(this::loadLocations);
+    }
+
+    @Scheduled(
+        initialDelayString = "${emergency.clusters.reconcile-interval-ms:300000}",
+        fixedDelayString = "${emergency.clusters.reconcile-interval-ms:300000}")
+    public void reconcile() {
+        rebuild(repository::findAll);
+    }
+
+    /**
+     * Cluster không tách / gộp lại sau update incremental: build lại khi đã đổi quá compactRatio số điểm
+     */
+    @Scheduled(fixedDelayString = "${emergency.clusters.compact-check-ms:5000}")
+    public void compactIfNeeded() {
+        List<EmergencyLocation> locations;
+        lock.readLock().lock();
+        try {
+            boolean needed = trees.values().stream()
+                .anyMatch(tree -> tree.mutations() > Math.max(1000, tree.size() * compactRatio));
+            if (!needed) {
+                return;
+            }
+            locations = new ArrayList<>();
+            trees.values().forEach(tree -> locations.addAll(tree.locations()));
+        } finally {
+            lock.readLock().unlock();
+        }
+        rebuild(() -> locations);
+    }
+
+    // ==================== READ ====================
+
+    /**
+     * FeatureCollection các cluster / điểm lẻ nhìn thấy ở zoom trong bbox
+     *
+     * @param types null / rỗng = mọi type
+     */
+    public Map<String, Object> getClusters(BoundingBox bbox, int zoom, Set<EmergencyType> types) {
+        Set<EmergencyType> selected = types == null || types.isEmpty() ? EnumSet.allOf(EmergencyType.class) : types;
+        lock.readLock().lock();
+        try {
+            int z = Math.max(minZoom, Math.min(maxZoom + 1, zoom));
+            Map<EmergencyType, List<Node>> visible = visible(bbox, z, selected);
+            while (z > minZoom && visible.values().stream().mapToInt(List::size).sum() > maxFeatures) {
+                visible = visible(bbox, --z, selected);
+            }
+
+            GeoJsonCollectionBuilder collection = GeoJsonCollectionBuilder.create();
+            visible.forEach((type, nodes) -> nodes.forEach(node -> collection.addFeature(featureOf(type, node))));
+            Map<String, Object> result = collection.build();
+            result.put("zoom", z);
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Map<EmergencyType, List<Node>> visible(BoundingBox bbox, int zoom, Set<EmergencyType> types) {
+        Map<EmergencyType, List<Node>> visible = new EnumMap<>(EmergencyType.class);
+        for (EmergencyType type : types) {
+            visible.put(type, trees.get(type).visible(
+                bbox.getMinLng(), bbox.getMinLat(), bbox.getMaxLng(), bbox.getMaxLat(), zoom));
+        }
+        return visible;
+    }
+
+    /**
+     * Các node con của cluster ở zoom nơi nó thực sự tách ra (bỏ qua các tầng chỉ còn một con),
+     * kèm expansionZoom để client zoom tới; empty nếu id không còn (đã rebuild / hết điểm)
+     */
+    public Optional<Map<String, Object>> expand(long clusterId) {
+        lock.readLock().lock();
+        try {
+            for (Map.Entry<EmergencyType, EmergencyClusterTree> entry : trees.entrySet()) {
+                Optional<Node> found = entry.getValue().cluster(clusterId);
+                if (found.isEmpty()) {
+                    continue;
+                }
+                Node node = found.get();
+                List<Node> children = aliveChildren(node);
+                while (children.size() == 1 && !children.get(0).isLeaf()) {
+                    node = children.get(0);
+                    children = aliveChildren(node);
+                }
+                GeoJsonCollectionBuilder collection = GeoJsonCollectionBuilder.create();
+                for (Node child : children) {
+                    collection.addFeature(featureOf(entry.getKey(), child));
+                }
+                Map<String, Object> result = collection.build();
+                result.put("clusterId", clusterId);
+                result.put("expansionZoom", node.zoom + 1);
+                return Optional.of(result);
+            }
+            return Optional.empty();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static List<Node> aliveChildren(Node node) {
+        List<Node> alive = new ArrayList<>(node.children.size());
+        for (Node child : node.children) {
+            if (child.count > 0) {
+                alive.add(child);
+            }
+        }
+        return alive;
+    }
+
+    private Map<String, Object> featureOf(EmergencyType type, Node node) {
+        if (node.count == 1) {
+            Node leaf = node.singleLeaf();
+            if (leaf != null) {
+                EmergencyLocation location = leaf.location;
+                return GeoJsonPointFeatureBuilder.create()
+                    .withPointGeometry(location.getLongitude(), location.getLatitude())
+                    .withEmergencyLocationData(location)
+                    .withProperty("cluster", false)
+                    .build();
+            }
+        }
+        Map<String, Object> priorities = new LinkedHashMap<>();
+        for (PriorityLevel priority : PriorityLevel.values()) {
+            priorities.put(priority.name(), node.priorities[priority.ordinal() + 1]);
+        }
+        if (node.priorities[0] > 0) {
+            priorities.put("UNKNOWN", node.priorities[0]);
+        }
+        return GeoJsonPointFeatureBuilder.create()
+            .withPointGeometry(EmergencyClusterTree.xLng(node.centerX()), EmergencyClusterTree.yLat(node.centerY()))
+            .withProperty("cluster", true)
+            .withProperty("clusterId", node.id)
+            .withProperty("emergencyType", type.name())
+            .withProperty("pointCount", node.count)
+            .withProperty("priorities", priorities)
+            .build();
+    }
+
+    // ==================== WRITE ====================
+
+    @Override
+    public void onEmergencyLocationEvent(EmergencyLocationEvent event) {
+        onEmergencyLocationEvents(List.of(event));
+    }
+
+    @Override
+    public void onEmergencyLocationEvents(List<EmergencyLocationEvent> events) {
+        synchronized (rebuildLock) {
+            if (pendingDuringRebuild != null) {
+                pendingDuringRebuild.addAll(events);
+            }
+        }
+        lock.writeLock().lock();
+        try {
+            events.forEach(event -> apply(trees, event));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void rebuild(Supplier<? extends Collection<EmergencyLocation>> source) {
+        synchronized (rebuildLock) {
+            if (pendingDuringRebuild != null) {
+                log.debug("Emergency cluster rebuild already in progress");
+                return;
+            }
+            pendingDuringRebuild = new ArrayList<>();
+        }
+
+        try {
+            long started = System.currentTimeMillis();
+            Map<EmergencyType, EmergencyClusterTree> rebuilt = newTrees(source.get());
+
+            lock.writeLock().lock();
+            try {
+                List<EmergencyLocationEvent> pending;
+                synchronized (rebuildLock) {
+                    pending = pendingDuringRebuild;
+                    pendingDuringRebuild = null;
+                }
+                pending.forEach(event -> apply(rebuilt, event));
+                trees = rebuilt;
+                log.info("Emergency clusters rebuilt: {} locations in {} ms, {} events replayed",
+                    rebuilt.values().stream().mapToInt(EmergencyClusterTree::size).sum(),
+                    System.currentTimeMillis() - started, pending.size());
+            } finally {
+                lock.writeLock().unlock();
+            }
+        } catch (RuntimeException e) {
+            synchronized (rebuildLock) {
+                pendingDuringRebuild = null;
+            }
+            log.error("Failed to rebuild emergency clusters: {}", e.getMessage());
+        }
+    }
+
+    private Map<EmergencyType, EmergencyClusterTree> newTrees(Collection<EmergencyLocation> locations) {
+        Map<EmergencyType, List<EmergencyLocation>> byType = new EnumMap<>(EmergencyType.class);
+        for (EmergencyLocation location : locations) {
+            if (location.getEmergencyType() != null) {
+                byType.computeIfAbsent(location.getEmergencyType(), type -> new ArrayList<>()).add(location);
+            }
+        }
+        Map<EmergencyType, EmergencyClusterTree> built = new EnumMap<>(EmergencyType.class);
+        for (EmergencyType type : EmergencyType.values()) {
+            EmergencyClusterTree tree = new EmergencyClusterTree(minZoom, maxZoom, radius, extent, clusterIds::incrementAndGet);
+            tree.build(byType.getOrDefault(type, List.of()));
+            built.put(type, tree);
+        }
+        return built;
+    }
+
+    /**
+     * Location có thể đổi type: gỡ khỏi mọi tree khác rồi put vào tree của type mới
+     */
+    private static void apply(Map<EmergencyType, EmergencyClusterTree> target, EmergencyLocationEvent event) {
+        EmergencyLocation location = event.getLocation();
+        if (location == null || location.getId() == null) {
+            return;
+        }
+        boolean deleted = event.getType() == EmergencyLocationEvent.EventType.DELETED;
+        for (Map.Entry<EmergencyType, EmergencyClusterTree> entry : target.entrySet()) {
+            if (!deleted && entry.getKey() == location.getEmergencyType()) {
+                entry.getValue().put(location);
+            } else {
+                entry.getValue().remove(location.getId());
+            }
+        }
+    }
+
+    private List<EmergencyLocation> loadLocations() {
+        if (!journalReplayed) {
+            journalReplayed = true;
+            Optional<List<EmergencyLocation>> journaled = locationJournal.replayLocations();
+            if (journaled.isPresent()) {
+                return journaled.get();
+            }
+        }
+        return repository.findAll();
+    }
+}
@@ -0,0 +1,437 @@
+package com.urbanmonitor.domain.citizen.emergency.view;
+
+import com.urbanmonitor.domain.citizen.emergency.entity.EmergencyLocation;
+import com.urbanmonitor.domain.citizen.emergency.entity.EmergencyLocation.PriorityLevel;
+import com.urbanmonitor.shared.geo.KdTree;
+
+import java.util.*;
+import java.util.function.LongSupplier;
+
+/**
+ * Cluster phân cấp kiểu supercluster cho một tập EmergencyLocation (một type).
+ *
+ * Build: toạ độ chiếu Web Mercator [0, 1]; từ maxZoom xuống minZoom, các node của zoom z + 1 được gom greedy
+ * trong bán kính radius / (extent · 2^z) (KD-tree của zoom z + 1) thành cluster của zoom z,
+ * node không gom được thì "mang" nguyên xuống zoom z (cùng object, không copy).
+ * Node nhìn thấy ở zoom z: còn điểm, tạo ở zoom ≥ z và chưa bị gom ở zoom ≥ z.
+ *
+ * Update incremental (delta layer trên KD-tree tĩnh):
+ * - xoá: trừ count / priority / trọng tâm dọc chuỗi cha, node về 0 điểm thì ẩn
+ * - đổi priority / status tại chỗ: chỉ sửa breakdown dọc chuỗi cha
+ * - thêm: từ maxZoom xuống, gắn vào node gần nhất trong bán kính (tạo cluster mới nếu node đó đang được mang xuống),
+ *   không có thì mang điểm xuống zoom tiếp; node mới ghi vào danh sách appended của level
+ * Cluster không bao giờ tách lại sau xoá và không gộp lại sau thêm, nên caller rebuild khi mutations() đủ lớn.
+ *
+ * Không thread-safe, caller giữ lock (đọc shared, ghi exclusive).
+ */
+final class EmergencyClusterTree {
+
+    static final int PRIORITY_SLOTS = PriorityLevel.values().length + 1;
+
+    static final class Node {
+        final long id;
+        /** zoom mà node được tạo (leaf = maxZoom + 1) */
+        final int zoom;
+        /** vị trí trong index (cố định), trọng tâm thật = sum / count */
+        final double x;
+        final double y;
+        double sumX;
+        double sumY;
+        int count;
+        final int[] priorities = new int[PRIORITY_SLOTS];
+        Node parent;
+        final List<Node> children;
+        EmergencyLocation location;
+
+        Node(long id, int zoom, double x, double y, boolean leaf) {
+            this.id = id;
+            this.zoom = zoom;
+            this.x = x;
+            this.y = y;
+            this.children = leaf ? null : new ArrayList<>(4);
+        }
+
+        boolean isLeaf() {
+            return children == null;
+        }
+
+        double centerX() {
+            return sumX / count;
+        }
+
+        double centerY() {
+            return sumY / count;
+        }
+
+        boolean visibleAt(int z) {
+            return count > 0 && zoom >= z && (parent == null || parent.zoom < z);
+        }
+
+        /**
+         * Leaf duy nhất còn sống (node có count == 1)
+         */
+        Node singleLeaf() {
+            Node node = this;
+            while (!node.isLeaf()) {
+                Node next = null;
+                for (Node child : node.children) {
+                    if (child.count > 0) {
+                        next = child;
+                        break;
+                    }
+                }
+                if (next == null) {
+                    return null;
+                }
+                node = next;
+            }
+            return node;
+        }
+    }
+
+    private static final class Level {
+        Node[] nodes = new Node[0];
+        KdTree tree = new KdTree(new double[0], new double[0]);
+        final List<Node> appended = new ArrayList<>();
+    }
+
+    private final int minZoom;
+    private final int maxZoom;
+    private final double radius;
+    private final double extent;
+    private final LongSupplier ids;
+    /** levels[z - minZoom], z ∈ [minZoom, maxZoom + 1] */
+    private final Level[] levels;
+    private final Map<Long, Node> leaves = new HashMap<>();
+    private final Map<Long, Node> clusters = new HashMap<>();
+    private int mutations;
+
+    EmergencyClusterTree(int minZoom, int maxZoom, double radius, double extent, LongSupplier ids) {
+        this.minZoom = minZoom;
+        this.maxZoom = maxZoom;
+        this.radius = radius;
+        this.extent = extent;
+        this.ids = ids;
+        this.levels = new Level[maxZoom - minZoom + 2];
+        for (int i = 0; i < levels.length; i++) {
+            levels[i] = new Level();
+        }
+    }
+
+    int size() {
+        return leaves.size();
+    }
+
+    List<EmergencyLocation> locations() {
+        List<EmergencyLocation> locations = new ArrayList<>(leaves.size());
+        leaves.values().forEach(leaf -> locations.add(leaf.location));
+        return locations;
+    }
+
+    int mutations() {
+        return mutations;
+    }
+
+    int minZoom() {
+        return minZoom;
+    }
+
+    int maxZoom() {
+        return maxZoom;
+    }
+
+    // ==================== BUILD ====================
+
+    void build(Collection<EmergencyLocation> locations) {
+        List<Node> current = new ArrayList<>(locations.size());
+        for (EmergencyLocation location : locations) {
+            if (location.getId() == null || location.getLongitude() == null || location.getLatitude() == null) {
+                continue;
+            }
+            Node leaf = newLeaf(location);
+            leaves.put(location.getId(), leaf);
+            current.add(leaf);
+        }
+
+        Node[] nodes = current.toArray(new Node[0]);
+        for (int z = maxZoom; z >= minZoom; z--) {
+            Level level = level(z + 1);
+            level.nodes = nodes;
+            level.tree = treeOf(nodes);
+            nodes = cluster(nodes, level.tree, z);
+        }
+        Level top = level(minZoom);
+        top.nodes = nodes;
+        top.tree = treeOf(nodes);
+    }
+
+    private Node[] cluster(Node[] nodes, KdTree tree, int z) {
+        double r = radiusAt(z);
+        boolean[] visited = new boolean[nodes.length];
+        List<Node> result = new ArrayList<>();
+        List<Integer> neighbors = new ArrayList<>();
+
+        for (int i = 0; i < nodes.length; i++) {
+            if (visited[i]) {
+                continue;
+            }
+            visited[i] = true;
+            Node node = nodes[i];
+
+            neighbors.clear();
+            tree.within(node.x, node.y, r, j -> {
+                if (!visited[j]) {
+                    neighbors.add(j);
+                }
+            });
+            if (neighbors.isEmpty()) {
+                result.add(node);
+                continue;
+            }
+
+            double sumX = node.sumX;
+            double sumY = node.sumY;
+            int count = node.count;
+            for (int j : neighbors) {
+                sumX += nodes[j].sumX;
+                sumY += nodes[j].sumY;
+                count += nodes[j].count;
+            }
+            Node cluster = newCluster(z, sumX / count, sumY / count);
+            adopt(cluster, node);
+            for (int j : neighbors) {
+                visited[j] = true;
+                adopt(cluster, nodes[j]);
+            }
+            result.add(cluster);
+        }
+        return result.toArray(new Node[0]);
+    }
+
+    // ==================== QUERY ====================
+
+    /**
+     * Node nhìn thấy ở zoom (clamp vào [minZoom, maxZoom + 1]) trong bbox lng / lat
+     */
+    List<Node> visible(double west, double south, double east, double north, int zoom) {
+        int z = clampZoom(zoom);
+        double minX = lngX(west);
+        double maxX = lngX(east);
+        double minY = latY(north);
+        double maxY = latY(south);
+        Level level = level(z);
+        List<Node> result = new ArrayList<>();
+        level.tree.range(minX, minY, maxX, maxY, i -> {
+            Node node = level.nodes[i];
+            if (node.visibleAt(z)) {
+                result.add(node);
+            }
+        });
+        for (Node node : level.appended) {
+            if (node.visibleAt(z) && node.x >= minX && node.x <= maxX && node.y >= minY && node.y <= maxY) {
+                result.add(node);
+            }
+        }
+        return result;
+    }
+
+    Optional<Node> cluster(long id) {
+        return Optional.ofNullable(clusters.get(id)).filter(node -> node.count > 0);
+    }
+
+    int clampZoom(int zoom) {
+        return Math.max(minZoom, Math.min(maxZoom + 1, zoom));
+    }
+
+    // ==================== INCREMENTAL UPDATE ====================
+
+    void put(EmergencyLocation location) {
+        if (location.getId() == null) {
+            return;
+        }
+        Node existing = leaves.get(location.getId());
+        boolean hasPosition = location.getLongitude() != null && location.getLatitude() != null;
+        if (existing != null && hasPosition
+            && existing.x == lngX(location.getLongitude()) && existing.y == latY(location.getLatitude())) {
+            int previous = slotOf(existing.location);
+            int next = slotOf(location);
+            existing.location = location;
+            if (previous != next) {
+                for (Node node = existing; node != null; node = node.parent) {
+                    node.priorities[previous]--;
+                    node.priorities[next]++;
+                }
+                mutations++;
+            }
+            return;
+        }
+        remove(location.getId());
+        if (hasPosition) {
+            insert(location);
+        }
+    }
+
+    void remove(Long id) {
+        Node leaf = leaves.remove(id);
+        if (leaf == null) {
+            return;
+        }
+        int slot = slotOf(leaf.location);
+        for (Node node = leaf; node != null; node = node.parent) {
+            node.count--;
+            node.sumX -= leaf.x;
+            node.sumY -= leaf.y;
+            node.priorities[slot]--;
+        }
+        mutations++;
+    }
+
+    private void insert(EmergencyLocation location) {
+        Node leaf = newLeaf(location);
+        leaves.put(location.getId(), leaf);
+        level(maxZoom + 1).appended.add(leaf);
+        mutations++;
+
+        Node top = leaf;
+        for (int z = maxZoom; z >= minZoom; z--) {
+            Node target = nearestVisible(leaf.x, leaf.y, z);
+            if (target == null) {
+                // Không có gì trong bán kính: điểm được mang xuống zoom z
+                level(z).appended.add(top);
+                continue;
+            }
+            if (target.zoom == z) {
+                adopt(target, top);
+                addToAncestors(target.parent, top);
+            } else {
+                // target đang được mang xuống từ zoom cao hơn: tạo cluster mới ở z thay chỗ nó
+                Node cluster = newCluster(z, target.x, target.y);
+                Node parent = target.parent;
+                adopt(cluster, target);
+                adopt(cluster, top);
+                if (parent != null) {
+                    parent.children.set(parent.children.indexOf(target), cluster);
+                    cluster.parent = parent;
+                    addToAncestors(parent, top);
+                }
+                int lowest = parent == null ? minZoom : parent.zoom + 1;
+                for (int visibleZoom = z; visibleZoom >= lowest; visibleZoom--) {
+                    level(visibleZoom).appended.add(cluster);
+                }
+            }
+            return;
+        }
+    }
+
+    private Node nearestVisible(double x, double y, int z) {
+        double r = radiusAt(z);
+        double r2 = r * r;
+        Level level = level(z);
+        Node[] best = new Node[1];
+        double[] bestDistance = {Double.POSITIVE_INFINITY};
+        level.tree.within(x, y, r, i -> {
+            Node node = level.nodes[i];
+            double d = squaredDistance(node, x, y);
+            if (d < bestDistance[0] && node.visibleAt(z)) {
+                best[0] = node;
+                bestDistance[0] = d;
+            }
+        });
+        for (Node node : level.appended) {
+            double d = squaredDistance(node, x, y);
+            if (d <= r2 && d < bestDistance[0] && node.visibleAt(z)) {
+                best[0] = node;
+                bestDistance[0] = d;
+            }
+        }
+        return best[0];
+    }
+
+    // ==================== HELPERS ====================
+
+    private Node newLeaf(EmergencyLocation location) {
+        Node leaf = new Node(location.getId(), maxZoom + 1,
+            lngX(location.getLongitude()), latY(location.getLatitude()), true);
+        leaf.location = location;
+        leaf.count = 1;
+        leaf.sumX = leaf.x;
+        leaf.sumY = leaf.y;
+        leaf.priorities[slotOf(location)] = 1;
+        return leaf;
+    }
+
+    private Node newCluster(int z, double x, double y) {
+        Node cluster = new Node(ids.getAsLong(), z, x, y, false);
+        clusters.put(cluster.id, cluster);
+        return cluster;
+    }
+
+    private static void adopt(Node parent, Node child) {
+        child.parent = parent;
+        parent.children.add(child);
+        parent.count += child.count;
+        parent.sumX += child.sumX;
+        parent.sumY += child.sumY;
+        for (int i = 0; i < PRIORITY_SLOTS; i++) {
+            parent.priorities[i] += child.priorities[i];
+        }
+    }
+
+    private static void addToAncestors(Node from, Node child) {
+        for (Node node = from; node != null; node = node.parent) {
+            node.count += child.count;
+            node.sumX += child.sumX;
+            node.sumY += child.sumY;
+            for (int i = 0; i < PRIORITY_SLOTS; i++) {
+                node.priorities[i] += child.priorities[i];
+            }
+        }
+    }
+
+    private Level level(int z) {
+        return levels[z - minZoom];
+    }
+
+    private double radiusAt(int z) {
+        return radius / (extent * Math.pow(2, z));
+    }
+
+    private static KdTree treeOf(Node[] nodes) {
+        double[] xs = new double[nodes.length];
+        double[] ys = new double[nodes.length];
+        for (int i = 0; i < nodes.length; i++) {
+            xs[i] = nodes[i].x;
+            ys[i] = nodes[i].y;
+        }
+        return new KdTree(xs, ys);
+    }
+
+    private static double squaredDistance(Node node, double x, double y) {
+        double dx = node.x - x;
+        double dy = node.y - y;
+        return dx * dx + dy * dy;
+    }
+
+    static int slotOf(EmergencyLocation location) {
+        return location.getPriority() == null ? 0 : location.getPriority().ordinal() + 1;
+    }
+
+    static double lngX(double lng) {
+        return lng / 360 + 0.5;
+    }
+
+    static double latY(double lat) {
+        double sin = Math.sin(Math.toRadians(lat));
+        double y = 0.5 - 0.25 * Math.log((1 + sin) / (1 - sin)) / Math.PI;
+        return y < 0 ? 0 : y > 1 ? 1 : y;
+    }
+
+    static double xLng(double x) {
+        return (x - 0.5) * 360;
+    }
+
+    static double yLat(double y) {
+        double y2 = (180 - y * 360) * Math.PI / 180;
+        return 360 * Math.atan(Math.exp(y2)) / Math.PI - 90;
+    }
+}
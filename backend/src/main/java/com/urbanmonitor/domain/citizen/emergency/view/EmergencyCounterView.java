@@ -0,0 +1,122 @@
+package com.urbanmonitor.domain.citizen.emergency.view;
+
+import com.urbanmonitor.domain.citizen.emergency.entity.EmergencyLocation;
+import com.urbanmonitor.domain.citizen.emergency.observer.EmergencyLocationEvent;
+import com.urbanmonitor.domain.citizen.emergency.observer.EmergencyLocationEventPublisher;
+import com.urbanmonitor.domain.citizen.emergency.observer.EmergencyLocationObserver;
+import com.urbanmonitor.domain.citizen.emergency.observer.JournalEmergencyLocationObserver;
+import com.urbanmonitor.domain.citizen.emergency.repository.EmergencyLocationRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * OBSERVER PATTERN - Concrete Observer: bộ đếm cho /api/emergency/dashboard/* (EmergencyCounters),
+ * strategy đọc từ đây thay vì load và filter toàn bộ location của type mỗi request.
+ *
+ * Rebuild lúc startup (event journal nếu có checkpoint, không thì DB) và reconcile định kỳ với DB:
+ * counters mới dựng ngoài lock rồi swap, events tới trong lúc load được buffer và replay.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class EmergencyCounterView implements EmergencyLocationObserver {
+
+    private final EmergencyLocationEventPublisher publisher;
+    private final EmergencyLocationRepository repository;
+    private final JournalEmergencyLocationObserver locationJournal;
+
+    private final Object lock = new Object();
+    private volatile EmergencyCounters counters = new EmergencyCounters();
+    private volatile boolean ready;
+
+    // ---- guarded by lock ----
+    private List<EmergencyLocationEvent> pendingDuringRebuild;
+    private boolean journalReplayed;
+
+    @PostConstruct
+    public void init() {
+        publisher.subscribe(this);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+
+    @Scheduled(
+        initialDelayString = "${emergency.counters.reconcile-interval-ms:300000}",
+        fixedDelayString = "${emergency.counters.reconcile-interval-ms:300000}")
+    public void reconcile() {
+        rebuild();
+    }
+
+    /**
+     * Counters hiện tại, empty nếu chưa rebuild lần đầu
+     */
+    public Optional<EmergencyCounters> current() {
+        return ready ? Optional.of(counters) : Optional.empty();
+    }
+
+    @Override
+    public void onEmergencyLocationEvent(EmergencyLocationEvent event) {
+        onEmergencyLocationEvents(List.of(event));
+    }
+
+    @Override
+    public void onEmergencyLocationEvents(List<EmergencyLocationEvent> events) {
+        synchronized (lock) {
+            if (pendingDuringRebuild != null) {
+                pendingDuringRebuild.addAll(events);
+            }
+            EmergencyCounters target = counters;
+            events.forEach(target::apply);
+        }
+    }
+
+    public void rebuild() {
+        synchronized (lock) {
+            if (pendingDuringRebuild != null) {
+                log.debug("Emergency counters rebuild already in progress");
+                return;
+            }
+            pendingDuringRebuild = new ArrayList<>();
+        }
+
+        try {
+            EmergencyCounters rebuilt = EmergencyCounters.of(loadLocations());
+
+            synchronized (lock) {
+                pendingDuringRebuild.forEach(rebuilt::apply);
+                counters = rebuilt;
+                ready = true;
+                log.info("Emergency counters rebuilt, {} events replayed", pendingDuringRebuild.size());
+                pendingDuringRebuild = null;
+            }
+        } catch (RuntimeException e) {
+            synchronized (lock) {
+                pendingDuringRebuild = null;
+            }
+            log.error("Failed to rebuild emergency counters: {}", e.getMessage());
+        }
+    }
+
+    private List<EmergencyLocation> loadLocations() {
+        if (!journalReplayed) {
+            journalReplayed = true;
+            Optional<List<EmergencyLocation>> journaled = locationJournal.replayLocations();
+            if (journaled.isPresent()) {
+                return journaled.get();
+            }
+        }
+        return repository.findAll();
+    }
+}
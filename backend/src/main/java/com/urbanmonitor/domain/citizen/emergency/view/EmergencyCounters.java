@@ -0,0 +1,260 @@
+package com.urbanmonitor.domain.citizen.emergency.view;
+
+import com.urbanmonitor.domain.citizen.emergency.entity.EmergencyLocation;
+import com.urbanmonitor.domain.citizen.emergency.entity.EmergencyLocation.EmergencyStatus;
+import com.urbanmonitor.domain.citizen.emergency.entity.EmergencyLocation.EmergencyType;
+import com.urbanmonitor.domain.citizen.emergency.entity.EmergencyLocation.PriorityLevel;
+import com.urbanmonitor.domain.citizen.emergency.observer.EmergencyLocationEvent;
+import com.urbanmonitor.shared.metrics.SlidingWindowCounter;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.*;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bộ đếm emergency theo type × status × priority:
+ * - hiện tại: số location đang có (LongAdder mỗi tổ hợp)
+ * - cửa sổ 5 phút / 1 giờ / 24 giờ: số location có reportedAt trong cửa sổ, theo status / priority hiện tại
+ *   (đổi status thì chuyển slot ngay trong bucket của reportedAt)
+ * - recent: top RECENT_CAPACITY location mới nhất theo reportedAt của mỗi type
+ *
+ * Đọc không lock; ghi (put / remove / apply) phải được caller serialize.
+ */
+public final class EmergencyCounters {
+
+    public static final int RECENT_CAPACITY = 20;
+
+    private static final int STATUS_SLOTS = EmergencyStatus.values().length + 1;
+    private static final int PRIORITY_SLOTS = PriorityLevel.values().length + 1;
+    private static final int TYPE_SLOTS = STATUS_SLOTS * PRIORITY_SLOTS;
+    private static final int SLOTS = EmergencyType.values().length * TYPE_SLOTS;
+
+    private static final Comparator<Entry> MOST_RECENT_FIRST = Comparator
+        .comparingLong(Entry::reportedMillis).reversed()
+        .thenComparing(entry -> entry.location().getId(), Comparator.reverseOrder());
+
+    public enum Window {
+        LAST_5_MINUTES("5m", 5),
+        LAST_HOUR("1h", 60),
+        LAST_24_HOURS("24h", 24);
+
+        private final String label;
+        private final int buckets;
+
+        Window(String label, int buckets) {
+            this.label = label;
+            this.buckets = buckets;
+        }
+
+        public String label() {
+            return label;
+        }
+    }
+
+    /**
+     * Số đếm của một type: total + theo status + theo priority
+     */
+    public record Tally(long total, Map<EmergencyStatus, Long> byStatus, Map<PriorityLevel, Long> byPriority) {
+
+        public long status(EmergencyStatus status) {
+            return byStatus.getOrDefault(status, 0L);
+        }
+
+        public long priority(PriorityLevel priority) {
+            return byPriority.getOrDefault(priority, 0L);
+        }
+    }
+
+    private record Entry(EmergencyLocation location, int slot, long reportedMillis) {
+    }
+
+    private final LongAdder[] current = new LongAdder[SLOTS];
+    private final SlidingWindowCounter minutes = new SlidingWindowCounter(60_000L, 60, SLOTS);
+    private final SlidingWindowCounter hours = new SlidingWindowCounter(3_600_000L, 24, SLOTS);
+    private final Map<EmergencyType, NavigableSet<Entry>> recent = new EnumMap<>(EmergencyType.class);
+
+    // ---- chỉ writer đụng tới ----
+    private final Map<Long, Entry> entries = new HashMap<>();
+    private final int[] typeCounts = new int[EmergencyType.values().length];
+
+    public EmergencyCounters() {
+        for (int i = 0; i < SLOTS; i++) {
+            current[i] = new LongAdder();
+        }
+        for (EmergencyType type : EmergencyType.values()) {
+            recent.put(type, new ConcurrentSkipListSet<>(MOST_RECENT_FIRST));
+        }
+    }
+
+    public static EmergencyCounters of(Collection<EmergencyLocation> locations) {
+        EmergencyCounters counters = new EmergencyCounters();
+        locations.forEach(counters::put);
+        return counters;
+    }
+
+    // ==================== READ ====================
+
+    public Tally current(EmergencyType type) {
+        long[] sums = new long[SLOTS];
+        for (int slot = type.ordinal() * TYPE_SLOTS; slot < (type.ordinal() + 1) * TYPE_SLOTS; slot++) {
+            sums[slot] = current[slot].sum();
+        }
+        return tally(type, sums);
+    }
+
+    public Tally window(EmergencyType type, Window window) {
+        long now = System.currentTimeMillis();
+        long[] sums = window == Window.LAST_24_HOURS
+            ? hours.sums(window.buckets, now)
+            : minutes.sums(window.buckets, now);
+        return tally(type, sums);
+    }
+
+    /**
+     * Tối đa limit location mới nhất (reportedAt giảm dần) của type
+     */
+    public List<EmergencyLocation> recent(EmergencyType type, int limit) {
+        List<EmergencyLocation> locations = new ArrayList<>(Math.min(limit, RECENT_CAPACITY));
+        for (Entry entry : recent.get(type)) {
+            if (locations.size() == limit) {
+                break;
+            }
+            locations.add(entry.location());
+        }
+        return locations;
+    }
+
+    private static Tally tally(EmergencyType type, long[] sums) {
+        long total = 0;
+        Map<EmergencyStatus, Long> byStatus = new EnumMap<>(EmergencyStatus.class);
+        Map<PriorityLevel, Long> byPriority = new EnumMap<>(PriorityLevel.class);
+        int base = type.ordinal() * TYPE_SLOTS;
+        for (int s = 0; s < STATUS_SLOTS; s++) {
+            for (int p = 0; p < PRIORITY_SLOTS; p++) {
+                long count = sums[base + s * PRIORITY_SLOTS + p];
+                if (count == 0) {
+                    continue;
+                }
+                total += count;
+                if (s > 0) {
+                    byStatus.merge(EmergencyStatus.values()[s - 1], count, Long::sum);
+                }
+                if (p > 0) {
+                    byPriority.merge(PriorityLevel.values()[p - 1], count, Long::sum);
+                }
+            }
+        }
+        return new Tally(total, byStatus, byPriority);
+    }
+
+    // ==================== WRITE (caller serializes) ====================
+
+    public void apply(EmergencyLocationEvent event) {
+        EmergencyLocation location = event.getLocation();
+        if (location == null || location.getId() == null) {
+            return;
+        }
+        if (event.getType() == EmergencyLocationEvent.EventType.DELETED) {
+            remove(location.getId());
+        } else {
+            put(location);
+        }
+    }
+
+    public void put(EmergencyLocation location) {
+        if (location.getId() == null) {
+            return;
+        }
+        Entry previous = detach(location.getId());
+        if (location.getEmergencyType() != null) {
+            attach(location);
+        }
+        // Update thường giữ nguyên reportedAt nên entry mới quay lại đúng chỗ trong top-K, không phải refill
+        if (previous != null) {
+            refillRecent(previous.location().getEmergencyType());
+        }
+    }
+
+    public void remove(Long id) {
+        Entry previous = detach(id);
+        if (previous != null) {
+            refillRecent(previous.location().getEmergencyType());
+        }
+    }
+
+    private void attach(EmergencyLocation location) {
+        long now = System.currentTimeMillis();
+        // reportedAt ở tương lai (lệch giờ) tính là bây giờ, để remove sau này trừ đúng bucket đã cộng
+        Entry entry = new Entry(location, slotOf(location), Math.min(reportedMillisOf(location, now), now));
+        entries.put(location.getId(), entry);
+        typeCounts[location.getEmergencyType().ordinal()]++;
+        add(entry, 1, now);
+
+        NavigableSet<Entry> top = recent.get(location.getEmergencyType());
+        top.add(entry);
+        if (top.size() > RECENT_CAPACITY) {
+            top.pollLast();
+        }
+    }
+
+    private Entry detach(Long id) {
+        Entry entry = entries.remove(id);
+        if (entry == null) {
+            return null;
+        }
+        typeCounts[entry.location().getEmergencyType().ordinal()]--;
+        add(entry, -1, System.currentTimeMillis());
+        recent.get(entry.location().getEmergencyType()).remove(entry);
+        return entry;
+    }
+
+    private void add(Entry entry, long delta, long now) {
+        current[entry.slot()].add(delta);
+        minutes.add(entry.slot(), entry.reportedMillis(), delta, now);
+        hours.add(entry.slot(), entry.reportedMillis(), delta, now);
+    }
+
+    /**
+     * Top-K thiếu sau khi một phần tử bị xoá: lấy lại ứng viên kế tiếp từ toàn bộ entries của type (hiếm, O(n))
+     */
+    private void refillRecent(EmergencyType type) {
+        NavigableSet<Entry> top = recent.get(type);
+        while (top.size() < Math.min(RECENT_CAPACITY, typeCounts[type.ordinal()])) {
+            Entry next = nextOlder(type, top);
+            if (next == null) {
+                return;
+            }
+            top.add(next);
+        }
+    }
+
+    private Entry nextOlder(EmergencyType type, NavigableSet<Entry> top) {
+        Entry best = null;
+        Entry floor = top.isEmpty() ? null : top.last();
+        for (Entry candidate : entries.values()) {
+            if (candidate.location().getEmergencyType() != type) {
+                continue;
+            }
+            if (floor != null && MOST_RECENT_FIRST.compare(candidate, floor) <= 0) {
+                continue;
+            }
+            if (best == null || MOST_RECENT_FIRST.compare(candidate, best) < 0) {
+                best = candidate;
+            }
+        }
+        return best;
+    }
+
+    private static int slotOf(EmergencyLocation location) {
+        int status = location.getStatus() == null ? 0 : location.getStatus().ordinal() + 1;
+        int priority = location.getPriority() == null ? 0 : location.getPriority().ordinal() + 1;
+        return location.getEmergencyType().ordinal() * TYPE_SLOTS + status * PRIORITY_SLOTS + priority;
+    }
+
+    private static long reportedMillisOf(EmergencyLocation location, long now) {
+        LocalDateTime reportedAt = location.getReportedAt() != null ? location.getReportedAt() : location.getCreatedAt();
+        return reportedAt == null ? now : reportedAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
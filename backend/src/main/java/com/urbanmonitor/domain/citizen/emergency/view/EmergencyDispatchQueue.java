@@ -0,0 +1,277 @@
+package com.urbanmonitor.domain.citizen.emergency.view;
+
+import com.urbanmonitor.domain.citizen.emergency.entity.EmergencyLocation;
+import com.urbanmonitor.domain.citizen.emergency.entity.EmergencyLocation.EmergencyStatus;
+import com.urbanmonitor.domain.citizen.emergency.entity.EmergencyLocation.EmergencyType;
+import com.urbanmonitor.domain.citizen.emergency.entity.EmergencyLocation.PriorityLevel;
+import com.urbanmonitor.domain.citizen.emergency.observer.EmergencyLocationEvent;
+import com.urbanmonitor.domain.citizen.emergency.observer.EmergencyLocationEventPublisher;
+import com.urbanmonitor.domain.citizen.emergency.observer.EmergencyLocationObserver;
+import com.urbanmonitor.domain.citizen.emergency.observer.JournalEmergencyLocationObserver;
+import com.urbanmonitor.domain.citizen.emergency.repository.EmergencyLocationRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * OBSERVER PATTERN - Concrete Observer: hàng đợi điều phối các location ACTIVE cho /api/emergency/queue.
+ *
+ * Thứ tự: priority (CRITICAL trước, null cuối) → reportedAt cũ trước → type → id. Hàng đợi là
+ * ConcurrentSkipListMap<Rank, location> nên đọc top N không lock; ranks (id → Rank) cho phép đổi
+ * priority / status một location trong O(log n). Mọi thay đổi của một id (event, claim, rebuild)
+ * chạy trong compute của ranks nên được tuần tự theo id mà không cần lock chung.
+ *
+ * Claim lấy location khỏi hàng đợi và đánh dấu trong claims cho tới khi event status mới (RESPONDING)
+ * tới: event ACTIVE cũ còn trên đường không đưa nó quay lại hàng đợi.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class EmergencyDispatchQueue implements EmergencyLocationObserver {
+
+    private static final int NO_PRIORITY = PriorityLevel.values().length;
+
+    /**
+     * Khoá sắp xếp trong hàng đợi, nhỏ hơn = được điều phối trước
+     */
+    record Rank(int priority, long reportedMillis, int type, long id) implements Comparable<Rank> {
+
+        static final Comparator<Rank> ORDER = Comparator.comparingInt(Rank::priority)
+            .thenComparingLong(Rank::reportedMillis)
+            .thenComparingInt(Rank::type)
+            .thenComparingLong(Rank::id);
+
+        static Rank of(EmergencyLocation location) {
+            PriorityLevel priority = location.getPriority();
+            LocalDateTime reportedAt = location.getReportedAt() != null ? location.getReportedAt() : location.getCreatedAt();
+            EmergencyType type = location.getEmergencyType();
+            return new Rank(
+                priority == null ? NO_PRIORITY : NO_PRIORITY - 1 - priority.ordinal(),
+                reportedAt == null ? Long.MAX_VALUE : reportedAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli(),
+                type == null ? Integer.MAX_VALUE : type.ordinal(),
+                location.getId());
+        }
+
+        @Override
+        public int compareTo(Rank other) {
+            return ORDER.compare(this, other);
+        }
+    }
+
+    private final EmergencyLocationEventPublisher publisher;
+    private final EmergencyLocationRepository repository;
+    private final JournalEmergencyLocationObserver locationJournal;
+
+    @Value("${emergency.dispatch.claim-timeout-ms:120000}")
+    private long claimTimeoutMs;
+
+    private final ConcurrentSkipListMap<Rank, EmergencyLocation> queue = new ConcurrentSkipListMap<>();
+    private final ConcurrentHashMap<Long, Rank> ranks = new ConcurrentHashMap<>();
+    // id đang được điều phối → thời điểm claim
+    private final ConcurrentHashMap<Long, Long> claims = new ConcurrentHashMap<>();
+
+    private final Object rebuildLock = new Object();
+    // id có event tới trong lúc rebuild load DB: dữ liệu load được của chúng có thể cũ hơn
+    private volatile Set<Long> touchedDuringRebuild;
+    private volatile boolean ready;
+
+    // ---- guarded by rebuildLock ----
+    private boolean journalReplayed;
+
+    @PostConstruct
+    public void init() {
+        publisher.subscribe(this);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+
+    @Scheduled(
+        initialDelayString = "${emergency.dispatch.reconcile-interval-ms:300000}",
+        fixedDelayString = "${emergency.dispatch.reconcile-interval-ms:300000}")
+    public void reconcile() {
+        rebuild();
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int size() {
+        return ranks.size();
+    }
+
+    /**
+     * limit location đầu hàng đợi, types rỗng = mọi type
+     */
+    public List<EmergencyLocation> top(int limit, Set<EmergencyType> types) {
+        List<EmergencyLocation> result = new ArrayList<>(Math.min(limit, 64));
+        for (EmergencyLocation location : queue.values()) {
+            if (result.size() >= limit) {
+                break;
+            }
+            if (types.isEmpty() || types.contains(location.getEmergencyType())) {
+                result.add(location);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Lấy location đầu hàng đợi (lọc theo types) ra khỏi hàng đợi và đánh dấu claimed.
+     * Hai dispatcher claim cùng lúc không bao giờ nhận cùng một location.
+     */
+    public Optional<EmergencyLocation> claimNext(Set<EmergencyType> types) {
+        for (Map.Entry<Rank, EmergencyLocation> head : queue.entrySet()) {
+            EmergencyLocation candidate = head.getValue();
+            if (!types.isEmpty() && !types.contains(candidate.getEmergencyType())) {
+                continue;
+            }
+            Optional<EmergencyLocation> claimed = claim(head.getKey().id());
+            if (claimed.isPresent()) {
+                return claimed;
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Huỷ claim khi không chuyển được sang RESPONDING: current là trạng thái mới nhất (empty = đã bị xoá)
+     */
+    public void unclaim(long id, Optional<EmergencyLocation> current) {
+        ranks.compute(id, (key, rank) -> {
+            claims.remove(id);
+            return current.isPresent() && current.get().getStatus() == EmergencyStatus.ACTIVE
+                ? replace(rank, current.get())
+                : remove(rank);
+        });
+    }
+
+    @Override
+    public void onEmergencyLocationEvent(EmergencyLocationEvent event) {
+        apply(event);
+    }
+
+    @Override
+    public void onEmergencyLocationEvents(List<EmergencyLocationEvent> events) {
+        events.forEach(this::apply);
+    }
+
+    public void rebuild() {
+        Set<Long> touched = ConcurrentHashMap.newKeySet();
+        boolean fromJournal;
+        synchronized (rebuildLock) {
+            if (touchedDuringRebuild != null) {
+                log.debug("Emergency dispatch queue rebuild already in progress");
+                return;
+            }
+            touchedDuringRebuild = touched;
+            fromJournal = !journalReplayed;
+            journalReplayed = true;
+        }
+
+        try {
+            long now = System.currentTimeMillis();
+            claims.entrySet().removeIf(claim -> now - claim.getValue() > claimTimeoutMs);
+
+            List<EmergencyLocation> active = loadActive(fromJournal);
+            Set<Long> activeIds = new HashSet<>(active.size() * 2);
+            for (EmergencyLocation location : active) {
+                activeIds.add(location.getId());
+                ranks.compute(location.getId(), (id, rank) ->
+                    touched.contains(id) || claims.containsKey(id) ? rank : replace(rank, location));
+            }
+            for (Long stale : new ArrayList<>(ranks.keySet())) {
+                if (!activeIds.contains(stale)) {
+                    ranks.computeIfPresent(stale, (id, rank) -> touched.contains(id) ? rank : remove(rank));
+                }
+            }
+            ready = true;
+            log.info("Emergency dispatch queue rebuilt: {} active, {} touched during load", ranks.size(), touched.size());
+        } catch (RuntimeException e) {
+            log.error("Failed to rebuild emergency dispatch queue: {}", e.getMessage());
+        } finally {
+            synchronized (rebuildLock) {
+                touchedDuringRebuild = null;
+            }
+        }
+    }
+
+    private Optional<EmergencyLocation> claim(long id) {
+        EmergencyLocation[] claimed = new EmergencyLocation[1];
+        ranks.computeIfPresent(id, (key, rank) -> {
+            if (claims.putIfAbsent(id, System.currentTimeMillis()) != null) {
+                return rank;
+            }
+            claimed[0] = queue.remove(rank);
+            return null;
+        });
+        return Optional.ofNullable(claimed[0]);
+    }
+
+    private void apply(EmergencyLocationEvent event) {
+        EmergencyLocation location = event.getLocation();
+        if (location == null || location.getId() == null) {
+            return;
+        }
+        Long id = location.getId();
+        Set<Long> touched = touchedDuringRebuild;
+        if (touched != null) {
+            touched.add(id);
+        }
+
+        if (event.getType() != EmergencyLocationEvent.EventType.DELETED
+            && location.getStatus() == EmergencyStatus.ACTIVE) {
+            // Đang claimed: bỏ qua cho tới khi event status mới tới (hoặc claim bị huỷ / hết hạn)
+            ranks.compute(id, (key, rank) -> claims.containsKey(id) ? rank : replace(rank, location));
+        } else {
+            ranks.compute(id, (key, rank) -> {
+                claims.remove(id);
+                return remove(rank);
+            });
+        }
+    }
+
+    // ---- chỉ gọi trong compute của ranks cho id tương ứng ----
+
+    private Rank replace(Rank previous, EmergencyLocation location) {
+        Rank rank = Rank.of(location);
+        if (previous != null && !previous.equals(rank)) {
+            queue.remove(previous);
+        }
+        queue.put(rank, location);
+        return rank;
+    }
+
+    private Rank remove(Rank rank) {
+        if (rank != null) {
+            queue.remove(rank);
+        }
+        return null;
+    }
+
+    private List<EmergencyLocation> loadActive(boolean fromJournal) {
+        if (fromJournal) {
+            Optional<List<EmergencyLocation>> journaled = locationJournal.replayLocations();
+            if (journaled.isPresent()) {
+                return journaled.get().stream()
+                    .filter(location -> location.getStatus() == EmergencyStatus.ACTIVE && location.getId() != null)
+                    .toList();
+            }
+        }
+        return repository.findByStatus(EmergencyStatus.ACTIVE);
+    }
+}
@@ -0,0 +1,217 @@
+package com.urbanmonitor.domain.citizen.emergency.view;
+
+import com.urbanmonitor.domain.citizen.emergency.entity.EmergencyLocation;
+import com.urbanmonitor.domain.citizen.emergency.entity.EmergencyLocation.EmergencyStatus;
+import com.urbanmonitor.domain.citizen.emergency.entity.EmergencyLocation.EmergencyType;
+import com.urbanmonitor.domain.citizen.emergency.observer.EmergencyLocationEvent;
+import com.urbanmonitor.domain.citizen.emergency.observer.EmergencyLocationEventPublisher;
+import com.urbanmonitor.domain.citizen.emergency.observer.EmergencyLocationObserver;
+import com.urbanmonitor.domain.citizen.emergency.observer.JournalEmergencyLocationObserver;
+import com.urbanmonitor.domain.citizen.emergency.repository.EmergencyLocationRepository;
+import com.urbanmonitor.shared.geo.GeohashGrid;
+import com.urbanmonitor.shared.geo.GeohashGrid.Neighbor;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+
+/**
+ * OBSERVER PATTERN - Concrete Observer: spatial index cho /api/emergency/nearest.
+ *
+ * Một GeohashGrid cho mỗi (EmergencyType, EmergencyStatus), query chỉ đụng các shard được lọc
+ * rồi merge top k theo khoảng cách haversine.
+ * - Write: events apply dưới một lock (grid chỉ có một writer)
+ * - Read:  không lock, không query DB
+ * - Rebuild: startup (event journal nếu có checkpoint, không thì DB) và reconcile định kỳ với DB;
+ *            shards mới build ngoài lock rồi swap, events trong lúc load được buffer và replay
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class EmergencyLocationIndex implements EmergencyLocationObserver {
+
+    private final EmergencyLocationEventPublisher publisher;
+    private final EmergencyLocationRepository repository;
+    private final JournalEmergencyLocationObserver locationJournal;
+
+    @Value("${emergency.nearest.geohash-precision:5}")
+    private int precision;
+
+    private final Object lock = new Object();
+    private volatile Shards shards;
+
+    // ---- guarded by lock ----
+    private List<EmergencyLocationEvent> pendingDuringRebuild;
+    private boolean journalReplayed;
+
+    public record Hit(EmergencyLocation location, double distanceKm) {
+    }
+
+    @PostConstruct
+    public void init() {
+        shards = new Shards(precision);
+        publisher.subscribe(this);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+
+    @Scheduled(
+        initialDelayString = "${emergency.nearest.reconcile-interval-ms:300000}",
+        fixedDelayString = "${emergency.nearest.reconcile-interval-ms:300000}")
+    public void reconcile() {
+        rebuild();
+    }
+
+    public int size() {
+        return shards.byId.size();
+    }
+
+    /**
+     * k location gần (lng, lat) nhất, khoảng cách tăng dần
+     *
+     * @param types    null / rỗng = mọi type
+     * @param statuses null / rỗng = mọi status
+     */
+    public List<Hit> nearest(double lng, double lat, int k,
+                             Set<EmergencyType> types, Set<EmergencyStatus> statuses) {
+        Shards current = shards;
+        List<Neighbor<EmergencyLocation>> candidates = new ArrayList<>();
+        for (EmergencyType type : types == null || types.isEmpty() ? EnumSet.allOf(EmergencyType.class) : types) {
+            Map<EmergencyStatus, GeohashGrid<EmergencyLocation>> byStatus = current.grids.get(type);
+            for (EmergencyStatus status : statuses == null || statuses.isEmpty() ? EnumSet.allOf(EmergencyStatus.class) : statuses) {
+                GeohashGrid<EmergencyLocation> grid = byStatus.get(status);
+                if (grid.size() > 0) {
+                    candidates.addAll(grid.nearest(lng, lat, k));
+                }
+            }
+        }
+        candidates.sort(Comparator.comparingDouble(Neighbor::distanceKm));
+
+        // Location vừa đổi shard có thể thoáng xuất hiện ở cả hai, giữ bản gần nhất
+        Set<Long> seen = new HashSet<>();
+        List<Hit> hits = new ArrayList<>(Math.min(k, candidates.size()));
+        for (Neighbor<EmergencyLocation> candidate : candidates) {
+            if (hits.size() == k) {
+                break;
+            }
+            if (seen.add(candidate.value().getId())) {
+                hits.add(new Hit(candidate.value(), candidate.distanceKm()));
+            }
+        }
+        return hits;
+    }
+
+    @Override
+    public void onEmergencyLocationEvent(EmergencyLocationEvent event) {
+        onEmergencyLocationEvents(List.of(event));
+    }
+
+    @Override
+    public void onEmergencyLocationEvents(List<EmergencyLocationEvent> events) {
+        synchronized (lock) {
+            if (pendingDuringRebuild != null) {
+                pendingDuringRebuild.addAll(events);
+            }
+            Shards current = shards;
+            events.forEach(current::apply);
+        }
+    }
+
+    public void rebuild() {
+        synchronized (lock) {
+            if (pendingDuringRebuild != null) {
+                log.debug("Emergency location index rebuild already in progress");
+                return;
+            }
+            pendingDuringRebuild = new ArrayList<>();
+        }
+
+        try {
+            Shards rebuilt = new Shards(precision);
+            loadLocations().forEach(rebuilt::put);
+
+            synchronized (lock) {
+                pendingDuringRebuild.forEach(rebuilt::apply);
+                shards = rebuilt;
+                log.info("Emergency location index rebuilt: {} locations, {} events replayed",
+                    rebuilt.byId.size(), pendingDuringRebuild.size());
+                pendingDuringRebuild = null;
+            }
+        } catch (RuntimeException e) {
+            synchronized (lock) {
+                pendingDuringRebuild = null;
+            }
+            log.error("Failed to rebuild emergency location index: {}", e.getMessage());
+        }
+    }
+
+    private List<EmergencyLocation> loadLocations() {
+        if (!journalReplayed) {
+            journalReplayed = true;
+            Optional<List<EmergencyLocation>> journaled = locationJournal.replayLocations();
+            if (journaled.isPresent()) {
+                return journaled.get();
+            }
+        }
+        return repository.findAll();
+    }
+
+    /**
+     * Grid theo type × status + location hiện tại theo id (để remove đúng shard / ô cũ)
+     */
+    private static final class Shards {
+
+        final Map<EmergencyType, Map<EmergencyStatus, GeohashGrid<EmergencyLocation>>> grids = new EnumMap<>(EmergencyType.class);
+        final Map<Long, EmergencyLocation> byId = new HashMap<>();
+
+        Shards(int precision) {
+            for (EmergencyType type : EmergencyType.values()) {
+                Map<EmergencyStatus, GeohashGrid<EmergencyLocation>> byStatus = new EnumMap<>(EmergencyStatus.class);
+                for (EmergencyStatus status : EmergencyStatus.values()) {
+                    byStatus.put(status, new GeohashGrid<>(precision));
+                }
+                grids.put(type, byStatus);
+            }
+        }
+
+        void apply(EmergencyLocationEvent event) {
+            EmergencyLocation location = event.getLocation();
+            if (location == null || location.getId() == null) {
+                return;
+            }
+            if (event.getType() == EmergencyLocationEvent.EventType.DELETED) {
+                remove(location.getId());
+            } else {
+                put(location);
+            }
+        }
+
+        void put(EmergencyLocation location) {
+            remove(location.getId());
+            if (location.getId() == null || location.getEmergencyType() == null || location.getStatus() == null
+                || location.getLongitude() == null || location.getLatitude() == null) {
+                return;
+            }
+            grids.get(location.getEmergencyType()).get(location.getStatus())
+                .put(location.getId(), location.getLongitude(), location.getLatitude(), location);
+            byId.put(location.getId(), location);
+        }
+
+        void remove(Long id) {
+            EmergencyLocation previous = id == null ? null : byId.remove(id);
+            if (previous != null) {
+                grids.get(previous.getEmergencyType()).get(previous.getStatus())
+                    .remove(previous.getId(), previous.getLongitude(), previous.getLatitude());
+            }
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.urbanmonitor.domain.citizen.incidentdetection.mapper;
+
+import com.urbanmonitor.domain.citizen.incidentdetection.entity.TrafficIncident;
+import com.urbanmonitor.domain.citizen.incidentdetection.entity.TrafficIncident.IncidentLevel;
+import com.urbanmonitor.domain.citizen.incidentdetection.entity.TrafficIncident.IncidentType;
+import com.urbanmonitor.domain.citizen.incidentdetection.entity.TrafficIncident.ValidationStatus;
+import com.urbanmonitor.shared.journal.JournalCodec;
+import org.springframework.stereotype.Component;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+import static com.urbanmonitor.shared.journal.JournalCodecs.*;
+
+/**
+ * Binary encoding của TrafficIncident trong event journal
+ */
+@Component
+public class IncidentJournalCodec implements JournalCodec<TrafficIncident> {
+
+    private static final int VERSION = 1;
+
+    @Override
+    public void write(TrafficIncident incident, DataOutput out) throws IOException {
+        out.writeByte(VERSION);
+        writeLong(out, incident.getId());
+        writeString(out, incident.getTitle());
+        writeString(out, incident.getDescription());
+        writeDouble(out, incident.getLat());
+        writeDouble(out, incident.getLng());
+        writeEnum(out, incident.getLevel());
+        writeEnum(out, incident.getType());
+        writeEnum(out, incident.getValidationStatus());
+        writeTime(out, incident.getCreatedAt());
+        writeTime(out, incident.getUpdatedAt());
+        writeBoolean(out, incident.getIsHighPriority());
+    }
+
+    @Override
+    public TrafficIncident read(DataInput in) throws IOException {
+        int version = in.readUnsignedByte();
+        if (version != VERSION) {
+            throw new IOException("Unsupported incident journal version " + version);
+        }
+        TrafficIncident incident = new TrafficIncident();
+        incident.setId(readLong(in));
+        incident.setTitle(readString(in));
+        incident.setDescription(readString(in));
+        incident.setLat(readDouble(in));
+        incident.setLng(readDouble(in));
+        incident.setLevel(readEnum(in, IncidentLevel.class));
+        incident.setType(readEnum(in, IncidentType.class));
+        incident.setValidationStatus(readEnum(in, ValidationStatus.class));
+        incident.setCreatedAt(readTime(in));
+        incident.setUpdatedAt(readTime(in));
+        incident.setIsHighPriority(readBoolean(in));
+        return incident;
+    }
+}
@@ -1,41 +1,44 @@
 package com.urbanmonitor.domain.citizen.incidentdetection.observer;
 
+import com.urbanmonitor.shared.events.DomainEventBus;
+import com.urbanmonitor.shared.events.EventTopic;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
-import java.util.concurrent.CopyOnWriteArrayList;
+
 
 /**
  * OBSERVER PATTERN
+ * Dispatch qua DomainEventBus: observers nhận event sau commit, trên thread riêng.
+ * Coalesce giữ event mới nhất của mỗi incident.
  */
 @Component
 @Slf4j
 public class IncidentEventPublisher {
 
-    private final List<IncidentObserver> observers = new CopyOnWriteArrayList<>();
+    private final EventTopic<IncidentEvent> topic;
+
+    public IncidentEventPublisher(DomainEventBus eventBus) {
+        this.topic = eventBus.topic("incidents",
+            event -> event.getIncident() != null ? event.getIncident().getId() : null,
+            (older, newer) -> newer);
+    }
 
     public void subscribe(IncidentObserver observer) {
-        if (observer != null && !observers.contains(observer)) {
-            observers.add(observer);
-            log.info("Observer subscribed: {}", observer.getClass().getSimpleName());
+        if (observer != null) {
+            topic.subscribe(observer.getClass().getSimpleName(), observer,
+                events -> events.forEach(observer::onIncidentEvent), List.of());
         }
     }
 
     public void unsubscribe(IncidentObserver observer) {
-        observers.remove(observer);
+        topic.unsubscribe(observer);
     }
 
     public void publish(IncidentEvent event) {
         log.debug("Publishing event: {} for incident {}", event.getType(),
             event.getIncident() != null ? event.getIncident().getId() : "null");
-
-        for (IncidentObserver observer : observers) {
-            try {
-                observer.onIncidentEvent(event);
-            } catch (Exception e) {
-                log.error("Error notifying observer: {}", e.getMessage());
-            }
-        }
+        topic.publish(event);
     }
 }
@@ -0,0 +1,72 @@
+package com.urbanmonitor.domain.citizen.incidentdetection.observer;
+
+import com.urbanmonitor.domain.citizen.incidentdetection.entity.TrafficIncident;
+import com.urbanmonitor.domain.citizen.incidentdetection.mapper.IncidentJournalCodec;
+import com.urbanmonitor.domain.citizen.incidentdetection.repository.IncidentRepository;
+import com.urbanmonitor.shared.journal.EntityJournal;
+import com.urbanmonitor.shared.journal.EventJournal;
+import com.urbanmonitor.shared.journal.JournalStream;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * OBSERVER PATTERN - Concrete Observer: ghi mọi IncidentEvent vào event journal (stream INCIDENTS),
+ * live feed replay incidents đã validate từ đây lúc startup.
+ */
+@Component
+@Slf4j
+public class JournalIncidentObserver implements IncidentObserver {
+
+    private final IncidentEventPublisher publisher;
+    private final EntityJournal<TrafficIncident> journal;
+
+    public JournalIncidentObserver(IncidentEventPublisher publisher,
+                                   EventJournal eventJournal,
+                                   IncidentJournalCodec codec,
+                                   IncidentRepository repository) {
+        this.publisher = publisher;
+        this.journal = new EntityJournal<>(eventJournal, JournalStream.INCIDENTS, codec,
+            TrafficIncident::getId, repository::findAll);
+    }
+
+    @PostConstruct
+    public void init() {
+        publisher.subscribe(this);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        try {
+            journal.seedIfMissing();
+        } catch (RuntimeException e) {
+            log.error("Failed to seed incident journal: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public void onIncidentEvent(IncidentEvent event) {
+        TrafficIncident incident = event.getIncident();
+        if (incident == null || incident.getId() == null) {
+            return;
+        }
+        if (event.getType() == IncidentEvent.EventType.DELETED) {
+            journal.recordDelete(event.getType().name(), incident.getId());
+        } else {
+            journal.recordUpsert(event.getType().name(), incident);
+        }
+    }
+
+    /**
+     * Mọi incident theo journal, empty nếu chưa có checkpoint
+     */
+    public Optional<List<TrafficIncident>> replayIncidents() {
+        return journal.replay().map(incidents -> new ArrayList<>(incidents.values()));
+    }
+}
@@ -0,0 +1,134 @@
+package com.urbanmonitor.domain.citizen.incidentdetection.observer;
+
+import com.urbanmonitor.domain.citizen.incidentdetection.entity.TrafficIncident;
+import com.urbanmonitor.domain.citizen.incidentdetection.mapper.GeoJsonMapper;
+import com.urbanmonitor.domain.citizen.incidentdetection.repository.IncidentRepository;
+import com.urbanmonitor.domain.citizen.incidentdetection.strategy.IncidentStatsCalculator;
+import com.urbanmonitor.shared.geo.BoundingBox;
+import com.urbanmonitor.shared.live.LiveDelta;
+import com.urbanmonitor.shared.live.LiveFeedHub;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+
+/**
+ * OBSERVER PATTERN
+ * Đẩy thay đổi incident lên live map (SSE), cùng tập dữ liệu với /api/incidents/geojson:
+ * - layer "incidents": incident VALIDATED có toạ độ; bị reject / xoá / hết hợp lệ → removed
+ * - layer "incident-stats": IncidentStatsDTO tính lại trên tập validated giữ trong memory
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class LiveFeedIncidentObserver implements IncidentObserver {
+
+    static final String LAYER = "incidents";
+    static final String STATS_LAYER = "incident-stats";
+
+    private final IncidentEventPublisher publisher;
+    private final IncidentRepository repository;
+    private final JournalIncidentObserver incidentJournal;
+    private final GeoJsonMapper mapper;
+    private final IncidentStatsCalculator statsCalculator;
+    private final LiveFeedHub hub;
+
+    private final Object lock = new Object();
+
+    // ---- guarded by lock ----
+    private final Map<Long, TrafficIncident> validated = new HashMap<>();
+    private List<IncidentEvent> pendingDuringRebuild;
+    private boolean ready;
+
+    @PostConstruct
+    public void init() {
+        publisher.subscribe(this);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        synchronized (lock) {
+            pendingDuringRebuild = new ArrayList<>();
+        }
+        try {
+            // Replay event journal nếu có checkpoint, không thì query DB
+            List<TrafficIncident> loaded = incidentJournal.replayIncidents()
+                .map(incidents -> incidents.stream()
+                    .filter(incident -> incident.getValidationStatus() == TrafficIncident.ValidationStatus.VALIDATED)
+                    .toList())
+                .orElseGet(() -> repository.findValidated(TrafficIncident.ValidationStatus.VALIDATED));
+            synchronized (lock) {
+                validated.clear();
+                loaded.forEach(incident -> validated.put(incident.getId(), incident));
+                pendingDuringRebuild.forEach(this::apply);
+                ready = true;
+                log.info("Incident live feed loaded: {} validated incidents", validated.size());
+            }
+        } catch (RuntimeException e) {
+            log.error("Failed to load incident live feed: {}", e.getMessage());
+        } finally {
+            synchronized (lock) {
+                pendingDuringRebuild = null;
+            }
+        }
+    }
+
+    @Override
+    public void onIncidentEvent(IncidentEvent event) {
+        TrafficIncident incident = event.getIncident();
+        if (incident == null || incident.getId() == null) {
+            return;
+        }
+        List<LiveDelta> deltas = new ArrayList<>();
+        boolean changed;
+        synchronized (lock) {
+            if (pendingDuringRebuild != null) {
+                pendingDuringRebuild.add(event);
+            }
+            boolean wasVisible = validated.containsKey(incident.getId());
+            boolean visible = apply(event);
+            if (visible) {
+                BoundingBox bbox = new BoundingBox(incident.getLng(), incident.getLat(), incident.getLng(), incident.getLat());
+                Map<String, Object> feature = featureOf(incident);
+                deltas.add(wasVisible
+                    ? LiveDelta.updated(LAYER, incident.getId(), bbox, feature)
+                    : LiveDelta.added(LAYER, incident.getId(), bbox, feature));
+            } else {
+                deltas.add(LiveDelta.removed(LAYER, incident.getId()));
+            }
+            changed = wasVisible || visible;
+            if (changed && ready) {
+                deltas.add(LiveDelta.stats(STATS_LAYER, "totals",
+                    statsCalculator.calculate(new ArrayList<>(validated.values()))));
+            }
+        }
+        hub.publish(deltas);
+    }
+
+    /**
+     * Caller giữ lock. @return incident còn hiển thị trên map sau event
+     */
+    private boolean apply(IncidentEvent event) {
+        TrafficIncident incident = event.getIncident();
+        boolean visible = event.getType() != IncidentEvent.EventType.DELETED
+            && incident.getValidationStatus() == TrafficIncident.ValidationStatus.VALIDATED
+            && incident.getLat() != null && incident.getLng() != null;
+        if (visible) {
+            validated.put(incident.getId(), incident);
+        } else {
+            validated.remove(incident.getId());
+        }
+        return visible;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> featureOf(TrafficIncident incident) {
+        List<Map<String, Object>> features = (List<Map<String, Object>>)
+            mapper.toPointFeatureCollection(List.of(incident)).get("features");
+        return features.get(0);
+    }
+}
@@ -4,8 +4,15 @@ import com.urbanmonitor.domain.citizen.marketMonitor.entity.LicensedStore;
 import com.urbanmonitor.domain.citizen.marketMonitor.entity.LicensedStore.StoreType;
 import com.urbanmonitor.domain.citizen.marketMonitor.entity.LicensedStore.LicenseStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -20,4 +27,26 @@ public interface LicensedStoreRepository extends JpaRepository<LicensedStore, Lo
     List<LicensedStore> findByTaxCompleted(Boolean taxCompleted);
 
     List<LicensedStore> findByStoreTypeAndTaxCompleted(StoreType type, Boolean taxCompleted);
+
+    // Giấy phép còn hiệu lực nhưng hết hạn trước ngày before (index idx_licensed_stores_expiry)
+    @Query("SELECT s.id AS id, s.licenseExpiryDate AS licenseExpiryDate FROM LicensedStore s " +
+           "WHERE s.licenseExpiryDate < :before AND s.licenseStatus IN :statuses")
+    List<LicenseDeadline> findExpiringBefore(@Param("before") LocalDate before,
+                                             @Param("statuses") Collection<LicenseStatus> statuses);
+
+    // Chuyển một batch sang EXPIRED trong một câu UPDATE, điều kiện được kiểm tra lại trong DB
+    @Modifying
+    @Transactional
+    @Query("UPDATE LicensedStore s SET s.licenseStatus = :expired, s.updatedAt = :now " +
+           "WHERE s.id IN :ids AND s.licenseExpiryDate < :today AND s.licenseStatus IN :statuses")
+    int expireAll(@Param("ids") Collection<Long> ids,
+                  @Param("today") LocalDate today,
+                  @Param("statuses") Collection<LicenseStatus> statuses,
+                  @Param("expired") LicenseStatus expired,
+                  @Param("now") LocalDateTime now);
+
+    interface LicenseDeadline {
+        Long getId();
+        LocalDate getLicenseExpiryDate();
+    }
 }
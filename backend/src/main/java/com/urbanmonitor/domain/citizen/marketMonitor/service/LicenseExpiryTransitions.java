@@ -0,0 +1,88 @@
+package com.urbanmonitor.domain.citizen.marketMonitor.service;
+
+import com.urbanmonitor.domain.citizen.marketMonitor.entity.LicensedStore;
+import com.urbanmonitor.domain.citizen.marketMonitor.entity.LicensedStore.LicenseStatus;
+import com.urbanmonitor.domain.citizen.marketMonitor.repository.LicensedStoreRepository;
+import com.urbanmonitor.domain.citizen.marketMonitor.repository.LicensedStoreRepository.LicenseDeadline;
+import com.urbanmonitor.shared.scheduling.DeadlineScheduler;
+import com.urbanmonitor.shared.scheduling.DeadlineSource;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * ACTIVE / PENDING_RENEWAL → EXPIRED khi qua licenseExpiryDate (giấy phép còn hiệu lực hết ngày hết hạn,
+ * deadline = 00:00 ngày hôm sau). Mỗi batch tới hạn là một câu UPDATE trong một transaction
+ * (mở bằng TransactionTemplate: scheduler gọi thẳng object này, không qua proxy).
+ */
+@Component
+@Slf4j
+public class LicenseExpiryTransitions implements DeadlineSource {
+
+    private static final Set<LicenseStatus> EXPIRABLE = EnumSet.of(LicenseStatus.ACTIVE, LicenseStatus.PENDING_RENEWAL);
+
+    private final DeadlineScheduler scheduler;
+    private final LicensedStoreRepository repository;
+    private final TransactionTemplate transactionTemplate;
+
+    public LicenseExpiryTransitions(DeadlineScheduler scheduler, LicensedStoreRepository repository,
+                                    PlatformTransactionManager transactionManager) {
+        this.scheduler = scheduler;
+        this.repository = repository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @PostConstruct
+    public void init() {
+        scheduler.register(this);
+    }
+
+    @Override
+    public String name() {
+        return "licensed-store";
+    }
+
+    @Override
+    public Map<Long, LocalDateTime> loadUpcoming(LocalDateTime until) {
+        // expiryDate < until.toLocalDate() ⇔ deadline (expiryDate + 1 ngày, 00:00) ≤ until
+        Map<Long, LocalDateTime> deadlines = new HashMap<>();
+        for (LicenseDeadline row : repository.findExpiringBefore(until.toLocalDate(), EXPIRABLE)) {
+            deadlines.put(row.getId(), deadlineOf(row.getLicenseExpiryDate()));
+        }
+        return deadlines;
+    }
+
+    @Override
+    public void applyDue(List<Long> ids) {
+        Integer expired = transactionTemplate.execute(status ->
+            repository.expireAll(ids, LocalDate.now(), EXPIRABLE, LicenseStatus.EXPIRED, LocalDateTime.now()));
+        if (expired != null && expired > 0) {
+            log.info("Expired {} store licenses", expired);
+        }
+    }
+
+    /**
+     * Gọi sau khi store được lưu: schedule lại theo ngày hết hạn / trạng thái mới
+     */
+    public void track(LicensedStore store) {
+        if (store.getLicenseExpiryDate() == null || !EXPIRABLE.contains(store.getLicenseStatus())) {
+            scheduler.cancel(this, store.getId());
+            return;
+        }
+        scheduler.schedule(this, store.getId(), deadlineOf(store.getLicenseExpiryDate()));
+    }
+
+    private static LocalDateTime deadlineOf(LocalDate expiryDate) {
+        return expiryDate.plusDays(1).atStartOfDay();
+    }
+}
@@ -0,0 +1,86 @@
+package com.urbanmonitor.domain.citizen.marketMonitor.service;
+
+import com.urbanmonitor.domain.citizen.marketMonitor.entity.LicensedStore;
+import com.urbanmonitor.shared.imports.ImportColumn;
+import com.urbanmonitor.shared.imports.ImportTarget;
+import com.urbanmonitor.shared.imports.ImportValidation;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Import licensed stores; store mới / sửa được đưa vào lịch hết hạn giấy phép
+ */
+@Component
+@RequiredArgsConstructor
+public class LicensedStoreImportTarget implements ImportTarget<LicensedStore> {
+
+    private static final List<ImportColumn<LicensedStore>> COLUMNS = List.of(
+        ImportColumn.of("store_type", LicensedStore::getStoreType),
+        ImportColumn.of("store_name", LicensedStore::getStoreName),
+        ImportColumn.of("owner_name", LicensedStore::getOwnerName),
+        ImportColumn.of("description", LicensedStore::getDescription),
+        ImportColumn.of("address", LicensedStore::getAddress),
+        ImportColumn.of("longitude", LicensedStore::getLongitude),
+        ImportColumn.of("latitude", LicensedStore::getLatitude),
+        ImportColumn.of("license_number", LicensedStore::getLicenseNumber),
+        ImportColumn.of("license_issue_date", LicensedStore::getLicenseIssueDate),
+        ImportColumn.of("license_expiry_date", LicensedStore::getLicenseExpiryDate),
+        ImportColumn.of("license_status", LicensedStore::getLicenseStatus),
+        ImportColumn.of("tax_completed", LicensedStore::getTaxCompleted),
+        ImportColumn.of("contact_phone", LicensedStore::getContactPhone),
+        ImportColumn.of("image_url", LicensedStore::getImageUrl),
+        ImportColumn.of("rating", LicensedStore::getRating),
+        ImportColumn.of("opening_hours", LicensedStore::getOpeningHours),
+        ImportColumn.insertOnly("created_at", LicensedStore::getCreatedAt),
+        ImportColumn.of("updated_at", LicensedStore::getUpdatedAt)
+    );
+
+    private final LicenseExpiryTransitions expiryTransitions;
+
+    @Override
+    public String name() {
+        return "stores";
+    }
+
+    @Override
+    public Class<LicensedStore> type() {
+        return LicensedStore.class;
+    }
+
+    @Override
+    public String table() {
+        return "licensed_stores";
+    }
+
+    @Override
+    public List<ImportColumn<LicensedStore>> columns() {
+        return COLUMNS;
+    }
+
+    @Override
+    public Long getId(LicensedStore store) {
+        return store.getId();
+    }
+
+    @Override
+    public void setId(LicensedStore store, Long id) {
+        store.setId(id);
+    }
+
+    @Override
+    public void prepare(LicensedStore store) {
+        if (store.getStoreType() == null) {
+            throw new IllegalArgumentException("storeType is required");
+        }
+        ImportValidation.requireCoordinates(store.getLongitude(), store.getLatitude());
+        store.prePersist();
+    }
+
+    @Override
+    public void afterCommit(List<LicensedStore> created, List<LicensedStore> updated) {
+        created.forEach(expiryTransitions::track);
+        updated.forEach(expiryTransitions::track);
+    }
+}
@@ -24,6 +24,7 @@ public class LicensedStoreService implements ILicensedStoreService {
     private final LicensedStoreRepository repository;
     private final GeoJsonBuilder geoJsonBuilder;
     private final StatsCalculator statsCalculator;
+    private final LicenseExpiryTransitions expiryTransitions;
 
     @Override
     @Transactional(readOnly = true)
@@ -52,13 +53,17 @@ public class LicensedStoreService implements ILicensedStoreService {
     @Override
     @Transactional
     public LicensedStore save(LicensedStore store) {
-        return repository.save(store);
+        LicensedStore saved = repository.save(store);
+        expiryTransitions.track(saved);
+        return saved;
     }
 
     @Override
     @Transactional
     public List<LicensedStore> saveAll(List<LicensedStore> stores) {
-        return repository.saveAll(stores);
+        List<LicensedStore> saved = repository.saveAll(stores);
+        saved.forEach(expiryTransitions::track);
+        return saved;
     }
 
     @Override
@@ -2,6 +2,7 @@ package com.urbanmonitor.domain.citizen.temperaturemonitor.builder;
 
 import com.urbanmonitor.domain.citizen.temperaturemonitor.dto.AirQualityResponse;
 import com.urbanmonitor.domain.citizen.temperaturemonitor.entity.AirQualityZone;
+import com.urbanmonitor.shared.geo.GeometryView;
 
 import java.util.List;
 
@@ -10,5 +11,9 @@ public interface AirQualityGeoJsonBuilder {
 
      //Build GeoJSON data by merging backend data with raw GeoJSON
 
-    AirQualityResponse.GeoJsonData build(List<AirQualityZone> backendData);
+    AirQualityResponse.GeoJsonData build(List<AirQualityZone> backendData, GeometryView view);
+
+    default AirQualityResponse.GeoJsonData build(List<AirQualityZone> backendData) {
+        return build(backendData, GeometryView.FULL);
+    }
 }
@@ -1,9 +1,13 @@
 package com.urbanmonitor.domain.citizen.temperaturemonitor.builder;
 
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.util.RawValue;
 import com.urbanmonitor.domain.citizen.temperaturemonitor.dto.AirQualityResponse;
 import com.urbanmonitor.domain.citizen.temperaturemonitor.entity.AirQualityZone;
-import com.urbanmonitor.domain.citizen.temperaturemonitor.loader.GeoJsonLoader;
-import com.urbanmonitor.domain.citizen.temperaturemonitor.normalizer.NameNormalizer;
+import com.urbanmonitor.shared.geo.GeometryView;
+import com.urbanmonitor.shared.province.ProvinceGeometry;
+import com.urbanmonitor.shared.province.ProvinceGeometryRegistry;
+import com.urbanmonitor.shared.province.ProvinceNameResolver;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
@@ -16,8 +20,8 @@ import java.util.*;
 @Slf4j
 public class DefaultAirQualityGeoJsonBuilder implements AirQualityGeoJsonBuilder {
 
-    private final GeoJsonLoader geoJsonLoader;
-    private final NameNormalizer nameNormalizer;
+    private final ProvinceGeometryRegistry provinceRegistry;
+    private final ProvinceNameResolver nameResolver;
 
     private static final Map<String, String> LEVEL_COLORS = Map.of(
             "GOOD", "#00e400",
@@ -33,15 +37,12 @@ public class DefaultAirQualityGeoJsonBuilder implements AirQualityGeoJsonBuilder
     private static final String TYPE_FEATURE = "Feature";
 
     @Override
-    public AirQualityResponse.GeoJsonData build(List<AirQualityZone> backendData) {
-        Map<String, Object> rawGeoJson = geoJsonLoader.loadGeoJson();
-        
-        if (!isValidGeoJson(rawGeoJson)) {
+    public AirQualityResponse.GeoJsonData build(List<AirQualityZone> backendData, GeometryView view) {
+        if (!provinceRegistry.isLoaded()) {
             return buildEmptyGeoJson();
         }
 
-        List<Map<String, Object>> rawFeatures = extractFeatures(rawGeoJson);
-        List<AirQualityResponse.Feature> mergedFeatures = mergeFeatures(rawFeatures, backendData);
+        List<AirQualityResponse.Feature> mergedFeatures = mergeFeatures(provinceRegistry.getAll(), backendData, view);
 
         return AirQualityResponse.GeoJsonData.builder()
                 .type(TYPE_FEATURE_COLLECTION)
@@ -49,37 +50,28 @@ public class DefaultAirQualityGeoJsonBuilder implements AirQualityGeoJsonBuilder
                 .build();
     }
 
-    /**
-     * validation logic
-     */
-    protected boolean isValidGeoJson(Map<String, Object> geoJson) {
-        return geoJson != null && geoJson.containsKey("features");
-    }
-
-    /**
-     * extract features from raw GeoJSON
-     */
-    @SuppressWarnings("unchecked")
-    protected List<Map<String, Object>> extractFeatures(Map<String, Object> rawGeoJson) {
-        return (List<Map<String, Object>>) rawGeoJson.get("features");
-    }
-
     /**
      * Core merge logic
      */
     protected List<AirQualityResponse.Feature> mergeFeatures(
-            List<Map<String, Object>> rawFeatures, 
-            List<AirQualityZone> backendData) {
-        
-        List<AirQualityResponse.Feature> mergedFeatures = new ArrayList<>();
+            List<ProvinceGeometry> provinces,
+            List<AirQualityZone> backendData,
+            GeometryView view) {
+
+        List<AirQualityResponse.Feature> mergedFeatures = new ArrayList<>(provinces.size());
 
         log.debug("---------- BẮT ĐẦU MERGE DATA ----------");
-        log.debug("Tổng số vùng trong GeoJSON: {}", rawFeatures.size());
+        log.debug("Tổng số vùng trong GeoJSON: {}", provinces.size());
         log.debug("Tổng số dữ liệu trong DB: {}", backendData.size());
 
-        for (Map<String, Object> feature : rawFeatures) {
-            AirQualityResponse.Feature mergedFeature = mergeFeature(feature, backendData);
-            mergedFeatures.add(mergedFeature);
+        // provinceCode của DB → province id (resolver memoize), join bằng id
+        Map<Integer, AirQualityZone> zonesByProvince = indexByProvinceId(backendData);
+
+        for (ProvinceGeometry province : provinces) {
+            Object geometry = geometryValue(province, view);
+            if (geometry != null) {
+                mergedFeatures.add(mergeFeature(province, geometry, zonesByProvince));
+            }
         }
 
         return mergedFeatures;
@@ -88,21 +80,17 @@ public class DefaultAirQualityGeoJsonBuilder implements AirQualityGeoJsonBuilder
     /**
      * Merge single feature with backend data
      */
-    @SuppressWarnings("unchecked")
     protected AirQualityResponse.Feature mergeFeature(
-            Map<String, Object> feature, 
-            List<AirQualityZone> backendData) {
-        
-        Map<String, Object> properties = (Map<String, Object>) feature.get("properties");
-        Map<String, Object> geometry = (Map<String, Object>) feature.get("geometry");
-        
-        String rawJsonName = extractName(properties);
-        String jsonNameNormalized = nameNormalizer.normalize(rawJsonName);
-        
-        Optional<AirQualityZone> match = findMatchingZone(backendData, jsonNameNormalized);
-        
-        Map<String, Object> newProps = new HashMap<>(properties);
-        
+            ProvinceGeometry province,
+            Object geometry,
+            Map<Integer, AirQualityZone> zonesByProvince) {
+
+        String rawJsonName = province.getName();
+
+        Optional<AirQualityZone> match = Optional.ofNullable(zonesByProvince.get(province.getId()));
+
+        Map<String, Object> newProps = new HashMap<>(province.getProperties());
+
         if (match.isPresent()) {
             populateMatchedProperties(newProps, match.get(), rawJsonName);
         } else {
@@ -117,27 +105,24 @@ public class DefaultAirQualityGeoJsonBuilder implements AirQualityGeoJsonBuilder
     }
 
     /**
-     * extract name from properties
+     * Level of detail: bytes encode sẵn của level phù hợp, hoặc geometry đã clip theo bbox.
+     * Null nếu tỉnh nằm ngoài bbox.
      */
-    protected String extractName(Map<String, Object> properties) {
-        return (String) properties.getOrDefault("Name",
-                properties.getOrDefault("name",
-                        properties.getOrDefault("TEN_TINH", "")));
+    protected Object geometryValue(ProvinceGeometry province, GeometryView view) {
+        SerializedString encoded = province.encodedGeometryFor(view);
+        return encoded != null ? new RawValue(encoded) : province.geometryFor(view);
     }
 
     /**
-     * find matching zone
+     * province id -> zone, giữ bản ghi đầu tiên như findFirst trước đây
      */
-    protected Optional<AirQualityZone> findMatchingZone(
-            List<AirQualityZone> backendData, 
-            String normalizedName) {
-        
-        return backendData.stream()
-                .filter(d -> {
-                    String dbNameNormalized = nameNormalizer.normalize(d.getProvinceCode());
-                    return dbNameNormalized.equals(normalizedName);
-                })
-                .findFirst();
+    protected Map<Integer, AirQualityZone> indexByProvinceId(List<AirQualityZone> backendData) {
+        Map<Integer, AirQualityZone> index = new HashMap<>();
+        for (AirQualityZone zone : backendData) {
+            nameResolver.resolveOne(zone.getProvinceCode())
+                    .ifPresent(province -> index.putIfAbsent(province.getId(), zone));
+        }
+        return index;
     }
 
     /**
@@ -3,6 +3,7 @@ package com.urbanmonitor.domain.citizen.temperaturemonitor.controller;
 import com.urbanmonitor.domain.citizen.temperaturemonitor.dto.AirQualityResponse;
 import com.urbanmonitor.domain.citizen.temperaturemonitor.entity.AirQualityZone;
 import com.urbanmonitor.domain.citizen.temperaturemonitor.service.IAirQualityService;
+import com.urbanmonitor.shared.geo.GeometryViewParams;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
@@ -27,8 +28,8 @@ public class AirQualityController {
     }
 
     @GetMapping("/dashboard")
-    public ResponseEntity<AirQualityResponse> getAirQualityDashboard() {
-        AirQualityResponse data = service.getDashboardData();
+    public ResponseEntity<AirQualityResponse> getAirQualityDashboard(GeometryViewParams detail) {
+        AirQualityResponse data = service.getDashboardData(detail.toView());
         return ResponseEntity.ok(data);
     }
 }
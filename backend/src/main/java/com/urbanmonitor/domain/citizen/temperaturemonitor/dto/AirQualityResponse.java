@@ -29,7 +29,7 @@ public class AirQualityResponse {
     @Builder
     public static class Feature {
         private String type; // "Feature"
-        private Map<String, Object> geometry; // Giữ nguyên geometry từ file JSON gốc
+        private Object geometry; // Geometry tỉnh từ ProvinceGeometryRegistry (RawValue bytes encode sẵn / PackedGeometry)
         private Map<String, Object> properties;
     }
 
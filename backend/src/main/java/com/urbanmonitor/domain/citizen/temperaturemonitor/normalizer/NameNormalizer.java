@@ -1,10 +0,0 @@
-package com.urbanmonitor.domain.citizen.temperaturemonitor.normalizer;
-
-
-public interface NameNormalizer {
-
-    /**
-     * CHuẩn hóa địa danh
-     */
-    String normalize(String str);
-}
@@ -6,6 +6,7 @@ import com.urbanmonitor.domain.citizen.temperaturemonitor.calculator.LegendCalcu
 import com.urbanmonitor.domain.citizen.temperaturemonitor.dto.AirQualityResponse;
 import com.urbanmonitor.domain.citizen.temperaturemonitor.entity.AirQualityZone;
 import com.urbanmonitor.domain.citizen.temperaturemonitor.repository.AirQualityRepository;
+import com.urbanmonitor.shared.geo.GeometryView;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -33,7 +34,7 @@ public class AirQualityService implements IAirQualityService {
 
     @Override
     @Transactional(readOnly = true)
-    public AirQualityResponse getDashboardData() {
+    public AirQualityResponse getDashboardData(GeometryView view) {
         // 1. Lấy dữ liệu từ DB
         List<AirQualityZone> dbData = repository.findAll();
 
@@ -44,7 +45,7 @@ public class AirQualityService implements IAirQualityService {
         Map<String, Integer> legend = legendCalculator.calculate(dbData);
 
         // 4. Delegate build GeoJSON cho GeoJsonBuilder
-        AirQualityResponse.GeoJsonData geoJsonData = geoJsonBuilder.build(dbData);
+        AirQualityResponse.GeoJsonData geoJsonData = geoJsonBuilder.build(dbData, view);
 
         return AirQualityResponse.builder()
                 .stats(stats)
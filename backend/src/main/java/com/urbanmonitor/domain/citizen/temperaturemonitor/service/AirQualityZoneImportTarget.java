@@ -0,0 +1,82 @@
+package com.urbanmonitor.domain.citizen.temperaturemonitor.service;
+
+import com.urbanmonitor.domain.citizen.temperaturemonitor.entity.AirQualityZone;
+import com.urbanmonitor.shared.imports.ImportColumn;
+import com.urbanmonitor.shared.imports.ImportTarget;
+import com.urbanmonitor.shared.province.ProvinceGeometry;
+import com.urbanmonitor.shared.province.ProvinceNameResolver;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Import air quality zones; thiếu provinceCode thì resolve từ zoneName, safetyLevel tính lại từ aqi
+ */
+@Component
+@RequiredArgsConstructor
+public class AirQualityZoneImportTarget implements ImportTarget<AirQualityZone> {
+
+    private static final List<ImportColumn<AirQualityZone>> COLUMNS = List.of(
+        ImportColumn.of("zone_name", AirQualityZone::getZoneName),
+        ImportColumn.of("province_code", AirQualityZone::getProvinceCode),
+        ImportColumn.of("aqi", AirQualityZone::getAqi),
+        ImportColumn.of("safety_level", AirQualityZone::getSafetyLevel),
+        ImportColumn.of("pm25", AirQualityZone::getPm25),
+        ImportColumn.of("pm10", AirQualityZone::getPm10),
+        ImportColumn.of("temperature", AirQualityZone::getTemperature),
+        ImportColumn.of("humidity", AirQualityZone::getHumidity),
+        ImportColumn.of("measured_at", AirQualityZone::getMeasuredAt),
+        ImportColumn.insertOnly("created_at", AirQualityZone::getCreatedAt),
+        ImportColumn.of("updated_at", AirQualityZone::getUpdatedAt)
+    );
+
+    private final ProvinceNameResolver provinceNameResolver;
+
+    @Override
+    public String name() {
+        return "air-quality";
+    }
+
+    @Override
+    public Class<AirQualityZone> type() {
+        return AirQualityZone.class;
+    }
+
+    @Override
+    public String table() {
+        return "air_quality_zones";
+    }
+
+    @Override
+    public List<ImportColumn<AirQualityZone>> columns() {
+        return COLUMNS;
+    }
+
+    @Override
+    public Long getId(AirQualityZone zone) {
+        return zone.getId();
+    }
+
+    @Override
+    public void setId(AirQualityZone zone, Long id) {
+        zone.setId(id);
+    }
+
+    @Override
+    public void prepare(AirQualityZone zone) {
+        if (zone.getAqi() != null && (zone.getAqi() < 0 || zone.getAqi() > 500)) {
+            throw new IllegalArgumentException("aqi out of range (0-500): " + zone.getAqi());
+        }
+        if (zone.getProvinceCode() == null) {
+            zone.setProvinceCode(provinceNameResolver.resolveOne(zone.getZoneName())
+                .map(ProvinceGeometry::getCode)
+                .orElseThrow(() -> new IllegalArgumentException("Unknown province: " + zone.getZoneName())));
+        }
+        zone.calculateSafetyLevel();
+        LocalDateTime now = LocalDateTime.now();
+        zone.setCreatedAt(now);
+        zone.setUpdatedAt(now);
+    }
+}
@@ -2,6 +2,7 @@ package com.urbanmonitor.domain.citizen.temperaturemonitor.service;
 
 import com.urbanmonitor.domain.citizen.temperaturemonitor.dto.AirQualityResponse;
 import com.urbanmonitor.domain.citizen.temperaturemonitor.entity.AirQualityZone;
+import com.urbanmonitor.shared.geo.GeometryView;
 
 import java.util.List;
 
@@ -16,5 +17,5 @@ public interface IAirQualityService {
     /**
      * Get dashboard data including stats, legend, and map data
      */
-    AirQualityResponse getDashboardData();
+    AirQualityResponse getDashboardData(GeometryView view);
 }
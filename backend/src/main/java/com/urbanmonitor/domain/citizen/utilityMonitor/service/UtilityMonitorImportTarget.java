@@ -0,0 +1,70 @@
+package com.urbanmonitor.domain.citizen.utilityMonitor.service;
+
+import com.urbanmonitor.domain.citizen.utilityMonitor.entity.UtilityMonitor;
+import com.urbanmonitor.shared.imports.ImportColumn;
+import com.urbanmonitor.shared.imports.ImportTarget;
+import com.urbanmonitor.shared.imports.ImportValidation;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Import utility stations; wifiStatus tính lại từ wifiPing như lúc lưu qua JPA
+ */
+@Component
+public class UtilityMonitorImportTarget implements ImportTarget<UtilityMonitor> {
+
+    private static final List<ImportColumn<UtilityMonitor>> COLUMNS = List.of(
+        ImportColumn.of("station_name", UtilityMonitor::getStationName),
+        ImportColumn.of("address", UtilityMonitor::getAddress),
+        ImportColumn.of("longitude", UtilityMonitor::getLongitude),
+        ImportColumn.of("latitude", UtilityMonitor::getLatitude),
+        ImportColumn.of("water_usage", UtilityMonitor::getWaterUsage),
+        ImportColumn.of("electricity_usage", UtilityMonitor::getElectricityUsage),
+        ImportColumn.of("wifi_ping", UtilityMonitor::getWifiPing),
+        ImportColumn.of("wifi_status", UtilityMonitor::getWifiStatus),
+        ImportColumn.of("measured_at", UtilityMonitor::getMeasuredAt),
+        ImportColumn.insertOnly("created_at", UtilityMonitor::getCreatedAt),
+        ImportColumn.of("updated_at", UtilityMonitor::getUpdatedAt)
+    );
+
+    @Override
+    public String name() {
+        return "stations";
+    }
+
+    @Override
+    public Class<UtilityMonitor> type() {
+        return UtilityMonitor.class;
+    }
+
+    @Override
+    public String table() {
+        return "utility_monitors";
+    }
+
+    @Override
+    public List<ImportColumn<UtilityMonitor>> columns() {
+        return COLUMNS;
+    }
+
+    @Override
+    public Long getId(UtilityMonitor station) {
+        return station.getId();
+    }
+
+    @Override
+    public void setId(UtilityMonitor station, Long id) {
+        station.setId(id);
+    }
+
+    @Override
+    public void prepare(UtilityMonitor station) {
+        ImportValidation.requireCoordinates(station.getLongitude(), station.getLatitude());
+        station.calculateWifiStatus();
+        LocalDateTime now = LocalDateTime.now();
+        station.setCreatedAt(now);
+        station.setUpdatedAt(now);
+    }
+}
@@ -0,0 +1,120 @@
+package com.urbanmonitor.domain.company.journal;
+
+import com.urbanmonitor.domain.company.method1.model.entity.Method1Optimization;
+import com.urbanmonitor.domain.company.method2.model.BranchOptimization;
+import com.urbanmonitor.shared.journal.EventJournal;
+import com.urbanmonitor.shared.journal.JournalEntry;
+import com.urbanmonitor.shared.journal.JournalEntryKind;
+import com.urbanmonitor.shared.journal.JournalStream;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static com.urbanmonitor.shared.journal.JournalCodecs.*;
+
+/**
+ * Ghi kết quả tối ưu (method1 / method2) vào event journal, stream OPTIMIZATIONS.
+ * Chỉ để audit / analytics (không có view nào replay), nên chỉ giữ các chỉ số kết quả,
+ * không giữ recommendedDates / algorithmSteps.
+ */
+@Component
+@RequiredArgsConstructor
+public class OptimizationJournal {
+
+    static final String METHOD1_OPTIMIZED = "METHOD1_OPTIMIZED";
+    static final String BRANCH_OPTIMIZED = "BRANCH_OPTIMIZED";
+
+    private static final int VERSION = 1;
+
+    private final EventJournal journal;
+
+    @PostConstruct
+    public void init() {
+        journal.registerDecoder(JournalStream.OPTIMIZATIONS, this::decode);
+    }
+
+    /**
+     * Gọi sau khi save, trong transaction thì ghi khi commit
+     */
+    public void recordMethod1(Method1Optimization optimization) {
+        if (optimization.getId() == null) {
+            return;
+        }
+        journal.appendAfterCommit(JournalStream.OPTIMIZATIONS, JournalEntryKind.APPEND, optimization.getId(), out -> {
+            out.writeUTF(METHOD1_OPTIMIZED);
+            out.writeByte(VERSION);
+            writeLong(out, optimization.getBranchId());
+            writeInteger(out, optimization.getN());
+            writeDouble(out, optimization.getQ());
+            writeDouble(out, optimization.getP());
+            writeDouble(out, optimization.getK1());
+            writeDouble(out, optimization.getAv());
+            writeDouble(out, optimization.getTheta());
+            writeDouble(out, optimization.getTs());
+            writeDouble(out, optimization.getTc());
+        });
+    }
+
+    public void recordBranch(BranchOptimization optimization, Long branchId) {
+        if (optimization.getId() == null) {
+            return;
+        }
+        journal.appendAfterCommit(JournalStream.OPTIMIZATIONS, JournalEntryKind.APPEND, optimization.getId(), out -> {
+            out.writeUTF(BRANCH_OPTIMIZED);
+            out.writeByte(VERSION);
+            writeLong(out, branchId);
+            writeString(out, optimization.getStrategy());
+            writeString(out, optimization.getStatus());
+            writeDouble(out, optimization.getOptimalQ());
+            writeDouble(out, optimization.getReorderPoint());
+            writeDouble(out, optimization.getSafetyStock());
+            writeDouble(out, optimization.getForecastedLeadTime());
+            writeDouble(out, optimization.getTransportCost());
+            writeDouble(out, optimization.getCostSavings());
+            writeInteger(out, optimization.getOptimalShipments());
+            writeDouble(out, optimization.getSetupTimeReduction());
+            writeLong(out, optimization.getComputationTimeMs());
+        });
+    }
+
+    private Object decode(JournalEntry entry) throws IOException {
+        try (DataInputStream in = entry.payloadInput()) {
+            Map<String, Object> decoded = new LinkedHashMap<>();
+            String event = in.readUTF();
+            decoded.put("event", event);
+            int version = in.readUnsignedByte();
+            if (version != VERSION) {
+                throw new IOException("Unsupported optimization journal version " + version);
+            }
+            decoded.put("branchId", readLong(in));
+            if (METHOD1_OPTIMIZED.equals(event)) {
+                decoded.put("n", readInteger(in));
+                decoded.put("q", readDouble(in));
+                decoded.put("p", readDouble(in));
+                decoded.put("k1", readDouble(in));
+                decoded.put("av", readDouble(in));
+                decoded.put("theta", readDouble(in));
+                decoded.put("ts", readDouble(in));
+                decoded.put("tc", readDouble(in));
+            } else {
+                decoded.put("strategy", readString(in));
+                decoded.put("status", readString(in));
+                decoded.put("optimalQ", readDouble(in));
+                decoded.put("reorderPoint", readDouble(in));
+                decoded.put("safetyStock", readDouble(in));
+                decoded.put("forecastedLeadTime", readDouble(in));
+                decoded.put("transportCost", readDouble(in));
+                decoded.put("costSavings", readDouble(in));
+                decoded.put("optimalShipments", readInteger(in));
+                decoded.put("setupTimeReduction", readDouble(in));
+                decoded.put("computationTimeMs", readLong(in));
+            }
+            return decoded;
+        }
+    }
+}
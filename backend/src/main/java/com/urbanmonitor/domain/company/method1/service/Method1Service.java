@@ -1,5 +1,6 @@
 package com.urbanmonitor.domain.company.method1.service;
 
+import com.urbanmonitor.domain.company.journal.OptimizationJournal;
 import com.urbanmonitor.domain.company.method1.algorithm.Method1Optimizer;
 import com.urbanmonitor.domain.company.method1.dto.Method1OptimizationDTO;
 import com.urbanmonitor.domain.company.method1.model.entity.Method1Optimization;
@@ -23,6 +24,9 @@ public class Method1Service {
     @Autowired
     private Method1OptimizationRepository repository;
 
+    @Autowired
+    private OptimizationJournal optimizationJournal;
+
     /**
      * Run optimization and save result to database
      */
@@ -54,6 +58,7 @@ public class Method1Service {
                     .build();
 
             Method1Optimization saved = repository.save(optimization);
+            optimizationJournal.recordMethod1(saved);
             log.info("Optimization saved - ID: {}, TC: {}", saved.getId(), saved.getTc());
 
             return saved;
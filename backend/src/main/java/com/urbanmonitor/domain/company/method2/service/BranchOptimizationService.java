@@ -1,5 +1,6 @@
 package com.urbanmonitor.domain.company.method2.service;
 
+import com.urbanmonitor.domain.company.journal.OptimizationJournal;
 import com.urbanmonitor.domain.company.method2.algorithm.OptimizationStrategy;
 import com.urbanmonitor.domain.company.method2.algorithm.factory.OptimizationStrategyFactory;
 import com.urbanmonitor.domain.company.method2.dto.OptimizationRequestDTO;
@@ -38,6 +39,9 @@ public class BranchOptimizationService {
     @Autowired
     private OptimizationStrategyFactory strategyFactory;
 
+    @Autowired
+    private OptimizationJournal optimizationJournal;
+
     private final ObjectMapper objectMapper = new ObjectMapper();
 
     /**
@@ -217,7 +221,8 @@ public class BranchOptimizationService {
                     .recommendedDates(objectMapper.valueToTree(result.getRecommendedDates()))
                     .build();
 
-            optimizationRepository.save(optimization);
+            BranchOptimization saved = optimizationRepository.save(optimization);
+            optimizationJournal.recordBranch(saved, branch.getId());
             log.info("Saved optimization for branch {}: {}", branch.getName(), strategyName);
         } catch (Exception e) {
             log.error("Error saving optimization: {}", e.getMessage(), e);
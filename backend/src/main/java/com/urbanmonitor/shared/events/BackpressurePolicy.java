@@ -0,0 +1,19 @@
+package com.urbanmonitor.shared.events;
+
+/**
+ * Cách một subscription xử lý khi ring buffer của nó đầy
+ */
+public enum BackpressurePolicy {
+
+    /** Producer chờ tới khi có chỗ (không mất event) */
+    BLOCK,
+
+    /** Bỏ event cũ nhất để nhường chỗ, producer không bao giờ chờ */
+    DROP_OLDEST,
+
+    /**
+     * Event mới của một entity còn đang chờ được gộp vào event cũ (theo key của topic),
+     * nên buffer chỉ giữ tối đa một event / entity; đầy thì chờ như BLOCK
+     */
+    COALESCE
+}
@@ -0,0 +1,80 @@
+package com.urbanmonitor.shared.events;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+
+/**
+ * Event bus chung cho các publisher của domain (disaster zones, emergency locations, incidents).
+ *
+ * - Mỗi observer có ring buffer bounded lock-free + consumer thread riêng, nhận event theo batch
+ * - Event chỉ được dispatch sau khi transaction commit, write path chỉ tốn công enqueue
+ *   bất kể có bao nhiêu observer
+ * - Backpressure theo từng observer (BLOCK / DROP_OLDEST / COALESCE), metrics lag qua /api/events/metrics
+ */
+@Component
+@Slf4j
+public class DomainEventBus {
+
+    private final Environment environment;
+    private final EventSubscriptionSettings defaults;
+    private final long shutdownTimeoutMillis;
+    private final Map<String, EventTopic<?>> topics = new ConcurrentHashMap<>();
+
+    public DomainEventBus(Environment environment,
+                          @Value("${events.policy:BLOCK}") BackpressurePolicy policy,
+                          @Value("${events.buffer-size:4096}") int bufferSize,
+                          @Value("${events.batch-size:256}") int batchSize,
+                          @Value("${events.shutdown-timeout-ms:5000}") long shutdownTimeoutMillis) {
+        this.environment = environment;
+        this.defaults = new EventSubscriptionSettings(policy, bufferSize, batchSize);
+        this.shutdownTimeoutMillis = shutdownTimeoutMillis;
+    }
+
+    /**
+     * @param keyOf entity id của event (COALESCE gộp theo key này), null = topic không hỗ trợ COALESCE
+     * @param merge gộp event cũ còn chờ với event mới của cùng entity
+     */
+    public <E> EventTopic<E> topic(String name, Function<E, ?> keyOf, BinaryOperator<E> merge) {
+        EventTopic<E> topic = new EventTopic<>(name, keyOf, merge, this);
+        if (topics.putIfAbsent(name, topic) != null) {
+            throw new IllegalArgumentException("Event topic already exists: " + name);
+        }
+        return topic;
+    }
+
+    public List<EventSubscriptionMetrics> getMetrics() {
+        return topics.values().stream()
+            .flatMap(topic -> topic.metrics().stream())
+            .toList();
+    }
+
+    /**
+     * Drain nốt các event còn trong buffer trước khi context đóng
+     */
+    @PreDestroy
+    public void shutdown() {
+        topics.values().forEach(EventTopic::close);
+        log.info("Domain event bus stopped");
+    }
+
+    long getShutdownTimeoutMillis() {
+        return shutdownTimeoutMillis;
+    }
+
+    EventSubscriptionSettings settingsFor(String observerName) {
+        String prefix = "events.observers." + observerName + ".";
+        return new EventSubscriptionSettings(
+            environment.getProperty(prefix + "policy", BackpressurePolicy.class, defaults.policy()),
+            environment.getProperty(prefix + "buffer-size", Integer.class, defaults.bufferSize()),
+            environment.getProperty(prefix + "batch-size", Integer.class, defaults.batchSize()));
+    }
+}
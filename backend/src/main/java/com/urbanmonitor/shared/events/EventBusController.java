@@ -0,0 +1,24 @@
+package com.urbanmonitor.shared.events;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * Metrics của event bus: mỗi dòng là một observer trên một topic
+ */
+@RestController
+@RequestMapping("/api/events")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+public class EventBusController {
+
+    private final DomainEventBus eventBus;
+
+    @GetMapping("/metrics")
+    public ResponseEntity<List<EventSubscriptionMetrics>> getMetrics() {
+        return ResponseEntity.ok(eventBus.getMetrics());
+    }
+}
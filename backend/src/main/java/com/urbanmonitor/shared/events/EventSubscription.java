@@ -0,0 +1,289 @@
+package com.urbanmonitor.shared.events;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BinaryOperator;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Một observer trên một topic: ring buffer riêng + một consumer thread riêng.
+ *
+ * - Producer (giữ lock của topic) enqueue theo policy, consumer drain tối đa batchSize event
+ *   rồi gọi handler một lần cho cả batch
+ * - settledSequence: mọi event có sequence <= giá trị này đã được xử lý (hoặc bị drop / gộp),
+ *   dùng cho subscription khác khai báo "after" subscription này
+ */
+@Slf4j
+final class EventSubscription<E> implements Runnable {
+
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+    private static final long UPSTREAM_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(200);
+
+    /** Event đang chờ trong một slot; COALESCE thay event của slot bằng bản đã gộp */
+    private record Pending<E>(E event, long sequence) {
+    }
+
+    private static final Pending<?> TAKEN = new Pending<>(null, -1);
+
+    private static final class Slot<E> {
+        final long sequence;
+        final long enqueuedAt;
+        final Object key;
+        final AtomicReference<Pending<E>> pending;
+
+        Slot(long sequence, long enqueuedAt, Object key, Pending<E> pending) {
+            this.sequence = sequence;
+            this.enqueuedAt = enqueuedAt;
+            this.key = key;
+            this.pending = new AtomicReference<>(pending);
+        }
+    }
+
+    private final String topic;
+    private final String name;
+    private final Object observer;
+    private final Consumer<List<E>> handler;
+    private final BackpressurePolicy policy;
+    private final int batchSize;
+    private final Function<E, ?> keyOf;
+    private final BinaryOperator<E> merge;
+    private final List<EventSubscription<E>> upstream;
+    private final long firstSequence;
+
+    private final EventRing<Slot<E>> ring;
+    /** COALESCE: slot còn chờ của từng entity */
+    private final Map<Object, Slot<E>> pendingByKey = new ConcurrentHashMap<>();
+    private final Thread thread;
+
+    private volatile boolean running = true;
+    private volatile boolean parked;
+    private volatile long settledSequence;
+
+    private final AtomicLong enqueued = new AtomicLong();
+    private final AtomicLong delivered = new AtomicLong();
+    private final AtomicLong coalesced = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private final AtomicLong blocked = new AtomicLong();
+    private final AtomicLong blockedNanos = new AtomicLong();
+    private final AtomicLong maxLagNanos = new AtomicLong();
+    private volatile long lastLagNanos;
+
+    EventSubscription(String topic, String name, Object observer, Consumer<List<E>> handler,
+                      EventSubscriptionSettings settings, Function<E, ?> keyOf, BinaryOperator<E> merge,
+                      List<EventSubscription<E>> upstream, long firstSequence) {
+        this.topic = topic;
+        this.name = name;
+        this.observer = observer;
+        this.handler = handler;
+        this.policy = keyOf == null && settings.policy() == BackpressurePolicy.COALESCE
+            ? BackpressurePolicy.BLOCK
+            : settings.policy();
+        this.batchSize = Math.max(1, settings.batchSize());
+        this.keyOf = keyOf;
+        this.merge = merge;
+        this.upstream = upstream;
+        this.firstSequence = firstSequence;
+        this.settledSequence = firstSequence;
+        this.ring = new EventRing<>(settings.bufferSize());
+        this.thread = new Thread(this, "events-" + topic + "-" + name);
+        this.thread.setDaemon(true);
+    }
+
+    void start() {
+        thread.start();
+    }
+
+    /**
+     * Dừng consumer sau khi drain hết các event còn trong buffer
+     */
+    void stop(long timeoutMillis) {
+        running = false;
+        LockSupport.unpark(thread);
+        try {
+            thread.join(timeoutMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    Object observer() {
+        return observer;
+    }
+
+    boolean isActive() {
+        return running;
+    }
+
+    int capacity() {
+        return ring.capacity();
+    }
+
+    int remaining() {
+        return ring.capacity() - ring.size();
+    }
+
+    /**
+     * Producer phải chờ subscription này khi ring đầy. Consumer thread publish vào chính topic
+     * của nó thì không chờ (tự chờ mình là deadlock) mà rơi về DROP_OLDEST.
+     */
+    boolean blocksProducer() {
+        return running && policy != BackpressurePolicy.DROP_OLDEST && Thread.currentThread() != thread;
+    }
+
+    void recordBlocked(long nanos) {
+        blocked.incrementAndGet();
+        blockedNanos.addAndGet(nanos);
+    }
+
+    /**
+     * Caller giữ lock của topic (enqueue theo đúng thứ tự sequence). Caller blocking đã chờ
+     * đủ chỗ trước đó: offer thất bại lúc này chỉ là consumer đang giữa poll (head đã tăng,
+     * slot chưa nhả), nên chờ chứ không bỏ event. Chỉ DROP_OLDEST / tự publish mới bỏ event cũ nhất.
+     */
+    void enqueue(E event, long sequence, long now) {
+        if (!running) {
+            return;
+        }
+        Object key = policy == BackpressurePolicy.COALESCE ? keyOf.apply(event) : null;
+        if (key != null) {
+            Slot<E> existing = pendingByKey.get(key);
+            if (existing != null) {
+                Pending<E> current = existing.pending.get();
+                if (current != TAKEN && existing.pending.compareAndSet(current,
+                        new Pending<>(merge.apply(current.event(), event), sequence))) {
+                    coalesced.incrementAndGet();
+                    return;
+                }
+            }
+        }
+
+        Slot<E> slot = new Slot<>(sequence, now, key, new Pending<>(event, sequence));
+        if (key != null) {
+            pendingByKey.put(key, slot);
+        }
+        boolean mayDrop = !blocksProducer();
+        while (!ring.offer(slot)) {
+            if (!mayDrop) {
+                Thread.yield();
+                continue;
+            }
+            Slot<E> oldest = ring.poll();
+            if (oldest != null) {
+                take(oldest);
+                dropped.incrementAndGet();
+            }
+        }
+        enqueued.incrementAndGet();
+        if (parked) {
+            LockSupport.unpark(thread);
+        }
+    }
+
+    @Override
+    public void run() {
+        List<Slot<E>> slots = new ArrayList<>(batchSize);
+        while (running || ring.size() > 0) {
+            Slot<E> slot;
+            while (slots.size() < batchSize && (slot = ring.poll()) != null) {
+                slots.add(slot);
+            }
+            if (slots.isEmpty()) {
+                idle();
+                continue;
+            }
+            deliver(slots);
+            slots.clear();
+        }
+    }
+
+    private void deliver(List<Slot<E>> slots) {
+        List<E> events = new ArrayList<>(slots.size());
+        long maxSequence = 0;
+        for (Slot<E> slot : slots) {
+            Pending<E> pending = take(slot);
+            if (pending != TAKEN) {
+                events.add(pending.event());
+                maxSequence = Math.max(maxSequence, pending.sequence());
+            }
+        }
+        if (!events.isEmpty()) {
+            awaitUpstream(maxSequence);
+
+            long lag = System.nanoTime() - slots.get(0).enqueuedAt;
+            lastLagNanos = lag;
+            maxLagNanos.accumulateAndGet(lag, Math::max);
+            try {
+                handler.accept(events);
+            } catch (RuntimeException e) {
+                failures.incrementAndGet();
+                log.error("Error notifying observer {} on {}: {}", name, topic, e.getMessage());
+            }
+            delivered.addAndGet(events.size());
+        }
+
+        // Ring rỗng: mọi event đã enqueue (kể cả bị gộp vào slot trước đó) đều đã xử lý xong
+        long settled = ring.size() == 0
+            ? Math.max(maxSequence, slots.get(slots.size() - 1).sequence)
+            : slots.get(slots.size() - 1).sequence;
+        settledSequence = Math.max(settledSequence, settled);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Pending<E> take(Slot<E> slot) {
+        Pending<E> pending = slot.pending.getAndSet((Pending<E>) TAKEN);
+        if (slot.key != null) {
+            pendingByKey.remove(slot.key, slot);
+        }
+        return pending;
+    }
+
+    private void awaitUpstream(long sequence) {
+        for (EventSubscription<E> dependency : upstream) {
+            while (dependency.isActive() && dependency.firstSequence < sequence
+                    && dependency.settledSequence < sequence) {
+                LockSupport.parkNanos(this, UPSTREAM_PARK_NANOS);
+            }
+        }
+    }
+
+    private void idle() {
+        parked = true;
+        if (running && ring.size() == 0) {
+            LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+        }
+        parked = false;
+    }
+
+    EventSubscriptionMetrics metrics() {
+        Slot<E> oldest = ring.peek();
+        return EventSubscriptionMetrics.builder()
+            .topic(topic)
+            .observer(name)
+            .policy(policy)
+            .capacity(ring.capacity())
+            .batchSize(batchSize)
+            .depth(ring.size())
+            .enqueued(enqueued.get())
+            .delivered(delivered.get())
+            .coalesced(coalesced.get())
+            .dropped(dropped.get())
+            .failures(failures.get())
+            .blocked(blocked.get())
+            .blockedMillis(TimeUnit.NANOSECONDS.toMillis(blockedNanos.get()))
+            .lastLagMillis(TimeUnit.NANOSECONDS.toMillis(lastLagNanos))
+            .maxLagMillis(TimeUnit.NANOSECONDS.toMillis(maxLagNanos.get()))
+            .oldestPendingMillis(oldest == null ? 0
+                : TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - oldest.enqueuedAt))
+            .build();
+    }
+}
@@ -0,0 +1,32 @@
+package com.urbanmonitor.shared.events;
+
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * Snapshot metrics của một subscription.
+ *
+ * - depth / oldestPendingMillis: observer đang tụt lại bao xa so với producer
+ * - lastLagMillis / maxLagMillis: thời gian từ lúc enqueue tới lúc bắt đầu xử lý batch
+ * - blocked / blockedMillis: số lần và tổng thời gian producer phải chờ vì buffer đầy
+ */
+@Getter
+@Builder
+public class EventSubscriptionMetrics {
+    private final String topic;
+    private final String observer;
+    private final BackpressurePolicy policy;
+    private final int capacity;
+    private final int batchSize;
+    private final int depth;
+    private final long enqueued;
+    private final long delivered;
+    private final long coalesced;
+    private final long dropped;
+    private final long failures;
+    private final long blocked;
+    private final long blockedMillis;
+    private final long lastLagMillis;
+    private final long maxLagMillis;
+    private final long oldestPendingMillis;
+}
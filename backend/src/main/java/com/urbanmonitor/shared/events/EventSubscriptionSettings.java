@@ -0,0 +1,7 @@
+package com.urbanmonitor.shared.events;
+
+/**
+ * Cấu hình của một subscription: events.* làm mặc định, events.observers.{observer}.* override
+ */
+record EventSubscriptionSettings(BackpressurePolicy policy, int bufferSize, int batchSize) {
+}
@@ -0,0 +1,236 @@
+package com.urbanmonitor.shared.events;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BinaryOperator;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Một loại domain event trên {@link DomainEventBus}.
+ *
+ * - publish trong transaction: event được giữ lại tới afterCommit (rollback thì bỏ), nên
+ *   observer không bao giờ chạy trong transaction / connection của caller
+ * - dispatch: gán sequence và enqueue vào ring của từng subscription dưới lock của topic, nên mọi
+ *   observer thấy cùng một thứ tự. Chờ chỗ trống (BLOCK / COALESCE) luôn diễn ra ngoài lock.
+ */
+@Slf4j
+public class EventTopic<E> {
+
+    private static final long BLOCK_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+
+    private final String name;
+    private final Function<E, ?> keyOf;
+    private final BinaryOperator<E> merge;
+    private final DomainEventBus bus;
+    private final List<EventSubscription<E>> subscriptions = new CopyOnWriteArrayList<>();
+
+    // ---- guarded by this ----
+    private long sequence;
+
+    EventTopic(String name, Function<E, ?> keyOf, BinaryOperator<E> merge, DomainEventBus bus) {
+        this.name = name;
+        this.keyOf = keyOf;
+        this.merge = merge;
+        this.bus = bus;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @param observerName tên dùng cho thread, metrics và override events.observers.{observerName}.*
+     * @param after        observers phải xử lý xong một event trước khi observer này nhận event đó
+     * @return false nếu observer đã subscribe
+     */
+    public boolean subscribe(String observerName, Object observer, Consumer<List<E>> handler, Collection<?> after) {
+        EventSubscription<E> subscription;
+        synchronized (this) {
+            if (find(observer) != null) {
+                return false;
+            }
+            List<EventSubscription<E>> upstream = new ArrayList<>();
+            for (Object dependency : after) {
+                EventSubscription<E> found = find(dependency);
+                if (found == null) {
+                    log.warn("{} on {}: {} is not subscribed, ordering constraint ignored",
+                        observerName, name, dependency.getClass().getSimpleName());
+                } else {
+                    upstream.add(found);
+                }
+            }
+            subscription = new EventSubscription<>(name, observerName, observer, handler,
+                bus.settingsFor(observerName), keyOf, merge, upstream, sequence);
+            subscriptions.add(subscription);
+        }
+        subscription.start();
+        log.info("Observer subscribed to {}: {}", name, observerName);
+        return true;
+    }
+
+    public boolean unsubscribe(Object observer) {
+        EventSubscription<E> subscription;
+        synchronized (this) {
+            subscription = find(observer);
+            if (subscription == null) {
+                return false;
+            }
+            subscriptions.remove(subscription);
+        }
+        subscription.stop(bus.getShutdownTimeoutMillis());
+        return true;
+    }
+
+    public int getSubscriberCount() {
+        return subscriptions.size();
+    }
+
+    public void publish(E event) {
+        publishAll(List.of(event));
+    }
+
+    public void publishAll(List<E> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()
+                && TransactionSynchronizationManager.isActualTransactionActive()) {
+            deferUntilCommit(events);
+        } else {
+            dispatch(events);
+        }
+    }
+
+    List<EventSubscriptionMetrics> metrics() {
+        return subscriptions.stream().map(EventSubscription::metrics).toList();
+    }
+
+    void close() {
+        subscriptions.forEach(subscription -> subscription.stop(bus.getShutdownTimeoutMillis()));
+        subscriptions.clear();
+    }
+
+    /**
+     * Gom events của cả transaction vào một list (resource bind theo topic), dispatch một lần sau commit
+     */
+    @SuppressWarnings("unchecked")
+    private void deferUntilCommit(List<E> events) {
+        List<E> pending = (List<E>) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            List<E> buffer = new ArrayList<>();
+            TransactionSynchronizationManager.bindResource(this, buffer);
+            TransactionSynchronizationManager.registerSynchronization(new AfterCommitDispatch(buffer));
+            pending = buffer;
+        }
+        pending.addAll(events);
+    }
+
+    private void dispatch(List<E> events) {
+        int offset = 0;
+        while (offset < events.size()) {
+            // Không reserve nhiều hơn ring nhỏ nhất chứa được
+            int chunk = Math.min(events.size() - offset, minBlockingCapacity());
+            List<E> part = events.subList(offset, offset + chunk);
+            while (true) {
+                awaitCapacity(chunk);
+                synchronized (this) {
+                    if (hasCapacity(chunk)) {
+                        long now = System.nanoTime();
+                        for (E event : part) {
+                            long eventSequence = ++sequence;
+                            for (EventSubscription<E> subscription : subscriptions) {
+                                subscription.enqueue(event, eventSequence, now);
+                            }
+                        }
+                        break;
+                    }
+                }
+            }
+            offset += chunk;
+        }
+    }
+
+    private int minBlockingCapacity() {
+        int min = Integer.MAX_VALUE;
+        for (EventSubscription<E> subscription : subscriptions) {
+            if (subscription.blocksProducer()) {
+                min = Math.min(min, subscription.capacity());
+            }
+        }
+        return min;
+    }
+
+    private void awaitCapacity(int count) {
+        for (EventSubscription<E> subscription : subscriptions) {
+            if (!subscription.blocksProducer() || subscription.remaining() >= count) {
+                continue;
+            }
+            long start = System.nanoTime();
+            while (subscription.blocksProducer() && subscription.remaining() < count) {
+                LockSupport.parkNanos(this, BLOCK_PARK_NANOS);
+            }
+            subscription.recordBlocked(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Caller giữ lock: chỉ producer giữ lock mới enqueue nên chỗ trống thấy ở đây không bị lấy mất
+     */
+    private boolean hasCapacity(int count) {
+        for (EventSubscription<E> subscription : subscriptions) {
+            if (subscription.blocksProducer() && subscription.remaining() < count) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private EventSubscription<E> find(Object observer) {
+        for (EventSubscription<E> subscription : subscriptions) {
+            if (subscription.observer() == observer) {
+                return subscription;
+            }
+        }
+        return null;
+    }
+
+    private class AfterCommitDispatch implements TransactionSynchronization {
+
+        private final List<E> pending;
+
+        AfterCommitDispatch(List<E> pending) {
+            this.pending = pending;
+        }
+
+        @Override
+        public void suspend() {
+            TransactionSynchronizationManager.unbindResourceIfPossible(EventTopic.this);
+        }
+
+        @Override
+        public void resume() {
+            TransactionSynchronizationManager.bindResource(EventTopic.this, pending);
+        }
+
+        @Override
+        public void afterCommit() {
+            // Publish phát sinh từ đây không được gom thêm vào list đã dispatch
+            TransactionSynchronizationManager.unbindResourceIfPossible(EventTopic.this);
+            dispatch(pending);
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(EventTopic.this);
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.urbanmonitor.shared.geo;
+
+/**
+ * VALUE OBJECT
+ *
+ * Axis-aligned bounding box theo thứ tự GeoJSON (lng, lat).
+ * Immutable, an toàn để share giữa các thread.
+ */
+public final class BoundingBox {
+
+    public static final BoundingBox EMPTY = new BoundingBox(
+            Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY,
+            Double.NEGATIVE_INFINITY, Double.NEGATIVE_INFINITY);
+
+    private final double minLng;
+    private final double minLat;
+    private final double maxLng;
+    private final double maxLat;
+
+    public BoundingBox(double minLng, double minLat, double maxLng, double maxLat) {
+        this.minLng = minLng;
+        this.minLat = minLat;
+        this.maxLng = maxLng;
+        this.maxLat = maxLat;
+    }
+
+    /**
+     * Compute bbox of packed rings [x0, y0, x1, y1, ...]
+     */
+    public static BoundingBox ofRings(double[]... rings) {
+        double minX = Double.POSITIVE_INFINITY, minY = Double.POSITIVE_INFINITY;
+        double maxX = Double.NEGATIVE_INFINITY, maxY = Double.NEGATIVE_INFINITY;
+        for (double[] ring : rings) {
+            for (int i = 0; i + 1 < ring.length; i += 2) {
+                double x = ring[i], y = ring[i + 1];
+                if (x < minX) minX = x;
+                if (x > maxX) maxX = x;
+                if (y < minY) minY = y;
+                if (y > maxY) maxY = y;
+            }
+        }
+        return minX > maxX ? EMPTY : new BoundingBox(minX, minY, maxX, maxY);
+    }
+
+    /**
+     * Parse "minLng,minLat,maxLng,maxLat" (query param format)
+     */
+    public static BoundingBox parse(String bbox) {
+        if (bbox == null || bbox.isBlank()) {
+            return null;
+        }
+        String[] parts = bbox.split(",");
+        if (parts.length != 4) {
+            throw new IllegalArgumentException("bbox must be minLng,minLat,maxLng,maxLat: " + bbox);
+        }
+        double minX = Double.parseDouble(parts[0].trim());
+        double minY = Double.parseDouble(parts[1].trim());
+        double maxX = Double.parseDouble(parts[2].trim());
+        double maxY = Double.parseDouble(parts[3].trim());
+        if (minX > maxX || minY > maxY) {
+            throw new IllegalArgumentException("bbox min must not exceed max: " + bbox);
+        }
+        return new BoundingBox(minX, minY, maxX, maxY);
+    }
+
+    public boolean isEmpty() {
+        return minLng > maxLng || minLat > maxLat;
+    }
+
+    public boolean intersects(BoundingBox other) {
+        return other != null
+                && !isEmpty() && !other.isEmpty()
+                && minLng <= other.maxLng && other.minLng <= maxLng
+                && minLat <= other.maxLat && other.minLat <= maxLat;
+    }
+
+    public boolean contains(double lng, double lat) {
+        return lng >= minLng && lng <= maxLng && lat >= minLat && lat <= maxLat;
+    }
+
+    public boolean contains(BoundingBox other) {
+        return other != null && !other.isEmpty()
+                && other.minLng >= minLng && other.maxLng <= maxLng
+                && other.minLat >= minLat && other.maxLat <= maxLat;
+    }
+
+    public BoundingBox union(BoundingBox other) {
+        if (other == null || other.isEmpty()) return this;
+        if (isEmpty()) return other;
+        return new BoundingBox(
+                Math.min(minLng, other.minLng), Math.min(minLat, other.minLat),
+                Math.max(maxLng, other.maxLng), Math.max(maxLat, other.maxLat));
+    }
+
+    public double getMinLng() { return minLng; }
+    public double getMinLat() { return minLat; }
+    public double getMaxLng() { return maxLng; }
+    public double getMaxLat() { return maxLat; }
+
+    public double centerLng() { return (minLng + maxLng) / 2; }
+    public double centerLat() { return (minLat + maxLat) / 2; }
+
+    public double[] toArray() {
+        return new double[]{minLng, minLat, maxLng, maxLat};
+    }
+
+    @Override
+    public String toString() {
+        return "[" + minLng + "," + minLat + "," + maxLng + "," + maxLat + "]";
+    }
+}
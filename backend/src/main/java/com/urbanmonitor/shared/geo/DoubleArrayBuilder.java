@@ -0,0 +1,44 @@
+package com.urbanmonitor.shared.geo;
+
+import java.util.Arrays;
+
+/**
+ * Growable primitive double buffer, tránh boxing khi build packed rings.
+ */
+public final class DoubleArrayBuilder {
+
+    private double[] data;
+    private int size;
+
+    public DoubleArrayBuilder(int initialCapacity) {
+        this.data = new double[Math.max(4, initialCapacity)];
+    }
+
+    public void add(double value) {
+        if (size == data.length) {
+            data = Arrays.copyOf(data, data.length * 2);
+        }
+        data[size++] = value;
+    }
+
+    public void add(double x, double y) {
+        add(x);
+        add(y);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public double get(int index) {
+        return data[index];
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    public double[] toArray() {
+        return Arrays.copyOf(data, size);
+    }
+}
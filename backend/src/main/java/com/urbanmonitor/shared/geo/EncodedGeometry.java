@@ -0,0 +1,42 @@
+package com.urbanmonitor.shared.geo;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+
+/**
+ * Wrapper cho geometry dạng {@link GeometryCodec} bytes để đặt vào Map GeoJSON:
+ * Jackson serialize bằng cách stream thẳng từ bytes.
+ */
+@JsonSerialize(using = EncodedGeometry.Serializer.class)
+public final class EncodedGeometry {
+
+    private final byte[] data;
+
+    public EncodedGeometry(byte[] data) {
+        this.data = data;
+    }
+
+    public byte[] getData() {
+        return data;
+    }
+
+    public PackedGeometry decode() {
+        return GeometryCodec.decode(data);
+    }
+
+    public static class Serializer extends StdSerializer<EncodedGeometry> {
+
+        public Serializer() {
+            super(EncodedGeometry.class);
+        }
+
+        @Override
+        public void serialize(EncodedGeometry value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            GeometryCodec.writeGeoJson(value.data, gen);
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package com.urbanmonitor.shared.geo;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Đọc GeoJSON coordinates bằng Jackson streaming parser thẳng vào packed double[],
+ * không qua TypeReference<List<List<Double>>>.
+ *
+ * Tự nhận dạng độ sâu:
+ *  - [[lng,lat],...]          → 1 polygon, 1 ring
+ *  - [[[lng,lat],...],...]    → Polygon
+ *  - [[[[lng,lat],...]]]      → MultiPolygon
+ */
+public final class GeoJsonCoordinateReader {
+
+    private GeoJsonCoordinateReader() {}
+
+    /**
+     * Parser phải đang đứng ở START_ARRAY của coordinates.
+     *
+     * @return polygons[polygon][ring][coord]
+     */
+    public static double[][][] readPolygons(JsonParser parser) throws IOException {
+        if (parser.currentToken() != JsonToken.START_ARRAY) {
+            throw new IllegalArgumentException("Expected coordinates array");
+        }
+        return normalize(readArray(parser));
+    }
+
+    /**
+     * Parser đứng ở START_OBJECT của một GeoJSON geometry ({"type":..., "coordinates":...}).
+     * Chỉ chấp nhận Polygon / MultiPolygon.
+     */
+    public static double[][][] readGeometryObject(JsonParser parser) throws IOException {
+        if (parser.currentToken() != JsonToken.START_OBJECT) {
+            throw new IllegalArgumentException("Expected geometry object");
+        }
+        String type = null;
+        double[][][] polygons = null;
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if ("type".equals(field)) {
+                type = parser.getText();
+            } else if ("coordinates".equals(field) && value == JsonToken.START_ARRAY) {
+                polygons = readPolygons(parser);
+            } else {
+                parser.skipChildren();
+            }
+        }
+
+        if (type != null && !"Polygon".equals(type) && !"MultiPolygon".equals(type)) {
+            throw new IllegalArgumentException("Unsupported geometry type: " + type);
+        }
+        if (polygons == null) {
+            throw new IllegalArgumentException("Geometry has no coordinates");
+        }
+        return polygons;
+    }
+
+    /**
+     * Precondition: current token là START_ARRAY của node này
+     */
+    private static Object readArray(JsonParser parser) throws IOException {
+        return readArrayContent(parser, parser.nextToken());
+    }
+
+    /**
+     * Precondition: START_ARRAY của node đã đọc, {@code first} là token của phần tử đầu tiên.
+     *
+     * @return double[] nếu node là ring, List<Object> nếu là cấp lồng cao hơn
+     */
+    private static Object readArrayContent(JsonParser parser, JsonToken first) throws IOException {
+        if (first == JsonToken.END_ARRAY) {
+            return new ArrayList<>();
+        }
+        if (first != JsonToken.START_ARRAY) {
+            throw new IllegalArgumentException("Unexpected token in coordinates: " + first);
+        }
+
+        // Peek phần tử đầu của child đầu tiên: nếu là số thì node hiện tại là một ring
+        JsonToken inner = parser.nextToken();
+        if (isNumber(inner)) {
+            DoubleArrayBuilder ring = new DoubleArrayBuilder(64);
+            readPosition(parser, ring);
+            while (parser.nextToken() == JsonToken.START_ARRAY) {
+                parser.nextToken();
+                readPosition(parser, ring);
+            }
+            return ring.toArray();
+        }
+
+        List<Object> children = new ArrayList<>();
+        children.add(readArrayContent(parser, inner));
+        while (parser.nextToken() == JsonToken.START_ARRAY) {
+            children.add(readArray(parser));
+        }
+        return children;
+    }
+
+    /**
+     * Parser đứng ở số đầu tiên của position; đọc lng, lat, bỏ qua altitude
+     */
+    private static void readPosition(JsonParser parser, DoubleArrayBuilder out) throws IOException {
+        double lng = parser.getDoubleValue();
+        if (!isNumber(parser.nextToken())) {
+            throw new IllegalArgumentException("Position must have at least 2 numbers");
+        }
+        double lat = parser.getDoubleValue();
+        out.add(lng);
+        out.add(lat);
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            // altitude / extra members
+        }
+    }
+
+    private static boolean isNumber(JsonToken token) {
+        return token == JsonToken.VALUE_NUMBER_FLOAT || token == JsonToken.VALUE_NUMBER_INT;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static double[][][] normalize(Object node) {
+        if (node instanceof double[] ring) {
+            return new double[][][]{{ring}};
+        }
+        List<Object> list = (List<Object>) node;
+        if (list.isEmpty()) {
+            return new double[0][][];
+        }
+        if (list.get(0) instanceof double[]) {
+            return new double[][][]{toRings(list)};
+        }
+        double[][][] polygons = new double[list.size()][][];
+        for (int i = 0; i < list.size(); i++) {
+            Object child = list.get(i);
+            if (!(child instanceof List)) {
+                throw new IllegalArgumentException("Mixed nesting depth in coordinates");
+            }
+            polygons[i] = toRings((List<Object>) child);
+        }
+        return polygons;
+    }
+
+    private static double[][] toRings(List<Object> list) {
+        double[][] rings = new double[list.size()][];
+        for (int i = 0; i < list.size(); i++) {
+            if (!(list.get(i) instanceof double[] ring)) {
+                throw new IllegalArgumentException("Coordinates nested too deeply");
+            }
+            rings[i] = ring;
+        }
+        return rings;
+    }
+}
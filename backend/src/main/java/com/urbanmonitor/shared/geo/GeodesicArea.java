@@ -0,0 +1,75 @@
+package com.urbanmonitor.shared.geo;
+
+/**
+ * Diện tích trên ellipsoid WGS84: đổi vĩ độ sang authalic latitude rồi tính trên mặt cầu
+ * cùng diện tích (bán kính authalic). Sai số chỉ do cạnh polygon được coi là đường nối thẳng
+ * giữa các đỉnh, không đáng kể với polygon có đỉnh dày.
+ *
+ * Công thức line integral A = -R² ∮ sin(β) dλ (Chamberlain &amp; Duquette) cộng theo từng đoạn,
+ * nên dùng được cho cả các mảnh biên rời rạc (xem {@link PolygonOverlay}).
+ */
+public final class GeodesicArea {
+
+    private static final double A = 6378137.0;
+    private static final double F = 1 / 298.257223563;
+    private static final double E2 = F * (2 - F);
+    private static final double E = Math.sqrt(E2);
+    private static final double Q_POLE = q(1);
+    /** Bán kính mặt cầu cùng diện tích với ellipsoid WGS84 (km) */
+    public static final double AUTHALIC_RADIUS_KM = A * Math.sqrt(Q_POLE / 2) / 1000;
+
+    private GeodesicArea() {}
+
+    /**
+     * Diện tích (km²): exterior cộng, holes trừ, không phụ thuộc chiều ring
+     */
+    public static double areaKm2(PackedGeometry geometry) {
+        double total = 0;
+        for (int p = 0; p < geometry.polygonCount(); p++) {
+            double[][] rings = geometry.rings(p);
+            for (int r = 0; r < rings.length; r++) {
+                double ring = Math.abs(ringSum(rings[r]));
+                total += r == 0 ? ring : -ring;
+            }
+        }
+        return Math.max(0, total) * AUTHALIC_RADIUS_KM * AUTHALIC_RADIUS_KM;
+    }
+
+    /**
+     * Đóng góp chưa nhân R² của đoạn (lng1,lat1)→(lng2,lat2); ring CCW cho tổng dương
+     */
+    public static double segmentTerm(double lng1, double lat1, double lng2, double lat2) {
+        return -Math.toRadians(lng2 - lng1) * (sinAuthalic(lat1) + sinAuthalic(lat2)) / 2;
+    }
+
+    public static double toKm2(double termSum) {
+        return termSum * AUTHALIC_RADIUS_KM * AUTHALIC_RADIUS_KM;
+    }
+
+    /**
+     * Tổng có dấu của ring (dương nếu CCW trong toạ độ lng/lat)
+     */
+    static double ringSum(double[] ring) {
+        int n = ring.length / 2;
+        if (n < 3) {
+            return 0;
+        }
+        double sum = 0;
+        for (int i = 0, j = n - 1; i < n; j = i++) {
+            sum += segmentTerm(ring[2 * j], ring[2 * j + 1], ring[2 * i], ring[2 * i + 1]);
+        }
+        return sum;
+    }
+
+    /**
+     * sin của authalic latitude: β = asin(q(sinφ) / q_p)
+     */
+    static double sinAuthalic(double latDegrees) {
+        return q(Math.sin(Math.toRadians(latDegrees))) / Q_POLE;
+    }
+
+    private static double q(double sinPhi) {
+        double es = E * sinPhi;
+        return (1 - E2) * (sinPhi / (1 - es * es) - Math.log((1 - es) / (1 + es)) / (2 * E));
+    }
+}
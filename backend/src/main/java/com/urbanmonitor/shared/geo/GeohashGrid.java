@@ -0,0 +1,255 @@
+package com.urbanmonitor.shared.geo;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Lưới điểm theo ô geohash (precision cố định) cho tìm k điểm gần nhất theo haversine.
+ *
+ * Mỗi ô giữ mảng id / toạ độ / giá trị, copy-on-write khi ghi: đọc không lock, ghi chỉ copy ô bị sửa
+ * (caller tự đảm bảo chỉ một writer tại một thời điểm).
+ * kNN duyệt các vòng ô quanh điểm truy vấn, dừng khi điểm thứ k gần hơn mọi ô chưa duyệt
+ * (khoảng cách chính xác tới kinh tuyến / vĩ tuyến biên). Lưới thưa (số ô đã duyệt vượt số ô có điểm)
+ * thì quét thẳng các ô còn lại thay vì mở rộng vòng.
+ */
+public final class GeohashGrid<T> {
+
+    public static final double EARTH_RADIUS_KM = 6371.0088;
+
+    private final int lngCells;
+    private final int latCells;
+    private final double cellLng;
+    private final double cellLat;
+    private final ConcurrentHashMap<Long, Cell> cells = new ConcurrentHashMap<>();
+    private volatile int size;
+
+    /**
+     * @param precision số ký tự geohash (1..8), vd 5 ≈ ô 4.9 × 4.9 km
+     */
+    public GeohashGrid(int precision) {
+        if (precision < 1 || precision > 8) {
+            throw new IllegalArgumentException("geohash precision must be between 1 and 8: " + precision);
+        }
+        int bits = precision * 5;
+        this.lngCells = 1 << ((bits + 1) / 2);
+        this.latCells = 1 << (bits / 2);
+        this.cellLng = 360.0 / lngCells;
+        this.cellLat = 180.0 / latCells;
+    }
+
+    public record Neighbor<T>(T value, double distanceKm) {}
+
+    public int size() {
+        return size;
+    }
+
+    public void put(long id, double lng, double lat, T value) {
+        cells.compute(keyOf(column(lng), row(lat)), (key, cell) -> {
+            Cell base = cell == null ? Cell.EMPTY : cell;
+            int index = base.indexOf(id);
+            if (index < 0) {
+                size++;
+                return base.with(id, lng, lat, value);
+            }
+            return base.replace(index, lng, lat, value);
+        });
+    }
+
+    /**
+     * @param lng, lat toạ độ lúc put (để tìm đúng ô)
+     */
+    public void remove(long id, double lng, double lat) {
+        cells.computeIfPresent(keyOf(column(lng), row(lat)), (key, cell) -> {
+            int index = cell.indexOf(id);
+            if (index < 0) {
+                return cell;
+            }
+            size--;
+            return cell.length() == 1 ? null : cell.without(index);
+        });
+    }
+
+    /**
+     * k điểm gần nhất, khoảng cách tăng dần
+     */
+    @SuppressWarnings("unchecked")
+    public List<Neighbor<T>> nearest(double lng, double lat, int k) {
+        if (k <= 0 || cells.isEmpty()) {
+            return List.of();
+        }
+        PriorityQueue<Neighbor<T>> best = new PriorityQueue<>(k + 1,
+            Comparator.comparingDouble((Neighbor<T> n) -> n.distanceKm()).reversed());
+        int cx = column(lng);
+        int cy = row(lat);
+        for (int radius = 0; ; radius++) {
+            if (2 * radius + 1 > lngCells || (long) (2 * radius + 1) * (2 * radius + 1) > 4L * cells.size()) {
+                scanOutside(cx, cy, radius - 1, lng, lat, k, best);
+                break;
+            }
+            for (int dy = -radius; dy <= radius; dy++) {
+                int y = cy + dy;
+                if (y < 0 || y >= latCells) {
+                    continue;
+                }
+                int step = Math.abs(dy) == radius ? 1 : 2 * radius;
+                for (int dx = -radius; dx <= radius; dx += Math.max(1, step)) {
+                    Cell cell = cells.get(keyOf(Math.floorMod(cx + dx, lngCells), y));
+                    if (cell != null) {
+                        offer(cell, lng, lat, k, best);
+                    }
+                }
+            }
+            if (best.size() == k && best.peek().distanceKm() <= lowerBound(cx, cy, radius, lng, lat)) {
+                break;
+            }
+        }
+
+        Neighbor<T>[] sorted = best.toArray(new Neighbor[0]);
+        Arrays.sort(sorted, Comparator.comparingDouble(Neighbor::distanceKm));
+        return Arrays.asList(sorted);
+    }
+
+    /**
+     * Lưới thưa: các ô có điểm nằm ngoài hình vuông bán kính radius quanh (cx, cy)
+     */
+    private void scanOutside(int cx, int cy, int radius, double lng, double lat, int k, PriorityQueue<Neighbor<T>> best) {
+        for (var entry : cells.entrySet()) {
+            long key = entry.getKey();
+            int x = (int) (key >>> 32);
+            int y = (int) key;
+            int dx = Math.abs(x - cx);
+            dx = Math.min(dx, lngCells - dx);
+            if (radius >= 0 && dx <= radius && Math.abs(y - cy) <= radius) {
+                continue;
+            }
+            offer(entry.getValue(), lng, lat, k, best);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void offer(Cell cell, double lng, double lat, int k, PriorityQueue<Neighbor<T>> best) {
+        for (int i = 0; i < cell.length(); i++) {
+            double distance = haversineKm(lng, lat, cell.lngs[i], cell.lats[i]);
+            if (best.size() < k) {
+                best.add(new Neighbor<>((T) cell.values[i], distance));
+            } else if (distance < best.peek().distanceKm()) {
+                best.poll();
+                best.add(new Neighbor<>((T) cell.values[i], distance));
+            }
+        }
+    }
+
+    /**
+     * Khoảng cách nhỏ nhất từ điểm truy vấn tới một điểm bất kỳ ngoài các ô đã duyệt
+     */
+    private double lowerBound(int cx, int cy, int radius, double lng, double lat) {
+        double south = (cy - radius) * cellLat - 90;
+        double north = (cy + radius + 1) * cellLat - 90;
+        double bound = Double.POSITIVE_INFINITY;
+        if (south > -90) {
+            bound = Math.min(bound, Math.toRadians(lat - south) * EARTH_RADIUS_KM);
+        }
+        if (north < 90) {
+            bound = Math.min(bound, Math.toRadians(north - lat) * EARTH_RADIUS_KM);
+        }
+        if (2 * radius + 1 < lngCells) {
+            double within = ((lng + 180) % 360 + 360) % 360 - cx * cellLng;
+            double dLng = Math.min(radius * cellLng + within, (radius + 1) * cellLng - within);
+            // Khoảng cách great-circle tới kinh tuyến biên: sin(d) = sin(Δλ)·cos(φ); Δλ ≥ 90° thì gần nhất là cực
+            double toMeridian = Math.asin(Math.sin(Math.toRadians(Math.min(dLng, 90))) * Math.cos(Math.toRadians(lat)));
+            bound = Math.min(bound, toMeridian * EARTH_RADIUS_KM);
+        }
+        return bound;
+    }
+
+    public static double haversineKm(double lng1, double lat1, double lng2, double lat2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLng = Math.toRadians(lng2 - lng1);
+        double sinLat = Math.sin(dLat / 2);
+        double sinLng = Math.sin(dLng / 2);
+        double a = sinLat * sinLat + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) * sinLng * sinLng;
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+
+    private int column(double lng) {
+        return Math.floorMod((int) Math.floor((lng + 180) / cellLng), lngCells);
+    }
+
+    private int row(double lat) {
+        return Math.max(0, Math.min(latCells - 1, (int) Math.floor((lat + 90) / cellLat)));
+    }
+
+    private static long keyOf(int x, int y) {
+        return ((long) x << 32) | (y & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Nội dung bất biến của một ô
+     */
+    private static final class Cell {
+
+        static final Cell EMPTY = new Cell(new long[0], new double[0], new double[0], new Object[0]);
+
+        final long[] ids;
+        final double[] lngs;
+        final double[] lats;
+        final Object[] values;
+
+        Cell(long[] ids, double[] lngs, double[] lats, Object[] values) {
+            this.ids = ids;
+            this.lngs = lngs;
+            this.lats = lats;
+            this.values = values;
+        }
+
+        int length() {
+            return ids.length;
+        }
+
+        int indexOf(long id) {
+            for (int i = 0; i < ids.length; i++) {
+                if (ids[i] == id) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        Cell with(long id, double lng, double lat, Object value) {
+            int n = ids.length;
+            Cell cell = new Cell(Arrays.copyOf(ids, n + 1), Arrays.copyOf(lngs, n + 1),
+                Arrays.copyOf(lats, n + 1), Arrays.copyOf(values, n + 1));
+            cell.ids[n] = id;
+            cell.lngs[n] = lng;
+            cell.lats[n] = lat;
+            cell.values[n] = value;
+            return cell;
+        }
+
+        Cell replace(int index, double lng, double lat, Object value) {
+            Cell cell = new Cell(ids, lngs.clone(), lats.clone(), values.clone());
+            cell.lngs[index] = lng;
+            cell.lats[index] = lat;
+            cell.values[index] = value;
+            return cell;
+        }
+
+        Cell without(int index) {
+            int n = ids.length - 1;
+            Cell cell = new Cell(new long[n], new double[n], new double[n], new Object[n]);
+            for (int i = 0, j = 0; i <= n; i++) {
+                if (i != index) {
+                    cell.ids[j] = ids[i];
+                    cell.lngs[j] = lngs[i];
+                    cell.lats[j] = lats[i];
+                    cell.values[j] = values[i];
+                    j++;
+                }
+            }
+            return cell;
+        }
+    }
+}
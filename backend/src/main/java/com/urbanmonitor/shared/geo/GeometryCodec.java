@@ -0,0 +1,194 @@
+package com.urbanmonitor.shared.geo;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+/**
+ * Binary encoding gọn cho Polygon / MultiPolygon:
+ *
+ * <pre>
+ * [version u8][type u8][polygonCount varint]
+ *   per polygon: [ringCount varint]
+ *     per ring:  [pointCount varint] then per point: [dLng zigzag varint][dLat zigzag varint]
+ * </pre>
+ *
+ * Toạ độ quantize về 1e-7 độ (~1 cm), delta với điểm ngay trước (liên tục qua các ring)
+ * nên phần lớn điểm chỉ tốn 2-4 bytes thay vì ~40 bytes JSON text.
+ */
+public final class GeometryCodec {
+
+    public static final byte VERSION = 1;
+    public static final double SCALE = 1e7;
+
+    private static final byte TYPE_POLYGON = 1;
+    private static final byte TYPE_MULTI_POLYGON = 2;
+
+    private GeometryCodec() {}
+
+    public static byte[] encode(PackedGeometry geometry) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(16 + geometry.getVertexCount() * 6);
+        out.write(VERSION);
+        out.write(geometry.getType() == PackedGeometry.Type.MULTI_POLYGON ? TYPE_MULTI_POLYGON : TYPE_POLYGON);
+        writeVarint(out, geometry.polygonCount());
+
+        long prevX = 0, prevY = 0;
+        for (int p = 0; p < geometry.polygonCount(); p++) {
+            double[][] rings = geometry.rings(p);
+            writeVarint(out, rings.length);
+            for (double[] ring : rings) {
+                int n = ring.length / 2;
+                writeVarint(out, n);
+                for (int i = 0; i < n; i++) {
+                    long x = quantize(ring[2 * i]);
+                    long y = quantize(ring[2 * i + 1]);
+                    writeVarint(out, zigzag(x - prevX));
+                    writeVarint(out, zigzag(y - prevY));
+                    prevX = x;
+                    prevY = y;
+                }
+            }
+        }
+        return out.toByteArray();
+    }
+
+    public static PackedGeometry decode(byte[] data) {
+        Reader in = new Reader(data);
+        boolean multi = in.header();
+        int polygonCount = in.varint();
+
+        double[][][] polygons = new double[polygonCount][][];
+        for (int p = 0; p < polygonCount; p++) {
+            double[][] rings = new double[in.varint()][];
+            for (int r = 0; r < rings.length; r++) {
+                int n = in.varint();
+                double[] ring = new double[n * 2];
+                for (int i = 0; i < n; i++) {
+                    ring[2 * i] = in.nextX();
+                    ring[2 * i + 1] = in.nextY();
+                }
+                rings[r] = ring;
+            }
+            polygons[p] = rings;
+        }
+        return multi ? PackedGeometry.multiPolygon(polygons) : PackedGeometry.polygon(polygons[0]);
+    }
+
+    /**
+     * Ghi GeoJSON geometry thẳng từ bytes, không decode ra mảng trung gian
+     */
+    public static void writeGeoJson(byte[] data, JsonGenerator gen) throws IOException {
+        Reader in = new Reader(data);
+        boolean multi = in.header();
+        int polygonCount = in.varint();
+
+        gen.writeStartObject();
+        gen.writeStringField("type", multi ? "MultiPolygon" : "Polygon");
+        gen.writeFieldName("coordinates");
+        if (multi) {
+            gen.writeStartArray();
+        }
+        for (int p = 0; p < polygonCount; p++) {
+            gen.writeStartArray();
+            int ringCount = in.varint();
+            for (int r = 0; r < ringCount; r++) {
+                gen.writeStartArray();
+                int n = in.varint();
+                for (int i = 0; i < n; i++) {
+                    gen.writeStartArray();
+                    gen.writeNumber(in.nextX());
+                    gen.writeNumber(in.nextY());
+                    gen.writeEndArray();
+                }
+                gen.writeEndArray();
+            }
+            gen.writeEndArray();
+        }
+        if (multi) {
+            gen.writeEndArray();
+        }
+        gen.writeEndObject();
+    }
+
+    public static long quantize(double degrees) {
+        return Math.round(degrees * SCALE);
+    }
+
+    private static long zigzag(long v) {
+        return (v << 1) ^ (v >> 63);
+    }
+
+    private static void writeVarint(ByteArrayOutputStream out, long v) {
+        while ((v & ~0x7FL) != 0) {
+            out.write((int) ((v & 0x7F) | 0x80));
+            v >>>= 7;
+        }
+        out.write((int) v);
+    }
+
+    /**
+     * Cursor đọc varint + delta state
+     */
+    private static final class Reader {
+        private final byte[] data;
+        private int pos;
+        private long x;
+        private long y;
+
+        Reader(byte[] data) {
+            this.data = data;
+        }
+
+        boolean header() {
+            if (data == null || data.length < 3) {
+                throw new IllegalArgumentException("Encoded geometry too short");
+            }
+            if (data[pos++] != VERSION) {
+                throw new IllegalArgumentException("Unsupported geometry encoding version: " + data[0]);
+            }
+            byte type = data[pos++];
+            if (type != TYPE_POLYGON && type != TYPE_MULTI_POLYGON) {
+                throw new IllegalArgumentException("Unknown encoded geometry type: " + type);
+            }
+            return type == TYPE_MULTI_POLYGON;
+        }
+
+        int varint() {
+            long v = varlong();
+            if (v > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Corrupt encoded geometry");
+            }
+            return (int) v;
+        }
+
+        double nextX() {
+            x += unzigzag(varlong());
+            return x / SCALE;
+        }
+
+        double nextY() {
+            y += unzigzag(varlong());
+            return y / SCALE;
+        }
+
+        private long varlong() {
+            long result = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                if (pos >= data.length) {
+                    throw new IllegalArgumentException("Truncated encoded geometry");
+                }
+                byte b = data[pos++];
+                result |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return result;
+                }
+            }
+            throw new IllegalArgumentException("Malformed varint in encoded geometry");
+        }
+
+        private static long unzigzag(long v) {
+            return (v >>> 1) ^ -(v & 1);
+        }
+    }
+}
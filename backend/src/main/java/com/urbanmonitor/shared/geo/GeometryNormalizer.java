@@ -0,0 +1,87 @@
+package com.urbanmonitor.shared.geo;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Validate + chuẩn hoá polygon lúc ghi (write-time), để phía đọc không phải kiểm tra lại:
+ *  - toạ độ hữu hạn, lng ∈ [-180, 180], lat ∈ [-90, 90]
+ *  - bỏ điểm trùng liên tiếp, tự đóng ring nếu điểm cuối khác điểm đầu
+ *  - mỗi ring tối thiểu 3 điểm phân biệt (4 điểm sau khi đóng) và diện tích khác 0
+ *  - orientation theo RFC 7946: exterior counter-clockwise, holes clockwise
+ *
+ * Input sai → IllegalArgumentException với lý do cụ thể.
+ */
+public final class GeometryNormalizer {
+
+    private GeometryNormalizer() {}
+
+    public static PackedGeometry normalize(double[][][] polygons) {
+        if (polygons == null || polygons.length == 0) {
+            throw new IllegalArgumentException("Geometry has no polygons");
+        }
+        double[][][] result = new double[polygons.length][][];
+        for (int p = 0; p < polygons.length; p++) {
+            double[][] rings = polygons[p];
+            if (rings == null || rings.length == 0) {
+                throw new IllegalArgumentException("Polygon " + p + " has no rings");
+            }
+            List<double[]> normalized = new ArrayList<>(rings.length);
+            for (int r = 0; r < rings.length; r++) {
+                normalized.add(normalizeRing(rings[r], r == 0, p, r));
+            }
+            result[p] = normalized.toArray(new double[0][]);
+        }
+        return PackedGeometry.of(result);
+    }
+
+    private static double[] normalizeRing(double[] ring, boolean exterior, int p, int r) {
+        if (ring == null || ring.length % 2 != 0) {
+            throw new IllegalArgumentException("Ring " + p + "/" + r + " has an odd number of coordinates");
+        }
+        DoubleArrayBuilder out = new DoubleArrayBuilder(ring.length + 2);
+        for (int i = 0; i < ring.length; i += 2) {
+            double lng = ring[i], lat = ring[i + 1];
+            if (!Double.isFinite(lng) || !Double.isFinite(lat)) {
+                throw new IllegalArgumentException("Ring " + p + "/" + r + " has a non-finite coordinate");
+            }
+            if (lng < -180 || lng > 180 || lat < -90 || lat > 90) {
+                throw new IllegalArgumentException(
+                        "Ring " + p + "/" + r + " coordinate out of range: [" + lng + ", " + lat + "]");
+            }
+            int n = out.size();
+            if (n >= 2 && out.get(n - 2) == lng && out.get(n - 1) == lat) {
+                continue;
+            }
+            out.add(lng, lat);
+        }
+
+        int n = out.size();
+        boolean closed = n >= 4 && out.get(0) == out.get(n - 2) && out.get(1) == out.get(n - 1);
+        int distinct = closed ? n / 2 - 1 : n / 2;
+        if (distinct < 3) {
+            throw new IllegalArgumentException("Ring " + p + "/" + r + " needs at least 3 distinct positions");
+        }
+        if (!closed) {
+            out.add(out.get(0), out.get(1));
+        }
+
+        double[] packed = out.toArray();
+        double area = PackedGeometry.signedArea(packed);
+        if (area == 0) {
+            throw new IllegalArgumentException("Ring " + p + "/" + r + " is degenerate (zero area)");
+        }
+        boolean ccw = area > 0;
+        return ccw == exterior ? packed : reverse(packed);
+    }
+
+    private static double[] reverse(double[] ring) {
+        int n = ring.length / 2;
+        double[] out = new double[ring.length];
+        for (int i = 0; i < n; i++) {
+            out[2 * i] = ring[2 * (n - 1 - i)];
+            out[2 * i + 1] = ring[2 * (n - 1 - i) + 1];
+        }
+        return out;
+    }
+}
@@ -0,0 +1,105 @@
+package com.urbanmonitor.shared.geo;
+
+/**
+ * Predicates chính xác trên {@link PackedGeometry} (planar, theo độ).
+ * Dùng sau bước lọc bbox của index để loại false positive.
+ */
+public final class GeometryPredicates {
+
+    private GeometryPredicates() {}
+
+    /**
+     * Point-in-polygon (even-odd): nằm trong exterior và không nằm trong hole nào.
+     * Điểm nằm đúng trên cạnh có thể tính vào hoặc ra tuỳ cạnh.
+     */
+    public static boolean contains(PackedGeometry geometry, double lng, double lat) {
+        if (!geometry.getBbox().contains(lng, lat)) {
+            return false;
+        }
+        for (int p = 0; p < geometry.polygonCount(); p++) {
+            double[][] rings = geometry.rings(p);
+            if (rings.length == 0 || !ringContains(rings[0], lng, lat)) {
+                continue;
+            }
+            boolean inHole = false;
+            for (int r = 1; r < rings.length && !inHole; r++) {
+                inHole = ringContains(rings[r], lng, lat);
+            }
+            if (!inHole) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Geometry có phần chung với bbox không
+     */
+    public static boolean intersects(PackedGeometry geometry, BoundingBox box) {
+        if (!box.intersects(geometry.getBbox())) {
+            return false;
+        }
+        if (box.contains(geometry.getBbox())) {
+            return true;
+        }
+        // Bbox nằm gọn trong polygon → không cạnh nào cắt, nhưng góc bbox nằm trong
+        if (contains(geometry, box.getMinLng(), box.getMinLat())) {
+            return true;
+        }
+        for (int p = 0; p < geometry.polygonCount(); p++) {
+            for (double[] ring : geometry.rings(p)) {
+                int n = ring.length / 2;
+                for (int i = 0; i < n; i++) {
+                    double x1 = ring[2 * i], y1 = ring[2 * i + 1];
+                    if (box.contains(x1, y1)) {
+                        return true;
+                    }
+                    int j = (i + 1) % n;
+                    if (segmentIntersectsBox(x1, y1, ring[2 * j], ring[2 * j + 1], box)) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    public static boolean ringContains(double[] ring, double lng, double lat) {
+        int n = ring.length / 2;
+        boolean inside = false;
+        for (int i = 0, j = n - 1; i < n; j = i++) {
+            double xi = ring[2 * i], yi = ring[2 * i + 1];
+            double xj = ring[2 * j], yj = ring[2 * j + 1];
+            if ((yi > lat) != (yj > lat)
+                    && lng < (xj - xi) * (lat - yi) / (yj - yi) + xi) {
+                inside = !inside;
+            }
+        }
+        return inside;
+    }
+
+    /**
+     * Liang-Barsky: đoạn thẳng có đi qua bbox không
+     */
+    private static boolean segmentIntersectsBox(double x1, double y1, double x2, double y2, BoundingBox box) {
+        double dx = x2 - x1, dy = y2 - y1;
+        double t0 = 0, t1 = 1;
+        double[] p = {-dx, dx, -dy, dy};
+        double[] q = {x1 - box.getMinLng(), box.getMaxLng() - x1, y1 - box.getMinLat(), box.getMaxLat() - y1};
+        for (int k = 0; k < 4; k++) {
+            if (p[k] == 0) {
+                if (q[k] < 0) return false;
+                continue;
+            }
+            double t = q[k] / p[k];
+            if (p[k] < 0) {
+                if (t > t1) return false;
+                if (t > t0) t0 = t;
+            } else {
+                if (t < t0) return false;
+                if (t < t1) t1 = t;
+            }
+        }
+        return true;
+    }
+}
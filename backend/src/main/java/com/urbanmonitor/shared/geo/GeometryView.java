@@ -0,0 +1,113 @@
+package com.urbanmonitor.shared.geo;
+
+/**
+ * VALUE OBJECT - Mức chi tiết (level of detail) + vùng clip mà client yêu cầu.
+ *
+ * - zoom: tolerance ≈ kích thước 1 pixel ở zoom đó (tile 256px, Web Mercator xấp xỉ theo độ)
+ * - tolerance: tolerance tuyến tính theo độ, ưu tiên hơn zoom
+ * - area threshold cho Visvalingam-Whyatt = tolerance²
+ */
+public final class GeometryView {
+
+    public static final GeometryView FULL = new GeometryView(0, null);
+
+    private static final double TILE_SIZE = 256;
+    private static final int MAX_ZOOM = 22;
+
+    private final double areaThreshold;
+    private final BoundingBox clip;
+
+    private GeometryView(double areaThreshold, BoundingBox clip) {
+        this.areaThreshold = areaThreshold;
+        this.clip = clip;
+    }
+
+    /**
+     * Tất cả tham số đều optional; không có gì → FULL
+     *
+     * @throws IllegalArgumentException nếu zoom / tolerance / bbox không hợp lệ
+     */
+    public static GeometryView of(Integer zoom, Double tolerance, String bbox) {
+        double threshold = 0;
+        if (tolerance != null) {
+            if (tolerance < 0 || tolerance.isNaN()) {
+                throw new IllegalArgumentException("tolerance must be >= 0: " + tolerance);
+            }
+            threshold = tolerance * tolerance;
+        } else if (zoom != null) {
+            threshold = thresholdForZoom(zoom);
+        }
+
+        BoundingBox clip = BoundingBox.parse(bbox);
+        if (threshold == 0 && clip == null) {
+            return FULL;
+        }
+        return new GeometryView(threshold, clip);
+    }
+
+    /**
+     * View cho một zoom + vùng clip đã có sẵn dạng BoundingBox (vd: bounds của vector tile)
+     */
+    public static GeometryView of(int zoom, BoundingBox clip) {
+        return new GeometryView(thresholdForZoom(zoom), clip);
+    }
+
+    public static double thresholdForZoom(int zoom) {
+        if (zoom < 0 || zoom > MAX_ZOOM) {
+            throw new IllegalArgumentException("zoom must be between 0 and " + MAX_ZOOM + ": " + zoom);
+        }
+        double pixelDegrees = 360.0 / (TILE_SIZE * Math.pow(2, zoom));
+        return pixelDegrees * pixelDegrees;
+    }
+
+    public double getAreaThreshold() {
+        return areaThreshold;
+    }
+
+    public BoundingBox getClip() {
+        return clip;
+    }
+
+    public boolean isFullResolution() {
+        return areaThreshold <= 0;
+    }
+
+    public boolean hasClip() {
+        return clip != null;
+    }
+
+    /**
+     * Geometry có nằm (một phần) trong vùng clip không
+     */
+    public boolean isVisible(PackedGeometry geometry) {
+        return isVisible(geometry.getBbox());
+    }
+
+    public boolean isVisible(BoundingBox bbox) {
+        return clip == null || clip.intersects(bbox);
+    }
+
+    /**
+     * Có cần clip geometry này không (bbox chỉ giao một phần)
+     */
+    public boolean needsClipping(PackedGeometry geometry) {
+        return needsClipping(geometry.getBbox());
+    }
+
+    public boolean needsClipping(BoundingBox bbox) {
+        return clip != null && !clip.contains(bbox);
+    }
+
+    /**
+     * Áp dụng cho geometry đơn lẻ (không có LOD tính sẵn): simplify rồi clip.
+     *
+     * @return null nếu geometry nằm ngoài vùng clip
+     */
+    public PackedGeometry apply(PackedGeometry geometry) {
+        if (!isVisible(geometry)) {
+            return null;
+        }
+        PackedGeometry simplified = VisvalingamWhyatt.simplify(geometry, areaThreshold);
+        return PolygonClipper.clip(simplified, clip);
+    }
+}
@@ -0,0 +1,17 @@
+package com.urbanmonitor.shared.geo;
+
+import lombok.Data;
+
+/**
+ * Query params binding cho {@link GeometryView}: ?zoom=6 | ?tolerance=0.01 | ?bbox=minLng,minLat,maxLng,maxLat
+ */
+@Data
+public class GeometryViewParams {
+    private Integer zoom;
+    private Double tolerance;
+    private String bbox;
+
+    public GeometryView toView() {
+        return GeometryView.of(zoom, tolerance, bbox);
+    }
+}
@@ -0,0 +1,232 @@
+package com.urbanmonitor.shared.geo;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * KD-tree tĩnh cho điểm 2D (toạ độ phẳng, vd Web Mercator [0, 1]), build một lần rồi chỉ đọc.
+ *
+ * Điểm được sắp tại chỗ thành cây cân bằng ngầm (median split xen kẽ x / y, select kiểu Floyd-Rivest
+ * đơn giản), lá gom NODE_SIZE điểm. range / within trả về index gốc của điểm (thứ tự lúc build),
+ * search chỉ cấp phát một stack nhỏ.
+ */
+public final class KdTree {
+
+    private static final int NODE_SIZE = 64;
+
+    private final int[] ids;
+    private final double[] coords;
+
+    /**
+     * @param xs, ys toạ độ, điểm i có index gốc i
+     */
+    public KdTree(double[] xs, double[] ys) {
+        if (xs.length != ys.length) {
+            throw new IllegalArgumentException("xs and ys must have the same length");
+        }
+        int n = xs.length;
+        ids = new int[n];
+        coords = new double[n * 2];
+        for (int i = 0; i < n; i++) {
+            ids[i] = i;
+            coords[2 * i] = xs[i];
+            coords[2 * i + 1] = ys[i];
+        }
+        sort(0, n - 1, 0);
+    }
+
+    public int size() {
+        return ids.length;
+    }
+
+    /**
+     * Các điểm trong hình chữ nhật [minX, maxX] × [minY, maxY]
+     */
+    public void range(double minX, double minY, double maxX, double maxY, IntConsumer visitor) {
+        if (ids.length == 0) {
+            return;
+        }
+        int[] stack = new int[96];
+        int top = 0;
+        stack[top++] = 0;
+        stack[top++] = ids.length - 1;
+        stack[top++] = 0;
+
+        while (top > 0) {
+            int axis = stack[--top];
+            int right = stack[--top];
+            int left = stack[--top];
+
+            if (right - left <= NODE_SIZE) {
+                for (int i = left; i <= right; i++) {
+                    double x = coords[2 * i];
+                    double y = coords[2 * i + 1];
+                    if (x >= minX && x <= maxX && y >= minY && y <= maxY) {
+                        visitor.accept(ids[i]);
+                    }
+                }
+                continue;
+            }
+
+            int m = (left + right) >>> 1;
+            double x = coords[2 * m];
+            double y = coords[2 * m + 1];
+            if (x >= minX && x <= maxX && y >= minY && y <= maxY) {
+                visitor.accept(ids[m]);
+            }
+
+            double value = axis == 0 ? x : y;
+            double min = axis == 0 ? minX : minY;
+            double max = axis == 0 ? maxX : maxY;
+            if (min <= value) {
+                stack = push(stack, top, left, m - 1, 1 - axis);
+                top += 3;
+            }
+            if (max >= value) {
+                stack = push(stack, top, m + 1, right, 1 - axis);
+                top += 3;
+            }
+        }
+    }
+
+    /**
+     * Các điểm cách (qx, qy) không quá r (khoảng cách Euclid)
+     */
+    public void within(double qx, double qy, double r, IntConsumer visitor) {
+        if (ids.length == 0) {
+            return;
+        }
+        double r2 = r * r;
+        int[] stack = new int[96];
+        int top = 0;
+        stack[top++] = 0;
+        stack[top++] = ids.length - 1;
+        stack[top++] = 0;
+
+        while (top > 0) {
+            int axis = stack[--top];
+            int right = stack[--top];
+            int left = stack[--top];
+
+            if (right - left <= NODE_SIZE) {
+                for (int i = left; i <= right; i++) {
+                    if (squaredDistance(coords[2 * i], coords[2 * i + 1], qx, qy) <= r2) {
+                        visitor.accept(ids[i]);
+                    }
+                }
+                continue;
+            }
+
+            int m = (left + right) >>> 1;
+            double x = coords[2 * m];
+            double y = coords[2 * m + 1];
+            if (squaredDistance(x, y, qx, qy) <= r2) {
+                visitor.accept(ids[m]);
+            }
+
+            double value = axis == 0 ? x : y;
+            double q = axis == 0 ? qx : qy;
+            if (q - r <= value) {
+                stack = push(stack, top, left, m - 1, 1 - axis);
+                top += 3;
+            }
+            if (q + r >= value) {
+                stack = push(stack, top, m + 1, right, 1 - axis);
+                top += 3;
+            }
+        }
+    }
+
+    private static int[] push(int[] stack, int top, int left, int right, int axis) {
+        if (top + 3 > stack.length) {
+            stack = Arrays.copyOf(stack, stack.length * 2);
+        }
+        stack[top] = left;
+        stack[top + 1] = right;
+        stack[top + 2] = axis;
+        return stack;
+    }
+
+    private static double squaredDistance(double ax, double ay, double bx, double by) {
+        double dx = ax - bx;
+        double dy = ay - by;
+        return dx * dx + dy * dy;
+    }
+
+    // ==================== BUILD ====================
+
+    private void sort(int left, int right, int axis) {
+        if (right - left <= NODE_SIZE) {
+            return;
+        }
+        int m = (left + right) >>> 1;
+        select(m, left, right, axis);
+        sort(left, m - 1, 1 - axis);
+        sort(m + 1, right, 1 - axis);
+    }
+
+    /**
+     * Đưa phần tử thứ k (theo axis) về vị trí k, nhỏ hơn nằm bên trái, lớn hơn bên phải
+     */
+    private void select(int k, int left, int right, int axis) {
+        while (right > left) {
+            if (right - left > 600) {
+                int n = right - left + 1;
+                int m = k - left + 1;
+                double z = Math.log(n);
+                double s = 0.5 * Math.exp(2 * z / 3);
+                double sd = 0.5 * Math.sqrt(z * s * (n - s) / n) * (m - n / 2.0 < 0 ? -1 : 1);
+                int newLeft = (int) Math.max(left, Math.floor(k - m * s / n + sd));
+                int newRight = (int) Math.min(right, Math.floor(k + (n - m) * s / n + sd));
+                select(k, newLeft, newRight, axis);
+            }
+
+            double t = coords[2 * k + axis];
+            int i = left;
+            int j = right;
+
+            swap(left, k);
+            if (coords[2 * right + axis] > t) {
+                swap(left, right);
+            }
+
+            while (i < j) {
+                swap(i, j);
+                i++;
+                j--;
+                while (coords[2 * i + axis] < t) {
+                    i++;
+                }
+                while (coords[2 * j + axis] > t) {
+                    j--;
+                }
+            }
+
+            if (coords[2 * left + axis] == t) {
+                swap(left, j);
+            } else {
+                j++;
+                swap(j, right);
+            }
+
+            if (j <= k) {
+                left = j + 1;
+            }
+            if (k <= j) {
+                right = j - 1;
+            }
+        }
+    }
+
+    private void swap(int i, int j) {
+        int id = ids[i];
+        ids[i] = ids[j];
+        ids[j] = id;
+        double x = coords[2 * i];
+        double y = coords[2 * i + 1];
+        coords[2 * i] = coords[2 * j];
+        coords[2 * i + 1] = coords[2 * j + 1];
+        coords[2 * j] = x;
+        coords[2 * j + 1] = y;
+    }
+}
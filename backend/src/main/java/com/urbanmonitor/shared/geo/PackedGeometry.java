@@ -0,0 +1,176 @@
+package com.urbanmonitor.shared.geo;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+/**
+ * VALUE OBJECT - Polygon / MultiPolygon dạng packed primitive.
+ *
+ * Mỗi ring là một double[] xen kẽ [lng0, lat0, lng1, lat1, ...] thay vì
+ * List<List<Double>> boxed. Bbox và centroid được tính một lần lúc tạo.
+ *
+ * Layout: polygons[polygon][ring][coord], ring 0 của mỗi polygon là exterior,
+ * các ring còn lại là holes.
+ *
+ * Serialize thẳng ra GeoJSON geometry bằng {@link PackedGeometrySerializer},
+ * không cần build Map tree.
+ */
+@JsonSerialize(using = PackedGeometrySerializer.class)
+public final class PackedGeometry {
+
+    public enum Type {
+        POLYGON("Polygon"),
+        MULTI_POLYGON("MultiPolygon");
+
+        private final String geoJsonName;
+
+        Type(String geoJsonName) {
+            this.geoJsonName = geoJsonName;
+        }
+
+        public String getGeoJsonName() {
+            return geoJsonName;
+        }
+    }
+
+    private final Type type;
+    private final double[][][] polygons;
+    private final BoundingBox bbox;
+    private final double centroidLng;
+    private final double centroidLat;
+    private final int vertexCount;
+
+    private PackedGeometry(Type type, double[][][] polygons) {
+        this.type = type;
+        this.polygons = polygons;
+
+        int vertices = 0;
+        BoundingBox box = BoundingBox.EMPTY;
+        for (double[][] polygon : polygons) {
+            if (polygon.length > 0) {
+                box = box.union(BoundingBox.ofRings(polygon[0]));
+            }
+            for (double[] ring : polygon) {
+                vertices += ring.length / 2;
+            }
+        }
+        this.bbox = box;
+        this.vertexCount = vertices;
+
+        double[] centroid = computeCentroid(polygons, box);
+        this.centroidLng = centroid[0];
+        this.centroidLat = centroid[1];
+    }
+
+    public static PackedGeometry polygon(double[][] rings) {
+        return new PackedGeometry(Type.POLYGON, new double[][][]{rings});
+    }
+
+    public static PackedGeometry multiPolygon(double[][][] polygons) {
+        return new PackedGeometry(Type.MULTI_POLYGON, polygons);
+    }
+
+    /**
+     * Single polygon stays Polygon, nhiều polygon thành MultiPolygon
+     */
+    public static PackedGeometry of(double[][][] polygons) {
+        return polygons.length == 1 ? polygon(polygons[0]) : multiPolygon(polygons);
+    }
+
+    public Type getType() { return type; }
+    public BoundingBox getBbox() { return bbox; }
+    public double getCentroidLng() { return centroidLng; }
+    public double getCentroidLat() { return centroidLat; }
+    public int getVertexCount() { return vertexCount; }
+
+    public int polygonCount() {
+        return polygons.length;
+    }
+
+    public int ringCount(int polygon) {
+        return polygons[polygon].length;
+    }
+
+    /**
+     * Packed ring, KHÔNG được sửa mảng trả về
+     */
+    public double[] ring(int polygon, int ring) {
+        return polygons[polygon][ring];
+    }
+
+    /**
+     * Rings của một polygon, KHÔNG được sửa mảng trả về
+     */
+    public double[][] rings(int polygon) {
+        return polygons[polygon];
+    }
+
+    /**
+     * Raw layout, KHÔNG được sửa mảng trả về
+     */
+    public double[][][] polygons() {
+        return polygons;
+    }
+
+    /**
+     * Planar signed area (shoelace) của một packed ring, đơn vị độ².
+     * Dương nếu counter-clockwise.
+     */
+    public static double signedArea(double[] ring) {
+        int n = ring.length / 2;
+        if (n < 3) return 0;
+        double sum = 0;
+        double x0 = ring[0], y0 = ring[1];
+        for (int i = 0; i < n; i++) {
+            int j = (i + 1) % n;
+            double xi = ring[2 * i] - x0, yi = ring[2 * i + 1] - y0;
+            double xj = ring[2 * j] - x0, yj = ring[2 * j + 1] - y0;
+            sum += xi * yj - xj * yi;
+        }
+        return sum / 2;
+    }
+
+    /**
+     * Area-weighted centroid (exterior cộng, holes trừ), fallback về tâm bbox
+     */
+    private static double[] computeCentroid(double[][][] polygons, BoundingBox bbox) {
+        double totalArea = 0;
+        double cx = 0;
+        double cy = 0;
+
+        for (double[][] polygon : polygons) {
+            for (int r = 0; r < polygon.length; r++) {
+                double[] ring = polygon[r];
+                int n = ring.length / 2;
+                if (n < 3) continue;
+
+                // Translate về điểm đầu để giảm sai số floating point
+                double x0 = ring[0], y0 = ring[1];
+                double a = 0, rx = 0, ry = 0;
+                for (int i = 0; i < n; i++) {
+                    int j = (i + 1) % n;
+                    double xi = ring[2 * i] - x0, yi = ring[2 * i + 1] - y0;
+                    double xj = ring[2 * j] - x0, yj = ring[2 * j + 1] - y0;
+                    double cross = xi * yj - xj * yi;
+                    a += cross;
+                    rx += (xi + xj) * cross;
+                    ry += (yi + yj) * cross;
+                }
+                if (a == 0) continue;
+
+                double ringArea = Math.abs(a / 2);
+                double ringCx = rx / (3 * a) + x0;
+                double ringCy = ry / (3 * a) + y0;
+                double weight = r == 0 ? ringArea : -ringArea;
+
+                totalArea += weight;
+                cx += weight * ringCx;
+                cy += weight * ringCy;
+            }
+        }
+
+        if (totalArea <= 0 || bbox.isEmpty()) {
+            return new double[]{bbox.centerLng(), bbox.centerLat()};
+        }
+        return new double[]{cx / totalArea, cy / totalArea};
+    }
+}
@@ -0,0 +1,65 @@
+package com.urbanmonitor.shared.geo;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+
+/**
+ * Ghi {@link PackedGeometry} thành GeoJSON geometry trực tiếp từ double[],
+ * không tạo List<Double> trung gian.
+ */
+public class PackedGeometrySerializer extends StdSerializer<PackedGeometry> {
+
+    public PackedGeometrySerializer() {
+        super(PackedGeometry.class);
+    }
+
+    @Override
+    public void serialize(PackedGeometry geometry, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        writeGeometry(geometry, gen);
+    }
+
+    /**
+     * Reusable cho các writer streaming khác
+     */
+    public static void writeGeometry(PackedGeometry geometry, JsonGenerator gen) throws IOException {
+        gen.writeStartObject();
+        gen.writeStringField("type", geometry.getType().getGeoJsonName());
+        gen.writeFieldName("coordinates");
+
+        boolean multi = geometry.getType() == PackedGeometry.Type.MULTI_POLYGON;
+        if (multi) {
+            gen.writeStartArray();
+        }
+        for (int p = 0; p < geometry.polygonCount(); p++) {
+            writePolygon(geometry.rings(p), gen);
+            if (!multi) break;
+        }
+        if (multi) {
+            gen.writeEndArray();
+        }
+
+        gen.writeEndObject();
+    }
+
+    public static void writePolygon(double[][] rings, JsonGenerator gen) throws IOException {
+        gen.writeStartArray();
+        for (double[] ring : rings) {
+            writeRing(ring, gen);
+        }
+        gen.writeEndArray();
+    }
+
+    public static void writeRing(double[] ring, JsonGenerator gen) throws IOException {
+        gen.writeStartArray();
+        for (int i = 0; i + 1 < ring.length; i += 2) {
+            gen.writeStartArray();
+            gen.writeNumber(ring[i]);
+            gen.writeNumber(ring[i + 1]);
+            gen.writeEndArray();
+        }
+        gen.writeEndArray();
+    }
+}
@@ -0,0 +1,108 @@
+package com.urbanmonitor.shared.geo;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Sutherland-Hodgman clipping của polygon theo bbox (cửa sổ clip lồi nên đủ dùng).
+ *
+ * Ring lõm bị cắt ngang có thể sinh cạnh chạy dọc theo biên bbox - vô hại khi render
+ * vì phần đó nằm ngoài viewport.
+ */
+public final class PolygonClipper {
+
+    private PolygonClipper() {}
+
+    /**
+     * @return geometry đã clip, null nếu không còn gì nằm trong bbox
+     */
+    public static PackedGeometry clip(PackedGeometry geometry, BoundingBox box) {
+        if (box == null || box.contains(geometry.getBbox())) {
+            return geometry;
+        }
+        if (!box.intersects(geometry.getBbox())) {
+            return null;
+        }
+
+        List<double[][]> polygons = new ArrayList<>(geometry.polygonCount());
+        for (int p = 0; p < geometry.polygonCount(); p++) {
+            double[][] rings = geometry.rings(p);
+            if (rings.length == 0) continue;
+
+            double[] exterior = clipRing(rings[0], box);
+            if (exterior == null) continue;
+
+            List<double[]> kept = new ArrayList<>(rings.length);
+            kept.add(exterior);
+            for (int r = 1; r < rings.length; r++) {
+                double[] hole = clipRing(rings[r], box);
+                if (hole != null) {
+                    kept.add(hole);
+                }
+            }
+            polygons.add(kept.toArray(new double[0][]));
+        }
+
+        return polygons.isEmpty() ? null : VisvalingamWhyatt.rebuild(polygons);
+    }
+
+    /**
+     * Clip một closed ring, null nếu ring suy biến sau khi clip
+     */
+    public static double[] clipRing(double[] ring, BoundingBox box) {
+        double[] out = ring;
+        out = clipEdge(out, box.getMinLng(), 0, true);
+        out = clipEdge(out, box.getMaxLng(), 0, false);
+        out = clipEdge(out, box.getMinLat(), 1, true);
+        out = clipEdge(out, box.getMaxLat(), 1, false);
+        if (out.length / 2 < 3) {
+            return null;
+        }
+
+        // Đóng ring theo chuẩn GeoJSON
+        int n = out.length / 2;
+        if (out[0] != out[2 * n - 2] || out[1] != out[2 * n - 1]) {
+            double[] closed = Arrays.copyOf(out, out.length + 2);
+            closed[out.length] = out[0];
+            closed[out.length + 1] = out[1];
+            out = closed;
+        }
+        return out.length / 2 >= 4 ? out : null;
+    }
+
+    /**
+     * Clip theo một nửa mặt phẳng: axis 0 = lng, 1 = lat; keepGreater = giữ phía >= value
+     */
+    private static double[] clipEdge(double[] ring, double value, int axis, boolean keepGreater) {
+        int n = ring.length / 2;
+        if (n == 0) {
+            return ring;
+        }
+        DoubleArrayBuilder out = new DoubleArrayBuilder(ring.length + 8);
+
+        double px = ring[2 * (n - 1)], py = ring[2 * (n - 1) + 1];
+        boolean prevInside = inside(axis == 0 ? px : py, value, keepGreater);
+        for (int i = 0; i < n; i++) {
+            double cx = ring[2 * i], cy = ring[2 * i + 1];
+            boolean curInside = inside(axis == 0 ? cx : cy, value, keepGreater);
+            if (curInside != prevInside) {
+                double t = axis == 0 ? (value - px) / (cx - px) : (value - py) / (cy - py);
+                double ix = axis == 0 ? value : px + t * (cx - px);
+                double iy = axis == 0 ? py + t * (cy - py) : value;
+                out.add(ix, iy);
+            }
+            if (curInside) {
+                out.add(cx, cy);
+            }
+            px = cx;
+            py = cy;
+            prevInside = curInside;
+        }
+        return out.toArray();
+    }
+
+    private static boolean inside(double coordinate, double value, boolean keepGreater) {
+        return keepGreater ? coordinate >= value : coordinate <= value;
+    }
+}
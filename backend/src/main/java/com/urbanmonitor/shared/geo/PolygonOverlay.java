@@ -0,0 +1,197 @@
+package com.urbanmonitor.shared.geo;
+
+import java.util.Arrays;
+
+/**
+ * Diện tích giao của hai polygon (lõm, nhiều ring, có holes) không cần dựng polygon giao.
+ *
+ * Theo định lý Green, biên của A ∩ B gồm các mảnh biên của A nằm trong B và các mảnh biên
+ * của B nằm trong A. Mỗi cạnh được cắt tại các giao điểm với polygon kia, mảnh nào có trung điểm
+ * nằm trong polygon kia thì cộng line integral của nó ({@link GeodesicArea#segmentTerm}).
+ * Ring được định hướng lại khi tính (exterior CCW, holes CW) nên không phụ thuộc dữ liệu nguồn.
+ *
+ * Biên trùng nhau (zone vẽ theo ranh giới tỉnh): mảnh nằm trên biên polygon kia chỉ được tính
+ * một lần, từ phía A và khi hai cạnh cùng chiều (cùng phía phần trong); ngược chiều thì bỏ cả hai.
+ */
+public final class PolygonOverlay {
+
+    /** Sai số (độ, ~0.1 mm) để coi một điểm nằm trên cạnh */
+    private static final double ON_EDGE_EPSILON = 1e-9;
+
+    private PolygonOverlay() {}
+
+    public static double intersectionAreaKm2(PackedGeometry a, PackedGeometry b) {
+        BoundingBox common = intersection(a.getBbox(), b.getBbox());
+        if (common == null) {
+            return 0;
+        }
+        if (b.getBbox().contains(a.getBbox()) && fullyInside(a, b)) {
+            return GeodesicArea.areaKm2(a);
+        }
+        double sum = boundaryInside(a, b, common, true) + boundaryInside(b, a, common, false);
+        return Math.max(0, GeodesicArea.toKm2(sum));
+    }
+
+    /**
+     * Tổng line integral của các mảnh biên subject nằm trong clip
+     *
+     * @param keepShared tính các mảnh nằm trên biên clip và cùng chiều với cạnh clip
+     */
+    private static double boundaryInside(PackedGeometry subject, PackedGeometry clip, BoundingBox window,
+                                         boolean keepShared) {
+        double[] clipEdges = edgesIn(clip, window);
+        double sum = 0;
+        double[] ts = new double[16];
+
+        for (int p = 0; p < subject.polygonCount(); p++) {
+            double[][] rings = subject.rings(p);
+            for (int r = 0; r < rings.length; r++) {
+                double[] ring = rings[r];
+                int n = ring.length / 2;
+                if (n < 3) continue;
+                // Exterior CCW, holes CW
+                boolean ccw = PackedGeometry.signedArea(ring) > 0;
+                double sign = (r == 0) == ccw ? 1 : -1;
+
+                for (int i = 0, j = n - 1; i < n; j = i++) {
+                    double x1 = ring[2 * j], y1 = ring[2 * j + 1];
+                    double x2 = ring[2 * i], y2 = ring[2 * i + 1];
+                    if (Math.max(x1, x2) < window.getMinLng() || Math.min(x1, x2) > window.getMaxLng()
+                            || Math.max(y1, y2) < window.getMinLat() || Math.min(y1, y2) > window.getMaxLat()) {
+                        continue; // ngoài vùng chung → chắc chắn nằm ngoài clip
+                    }
+
+                    int count = 0;
+                    ts[count++] = 0;
+                    for (int e = 0; e < clipEdges.length; e += 4) {
+                        double t = crossing(x1, y1, x2, y2,
+                                clipEdges[e], clipEdges[e + 1], clipEdges[e + 2], clipEdges[e + 3]);
+                        if (t > 0 && t < 1) {
+                            if (count == ts.length) ts = Arrays.copyOf(ts, count * 2);
+                            ts[count++] = t;
+                        }
+                    }
+                    if (count == ts.length) ts = Arrays.copyOf(ts, count * 2);
+                    ts[count++] = 1;
+                    Arrays.sort(ts, 1, count - 1);
+
+                    for (int k = 0; k + 1 < count; k++) {
+                        double t0 = ts[k], t1 = ts[k + 1];
+                        if (t1 <= t0) continue;
+                        double mx = x1 + (x2 - x1) * (t0 + t1) / 2;
+                        double my = y1 + (y2 - y1) * (t0 + t1) / 2;
+                        int shared = sharedDirection(clipEdges, mx, my, sign * (x2 - x1), sign * (y2 - y1));
+                        boolean inside = shared != 0
+                            ? keepShared && shared > 0
+                            : GeometryPredicates.contains(clip, mx, my);
+                        if (inside) {
+                            sum += sign * GeodesicArea.segmentTerm(
+                                    x1 + (x2 - x1) * t0, y1 + (y2 - y1) * t0,
+                                    x1 + (x2 - x1) * t1, y1 + (y2 - y1) * t1);
+                        }
+                    }
+                }
+            }
+        }
+        return sum;
+    }
+
+    /**
+     * Không cạnh nào của a cắt b và một đỉnh của a nằm trong b → a ⊂ b
+     */
+    private static boolean fullyInside(PackedGeometry a, PackedGeometry b) {
+        double[] edges = edgesIn(b, a.getBbox());
+        for (int p = 0; p < a.polygonCount(); p++) {
+            for (double[] ring : a.rings(p)) {
+                int n = ring.length / 2;
+                for (int i = 0, j = n - 1; i < n; j = i++) {
+                    for (int e = 0; e < edges.length; e += 4) {
+                        double t = crossing(ring[2 * j], ring[2 * j + 1], ring[2 * i], ring[2 * i + 1],
+                                edges[e], edges[e + 1], edges[e + 2], edges[e + 3]);
+                        if (t >= 0 && t <= 1) {
+                            return false;
+                        }
+                    }
+                }
+            }
+        }
+        return GeometryPredicates.contains(b, a.ring(0, 0)[0], a.ring(0, 0)[1]);
+    }
+
+    /**
+     * Mảnh tại (mx,my) hướng (dx,dy) có nằm trên một cạnh clip không:
+     * 1 nếu cùng chiều, -1 nếu ngược chiều, 0 nếu không nằm trên biên
+     */
+    private static int sharedDirection(double[] edges, double mx, double my, double dx, double dy) {
+        for (int e = 0; e < edges.length; e += 4) {
+            double ex = edges[e + 2] - edges[e], ey = edges[e + 3] - edges[e + 1];
+            double len2 = ex * ex + ey * ey;
+            if (len2 == 0) continue;
+            double t = ((mx - edges[e]) * ex + (my - edges[e + 1]) * ey) / len2;
+            if (t < 0 || t > 1) continue;
+            double px = edges[e] + t * ex - mx, py = edges[e + 1] + t * ey - my;
+            if (px * px + py * py <= ON_EDGE_EPSILON * ON_EDGE_EPSILON) {
+                return dx * ex + dy * ey > 0 ? 1 : -1;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Các cạnh của geometry có bbox giao window, dạng [x1,y1,x2,y2,...], đã định hướng
+     * (exterior CCW, holes CW)
+     */
+    private static double[] edgesIn(PackedGeometry geometry, BoundingBox window) {
+        DoubleArrayBuilder out = new DoubleArrayBuilder(256);
+        for (int p = 0; p < geometry.polygonCount(); p++) {
+            double[][] rings = geometry.rings(p);
+            for (int r = 0; r < rings.length; r++) {
+                double[] ring = rings[r];
+                boolean reversed = (r == 0) != (PackedGeometry.signedArea(ring) > 0);
+                int n = ring.length / 2;
+                for (int i = 0, j = n - 1; i < n; j = i++) {
+                    double x1 = ring[2 * j], y1 = ring[2 * j + 1];
+                    double x2 = ring[2 * i], y2 = ring[2 * i + 1];
+                    if (Math.max(x1, x2) < window.getMinLng() || Math.min(x1, x2) > window.getMaxLng()
+                            || Math.max(y1, y2) < window.getMinLat() || Math.min(y1, y2) > window.getMaxLat()) {
+                        continue;
+                    }
+                    if (reversed) {
+                        out.add(x2, y2);
+                        out.add(x1, y1);
+                    } else {
+                        out.add(x1, y1);
+                        out.add(x2, y2);
+                    }
+                }
+            }
+        }
+        return out.toArray();
+    }
+
+    /**
+     * Tham số t trên đoạn P (p1→p2) tại giao điểm với đoạn Q, NaN nếu không cắt / song song
+     */
+    private static double crossing(double px1, double py1, double px2, double py2,
+                                   double qx1, double qy1, double qx2, double qy2) {
+        double rx = px2 - px1, ry = py2 - py1;
+        double sx = qx2 - qx1, sy = qy2 - qy1;
+        double denom = rx * sy - ry * sx;
+        if (denom == 0) {
+            return Double.NaN;
+        }
+        double dx = qx1 - px1, dy = qy1 - py1;
+        double t = (dx * sy - dy * sx) / denom;
+        double u = (dx * ry - dy * rx) / denom;
+        return u >= 0 && u <= 1 ? t : Double.NaN;
+    }
+
+    private static BoundingBox intersection(BoundingBox a, BoundingBox b) {
+        if (!a.intersects(b)) {
+            return null;
+        }
+        return new BoundingBox(
+                Math.max(a.getMinLng(), b.getMinLng()), Math.max(a.getMinLat(), b.getMinLat()),
+                Math.min(a.getMaxLng(), b.getMaxLng()), Math.min(a.getMaxLat(), b.getMaxLat()));
+    }
+}
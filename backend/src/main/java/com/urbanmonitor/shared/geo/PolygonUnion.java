@@ -0,0 +1,650 @@
+package com.urbanmonitor.shared.geo;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntConsumer;
+
+/**
+ * Dissolve (union) nhiều polygon thành một MultiPolygon không chồng lấn.
+ *
+ * Cascaded: từng polygon được sắp theo Z-order của tâm bbox rồi hợp từng cặp theo cây nhị phân,
+ * nên mỗi lần overlay chỉ xử lý hai khối gần nhau, cỡ tương đương. Hai khối có bbox rời nhau
+ * chỉ nối danh sách polygon, không overlay.
+ *
+ * Overlay hai khối A, B (mỗi khối tự nó không chồng lấn): mỗi cạnh được cắt tại giao điểm với
+ * khối kia, giữ các mảnh nằm ngoài khối kia. Mảnh nằm trên biên chung chỉ giữ một lần (từ A)
+ * khi hai cạnh cùng chiều; ngược chiều là biên trong, bỏ cả hai. Các mảnh còn lại được nối thành
+ * rings (exterior CCW, holes CW), mỗi hole gán vào exterior nhỏ nhất chứa nó.
+ * Dữ liệu suy biến làm nối rings thất bại thì trả về A, B nguyên vẹn (chồng lấn) thay vì mất vùng.
+ */
+public final class PolygonUnion {
+
+    /** Sai số (độ, ~0.1 mm) để coi một điểm nằm trên cạnh, như PolygonOverlay */
+    private static final double EPSILON = 1e-9;
+
+    private static final int OUTSIDE = 0;
+    private static final int INSIDE = 1;
+    private static final int SHARED_SAME = 2;
+    private static final int SHARED_OPPOSITE = 3;
+
+    private PolygonUnion() {}
+
+    /**
+     * @return null nếu không có polygon hợp lệ nào
+     */
+    public static PackedGeometry union(List<PackedGeometry> geometries) {
+        List<Shape> parts = new ArrayList<>();
+        BoundingBox extent = BoundingBox.EMPTY;
+        for (PackedGeometry geometry : geometries) {
+            for (int p = 0; p < geometry.polygonCount(); p++) {
+                Shape part = Shape.ofPolygon(geometry.rings(p));
+                if (part != null) {
+                    parts.add(part);
+                    extent = extent.union(part.bbox);
+                }
+            }
+        }
+        if (parts.isEmpty()) {
+            return null;
+        }
+
+        BoundingBox bounds = extent;
+        parts.sort(Comparator.comparingLong(part -> zOrder(part.bbox, bounds)));
+        Shape result = unionRange(parts, 0, parts.size());
+        return PackedGeometry.of(result.polygons.toArray(new double[0][][]));
+    }
+
+    private static Shape unionRange(List<Shape> parts, int from, int to) {
+        if (to - from == 1) {
+            return parts.get(from);
+        }
+        int mid = (from + to) >>> 1;
+        return union(unionRange(parts, from, mid), unionRange(parts, mid, to));
+    }
+
+    private static Shape union(Shape a, Shape b) {
+        if (!a.bbox.intersects(b.bbox)) {
+            return Shape.concat(a, b);
+        }
+        Shape merged = new Overlay(a, b).run();
+        return merged != null ? merged : Shape.concat(a, b);
+    }
+
+    // ==================== OVERLAY ====================
+
+    private static final class Overlay {
+
+        private final Shape a;
+        private final Shape b;
+        private final DoubleArrayBuilder kept = new DoubleArrayBuilder(1024);
+
+        Overlay(Shape a, Shape b) {
+            this.a = a;
+            this.b = b;
+        }
+
+        /**
+         * @return null nếu không nối được rings
+         */
+        Shape run() {
+            double[] edgesA = a.edges();
+            double[] edgesB = b.edges();
+            EdgeGrid gridA = new EdgeGrid(edgesA, a.bbox);
+            EdgeGrid gridB = new EdgeGrid(edgesB, b.bbox);
+            Splits splitsA = new Splits(edgesA.length / 4);
+            Splits splitsB = new Splits(edgesB.length / 4);
+
+            BoundingBox window = expand(intersection(a.bbox, b.bbox));
+            for (int i = 0; i < edgesA.length; i += 4) {
+                double minX = Math.min(edgesA[i], edgesA[i + 2]), maxX = Math.max(edgesA[i], edgesA[i + 2]);
+                double minY = Math.min(edgesA[i + 1], edgesA[i + 3]), maxY = Math.max(edgesA[i + 1], edgesA[i + 3]);
+                if (maxX < window.getMinLng() || minX > window.getMaxLng()
+                        || maxY < window.getMinLat() || minY > window.getMaxLat()) {
+                    continue;
+                }
+                int edgeA = i / 4;
+                gridB.forEach(minX - EPSILON, minY - EPSILON, maxX + EPSILON, maxY + EPSILON,
+                    edgeB -> intersect(edgesA, edgeA, edgesB, edgeB, splitsA, splitsB));
+            }
+
+            collect(edgesA, splitsA, gridB, true);
+            collect(edgesB, splitsB, gridA, false);
+            List<double[]> rings = stitch(kept.toArray());
+            return rings == null ? null : assemble(rings);
+        }
+
+        /**
+         * Điểm cắt giữa cạnh ea của A và eb của B. Đỉnh nằm trên cạnh kia (chạm chữ T, đoạn trùng)
+         * được chèn nguyên toạ độ, giao điểm thực được tính một lần và chèn vào cả hai cạnh,
+         * nên hai phía luôn có cùng toạ độ để nối rings.
+         */
+        private static void intersect(double[] edgesA, int ea, double[] edgesB, int eb, Splits splitsA, Splits splitsB) {
+            int i = ea * 4, j = eb * 4;
+            double ax1 = edgesA[i], ay1 = edgesA[i + 1], ax2 = edgesA[i + 2], ay2 = edgesA[i + 3];
+            double bx1 = edgesB[j], by1 = edgesB[j + 1], bx2 = edgesB[j + 2], by2 = edgesB[j + 3];
+
+            splitAtPoint(edgesA, ea, bx1, by1, splitsA);
+            splitAtPoint(edgesA, ea, bx2, by2, splitsA);
+            splitAtPoint(edgesB, eb, ax1, ay1, splitsB);
+            splitAtPoint(edgesB, eb, ax2, ay2, splitsB);
+
+            double rx = ax2 - ax1, ry = ay2 - ay1;
+            double sx = bx2 - bx1, sy = by2 - by1;
+            double denom = rx * sy - ry * sx;
+            if (denom == 0) {
+                return;
+            }
+            double qx = bx1 - ax1, qy = by1 - ay1;
+            double t = (qx * sy - qy * sx) / denom;
+            double u = (qx * ry - qy * rx) / denom;
+            if (t <= 0 || t >= 1 || u <= 0 || u >= 1) {
+                return;
+            }
+            double px = ax1 + t * rx, py = ay1 + t * ry;
+            // Giao điểm sát một đỉnh: đỉnh đó đã được chèn ở trên
+            if (near(px, py, ax1, ay1) || near(px, py, ax2, ay2) || near(px, py, bx1, by1) || near(px, py, bx2, by2)) {
+                return;
+            }
+            splitsA.add(ea, t, px, py);
+            splitsB.add(eb, u, px, py);
+        }
+
+        private static void splitAtPoint(double[] edges, int edge, double px, double py, Splits splits) {
+            int i = edge * 4;
+            double x1 = edges[i], y1 = edges[i + 1], x2 = edges[i + 2], y2 = edges[i + 3];
+            if (near(px, py, x1, y1) || near(px, py, x2, y2)) {
+                return;
+            }
+            double dx = x2 - x1, dy = y2 - y1;
+            double t = ((px - x1) * dx + (py - y1) * dy) / (dx * dx + dy * dy);
+            if (t <= 0 || t >= 1) {
+                return;
+            }
+            double ox = x1 + t * dx - px, oy = y1 + t * dy - py;
+            if (ox * ox + oy * oy <= EPSILON * EPSILON) {
+                splits.add(edge, t, px, py);
+            }
+        }
+
+        /**
+         * Cắt từng cạnh tại các điểm split, giữ mảnh thuộc biên của A ∪ B
+         */
+        private void collect(double[] edges, Splits splits, EdgeGrid other, boolean fromA) {
+            for (int e = 0; e < edges.length / 4; e++) {
+                double prevX = edges[e * 4], prevY = edges[e * 4 + 1];
+                double[] points = splits.sortedPoints(e);
+                for (int k = 0; k <= points.length; k += 2) {
+                    double x = k < points.length ? points[k] : edges[e * 4 + 2];
+                    double y = k < points.length ? points[k + 1] : edges[e * 4 + 3];
+                    if (x == prevX && y == prevY) {
+                        continue;
+                    }
+                    int position = other.classify((prevX + x) / 2, (prevY + y) / 2, x - prevX, y - prevY);
+                    if (position == OUTSIDE || (fromA && position == SHARED_SAME)) {
+                        kept.add(prevX, prevY);
+                        kept.add(x, y);
+                    }
+                    prevX = x;
+                    prevY = y;
+                }
+            }
+        }
+    }
+
+    // ==================== RINGS ====================
+
+    /**
+     * Nối các mảnh [x1,y1,x2,y2,...] thành rings đóng. Tại đỉnh có nhiều mảnh đi ra (hai vùng chạm
+     * nhau tại một điểm), chọn mảnh quay theo chiều kim đồng hồ gần nhất so với hướng ngược mảnh vào,
+     * để phần trong luôn ở bên trái và các vùng chỉ chạm đỉnh tách thành rings riêng.
+     *
+     * @return null nếu còn mảnh không nối được
+     */
+    private static List<double[]> stitch(double[] fragments) {
+        int count = fragments.length / 4;
+        Map<Point, List<Integer>> outgoing = new HashMap<>();
+        for (int f = 0; f < count; f++) {
+            outgoing.computeIfAbsent(new Point(fragments[f * 4], fragments[f * 4 + 1]), key -> new ArrayList<>(1)).add(f);
+        }
+
+        boolean[] used = new boolean[count];
+        List<double[]> rings = new ArrayList<>();
+        for (int start = 0; start < count; start++) {
+            if (used[start]) {
+                continue;
+            }
+            used[start] = true;
+            double startX = fragments[start * 4], startY = fragments[start * 4 + 1];
+            DoubleArrayBuilder ring = new DoubleArrayBuilder(64);
+            ring.add(startX, startY);
+            int current = start;
+            while (true) {
+                double x = fragments[current * 4 + 2], y = fragments[current * 4 + 3];
+                ring.add(x, y);
+                double backX = fragments[current * 4] - x, backY = fragments[current * 4 + 1] - y;
+                boolean canClose = x == startX && y == startY;
+
+                int next = -1;
+                double best = Double.POSITIVE_INFINITY;
+                if (canClose) {
+                    best = clockwiseAngle(backX, backY,
+                        fragments[start * 4 + 2] - startX, fragments[start * 4 + 3] - startY);
+                }
+                for (int candidate : outgoing.getOrDefault(new Point(x, y), List.of())) {
+                    if (used[candidate]) {
+                        continue;
+                    }
+                    double angle = clockwiseAngle(backX, backY,
+                        fragments[candidate * 4 + 2] - x, fragments[candidate * 4 + 3] - y);
+                    if (angle < best) {
+                        best = angle;
+                        next = candidate;
+                    }
+                }
+                if (next < 0) {
+                    if (!canClose) {
+                        return null;
+                    }
+                    break;
+                }
+                used[next] = true;
+                current = next;
+            }
+            rings.add(ring.toArray());
+        }
+        return rings;
+    }
+
+    /**
+     * Góc quay theo chiều kim đồng hồ từ (rx,ry) tới (dx,dy), trong (0, 2π]
+     */
+    private static double clockwiseAngle(double rx, double ry, double dx, double dy) {
+        double ccw = Math.atan2(rx * dy - ry * dx, rx * dx + ry * dy);
+        double cw = -ccw;
+        return cw <= 0 ? cw + 2 * Math.PI : cw;
+    }
+
+    /**
+     * Rings CCW là exterior, CW là hole; hole thuộc exterior nhỏ nhất chứa nó
+     */
+    private static Shape assemble(List<double[]> rings) {
+        List<double[]> shells = new ArrayList<>();
+        List<Double> shellAreas = new ArrayList<>();
+        List<double[]> holes = new ArrayList<>();
+        for (double[] ring : rings) {
+            if (ring.length < 8) {
+                continue;
+            }
+            double area = PackedGeometry.signedArea(ring);
+            if (area > 0) {
+                shells.add(ring);
+                shellAreas.add(area);
+            } else if (area < 0) {
+                holes.add(ring);
+            }
+        }
+
+        List<List<double[]>> polygons = new ArrayList<>(shells.size());
+        BoundingBox bbox = BoundingBox.EMPTY;
+        for (double[] shell : shells) {
+            List<double[]> polygon = new ArrayList<>();
+            polygon.add(shell);
+            polygons.add(polygon);
+            bbox = bbox.union(BoundingBox.ofRings(shell));
+        }
+        for (double[] hole : holes) {
+            double x = (hole[0] + hole[2]) / 2, y = (hole[1] + hole[3]) / 2;
+            int owner = -1;
+            for (int s = 0; s < shells.size(); s++) {
+                if ((owner < 0 || shellAreas.get(s) < shellAreas.get(owner)) && ringContains(shells.get(s), x, y)) {
+                    owner = s;
+                }
+            }
+            if (owner >= 0) {
+                polygons.get(owner).add(hole);
+            }
+        }
+
+        List<double[][]> result = new ArrayList<>(polygons.size());
+        for (List<double[]> polygon : polygons) {
+            result.add(polygon.toArray(new double[0][]));
+        }
+        return new Shape(result, bbox);
+    }
+
+    private static boolean ringContains(double[] ring, double x, double y) {
+        boolean inside = false;
+        int n = ring.length / 2;
+        for (int i = 0, j = n - 1; i < n; j = i++) {
+            double xi = ring[2 * i], yi = ring[2 * i + 1];
+            double xj = ring[2 * j], yj = ring[2 * j + 1];
+            if ((yi > y) != (yj > y) && x < (xj - xi) * (y - yi) / (yj - yi) + xi) {
+                inside = !inside;
+            }
+        }
+        return inside;
+    }
+
+    // ==================== HELPERS ====================
+
+    private record Point(double x, double y) {}
+
+    /**
+     * Một nhóm polygon không chồng lấn nhau: rings đóng, exterior CCW, holes CW
+     */
+    private static final class Shape {
+
+        final List<double[][]> polygons;
+        final BoundingBox bbox;
+
+        Shape(List<double[][]> polygons, BoundingBox bbox) {
+            this.polygons = polygons;
+            this.bbox = bbox;
+        }
+
+        static Shape ofPolygon(double[][] rings) {
+            if (rings.length == 0) {
+                return null;
+            }
+            double[] exterior = orient(rings[0], true);
+            if (exterior == null) {
+                return null;
+            }
+            List<double[]> oriented = new ArrayList<>(rings.length);
+            oriented.add(exterior);
+            for (int r = 1; r < rings.length; r++) {
+                double[] hole = orient(rings[r], false);
+                if (hole != null) {
+                    oriented.add(hole);
+                }
+            }
+            List<double[][]> polygons = new ArrayList<>(1);
+            polygons.add(oriented.toArray(new double[0][]));
+            return new Shape(polygons, BoundingBox.ofRings(exterior));
+        }
+
+        static Shape concat(Shape a, Shape b) {
+            List<double[][]> polygons = new ArrayList<>(a.polygons.size() + b.polygons.size());
+            polygons.addAll(a.polygons);
+            polygons.addAll(b.polygons);
+            return new Shape(polygons, a.bbox.union(b.bbox));
+        }
+
+        /**
+         * Cạnh có hướng [x1,y1,x2,y2,...], phần trong nằm bên trái
+         */
+        double[] edges() {
+            DoubleArrayBuilder out = new DoubleArrayBuilder(256);
+            for (double[][] polygon : polygons) {
+                for (double[] ring : polygon) {
+                    for (int i = 2; i < ring.length; i += 2) {
+                        if (ring[i - 2] != ring[i] || ring[i - 1] != ring[i + 1]) {
+                            out.add(ring[i - 2], ring[i - 1]);
+                            out.add(ring[i], ring[i + 1]);
+                        }
+                    }
+                }
+            }
+            return out.toArray();
+        }
+    }
+
+    /**
+     * Ring đóng theo chiều yêu cầu, null nếu suy biến (ít hơn 3 đỉnh, diện tích 0)
+     */
+    private static double[] orient(double[] ring, boolean ccw) {
+        double area = PackedGeometry.signedArea(ring);
+        if (ring.length < 6 || area == 0 || Double.isNaN(area)) {
+            return null;
+        }
+        int n = ring.length;
+        boolean closed = ring[0] == ring[n - 2] && ring[1] == ring[n - 1];
+        double[] result = closed ? ring.clone() : Arrays.copyOf(ring, n + 2);
+        if (!closed) {
+            result[n] = ring[0];
+            result[n + 1] = ring[1];
+        }
+        if ((area > 0) != ccw) {
+            for (int i = 0, j = result.length - 2; i < j; i += 2, j -= 2) {
+                double x = result[i], y = result[i + 1];
+                result[i] = result[j];
+                result[i + 1] = result[j + 1];
+                result[j] = x;
+                result[j + 1] = y;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Điểm split trên mỗi cạnh: (t, x, y), cấp phát khi cạnh có điểm đầu tiên
+     */
+    private static final class Splits {
+
+        private final double[][] data;
+        private final int[] sizes;
+
+        Splits(int edgeCount) {
+            this.data = new double[edgeCount][];
+            this.sizes = new int[edgeCount];
+        }
+
+        void add(int edge, double t, double x, double y) {
+            double[] values = data[edge];
+            int size = sizes[edge];
+            if (values == null) {
+                values = data[edge] = new double[6];
+            } else if (size + 3 > values.length) {
+                values = data[edge] = Arrays.copyOf(values, values.length * 2);
+            }
+            values[size] = t;
+            values[size + 1] = x;
+            values[size + 2] = y;
+            sizes[edge] = size + 3;
+        }
+
+        /**
+         * [x,y,...] theo t tăng dần
+         */
+        double[] sortedPoints(int edge) {
+            int count = sizes[edge] / 3;
+            if (count == 0) {
+                return new double[0];
+            }
+            double[] values = data[edge];
+            Integer[] order = new Integer[count];
+            for (int i = 0; i < count; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, Comparator.comparingDouble(i -> values[i * 3]));
+            double[] points = new double[count * 2];
+            for (int i = 0; i < count; i++) {
+                points[i * 2] = values[order[i] * 3 + 1];
+                points[i * 2 + 1] = values[order[i] * 3 + 2];
+            }
+            return points;
+        }
+    }
+
+    /**
+     * Lưới đều trên bbox của một khối, mỗi cell giữ các cạnh có bbox chạm cell (dạng CSR).
+     * Dùng cho tìm cặp cạnh cắt nhau và point-in-polygon (tia sang phải chỉ duyệt một hàng cell).
+     */
+    private static final class EdgeGrid {
+
+        private final double[] edges;
+        private final double minX;
+        private final double minY;
+        private final double maxX;
+        private final double maxY;
+        private final int cols;
+        private final int rows;
+        private final double cellWidth;
+        private final double cellHeight;
+        private final int[] cellStart;
+        private final int[] cellEdges;
+        private final int[] stamps;
+        private int stamp;
+
+        EdgeGrid(double[] edges, BoundingBox box) {
+            this.edges = edges;
+            this.minX = box.getMinLng();
+            this.minY = box.getMinLat();
+            this.maxX = box.getMaxLng();
+            this.maxY = box.getMaxLat();
+            int edgeCount = edges.length / 4;
+            int side = (int) Math.max(1, Math.min(1024, Math.ceil(Math.sqrt(edgeCount / 2.0))));
+            this.cols = side;
+            this.rows = side;
+            this.cellWidth = Math.max((maxX - minX) / cols, EPSILON);
+            this.cellHeight = Math.max((maxY - minY) / rows, EPSILON);
+            this.stamps = new int[edgeCount];
+
+            int[] counts = new int[cols * rows + 1];
+            for (int e = 0; e < edgeCount; e++) {
+                forEachCell(e, cell -> counts[cell + 1]++);
+            }
+            for (int c = 0; c < cols * rows; c++) {
+                counts[c + 1] += counts[c];
+            }
+            this.cellStart = counts.clone();
+            this.cellEdges = new int[counts[cols * rows]];
+            int[] fill = Arrays.copyOf(counts, cols * rows);
+            for (int e = 0; e < edgeCount; e++) {
+                int edge = e;
+                forEachCell(e, cell -> cellEdges[fill[cell]++] = edge);
+            }
+        }
+
+        private void forEachCell(int edge, IntConsumer consumer) {
+            int i = edge * 4;
+            int c0 = col(Math.min(edges[i], edges[i + 2])), c1 = col(Math.max(edges[i], edges[i + 2]));
+            int r0 = row(Math.min(edges[i + 1], edges[i + 3])), r1 = row(Math.max(edges[i + 1], edges[i + 3]));
+            for (int r = r0; r <= r1; r++) {
+                for (int c = c0; c <= c1; c++) {
+                    consumer.accept(r * cols + c);
+                }
+            }
+        }
+
+        private int col(double x) {
+            return Math.max(0, Math.min(cols - 1, (int) ((x - minX) / cellWidth)));
+        }
+
+        private int row(double y) {
+            return Math.max(0, Math.min(rows - 1, (int) ((y - minY) / cellHeight)));
+        }
+
+        /**
+         * Mỗi cạnh có thể giao bbox đã cho, mỗi cạnh một lần
+         */
+        void forEach(double qMinX, double qMinY, double qMaxX, double qMaxY, IntConsumer visitor) {
+            if (qMaxX < minX || qMinX > maxX || qMaxY < minY || qMinY > maxY) {
+                return;
+            }
+            stamp++;
+            for (int r = row(qMinY); r <= row(qMaxY); r++) {
+                for (int c = col(qMinX); c <= col(qMaxX); c++) {
+                    int cell = r * cols + c;
+                    for (int k = cellStart[cell]; k < cellStart[cell + 1]; k++) {
+                        int e = cellEdges[k];
+                        if (stamps[e] != stamp) {
+                            stamps[e] = stamp;
+                            visitor.accept(e);
+                        }
+                    }
+                }
+            }
+        }
+
+        /**
+         * Vị trí của mảnh có trung điểm (x,y), hướng (dx,dy) so với khối: trên biên (cùng / ngược chiều),
+         * trong hoặc ngoài (even-odd, tia sang phải)
+         */
+        int classify(double x, double y, double dx, double dy) {
+            if (x < minX - EPSILON || x > maxX + EPSILON || y < minY - EPSILON || y > maxY + EPSILON) {
+                return OUTSIDE;
+            }
+            int[] shared = {OUTSIDE};
+            forEach(x - EPSILON, y - EPSILON, x + EPSILON, y + EPSILON, e -> {
+                if (shared[0] != OUTSIDE) {
+                    return;
+                }
+                int i = e * 4;
+                double ex = edges[i + 2] - edges[i], ey = edges[i + 3] - edges[i + 1];
+                double len2 = ex * ex + ey * ey;
+                double t = ((x - edges[i]) * ex + (y - edges[i + 1]) * ey) / len2;
+                if (t < 0 || t > 1) {
+                    return;
+                }
+                double ox = edges[i] + t * ex - x, oy = edges[i + 1] + t * ey - y;
+                if (ox * ox + oy * oy <= EPSILON * EPSILON) {
+                    shared[0] = dx * ex + dy * ey > 0 ? SHARED_SAME : SHARED_OPPOSITE;
+                }
+            });
+            if (shared[0] != OUTSIDE) {
+                return shared[0];
+            }
+
+            stamp++;
+            boolean inside = false;
+            int r = row(y);
+            for (int c = col(x); c < cols; c++) {
+                int cell = r * cols + c;
+                for (int k = cellStart[cell]; k < cellStart[cell + 1]; k++) {
+                    int e = cellEdges[k];
+                    if (stamps[e] == stamp) {
+                        continue;
+                    }
+                    stamps[e] = stamp;
+                    int i = e * 4;
+                    double x1 = edges[i], y1 = edges[i + 1], x2 = edges[i + 2], y2 = edges[i + 3];
+                    if ((y1 > y) != (y2 > y) && x < x1 + (y - y1) * (x2 - x1) / (y2 - y1)) {
+                        inside = !inside;
+                    }
+                }
+            }
+            return inside ? INSIDE : OUTSIDE;
+        }
+    }
+
+    private static boolean near(double x1, double y1, double x2, double y2) {
+        double dx = x1 - x2, dy = y1 - y2;
+        return dx * dx + dy * dy <= EPSILON * EPSILON;
+    }
+
+    private static BoundingBox intersection(BoundingBox a, BoundingBox b) {
+        return new BoundingBox(
+            Math.max(a.getMinLng(), b.getMinLng()), Math.max(a.getMinLat(), b.getMinLat()),
+            Math.min(a.getMaxLng(), b.getMaxLng()), Math.min(a.getMaxLat(), b.getMaxLat()));
+    }
+
+    private static BoundingBox expand(BoundingBox box) {
+        return new BoundingBox(box.getMinLng() - EPSILON, box.getMinLat() - EPSILON,
+            box.getMaxLng() + EPSILON, box.getMaxLat() + EPSILON);
+    }
+
+    /**
+     * Z-order (Morton) của tâm bbox trên lưới 65536 × 65536 phủ extent
+     */
+    private static long zOrder(BoundingBox box, BoundingBox extent) {
+        double width = Math.max(extent.getMaxLng() - extent.getMinLng(), EPSILON);
+        double height = Math.max(extent.getMaxLat() - extent.getMinLat(), EPSILON);
+        int x = (int) Math.max(0, Math.min(65535, (box.centerLng() - extent.getMinLng()) / width * 65535));
+        int y = (int) Math.max(0, Math.min(65535, (box.centerLat() - extent.getMinLat()) / height * 65535));
+        return spread(x) | (spread(y) << 1);
+    }
+
+    private static long spread(int value) {
+        long v = value & 0xFFFFL;
+        v = (v | (v << 8)) & 0x00FF00FFL;
+        v = (v | (v << 4)) & 0x0F0F0F0FL;
+        v = (v | (v << 2)) & 0x33333333L;
+        v = (v | (v << 1)) & 0x55555555L;
+        return v;
+    }
+}
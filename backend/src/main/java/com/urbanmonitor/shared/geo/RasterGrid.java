@@ -0,0 +1,41 @@
+package com.urbanmonitor.shared.geo;
+
+/**
+ * VALUE OBJECT - Lưới raster theo độ: gốc ở góc tây-bắc, hàng 0 ở phía bắc.
+ * Cell (row, col) có tâm tại (west + (col + 0.5) * cellWidth, north - (row + 0.5) * cellHeight).
+ */
+public record RasterGrid(double west, double north, double cellWidth, double cellHeight, int width, int height) {
+
+    public RasterGrid {
+        if (width <= 0 || height <= 0 || !(cellWidth > 0) || !(cellHeight > 0)) {
+            throw new IllegalArgumentException("Invalid raster grid " + width + "x" + height
+                + " cell " + cellWidth + "x" + cellHeight);
+        }
+    }
+
+    public double east() {
+        return west + width * cellWidth;
+    }
+
+    public double south() {
+        return north - height * cellHeight;
+    }
+
+    public BoundingBox bounds() {
+        return new BoundingBox(west, south(), east(), north);
+    }
+
+    /**
+     * Toạ độ liên tục theo cột: tâm cell col nằm đúng tại giá trị col
+     */
+    double columnOf(double lng) {
+        return (lng - west) / cellWidth - 0.5;
+    }
+
+    /**
+     * Toạ độ liên tục theo hàng: tâm cell row nằm đúng tại giá trị row
+     */
+    double rowOf(double lat) {
+        return (north - lat) / cellHeight - 0.5;
+    }
+}
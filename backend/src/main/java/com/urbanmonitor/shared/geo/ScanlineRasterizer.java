@@ -0,0 +1,224 @@
+package com.urbanmonitor.shared.geo;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Rasterize polygon lên RasterGrid bằng scanline: mỗi hàng lấy giao điểm của đường ngang qua tâm cell
+ * với các cạnh (active edge table), cell có tâm nằm giữa hai giao điểm liên tiếp thuộc polygon.
+ *
+ * Even-odd trên mọi ring của mọi polygon: holes tự trừ ra, MultiPolygon hợp lệ (các polygon không chồng nhau)
+ * cho kết quả đúng. Quy tắc nửa mở [top, bottom) / [left, right) nên cell nằm trên cạnh chung
+ * của hai polygon kề nhau chỉ thuộc về một bên.
+ */
+public final class ScanlineRasterizer {
+
+    private ScanlineRasterizer() {
+    }
+
+    /**
+     * Spans theo hàng: spans[row - rowFrom] = [colFrom0, colTo0, colFrom1, colTo1, ...] (colTo exclusive)
+     */
+    public static final class RowSpans {
+
+        private static final int[] NONE = new int[0];
+
+        private final int rowFrom;
+        private final int[][] spans;
+
+        private RowSpans(int rowFrom, int[][] spans) {
+            this.rowFrom = rowFrom;
+            this.spans = spans;
+        }
+
+        static RowSpans empty() {
+            return new RowSpans(0, new int[0][]);
+        }
+
+        public int rowFrom() {
+            return rowFrom;
+        }
+
+        public int rowTo() {
+            return rowFrom + spans.length;
+        }
+
+        public boolean isEmpty() {
+            for (int[] row : spans) {
+                if (row.length > 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Spans của một hàng, mảng rỗng nếu hàng nằm ngoài
+         */
+        public int[] row(int row) {
+            int index = row - rowFrom;
+            return index < 0 || index >= spans.length ? NONE : spans[index];
+        }
+
+        public long cellCount() {
+            long count = 0;
+            for (int[] row : spans) {
+                for (int i = 0; i < row.length; i += 2) {
+                    count += row[i + 1] - row[i];
+                }
+            }
+            return count;
+        }
+
+        /**
+         * Cells thuộc cả hai (giao từng hàng, spans đã sắp xếp và không chồng nhau)
+         */
+        public RowSpans intersect(RowSpans other) {
+            int from = Math.max(rowFrom, other.rowFrom);
+            int to = Math.min(rowTo(), other.rowTo());
+            if (from >= to) {
+                return empty();
+            }
+            int[][] result = new int[to - from][];
+            int[] buffer = new int[16];
+            for (int row = from; row < to; row++) {
+                int[] a = row(row);
+                int[] b = other.row(row);
+                int n = 0;
+                int i = 0;
+                int j = 0;
+                while (i < a.length && j < b.length) {
+                    int start = Math.max(a[i], b[j]);
+                    int end = Math.min(a[i + 1], b[j + 1]);
+                    if (start < end) {
+                        if (n + 2 > buffer.length) {
+                            buffer = Arrays.copyOf(buffer, buffer.length * 2);
+                        }
+                        buffer[n++] = start;
+                        buffer[n++] = end;
+                    }
+                    if (a[i + 1] < b[j + 1]) {
+                        i += 2;
+                    } else {
+                        j += 2;
+                    }
+                }
+                result[row - from] = n == 0 ? NONE : Arrays.copyOf(buffer, n);
+            }
+            return new RowSpans(from, result);
+        }
+    }
+
+    /**
+     * Cells của grid có tâm nằm trong geometry
+     */
+    public static RowSpans rasterize(PackedGeometry geometry, RasterGrid grid) {
+        return rasterize(geometry, grid, grid.bounds());
+    }
+
+    /**
+     * Như rasterize(geometry, grid) nhưng chỉ xét các cell có tâm trong window (vd bbox của geometry khác)
+     */
+    public static RowSpans rasterize(PackedGeometry geometry, RasterGrid grid, BoundingBox window) {
+        BoundingBox bbox = geometry.getBbox();
+        if (bbox.isEmpty() || !bbox.intersects(window) || !bbox.intersects(grid.bounds())) {
+            return RowSpans.empty();
+        }
+        double minLat = Math.max(bbox.getMinLat(), window.getMinLat());
+        double maxLat = Math.min(bbox.getMaxLat(), window.getMaxLat());
+        double minLng = Math.max(bbox.getMinLng(), window.getMinLng());
+        double maxLng = Math.min(bbox.getMaxLng(), window.getMaxLng());
+
+        int rowFrom = Math.max(0, (int) Math.ceil(grid.rowOf(maxLat)));
+        int rowTo = Math.min(grid.height(), (int) Math.floor(grid.rowOf(minLat)) + 1);
+        int colMin = Math.max(0, (int) Math.ceil(grid.columnOf(minLng)));
+        int colMax = Math.min(grid.width(), (int) Math.floor(grid.columnOf(maxLng)) + 1);
+        if (rowFrom >= rowTo || colMin >= colMax) {
+            return RowSpans.empty();
+        }
+
+        // Edge: [rowStart, rowEnd) là các hàng mà tâm cắt qua cạnh, u = cột liên tục tại rowStart
+        List<double[]> edges = new ArrayList<>();
+        for (double[][] polygon : geometry.polygons()) {
+            for (double[] ring : polygon) {
+                addEdges(ring, grid, rowFrom, rowTo, edges);
+            }
+        }
+        edges.sort((a, b) -> Double.compare(a[0], b[0]));
+
+        int[][] spans = new int[rowTo - rowFrom][];
+        double[][] active = new double[Math.max(4, edges.size())][];
+        int activeCount = 0;
+        int nextEdge = 0;
+        double[] crossings = new double[16];
+        int[] buffer = new int[16];
+
+        for (int row = rowFrom; row < rowTo; row++) {
+            while (nextEdge < edges.size() && edges.get(nextEdge)[0] <= row) {
+                active[activeCount++] = edges.get(nextEdge++);
+            }
+            int count = 0;
+            for (int i = 0; i < activeCount; i++) {
+                double[] edge = active[i];
+                if (edge[1] <= row) {
+                    active[i--] = active[--activeCount];
+                    continue;
+                }
+                if (count == crossings.length) {
+                    crossings = Arrays.copyOf(crossings, count * 2);
+                }
+                crossings[count++] = edge[2] + (row - edge[0]) * edge[3];
+            }
+            Arrays.sort(crossings, 0, count);
+
+            int n = 0;
+            for (int i = 0; i + 1 < count; i += 2) {
+                int start = Math.max(colMin, (int) Math.ceil(crossings[i]));
+                int end = Math.min(colMax, (int) Math.ceil(crossings[i + 1]));
+                if (start >= end) {
+                    continue;
+                }
+                if (n > 0 && buffer[n - 1] >= start) {
+                    buffer[n - 1] = Math.max(buffer[n - 1], end);
+                    continue;
+                }
+                if (n + 2 > buffer.length) {
+                    buffer = Arrays.copyOf(buffer, buffer.length * 2);
+                }
+                buffer[n++] = start;
+                buffer[n++] = end;
+            }
+            spans[row - rowFrom] = n == 0 ? RowSpans.NONE : Arrays.copyOf(buffer, n);
+        }
+        return new RowSpans(rowFrom, spans);
+    }
+
+    /**
+     * Cạnh ngang bỏ qua; mỗi cạnh thành {rowStart, rowEnd, u tại rowStart, du/drow}
+     */
+    private static void addEdges(double[] ring, RasterGrid grid, int rowFrom, int rowTo, List<double[]> edges) {
+        int n = ring.length / 2;
+        for (int i = 0; i < n; i++) {
+            int j = (i + 1) % n;
+            double v1 = grid.rowOf(ring[2 * i + 1]);
+            double v2 = grid.rowOf(ring[2 * j + 1]);
+            if (v1 == v2) {
+                continue;
+            }
+            double u1 = grid.columnOf(ring[2 * i]);
+            double u2 = grid.columnOf(ring[2 * j]);
+            if (v1 > v2) {
+                double t = v1; v1 = v2; v2 = t;
+                t = u1; u1 = u2; u2 = t;
+            }
+            int start = Math.max(rowFrom, (int) Math.ceil(v1));
+            int end = Math.min(rowTo, (int) Math.ceil(v2));
+            if (start >= end) {
+                continue;
+            }
+            double slope = (u2 - u1) / (v2 - v1);
+            edges.add(new double[]{start, end, u1 + (start - v1) * slope, slope});
+        }
+    }
+}
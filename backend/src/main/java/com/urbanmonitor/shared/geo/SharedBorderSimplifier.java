@@ -0,0 +1,171 @@
+package com.urbanmonitor.shared.geo;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Topology-preserving Visvalingam-Whyatt cho một tập polygon có chung biên (ranh giới tỉnh).
+ *
+ * - Junction: điểm xuất hiện ở nhiều ring với cặp láng giềng khác nhau (nơi biên chung tách ra)
+ * - Mỗi ring được cắt thành các arc giữa các junction, junction có area +Infinity
+ * - Arc được tính theo chiều chuẩn hoá (điểm đầu <= điểm cuối), nên cùng một đoạn biên chung
+ *   ở hai tỉnh kề nhau cho ra cùng effective areas → simplify giống hệt nhau, không hở / chồng
+ */
+public final class SharedBorderSimplifier {
+
+    private SharedBorderSimplifier() {}
+
+    /**
+     * @return areas[geometry][polygon][ring][vertex]
+     */
+    public static double[][][][] computeAreas(List<PackedGeometry> geometries) {
+        Map<Point, Neighbors> seen = new HashMap<>();
+        for (PackedGeometry geometry : geometries) {
+            for (double[][] polygon : geometry.polygons()) {
+                for (double[] ring : polygon) {
+                    collectNeighbors(ring, seen);
+                }
+            }
+        }
+
+        double[][][][] areas = new double[geometries.size()][][][];
+        for (int g = 0; g < geometries.size(); g++) {
+            PackedGeometry geometry = geometries.get(g);
+            areas[g] = new double[geometry.polygonCount()][][];
+            for (int p = 0; p < geometry.polygonCount(); p++) {
+                double[][] rings = geometry.rings(p);
+                areas[g][p] = new double[rings.length][];
+                for (int r = 0; r < rings.length; r++) {
+                    areas[g][p][r] = ringAreas(rings[r], seen);
+                }
+            }
+        }
+        return areas;
+    }
+
+    private static void collectNeighbors(double[] ring, Map<Point, Neighbors> seen) {
+        int n = distinctCount(ring);
+        if (n < 3) return;
+        for (int i = 0; i < n; i++) {
+            Point point = point(ring, i);
+            Point prev = point(ring, (i - 1 + n) % n);
+            Point next = point(ring, (i + 1) % n);
+            Neighbors existing = seen.get(point);
+            if (existing == null) {
+                seen.put(point, new Neighbors(prev, next));
+            } else if (!existing.junction && !existing.sameAs(prev, next)) {
+                existing.junction = true;
+            }
+        }
+    }
+
+    private static double[] ringAreas(double[] ring, Map<Point, Neighbors> seen) {
+        int n = distinctCount(ring);
+        int total = ring.length / 2;
+        if (n < 4) {
+            return VisvalingamWhyatt.ringAreas(ring);
+        }
+
+        int[] junctions = new int[n];
+        int junctionCount = 0;
+        for (int i = 0; i < n; i++) {
+            Neighbors info = seen.get(point(ring, i));
+            if (info != null && info.junction) {
+                junctions[junctionCount++] = i;
+            }
+        }
+        if (junctionCount == 0) {
+            // Ring không chung biên với ai (đảo, tỉnh biên giới ngoài)
+            return VisvalingamWhyatt.ringAreas(ring);
+        }
+
+        double[] areas = new double[total];
+        for (int j = 0; j < junctionCount; j++) {
+            int from = junctions[j];
+            int to = j + 1 < junctionCount ? junctions[j + 1] : junctions[0] + n;
+            arcAreasWrapped(ring, n, from, to, areas);
+        }
+        if (junctionCount == 1) {
+            // Chỉ 1 junction: arc quay vòng cả ring, pin thêm điểm giữa để không suy biến
+            areas[(junctions[0] + n / 2) % n] = Double.POSITIVE_INFINITY;
+        }
+        if (total > n) {
+            areas[total - 1] = areas[0]; // điểm đóng ring
+        }
+        return areas;
+    }
+
+    /**
+     * Arc [from, to] theo index vòng (mod n), copy ra mảng tạm theo chiều chuẩn hoá rồi ghi ngược lại
+     */
+    private static void arcAreasWrapped(double[] ring, int n, int from, int to, double[] out) {
+        int len = to - from + 1;
+        double[] arc = new double[len * 2];
+        for (int k = 0; k < len; k++) {
+            int idx = (from + k) % n;
+            arc[2 * k] = ring[2 * idx];
+            arc[2 * k + 1] = ring[2 * idx + 1];
+        }
+
+        boolean reversed = compare(arc, 0, len - 1) > 0;
+        if (reversed) {
+            reverse(arc, len);
+        }
+
+        double[] arcOut = new double[len];
+        VisvalingamWhyatt.arcAreas(arc, 0, len - 1, arcOut);
+
+        for (int k = 0; k < len; k++) {
+            int idx = (from + k) % n;
+            out[idx] = reversed ? arcOut[len - 1 - k] : arcOut[k];
+        }
+    }
+
+    private static int compare(double[] arc, int a, int b) {
+        int c = Double.compare(arc[2 * a], arc[2 * b]);
+        return c != 0 ? c : Double.compare(arc[2 * a + 1], arc[2 * b + 1]);
+    }
+
+    private static void reverse(double[] arc, int len) {
+        for (int i = 0, j = len - 1; i < j; i++, j--) {
+            double x = arc[2 * i], y = arc[2 * i + 1];
+            arc[2 * i] = arc[2 * j];
+            arc[2 * i + 1] = arc[2 * j + 1];
+            arc[2 * j] = x;
+            arc[2 * j + 1] = y;
+        }
+    }
+
+    /**
+     * Số điểm phân biệt (bỏ điểm đóng ring nếu trùng điểm đầu)
+     */
+    private static int distinctCount(double[] ring) {
+        int n = ring.length / 2;
+        if (n > 1 && ring[0] == ring[2 * n - 2] && ring[1] == ring[2 * n - 1]) {
+            n--;
+        }
+        return n;
+    }
+
+    private static Point point(double[] ring, int i) {
+        return new Point(ring[2 * i], ring[2 * i + 1]);
+    }
+
+    private record Point(double x, double y) {}
+
+    private static final class Neighbors {
+        private final Point a;
+        private final Point b;
+        private boolean junction;
+
+        Neighbors(Point a, Point b) {
+            this.a = a;
+            this.b = b;
+        }
+
+        boolean sameAs(Point p, Point q) {
+            return (a.equals(p) && b.equals(q)) || (a.equals(q) && b.equals(p));
+        }
+    }
+}
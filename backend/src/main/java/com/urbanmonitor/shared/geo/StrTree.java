@@ -0,0 +1,193 @@
+package com.urbanmonitor.shared.geo;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Immutable R-tree đóng gói bằng Sort-Tile-Recursive (STR), build một lần rồi chỉ đọc.
+ *
+ * Items được sắp theo STR (chia slice theo lng, trong slice sắp theo lat) rồi gom liên tiếp
+ * NODE_CAPACITY items thành một leaf; các tầng trên gom liên tiếp NODE_CAPACITY node con.
+ * Bbox mọi tầng lưu trong double[] phẳng nên search không cấp phát, không boxing.
+ *
+ * Thread-safe để đọc đồng thời. Cập nhật = build cây mới (xem các index dùng delta layer).
+ */
+public final class StrTree<T> {
+
+    private static final int NODE_CAPACITY = 16;
+
+    private final Object[] items;
+    private final double[] itemBoxes;
+    /** levels[0] = leaf nodes (nhóm items), levels[k] = nhóm node của levels[k-1] */
+    private final double[][] levels;
+
+    private StrTree(Object[] items, double[] itemBoxes, double[][] levels) {
+        this.items = items;
+        this.itemBoxes = itemBoxes;
+        this.levels = levels;
+    }
+
+    public static <T> StrTree<T> empty() {
+        return new StrTree<>(new Object[0], new double[0], new double[0][]);
+    }
+
+    /**
+     * Items có bbox null / empty bị bỏ qua
+     */
+    public static <T> StrTree<T> build(List<T> values, Function<? super T, BoundingBox> boxOf) {
+        List<Entry> entries = new ArrayList<>(values.size());
+        for (T value : values) {
+            BoundingBox box = boxOf.apply(value);
+            if (box != null && !box.isEmpty()) {
+                entries.add(new Entry(value, box));
+            }
+        }
+        if (entries.isEmpty()) {
+            return empty();
+        }
+
+        sortTileRecursive(entries);
+
+        int n = entries.size();
+        Object[] items = new Object[n];
+        double[] boxes = new double[n * 4];
+        for (int i = 0; i < n; i++) {
+            Entry e = entries.get(i);
+            items[i] = e.value;
+            boxes[4 * i] = e.box.getMinLng();
+            boxes[4 * i + 1] = e.box.getMinLat();
+            boxes[4 * i + 2] = e.box.getMaxLng();
+            boxes[4 * i + 3] = e.box.getMaxLat();
+        }
+
+        List<double[]> levels = new ArrayList<>();
+        double[] current = boxes;
+        do {
+            current = group(current);
+            levels.add(current);
+        } while (current.length > 4);
+
+        return new StrTree<>(items, boxes, levels.toArray(new double[0][]));
+    }
+
+    public int size() {
+        return items.length;
+    }
+
+    public boolean isEmpty() {
+        return items.length == 0;
+    }
+
+    /**
+     * Gọi consumer cho mọi item có bbox giao với [minLng, minLat, maxLng, maxLat]
+     */
+    @SuppressWarnings("unchecked")
+    public void search(double minLng, double minLat, double maxLng, double maxLat, Consumer<? super T> consumer) {
+        if (items.length == 0) {
+            return;
+        }
+        int top = levels.length - 1;
+        // Stack (level, node) - độ sâu nhỏ (log16 n) nên mảng cố định là đủ
+        int[] stackLevel = new int[NODE_CAPACITY * levels.length + 1];
+        int[] stackNode = new int[stackLevel.length];
+        int sp = 0;
+        stackLevel[sp] = top;
+        stackNode[sp++] = 0;
+
+        while (sp > 0) {
+            int level = stackLevel[--sp];
+            int node = stackNode[sp];
+            if (!overlaps(levels[level], node, minLng, minLat, maxLng, maxLat)) {
+                continue;
+            }
+            int from = node * NODE_CAPACITY;
+            if (level == 0) {
+                int to = Math.min(items.length, from + NODE_CAPACITY);
+                for (int i = from; i < to; i++) {
+                    if (overlaps(itemBoxes, i, minLng, minLat, maxLng, maxLat)) {
+                        consumer.accept((T) items[i]);
+                    }
+                }
+            } else {
+                int to = Math.min(levels[level - 1].length / 4, from + NODE_CAPACITY);
+                for (int child = from; child < to; child++) {
+                    stackLevel[sp] = level - 1;
+                    stackNode[sp++] = child;
+                }
+            }
+        }
+    }
+
+    public void search(BoundingBox box, Consumer<? super T> consumer) {
+        search(box.getMinLng(), box.getMinLat(), box.getMaxLng(), box.getMaxLat(), consumer);
+    }
+
+    public List<T> search(BoundingBox box) {
+        List<T> result = new ArrayList<>();
+        search(box, result::add);
+        return result;
+    }
+
+    /**
+     * Candidates có bbox chứa điểm (cần kiểm tra geometry chính xác ở caller)
+     */
+    public void searchPoint(double lng, double lat, Consumer<? super T> consumer) {
+        search(lng, lat, lng, lat, consumer);
+    }
+
+    private static boolean overlaps(double[] boxes, int i, double minLng, double minLat, double maxLng, double maxLat) {
+        int o = 4 * i;
+        return boxes[o] <= maxLng && minLng <= boxes[o + 2]
+                && boxes[o + 1] <= maxLat && minLat <= boxes[o + 3];
+    }
+
+    /**
+     * Bbox của từng nhóm NODE_CAPACITY phần tử liên tiếp
+     */
+    private static double[] group(double[] boxes) {
+        int n = boxes.length / 4;
+        int groups = (n + NODE_CAPACITY - 1) / NODE_CAPACITY;
+        double[] out = new double[groups * 4];
+        for (int g = 0; g < groups; g++) {
+            double minX = Double.POSITIVE_INFINITY, minY = Double.POSITIVE_INFINITY;
+            double maxX = Double.NEGATIVE_INFINITY, maxY = Double.NEGATIVE_INFINITY;
+            int to = Math.min(n, (g + 1) * NODE_CAPACITY);
+            for (int i = g * NODE_CAPACITY; i < to; i++) {
+                minX = Math.min(minX, boxes[4 * i]);
+                minY = Math.min(minY, boxes[4 * i + 1]);
+                maxX = Math.max(maxX, boxes[4 * i + 2]);
+                maxY = Math.max(maxY, boxes[4 * i + 3]);
+            }
+            out[4 * g] = minX;
+            out[4 * g + 1] = minY;
+            out[4 * g + 2] = maxX;
+            out[4 * g + 3] = maxY;
+        }
+        return out;
+    }
+
+    /**
+     * STR: sắp theo tâm lng, chia ceil(sqrt(leafCount)) slices, mỗi slice sắp theo tâm lat
+     */
+    private static void sortTileRecursive(List<Entry> entries) {
+        int n = entries.size();
+        entries.sort(Comparator.comparingDouble(e -> e.box.centerLng()));
+        int leafCount = (n + NODE_CAPACITY - 1) / NODE_CAPACITY;
+        int sliceCount = (int) Math.ceil(Math.sqrt(leafCount));
+        int sliceSize = sliceCount * NODE_CAPACITY;
+
+        Entry[] sorted = entries.toArray(new Entry[0]);
+        for (int from = 0; from < n; from += sliceSize) {
+            int to = Math.min(n, from + sliceSize);
+            Arrays.sort(sorted, from, to, Comparator.comparingDouble(e -> e.box.centerLat()));
+        }
+        entries.clear();
+        entries.addAll(Arrays.asList(sorted));
+    }
+
+    private record Entry(Object value, BoundingBox box) {}
+}
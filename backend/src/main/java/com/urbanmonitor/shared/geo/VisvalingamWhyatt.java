@@ -0,0 +1,286 @@
+package com.urbanmonitor.shared.geo;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Visvalingam-Whyatt simplification trên packed rings.
+ *
+ * Mỗi vertex được gán một "effective area" (diện tích tam giác với 2 láng giềng
+ * tại thời điểm nó bị loại, đơn vị độ²). Simplify ở tolerance bất kỳ chỉ là
+ * lọc vertex có area >= threshold, nên tính area một lần là đủ cho mọi level.
+ *
+ * Vertex có area = +Infinity luôn được giữ (đầu mút arc, junction giữa các tỉnh).
+ */
+public final class VisvalingamWhyatt {
+
+    /** Closed ring tối thiểu: 3 điểm phân biệt + điểm đóng */
+    private static final int MIN_RING_POINTS = 4;
+
+    private VisvalingamWhyatt() {}
+
+    /**
+     * Effective areas cho một ring độc lập (không chia sẻ biên với ring khác).
+     * Pin điểm đầu/cuối và điểm xa điểm đầu nhất để ring không bao giờ suy biến thành đoạn thẳng.
+     */
+    public static double[] ringAreas(double[] ring) {
+        int n = ring.length / 2;
+        double[] areas = new double[n];
+        if (n <= MIN_RING_POINTS) {
+            Arrays.fill(areas, Double.POSITIVE_INFINITY);
+            return areas;
+        }
+
+        int far = 0;
+        double best = -1;
+        for (int i = 1; i < n - 1; i++) {
+            double dx = ring[2 * i] - ring[0], dy = ring[2 * i + 1] - ring[1];
+            double d = dx * dx + dy * dy;
+            if (d > best) {
+                best = d;
+                far = i;
+            }
+        }
+        arcAreas(ring, 0, far, areas);
+        arcAreas(ring, far, n - 1, areas);
+        return areas;
+    }
+
+    /**
+     * Effective areas cho arc từ vertex {@code from} tới {@code to} (inclusive) của packed coords.
+     * Hai đầu mút nhận +Infinity. Kết quả ghi vào {@code out[from..to]}.
+     */
+    public static void arcAreas(double[] coords, int from, int to, double[] out) {
+        int n = to - from + 1;
+        out[from] = Double.POSITIVE_INFINITY;
+        out[to] = Double.POSITIVE_INFINITY;
+        if (n <= 2) {
+            return;
+        }
+
+        int[] prev = new int[n];
+        int[] next = new int[n];
+        double[] area = new double[n];
+        for (int i = 0; i < n; i++) {
+            prev[i] = i - 1;
+            next[i] = i + 1;
+        }
+
+        AreaHeap heap = new AreaHeap(n, area);
+        for (int i = 1; i < n - 1; i++) {
+            area[i] = triangleArea(coords, from + i - 1, from + i, from + i + 1);
+            heap.push(i);
+        }
+
+        double maxSoFar = 0;
+        while (!heap.isEmpty()) {
+            int i = heap.pop();
+            // Effective area đơn điệu tăng: vertex bị loại sau không "rẻ" hơn vertex trước
+            maxSoFar = Math.max(maxSoFar, area[i]);
+            out[from + i] = maxSoFar;
+
+            int p = prev[i], q = next[i];
+            next[p] = q;
+            prev[q] = p;
+            if (p > 0) {
+                area[p] = triangleArea(coords, from + prev[p], from + p, from + q);
+                heap.update(p);
+            }
+            if (q < n - 1) {
+                area[q] = triangleArea(coords, from + p, from + q, from + next[q]);
+                heap.update(q);
+            }
+        }
+    }
+
+    /**
+     * Giữ vertex có area >= threshold. Nếu ring bị suy biến (< 4 điểm) thì hạ threshold
+     * vừa đủ để giữ các vertex "quan trọng" nhất.
+     */
+    public static double[] filterRing(double[] ring, double[] areas, double threshold) {
+        int n = ring.length / 2;
+        if (threshold <= 0 || n <= MIN_RING_POINTS) {
+            return ring;
+        }
+
+        int kept = 0;
+        for (double a : areas) {
+            if (a >= threshold) kept++;
+        }
+        if (kept < MIN_RING_POINTS) {
+            double[] sorted = areas.clone();
+            Arrays.sort(sorted);
+            threshold = sorted[n - MIN_RING_POINTS];
+        }
+        if (kept == n) {
+            return ring;
+        }
+
+        DoubleArrayBuilder out = new DoubleArrayBuilder(Math.max(kept, MIN_RING_POINTS) * 2 + 2);
+        for (int i = 0; i < n; i++) {
+            if (areas[i] >= threshold) {
+                out.add(ring[2 * i], ring[2 * i + 1]);
+            }
+        }
+        // Điểm đầu có thể bị loại (không phải junction) → đóng lại ring
+        boolean closed = ring[0] == ring[2 * n - 2] && ring[1] == ring[2 * n - 1];
+        if (closed && (out.get(0) != out.get(out.size() - 2) || out.get(1) != out.get(out.size() - 1))) {
+            out.add(out.get(0), out.get(1));
+        }
+        return out.toArray();
+    }
+
+    /**
+     * Simplify cả geometry với areas tính sẵn ({@code areas[polygon][ring][vertex]}).
+     * Ring (hole, đảo nhỏ) có diện tích nhỏ hơn threshold bị bỏ; polygon lớn nhất luôn được giữ.
+     */
+    public static PackedGeometry simplify(PackedGeometry geometry, double[][][] areas, double threshold) {
+        if (threshold <= 0) {
+            return geometry;
+        }
+
+        int largest = largestPolygon(geometry);
+        List<double[][]> polygons = new ArrayList<>(geometry.polygonCount());
+        for (int p = 0; p < geometry.polygonCount(); p++) {
+            double[][] rings = geometry.rings(p);
+            if (rings.length == 0) continue;
+            if (p != largest && Math.abs(PackedGeometry.signedArea(rings[0])) < threshold) {
+                continue;
+            }
+
+            List<double[]> kept = new ArrayList<>(rings.length);
+            kept.add(filterRing(rings[0], areas[p][0], threshold));
+            for (int r = 1; r < rings.length; r++) {
+                if (Math.abs(PackedGeometry.signedArea(rings[r])) >= threshold) {
+                    kept.add(filterRing(rings[r], areas[p][r], threshold));
+                }
+            }
+            polygons.add(kept.toArray(new double[0][]));
+        }
+        return rebuild(polygons);
+    }
+
+    /**
+     * Simplify geometry đơn lẻ (vd: polygon của disaster zone) - không cần giữ topology với ai
+     */
+    public static PackedGeometry simplify(PackedGeometry geometry, double threshold) {
+        if (threshold <= 0) {
+            return geometry;
+        }
+        return simplify(geometry, areasOf(geometry), threshold);
+    }
+
+    public static double[][][] areasOf(PackedGeometry geometry) {
+        double[][][] areas = new double[geometry.polygonCount()][][];
+        for (int p = 0; p < geometry.polygonCount(); p++) {
+            double[][] rings = geometry.rings(p);
+            areas[p] = new double[rings.length][];
+            for (int r = 0; r < rings.length; r++) {
+                areas[p][r] = ringAreas(rings[r]);
+            }
+        }
+        return areas;
+    }
+
+    static PackedGeometry rebuild(List<double[][]> polygons) {
+        return PackedGeometry.of(polygons.toArray(new double[0][][]));
+    }
+
+    private static int largestPolygon(PackedGeometry geometry) {
+        int largest = 0;
+        double best = -1;
+        for (int p = 0; p < geometry.polygonCount(); p++) {
+            double[][] rings = geometry.rings(p);
+            double a = rings.length > 0 ? Math.abs(PackedGeometry.signedArea(rings[0])) : 0;
+            if (a > best) {
+                best = a;
+                largest = p;
+            }
+        }
+        return largest;
+    }
+
+    private static double triangleArea(double[] c, int a, int b, int d) {
+        double ax = c[2 * a], ay = c[2 * a + 1];
+        return Math.abs((c[2 * b] - ax) * (c[2 * d + 1] - ay) - (c[2 * d] - ax) * (c[2 * b + 1] - ay)) / 2;
+    }
+
+    /**
+     * Binary min-heap của vertex index theo area, hỗ trợ update key
+     */
+    private static final class AreaHeap {
+        private final int[] heap;
+        private final int[] position;
+        private final double[] area;
+        private int size;
+
+        AreaHeap(int capacity, double[] area) {
+            this.heap = new int[capacity];
+            this.position = new int[capacity];
+            this.area = area;
+            Arrays.fill(position, -1);
+        }
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+
+        void push(int v) {
+            heap[size] = v;
+            position[v] = size;
+            siftUp(size++);
+        }
+
+        int pop() {
+            int top = heap[0];
+            position[top] = -1;
+            if (--size > 0) {
+                heap[0] = heap[size];
+                position[heap[0]] = 0;
+                siftDown(0);
+            }
+            return top;
+        }
+
+        void update(int v) {
+            int i = position[v];
+            if (i < 0) return;
+            siftUp(i);
+            siftDown(position[v]);
+        }
+
+        private boolean less(int i, int j) {
+            double a = area[heap[i]], b = area[heap[j]];
+            return a < b || (a == b && heap[i] < heap[j]);
+        }
+
+        private void siftUp(int i) {
+            while (i > 0) {
+                int parent = (i - 1) / 2;
+                if (!less(i, parent)) break;
+                swap(i, parent);
+                i = parent;
+            }
+        }
+
+        private void siftDown(int i) {
+            while (true) {
+                int l = 2 * i + 1, r = l + 1, smallest = i;
+                if (l < size && less(l, smallest)) smallest = l;
+                if (r < size && less(r, smallest)) smallest = r;
+                if (smallest == i) return;
+                swap(i, smallest);
+                i = smallest;
+            }
+        }
+
+        private void swap(int i, int j) {
+            int t = heap[i];
+            heap[i] = heap[j];
+            heap[j] = t;
+            position[heap[i]] = i;
+            position[heap[j]] = j;
+        }
+    }
+}
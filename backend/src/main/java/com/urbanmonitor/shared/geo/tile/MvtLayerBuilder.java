@@ -0,0 +1,251 @@
+package com.urbanmonitor.shared.geo.tile;
+
+import com.urbanmonitor.shared.geo.PackedGeometry;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * BUILDER PATTERN - Một layer của Mapbox Vector Tile (spec v2.1).
+ *
+ * Nhận polygon lng/lat đã clip theo tile (có buffer), chiếu + quantize về lưới extent,
+ * encode geometry commands (MoveTo / LineTo / ClosePath, delta zigzag), dedupe keys / values.
+ * Exterior ring có diện tích dương theo toạ độ tile (y hướng xuống), holes âm.
+ */
+public final class MvtLayerBuilder {
+
+    public static final int DEFAULT_EXTENT = 4096;
+
+    private static final int CMD_MOVE_TO = 1;
+    private static final int CMD_LINE_TO = 2;
+    private static final int CMD_CLOSE_PATH = 7;
+    private static final int GEOM_POLYGON = 3;
+
+    private final String name;
+    private final int extent;
+    private final TileCoordinates tile;
+
+    private final Map<String, Integer> keys = new HashMap<>();
+    private final Map<Object, Integer> values = new HashMap<>();
+    private final ProtobufWriter keysOut = new ProtobufWriter();
+    private final ProtobufWriter valuesOut = new ProtobufWriter();
+    private final ProtobufWriter featuresOut = new ProtobufWriter(4096);
+    private int featureCount;
+
+    // Buffers tái sử dụng giữa các feature
+    private int[] commands = new int[256];
+    private int commandCount;
+    private int[] tags = new int[64];
+    private int[] ringX = new int[256];
+    private int[] ringY = new int[256];
+    private int cursorX;
+    private int cursorY;
+
+    public MvtLayerBuilder(String name, TileCoordinates tile) {
+        this(name, tile, DEFAULT_EXTENT);
+    }
+
+    public MvtLayerBuilder(String name, TileCoordinates tile, int extent) {
+        this.name = name;
+        this.tile = tile;
+        this.extent = extent;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getExtent() {
+        return extent;
+    }
+
+    public int featureCount() {
+        return featureCount;
+    }
+
+    public boolean isEmpty() {
+        return featureCount == 0;
+    }
+
+    /**
+     * @param id         feature id (null nếu không có)
+     * @param geometry   polygon lng/lat đã clip theo bounds của tile
+     * @param properties null values bị bỏ qua
+     * @return false nếu sau khi quantize không còn ring nào hợp lệ
+     */
+    public boolean addPolygon(Long id, PackedGeometry geometry, Map<String, Object> properties) {
+        commandCount = 0;
+        cursorX = 0;
+        cursorY = 0;
+        for (int p = 0; p < geometry.polygonCount(); p++) {
+            double[][] rings = geometry.rings(p);
+            if (rings.length == 0 || !encodeRing(rings[0], true)) {
+                continue; // exterior suy biến → bỏ cả polygon
+            }
+            for (int r = 1; r < rings.length; r++) {
+                encodeRing(rings[r], false);
+            }
+        }
+        if (commandCount == 0) {
+            return false;
+        }
+
+        int tagCount = 0;
+        for (Map.Entry<String, Object> entry : properties.entrySet()) {
+            Object value = normalize(entry.getValue());
+            if (value == null) {
+                continue;
+            }
+            if (tagCount + 2 > tags.length) {
+                tags = Arrays.copyOf(tags, tags.length * 2);
+            }
+            tags[tagCount++] = keyIndex(entry.getKey());
+            tags[tagCount++] = valueIndex(value);
+        }
+
+        ProtobufWriter feature = new ProtobufWriter(commandCount * 2 + tagCount + 16);
+        if (id != null) {
+            feature.writeVarintField(1, id);
+        }
+        feature.writePackedField(2, tags, tagCount);
+        feature.writeVarintField(3, GEOM_POLYGON);
+        feature.writePackedField(4, commands, commandCount);
+        featuresOut.writeMessageField(2, feature);
+        featureCount++;
+        return true;
+    }
+
+    /**
+     * Ghi layer (field 3 của Tile message)
+     */
+    public void writeTo(ProtobufWriter tileOut) {
+        ProtobufWriter layer = new ProtobufWriter(featuresOut.size() + keysOut.size() + valuesOut.size() + 32);
+        layer.writeVarintField(15, 2);
+        layer.writeStringField(1, name);
+        layer.append(featuresOut);
+        layer.append(keysOut);
+        layer.append(valuesOut);
+        layer.writeVarintField(5, extent);
+        tileOut.writeMessageField(3, layer);
+    }
+
+    // ==================== GEOMETRY ====================
+
+    private boolean encodeRing(double[] ring, boolean exterior) {
+        int n = 0;
+        for (int i = 0; i + 1 < ring.length; i += 2) {
+            int px = (int) Math.round(tile.projectX(ring[i], extent));
+            int py = (int) Math.round(tile.projectY(ring[i + 1], extent));
+            if (n > 0 && ringX[n - 1] == px && ringY[n - 1] == py) {
+                continue;
+            }
+            if (n == ringX.length) {
+                ringX = Arrays.copyOf(ringX, n * 2);
+                ringY = Arrays.copyOf(ringY, n * 2);
+            }
+            ringX[n] = px;
+            ringY[n] = py;
+            n++;
+        }
+        // ClosePath tự nối về điểm đầu, không encode điểm đóng
+        while (n > 1 && ringX[n - 1] == ringX[0] && ringY[n - 1] == ringY[0]) {
+            n--;
+        }
+        if (n < 3) {
+            return false;
+        }
+
+        long area2 = 0;
+        for (int i = 0, j = n - 1; i < n; j = i++) {
+            area2 += (long) ringX[j] * ringY[i] - (long) ringX[i] * ringY[j];
+        }
+        if (area2 == 0) {
+            return false;
+        }
+        boolean reverse = (area2 > 0) != exterior;
+
+        ensureCommands(n * 2 + 3);
+        commands[commandCount++] = command(CMD_MOVE_TO, 1);
+        appendPoint(reverse ? n - 1 : 0);
+        commands[commandCount++] = command(CMD_LINE_TO, n - 1);
+        for (int k = 1; k < n; k++) {
+            appendPoint(reverse ? n - 1 - k : k);
+        }
+        commands[commandCount++] = command(CMD_CLOSE_PATH, 1);
+        return true;
+    }
+
+    private void appendPoint(int index) {
+        int dx = ringX[index] - cursorX;
+        int dy = ringY[index] - cursorY;
+        commands[commandCount++] = (dx << 1) ^ (dx >> 31);
+        commands[commandCount++] = (dy << 1) ^ (dy >> 31);
+        cursorX = ringX[index];
+        cursorY = ringY[index];
+    }
+
+    private static int command(int id, int count) {
+        return (id & 0x7) | (count << 3);
+    }
+
+    private void ensureCommands(int extra) {
+        if (commandCount + extra > commands.length) {
+            commands = Arrays.copyOf(commands, Math.max(commands.length * 2, commandCount + extra));
+        }
+    }
+
+    // ==================== KEYS / VALUES ====================
+
+    private int keyIndex(String key) {
+        Integer index = keys.get(key);
+        if (index == null) {
+            index = keys.size();
+            keys.put(key, index);
+            keysOut.writeStringField(3, key);
+        }
+        return index;
+    }
+
+    private int valueIndex(Object value) {
+        Integer index = values.get(value);
+        if (index == null) {
+            index = values.size();
+            values.put(value, index);
+            ProtobufWriter v = new ProtobufWriter(16);
+            if (value instanceof String s) {
+                v.writeStringField(1, s);
+            } else if (value instanceof Double d) {
+                v.writeDoubleField(3, d);
+            } else if (value instanceof Long l) {
+                v.writeSintField(6, l);
+            } else {
+                v.writeBoolField(7, (Boolean) value);
+            }
+            valuesOut.writeMessageField(4, v);
+        }
+        return index;
+    }
+
+    /**
+     * MVT value types: string / double / sint / bool
+     */
+    private static Object normalize(Object value) {
+        if (value == null) {
+            return null;
+        }
+        if (value instanceof String || value instanceof Boolean) {
+            return value;
+        }
+        if (value instanceof Double || value instanceof Float) {
+            return ((Number) value).doubleValue();
+        }
+        if (value instanceof Number number) {
+            return number.longValue();
+        }
+        if (value instanceof Enum<?> e) {
+            return e.name();
+        }
+        return value.toString();
+    }
+}
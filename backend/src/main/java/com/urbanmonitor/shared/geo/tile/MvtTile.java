@@ -0,0 +1,19 @@
+package com.urbanmonitor.shared.geo.tile;
+
+/**
+ * Ghép các layer thành Tile message. Layer rỗng bị bỏ qua.
+ */
+public final class MvtTile {
+
+    private MvtTile() {}
+
+    public static byte[] encode(MvtLayerBuilder... layers) {
+        ProtobufWriter out = new ProtobufWriter(8192);
+        for (MvtLayerBuilder layer : layers) {
+            if (!layer.isEmpty()) {
+                layer.writeTo(out);
+            }
+        }
+        return out.toByteArray();
+    }
+}
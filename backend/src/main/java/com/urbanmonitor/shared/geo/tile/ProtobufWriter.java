@@ -0,0 +1,134 @@
+package com.urbanmonitor.shared.geo.tile;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Protobuf wire format writer tối giản (chỉ những gì MVT cần): varint, length-delimited, packed.
+ * Không phụ thuộc protobuf-java.
+ */
+public final class ProtobufWriter {
+
+    static final int WIRE_VARINT = 0;
+    static final int WIRE_FIXED64 = 1;
+    static final int WIRE_LENGTH_DELIMITED = 2;
+
+    private byte[] buffer;
+    private int size;
+
+    public ProtobufWriter() {
+        this(256);
+    }
+
+    public ProtobufWriter(int initialCapacity) {
+        this.buffer = new byte[Math.max(16, initialCapacity)];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public byte[] toByteArray() {
+        return Arrays.copyOf(buffer, size);
+    }
+
+    public void writeVarintField(int field, long value) {
+        writeTag(field, WIRE_VARINT);
+        writeVarint(value);
+    }
+
+    public void writeSintField(int field, long value) {
+        writeVarintField(field, (value << 1) ^ (value >> 63));
+    }
+
+    public void writeBoolField(int field, boolean value) {
+        writeVarintField(field, value ? 1 : 0);
+    }
+
+    public void writeDoubleField(int field, double value) {
+        writeTag(field, WIRE_FIXED64);
+        long bits = Double.doubleToLongBits(value);
+        ensure(8);
+        for (int i = 0; i < 8; i++) {
+            buffer[size++] = (byte) (bits >>> (8 * i));
+        }
+    }
+
+    public void writeStringField(int field, String value) {
+        writeBytesField(field, value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public void writeBytesField(int field, byte[] bytes) {
+        writeTag(field, WIRE_LENGTH_DELIMITED);
+        writeVarint(bytes.length);
+        writeRaw(bytes, 0, bytes.length);
+    }
+
+    /**
+     * Embedded message: nội dung của writer khác
+     */
+    public void writeMessageField(int field, ProtobufWriter message) {
+        writeTag(field, WIRE_LENGTH_DELIMITED);
+        writeVarint(message.size);
+        writeRaw(message.buffer, 0, message.size);
+    }
+
+    /**
+     * Nối nguyên bytes của writer khác (các field đã có tag sẵn)
+     */
+    public void append(ProtobufWriter other) {
+        writeRaw(other.buffer, 0, other.size);
+    }
+
+    /**
+     * repeated uint32 [packed = true]
+     */
+    public void writePackedField(int field, int[] values, int count) {
+        if (count == 0) {
+            return;
+        }
+        int length = 0;
+        for (int i = 0; i < count; i++) {
+            length += varintSize(values[i] & 0xFFFFFFFFL);
+        }
+        writeTag(field, WIRE_LENGTH_DELIMITED);
+        writeVarint(length);
+        for (int i = 0; i < count; i++) {
+            writeVarint(values[i] & 0xFFFFFFFFL);
+        }
+    }
+
+    private void writeTag(int field, int wireType) {
+        writeVarint(((long) field << 3) | wireType);
+    }
+
+    private void writeVarint(long value) {
+        ensure(10);
+        while ((value & ~0x7FL) != 0) {
+            buffer[size++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buffer[size++] = (byte) value;
+    }
+
+    private void writeRaw(byte[] bytes, int offset, int length) {
+        ensure(length);
+        System.arraycopy(bytes, offset, buffer, size, length);
+        size += length;
+    }
+
+    private static int varintSize(long value) {
+        int n = 1;
+        while ((value & ~0x7FL) != 0) {
+            value >>>= 7;
+            n++;
+        }
+        return n;
+    }
+
+    private void ensure(int extra) {
+        if (size + extra > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, size + extra));
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.urbanmonitor.shared.geo.tile;
+
+import com.urbanmonitor.shared.geo.BoundingBox;
+
+/**
+ * VALUE OBJECT - Tile z/x/y theo Web Mercator (XYZ, y tính từ bắc xuống).
+ * Chiếu lng/lat → toạ độ nguyên trong tile [0, extent).
+ */
+public final class TileCoordinates {
+
+    public static final int MAX_ZOOM = 22;
+    public static final double MAX_LATITUDE = 85.0511287798066;
+
+    private final int z;
+    private final int x;
+    private final int y;
+    private final double scale;
+
+    public TileCoordinates(int z, int x, int y) {
+        if (z < 0 || z > MAX_ZOOM) {
+            throw new IllegalArgumentException("zoom must be between 0 and " + MAX_ZOOM + ": " + z);
+        }
+        int n = 1 << z;
+        if (x < 0 || x >= n || y < 0 || y >= n) {
+            throw new IllegalArgumentException("Tile " + z + "/" + x + "/" + y + " out of range");
+        }
+        this.z = z;
+        this.x = x;
+        this.y = y;
+        this.scale = n;
+    }
+
+    public int getZ() { return z; }
+    public int getX() { return x; }
+    public int getY() { return y; }
+
+    /**
+     * Bbox lng/lat của tile, nới thêm buffer (đơn vị: phần của tile, vd 64/4096)
+     */
+    public BoundingBox bounds(double buffer) {
+        return new BoundingBox(
+                tileXToLng(x - buffer), tileYToLat(y + 1 + buffer),
+                tileXToLng(x + 1 + buffer), tileYToLat(y - buffer));
+    }
+
+    public BoundingBox bounds() {
+        return bounds(0);
+    }
+
+    /**
+     * Toạ độ trong tile (0..extent), chưa làm tròn
+     */
+    public double projectX(double lng, int extent) {
+        return ((lng + 180) / 360 * scale - x) * extent;
+    }
+
+    public double projectY(double lat, int extent) {
+        double clamped = Math.max(-MAX_LATITUDE, Math.min(MAX_LATITUDE, lat));
+        double rad = Math.toRadians(clamped);
+        double mercator = (1 - Math.log(Math.tan(rad) + 1 / Math.cos(rad)) / Math.PI) / 2;
+        return (mercator * scale - y) * extent;
+    }
+
+    private double tileXToLng(double tileX) {
+        return tileX / scale * 360 - 180;
+    }
+
+    private double tileYToLat(double tileY) {
+        double n = Math.PI - 2 * Math.PI * tileY / scale;
+        double lat = Math.toDegrees(Math.atan(Math.sinh(n)));
+        return Math.max(-MAX_LATITUDE, Math.min(MAX_LATITUDE, lat));
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof TileCoordinates t && t.z == z && t.x == x && t.y == y;
+    }
+
+    @Override
+    public int hashCode() {
+        return (z * 31 + x) * 31 + y;
+    }
+
+    @Override
+    public String toString() {
+        return z + "/" + x + "/" + y;
+    }
+}
@@ -0,0 +1,49 @@
+package com.urbanmonitor.shared.imports;
+
+import java.util.function.Function;
+
+/**
+ * Một cột của bảng đích và cách lấy giá trị từ entity (enum ghi bằng name())
+ *
+ * @param updatable false với cột chỉ ghi khi insert (vd. created_at)
+ */
+public record ImportColumn<T>(String name, Function<T, ?> getter, boolean updatable) {
+
+    public static <T> ImportColumn<T> of(String name, Function<T, ?> getter) {
+        return new ImportColumn<>(name, getter, true);
+    }
+
+    public static <T> ImportColumn<T> insertOnly(String name, Function<T, ?> getter) {
+        return new ImportColumn<>(name, getter, false);
+    }
+
+    Object valueOf(T entity) {
+        Object value = getter.apply(entity);
+        return value instanceof Enum<?> e ? e.name() : value;
+    }
+
+    /**
+     * Tên field của entity ứng với cột (snake_case → camelCase)
+     */
+    String property() {
+        return property(name);
+    }
+
+    static String property(String column) {
+        String name = column.trim();
+        if (name.indexOf('_') < 0) {
+            return name;
+        }
+        StringBuilder out = new StringBuilder(name.length());
+        boolean upper = false;
+        for (char c : name.toCharArray()) {
+            if (c == '_') {
+                upper = out.length() > 0;
+            } else {
+                out.append(upper ? Character.toUpperCase(c) : Character.toLowerCase(c));
+                upper = false;
+            }
+        }
+        return out.toString();
+    }
+}
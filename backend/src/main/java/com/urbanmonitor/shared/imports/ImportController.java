@@ -0,0 +1,52 @@
+package com.urbanmonitor.shared.imports;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Import hàng loạt: POST file → job chạy nền, theo dõi progress qua /jobs/{id}
+ */
+@RestController
+@RequestMapping("/api/import")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+public class ImportController {
+
+    private final ImportService importService;
+
+    @GetMapping("/targets")
+    public ResponseEntity<Set<String>> getTargets() {
+        return ResponseEntity.ok(importService.getTargetNames());
+    }
+
+    /**
+     * @param format GEOJSON / NDJSON / CSV, bỏ trống thì đoán theo đuôi file
+     */
+    @PostMapping(value = "/{target}", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ImportJob> submit(
+            @PathVariable String target,
+            @RequestParam("file") MultipartFile file,
+            @RequestParam(required = false) String format) throws IOException {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(importService.submit(target, format, file));
+    }
+
+    @GetMapping("/jobs")
+    public ResponseEntity<List<ImportJob>> getJobs() {
+        return ResponseEntity.ok(importService.getJobs());
+    }
+
+    @GetMapping("/jobs/{id}")
+    public ResponseEntity<ImportJob> getJob(@PathVariable String id) {
+        return importService.getJob(id)
+            .map(ResponseEntity::ok)
+            .orElse(ResponseEntity.notFound().build());
+    }
+}
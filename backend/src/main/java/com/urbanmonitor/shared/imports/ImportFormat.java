@@ -0,0 +1,31 @@
+package com.urbanmonitor.shared.imports;
+
+import java.util.Locale;
+
+/**
+ * Định dạng file import. GEOJSON nhận cả FeatureCollection lẫn JSON array các object
+ * (payload cũ của các endpoint saveAll).
+ */
+public enum ImportFormat {
+    GEOJSON,
+    NDJSON,
+    CSV;
+
+    /**
+     * Format chỉ định (nếu có) hoặc đoán theo đuôi file
+     */
+    public static ImportFormat resolve(String requested, String filename) {
+        if (requested != null && !requested.isBlank()) {
+            try {
+                return valueOf(requested.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unsupported import format: " + requested);
+            }
+        }
+        String name = filename == null ? "" : filename.toLowerCase(Locale.ROOT);
+        if (name.endsWith(".csv")) return CSV;
+        if (name.endsWith(".ndjson") || name.endsWith(".jsonl")) return NDJSON;
+        if (name.endsWith(".geojson") || name.endsWith(".json")) return GEOJSON;
+        throw new IllegalArgumentException("Cannot detect import format of '" + filename + "', pass ?format=");
+    }
+}
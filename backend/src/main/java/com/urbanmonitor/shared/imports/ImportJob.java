@@ -0,0 +1,106 @@
+package com.urbanmonitor.shared.imports;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Trạng thái một job import, cập nhật sau mỗi chunk và đọc trực tiếp bởi GET /api/import/jobs/{id}
+ */
+@Getter
+public class ImportJob {
+
+    public enum State {
+        QUEUED, RUNNING, COMPLETED, FAILED
+    }
+
+    /** Số lỗi tối đa giữ lại để trả về, các lỗi sau chỉ được đếm */
+    static final int MAX_ERRORS = 100;
+
+    private final String id = UUID.randomUUID().toString();
+    private final String target;
+    private final ImportFormat format;
+    private final String filename;
+    private final long totalBytes;
+    private final LocalDateTime submittedAt = LocalDateTime.now();
+
+    private volatile State state = State.QUEUED;
+    private volatile LocalDateTime startedAt;
+    private volatile LocalDateTime finishedAt;
+    private volatile String message;
+
+    @Getter(AccessLevel.NONE) private final AtomicLong bytesRead = new AtomicLong();
+    @Getter(AccessLevel.NONE) private final AtomicLong read = new AtomicLong();
+    @Getter(AccessLevel.NONE) private final AtomicLong created = new AtomicLong();
+    @Getter(AccessLevel.NONE) private final AtomicLong updated = new AtomicLong();
+    @Getter(AccessLevel.NONE) private final AtomicLong rejected = new AtomicLong();
+    @Getter(AccessLevel.NONE) private final List<String> errors = new ArrayList<>();
+
+    ImportJob(String target, ImportFormat format, String filename, long totalBytes) {
+        this.target = target;
+        this.format = format;
+        this.filename = filename;
+        this.totalBytes = totalBytes;
+    }
+
+    public long getRead() { return read.get(); }
+    public long getCreated() { return created.get(); }
+    public long getUpdated() { return updated.get(); }
+    public long getRejected() { return rejected.get(); }
+
+    /**
+     * Tỷ lệ bytes của file đã được đọc (0..1)
+     */
+    public double getProgress() {
+        if (state == State.COMPLETED) return 1.0;
+        return totalBytes <= 0 ? 0.0 : Math.min(1.0, (double) bytesRead.get() / totalBytes);
+    }
+
+    public List<String> getErrors() {
+        synchronized (errors) {
+            return List.copyOf(errors);
+        }
+    }
+
+    // ---- cập nhật bởi ImportService ----
+
+    void start() {
+        startedAt = LocalDateTime.now();
+        state = State.RUNNING;
+    }
+
+    void complete() {
+        finishedAt = LocalDateTime.now();
+        state = State.COMPLETED;
+    }
+
+    void fail(String reason) {
+        finishedAt = LocalDateTime.now();
+        message = reason;
+        state = State.FAILED;
+    }
+
+    AtomicLong bytesReadCounter() {
+        return bytesRead;
+    }
+
+    void recordChunk(long records, long createdCount, long updatedCount) {
+        read.addAndGet(records);
+        created.addAndGet(createdCount);
+        updated.addAndGet(updatedCount);
+    }
+
+    void reject(long line, String reason) {
+        rejected.incrementAndGet();
+        synchronized (errors) {
+            if (errors.size() < MAX_ERRORS) {
+                errors.add("line " + line + ": " + reason);
+            }
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.urbanmonitor.shared.imports;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Một bản ghi đọc từ file: các field phẳng (tên field của entity) và geometry GeoJSON nếu có
+ *
+ * @param line  dòng bắt đầu bản ghi trong file (để báo lỗi)
+ * @param error lý do loại khi reader không đọc được bản ghi (dòng hỏng, không phải object), null nếu hợp lệ
+ */
+public record ImportRecord(long line, ObjectNode fields, JsonNode geometry, String error) {
+
+    public ImportRecord(long line, ObjectNode fields, JsonNode geometry) {
+        this(line, fields, geometry, null);
+    }
+
+    static ImportRecord rejected(long line, String error) {
+        return new ImportRecord(line, null, null, error);
+    }
+}
@@ -0,0 +1,197 @@
+package com.urbanmonitor.shared.imports;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvParser;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+/**
+ * Đọc tuần tự từng bản ghi bằng streaming parser của Jackson: tại mỗi thời điểm chỉ
+ * một feature / một dòng nằm trên heap.
+ *
+ * - GEOJSON: FeatureCollection (properties + geometry, id của feature thành field id)
+ *   hoặc JSON array các object
+ * - NDJSON: mỗi dòng một Feature hoặc một object
+ * - CSV: dòng đầu là header, tên cột camelCase hoặc snake_case, ô trống = null
+ *
+ * Dòng NDJSON / CSV hỏng và phần tử không phải object thành bản ghi bị loại (error != null),
+ * đọc tiếp bản ghi sau. Lỗi cú pháp giữa mảng GeoJSON không đồng bộ lại được → IOException.
+ */
+public abstract class ImportRecordReader implements Closeable {
+
+    public static ImportRecordReader open(ImportFormat format, InputStream in, ObjectMapper mapper) throws IOException {
+        return switch (format) {
+            case GEOJSON -> new JsonArrayReader(mapper, in);
+            case NDJSON -> new NdjsonReader(mapper, in);
+            case CSV -> new CsvReader(mapper, in);
+        };
+    }
+
+    /**
+     * Bản ghi tiếp theo, null khi hết file
+     */
+    public abstract ImportRecord next() throws IOException;
+
+    static ImportRecord toRecord(long line, JsonNode node, ObjectMapper mapper) {
+        if (!node.isObject()) {
+            return ImportRecord.rejected(line, "expected a JSON object");
+        }
+        ObjectNode object = (ObjectNode) node;
+        if ("Feature".equals(object.path("type").asText())) {
+            ObjectNode fields = object.path("properties").isObject()
+                ? (ObjectNode) object.get("properties")
+                : mapper.createObjectNode();
+            if (object.hasNonNull("id") && !fields.has("id")) {
+                fields.set("id", object.get("id"));
+            }
+            return new ImportRecord(line, fields, object.get("geometry"));
+        }
+        JsonNode geometry = object.remove("geometry");
+        return new ImportRecord(line, object, geometry);
+    }
+
+    /**
+     * FeatureCollection: nhảy tới mảng "features"; JSON array: đọc thẳng các phần tử
+     */
+    private static final class JsonArrayReader extends ImportRecordReader {
+
+        private final ObjectMapper mapper;
+        private final JsonParser parser;
+
+        JsonArrayReader(ObjectMapper mapper, InputStream in) throws IOException {
+            this.mapper = mapper;
+            this.parser = mapper.getFactory().createParser(in);
+            JsonToken first = parser.nextToken();
+            if (first == JsonToken.START_OBJECT) {
+                seekFeatures();
+            } else if (first != JsonToken.START_ARRAY) {
+                throw new IllegalArgumentException("Expected a GeoJSON FeatureCollection or a JSON array");
+            }
+        }
+
+        private void seekFeatures() throws IOException {
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if ("features".equals(field) && value == JsonToken.START_ARRAY) {
+                    return;
+                }
+                parser.skipChildren();
+            }
+            throw new IllegalArgumentException("FeatureCollection has no \"features\" array");
+        }
+
+        @Override
+        public ImportRecord next() throws IOException {
+            JsonToken token = parser.nextToken();
+            if (token == null || token == JsonToken.END_ARRAY) {
+                return null;
+            }
+            long line = parser.currentTokenLocation().getLineNr();
+            return toRecord(line, mapper.readTree(parser), mapper);
+        }
+
+        @Override
+        public void close() throws IOException {
+            parser.close();
+        }
+    }
+
+    /**
+     * Đọc theo dòng để một dòng hỏng chỉ loại chính nó
+     */
+    private static final class NdjsonReader extends ImportRecordReader {
+
+        private final ObjectMapper mapper;
+        private final BufferedReader lines;
+        private long lineNr;
+
+        NdjsonReader(ObjectMapper mapper, InputStream in) {
+            this.mapper = mapper;
+            this.lines = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public ImportRecord next() throws IOException {
+            String text;
+            do {
+                text = lines.readLine();
+                if (text == null) {
+                    return null;
+                }
+                lineNr++;
+            } while (text.isBlank());
+
+            JsonNode node;
+            try {
+                node = mapper.readTree(text);
+            } catch (JsonProcessingException e) {
+                return ImportRecord.rejected(lineNr, "malformed JSON: " + e.getOriginalMessage());
+            }
+            return toRecord(lineNr, node, mapper);
+        }
+
+        @Override
+        public void close() throws IOException {
+            lines.close();
+        }
+    }
+
+    private static final class CsvReader extends ImportRecordReader {
+
+        private final ObjectMapper mapper;
+        private final MappingIterator<Map<String, String>> rows;
+
+        CsvReader(ObjectMapper mapper, InputStream in) throws IOException {
+            this.mapper = mapper;
+            CsvMapper csv = new CsvMapper();
+            csv.enable(CsvParser.Feature.TRIM_SPACES);
+            csv.enable(CsvParser.Feature.EMPTY_STRING_AS_NULL);
+            this.rows = csv.readerForMapOf(String.class)
+                .with(CsvSchema.emptySchema().withHeader())
+                .readValues(in);
+        }
+
+        @Override
+        public ImportRecord next() throws IOException {
+            long line;
+            Map<String, String> row;
+            try {
+                if (!rows.hasNextValue()) {
+                    return null;
+                }
+                line = rows.getCurrentLocation().getLineNr();
+                row = rows.nextValue();
+            } catch (JsonProcessingException e) {
+                // Parser CSV đã bỏ qua dòng lỗi, lần gọi sau đọc từ dòng kế tiếp
+                return ImportRecord.rejected(rows.getCurrentLocation().getLineNr(), "malformed CSV row: " + e.getOriginalMessage());
+            }
+            ObjectNode fields = mapper.createObjectNode();
+            row.forEach((column, value) -> {
+                if (value != null) {
+                    fields.put(ImportColumn.property(column), value);
+                }
+            });
+            return new ImportRecord(line, fields, null);
+        }
+
+        @Override
+        public void close() throws IOException {
+            rows.close();
+        }
+    }
+}
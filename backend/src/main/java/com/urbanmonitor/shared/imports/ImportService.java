@@ -0,0 +1,263 @@
+package com.urbanmonitor.shared.imports;
+
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Import hàng loạt từ file (GeoJSON / NDJSON / CSV) cho mọi {@link ImportTarget}.
+ *
+ * Pipeline mỗi job, theo chunk:
+ * 1. Streaming parse → tối đa chunk-size bản ghi trên heap
+ * 2. Map + validate song song (target.prepareAll). Bản ghi có id của dòng đã có chỉ cần mang field muốn đổi,
+ *    field vắng mặt giữ giá trị đang lưu
+ * 3. Upsert bằng JDBC batch trong một transaction / chunk
+ * 4. Sau commit: target publish một lần cho cả chunk, cập nhật progress của job
+ *
+ * Bản ghi lỗi (kể cả dòng hỏng reader không parse được) bị loại (ghi lại dòng + lý do), không làm hỏng chunk. Lỗi DB dừng job,
+ * các chunk đã commit được giữ lại.
+ */
+@Service
+@Slf4j
+public class ImportService {
+
+    private final Map<String, ImportTarget<?>> targets;
+    private final ObjectMapper objectMapper;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final int batchSize;
+    private final ExecutorService executor;
+    private final Cache<String, ImportJob> jobs = Caffeine.newBuilder()
+        .expireAfterWrite(Duration.ofHours(24))
+        .maximumSize(1_000)
+        .build();
+
+    public ImportService(
+            List<ImportTarget<?>> targets,
+            ObjectMapper objectMapper,
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            @Value("${imports.chunk-size:2000}") int chunkSize,
+            @Value("${imports.jdbc-batch-size:500}") int batchSize,
+            @Value("${imports.max-concurrent-jobs:1}") int maxConcurrentJobs) {
+        this.targets = targets.stream().collect(Collectors.toMap(ImportTarget::name, Function.identity()));
+        // CSV / dữ liệu tay hay viết enum chữ thường ("flood")
+        this.objectMapper = objectMapper.copy();
+        this.objectMapper.setConfig(this.objectMapper.getDeserializationConfig()
+            .with(MapperFeature.ACCEPT_CASE_INSENSITIVE_ENUMS));
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+        this.batchSize = batchSize;
+        this.executor = Executors.newFixedThreadPool(Math.max(1, maxConcurrentJobs));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    public Set<String> getTargetNames() {
+        return new TreeSet<>(targets.keySet());
+    }
+
+    /**
+     * Lưu file ra đĩa rồi chạy job nền, trả về ngay job ở trạng thái QUEUED
+     */
+    public ImportJob submit(String targetName, String format, MultipartFile file) throws IOException {
+        ImportTarget<?> target = targets.get(targetName);
+        if (target == null) {
+            throw new IllegalArgumentException("Unknown import target '" + targetName + "', expected one of " + getTargetNames());
+        }
+        if (file == null || file.isEmpty()) {
+            throw new IllegalArgumentException("file is required");
+        }
+        ImportFormat importFormat = ImportFormat.resolve(format, file.getOriginalFilename());
+
+        Path tmp = Files.createTempFile("urban-import-", "." + importFormat.name().toLowerCase(Locale.ROOT));
+        file.transferTo(tmp);
+        ImportJob job = new ImportJob(targetName, importFormat, file.getOriginalFilename(), file.getSize());
+        jobs.put(job.getId(), job);
+        executor.submit(() -> run(job, target, tmp));
+        log.info("Import job {} queued: {} ({} bytes, {}) → {}",
+            job.getId(), file.getOriginalFilename(), file.getSize(), importFormat, targetName);
+        return job;
+    }
+
+    public Optional<ImportJob> getJob(String id) {
+        return Optional.ofNullable(jobs.getIfPresent(id));
+    }
+
+    public List<ImportJob> getJobs() {
+        return jobs.asMap().values().stream()
+            .sorted(Comparator.comparing(ImportJob::getSubmittedAt).reversed())
+            .toList();
+    }
+
+    private <T> void run(ImportJob job, ImportTarget<T> target, Path file) {
+        job.start();
+        long startTime = System.currentTimeMillis();
+        JdbcBatchUpserter<T> upserter = new JdbcBatchUpserter<>(target, jdbcTemplate, objectMapper, batchSize);
+        try (InputStream in = new BufferedInputStream(
+                 new CountingInputStream(Files.newInputStream(file), job.bytesReadCounter()), 1 << 16);
+             ImportRecordReader reader = ImportRecordReader.open(job.getFormat(), in, objectMapper)) {
+
+            List<ImportRecord> chunk = new ArrayList<>(chunkSize);
+            ImportRecord record;
+            while ((record = reader.next()) != null) {
+                chunk.add(record);
+                if (chunk.size() == chunkSize) {
+                    writeChunk(job, target, upserter, chunk);
+                    chunk.clear();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                writeChunk(job, target, upserter, chunk);
+            }
+            syncSequence(job, upserter);
+            job.complete();
+            log.info("Import job {} completed in {} ms: {} read, {} created, {} updated, {} rejected",
+                job.getId(), System.currentTimeMillis() - startTime,
+                job.getRead(), job.getCreated(), job.getUpdated(), job.getRejected());
+        } catch (Exception e) {
+            syncSequence(job, upserter);
+            job.fail(e.getMessage());
+            log.error("Import job {} failed after {} records: {}", job.getId(), job.getRead(), e.getMessage());
+        } finally {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                log.warn("Failed to delete import file {}: {}", file, e.getMessage());
+            }
+        }
+    }
+
+    private <T> void writeChunk(ImportJob job, ImportTarget<T> target, JdbcBatchUpserter<T> upserter,
+                                List<ImportRecord> chunk) {
+        // 1. Map song song (JSON tree → entity), bản ghi của dòng đã có được phủ lên giá trị đang lưu
+        Map<Long, ObjectNode> stored = upserter.storedFields(chunk);
+        Object[] mapped = chunk.parallelStream().map(record -> {
+            if (record.error() != null) {
+                return record.error();
+            }
+            try {
+                target.applyGeometry(record.fields(), record.geometry());
+                JdbcBatchUpserter.fillOmitted(record.fields(), stored);
+                return (Object) objectMapper.convertValue(record.fields(), target.type());
+            } catch (IllegalArgumentException e) {
+                return firstLine(e.getMessage());
+            }
+        }).toArray();
+
+        List<T> entities = new ArrayList<>(chunk.size());
+        List<Long> lines = new ArrayList<>(chunk.size());
+        for (int i = 0; i < mapped.length; i++) {
+            if (mapped[i] instanceof String error) {
+                job.reject(chunk.get(i).line(), error);
+            } else {
+                entities.add(target.type().cast(mapped[i]));
+                lines.add(chunk.get(i).line());
+            }
+        }
+
+        // 2. Validate + dẫn xuất song song
+        Map<Integer, String> failures = target.prepareAll(entities);
+        List<T> valid = new ArrayList<>(entities.size() - failures.size());
+        for (int i = 0; i < entities.size(); i++) {
+            String error = failures.get(i);
+            if (error != null) {
+                job.reject(lines.get(i), error);
+            } else {
+                valid.add(entities.get(i));
+            }
+        }
+        if (valid.isEmpty()) {
+            job.recordChunk(chunk.size(), 0, 0);
+            return;
+        }
+        upserter.keepInsertOnly(valid, stored);
+
+        // 3. Upsert (bảng chính + bảng phụ) trong một transaction
+        Set<Long> existing = transactionTemplate.execute(status -> {
+            Set<Long> before = upserter.upsert(valid);
+            target.afterWrite(jdbcTemplate, valid);
+            return before;
+        });
+
+        // 4. Publish một lần cho cả chunk
+        List<T> created = new ArrayList<>();
+        List<T> updated = new ArrayList<>();
+        for (T entity : valid) {
+            (existing.contains(target.getId(entity)) ? updated : created).add(entity);
+        }
+        target.afterCommit(created, updated);
+        job.recordChunk(chunk.size(), created.size(), updated.size());
+    }
+
+    private static void syncSequence(ImportJob job, JdbcBatchUpserter<?> upserter) {
+        try {
+            upserter.syncSequence();
+        } catch (RuntimeException e) {
+            log.warn("Import job {}: failed to sync id sequence: {}", job.getId(), e.getMessage());
+        }
+    }
+
+    private static String firstLine(String message) {
+        if (message == null) return "invalid record";
+        int newline = message.indexOf('\n');
+        return newline < 0 ? message : message.substring(0, newline);
+    }
+
+    private static final class CountingInputStream extends FilterInputStream {
+
+        private final AtomicLong count;
+
+        CountingInputStream(InputStream in, AtomicLong count) {
+            super(in);
+            this.count = count;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) count.incrementAndGet();
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int n = super.read(buffer, offset, length);
+            if (n > 0) count.addAndGet(n);
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            count.addAndGet(skipped);
+            return skipped;
+        }
+    }
+}
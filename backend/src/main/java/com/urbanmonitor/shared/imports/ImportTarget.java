@@ -0,0 +1,82 @@
+package com.urbanmonitor.shared.imports;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+
+/**
+ * STRATEGY PATTERN - Một loại entity import được (mỗi module đăng ký một bean).
+ *
+ * Bản ghi có id = upsert theo id (dòng đã có: field bản ghi không mang giữ giá trị đang lưu),
+ * không có id = insert với id cấp từ sequence của bảng.
+ * Ghi bằng JDBC batch nên JPA callbacks (@PrePersist...) không chạy: prepare phải tự làm phần đó.
+ */
+public interface ImportTarget<T> {
+
+    /**
+     * Tên trong URL: /api/import/{name}
+     */
+    String name();
+
+    Class<T> type();
+
+    String table();
+
+    /**
+     * Các cột ghi (không gồm id)
+     */
+    List<ImportColumn<T>> columns();
+
+    Long getId(T entity);
+
+    void setId(T entity, Long id);
+
+    /**
+     * Geometry GeoJSON → field của entity. Mặc định: Point → longitude / latitude
+     */
+    default void applyGeometry(ObjectNode fields, JsonNode geometry) {
+        if (geometry != null && "Point".equals(geometry.path("type").asText())) {
+            JsonNode coordinates = geometry.path("coordinates");
+            if (!fields.has("longitude")) fields.set("longitude", coordinates.path(0));
+            if (!fields.has("latitude")) fields.set("latitude", coordinates.path(1));
+        }
+    }
+
+    /**
+     * Validate + điền giá trị mặc định / field dẫn xuất. Lỗi → IllegalArgumentException.
+     * Được gọi song song, không được đụng state dùng chung.
+     */
+    void prepare(T entity);
+
+    /**
+     * Prepare cả chunk song song, trả về index → lỗi của các entity bị loại
+     */
+    default Map<Integer, String> prepareAll(List<T> entities) {
+        Map<Integer, String> failures = new ConcurrentHashMap<>();
+        IntStream.range(0, entities.size()).parallel().forEach(i -> {
+            try {
+                prepare(entities.get(i));
+            } catch (RuntimeException e) {
+                failures.put(i, e.getMessage());
+            }
+        });
+        return failures;
+    }
+
+    /**
+     * Ghi các bảng phụ sau khi chunk đã upsert (cùng transaction)
+     */
+    default void afterWrite(JdbcTemplate jdbc, List<T> written) {
+    }
+
+    /**
+     * Sau khi chunk commit: một lần publish cho cả chunk
+     */
+    default void afterCommit(List<T> created, List<T> updated) {
+    }
+}
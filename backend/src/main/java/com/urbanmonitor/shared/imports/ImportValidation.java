@@ -0,0 +1,23 @@
+package com.urbanmonitor.shared.imports;
+
+/**
+ * Kiểm tra dùng chung cho các {@link ImportTarget}
+ */
+public final class ImportValidation {
+
+    private ImportValidation() {
+    }
+
+    /**
+     * Toạ độ WGS84 bắt buộc và nằm trong khoảng hợp lệ
+     */
+    public static void requireCoordinates(Double longitude, Double latitude) {
+        if (longitude == null || latitude == null) {
+            throw new IllegalArgumentException("longitude and latitude are required");
+        }
+        if (longitude < -180 || longitude > 180 || latitude < -90 || latitude > 90
+                || longitude.isNaN() || latitude.isNaN()) {
+            throw new IllegalArgumentException("coordinates out of range: " + longitude + ", " + latitude);
+        }
+    }
+}
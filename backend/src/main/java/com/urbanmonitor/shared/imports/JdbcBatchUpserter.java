@@ -0,0 +1,229 @@
+package com.urbanmonitor.shared.imports;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.Array;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * INSERT ... ON CONFLICT (id) DO UPDATE theo JDBC batch cho một {@link ImportTarget}.
+ *
+ * Các bảng dùng IDENTITY nên Hibernate không batch được insert. Ở đây id của bản ghi mới
+ * được cấp trước theo khối từ chính sequence của cột id (một round trip cho cả chunk),
+ * sau đó mọi dòng đi chung một batch. Bản ghi mới có id chỉ định đẩy sequence vượt id đó ngay trong chunk,
+ * trước khi cấp id, để id được cấp (của job này hay của insert JPA chạy song song) không trùng.
+ *
+ * Mỗi dòng luôn được ghi đủ cột. Bản ghi cập nhật dòng đã có chỉ cần mang field muốn đổi: trước khi map,
+ * field vắng mặt được lấy từ giá trị đang lưu ({@link #storedFields}, {@link #fillOmitted}), nên không thành NULL
+ * và prepare vẫn validate / dẫn xuất trên dòng đầy đủ.
+ * Không thread-safe, mỗi job dùng một instance.
+ */
+class JdbcBatchUpserter<T> {
+
+    private final ImportTarget<T> target;
+    private final JdbcTemplate jdbc;
+    private final ObjectMapper mapper;
+    private final int batchSize;
+    private final String upsertSql;
+    private String sequence;
+    private boolean explicitIds;
+
+    JdbcBatchUpserter(ImportTarget<T> target, JdbcTemplate jdbc, ObjectMapper mapper, int batchSize) {
+        this.target = target;
+        this.jdbc = jdbc;
+        this.mapper = mapper;
+        this.batchSize = batchSize;
+        this.upsertSql = buildUpsertSql(target);
+    }
+
+    /**
+     * Giá trị đang lưu (theo tên field) của các dòng đã có mà bản ghi trong chunk trỏ tới bằng id
+     */
+    Map<Long, ObjectNode> storedFields(List<ImportRecord> records) {
+        List<Long> ids = new ArrayList<>();
+        for (ImportRecord record : records) {
+            Long id = record.error() == null ? recordId(record.fields()) : null;
+            if (id != null) ids.add(id);
+        }
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+
+        List<ImportColumn<T>> columns = target.columns();
+        String names = columns.stream().map(ImportColumn::name).collect(Collectors.joining(", "));
+        List<ObjectNode> rows = jdbc.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(
+                "SELECT id, " + names + " FROM " + target.table() + " WHERE id = ANY(?)");
+            Array array = connection.createArrayOf("bigint", ids.toArray());
+            ps.setArray(1, array);
+            return ps;
+        }, (rs, row) -> {
+            ObjectNode fields = mapper.createObjectNode();
+            fields.put("id", rs.getLong(1));
+            for (int i = 0; i < columns.size(); i++) {
+                Object value = rs.getObject(i + 2);
+                if (value instanceof Timestamp timestamp) value = timestamp.toLocalDateTime();
+                else if (value instanceof java.sql.Date date) value = date.toLocalDate();
+                fields.set(columns.get(i).property(), value == null ? fields.nullNode() : mapper.valueToTree(value));
+            }
+            return fields;
+        });
+
+        Map<Long, ObjectNode> stored = new HashMap<>();
+        rows.forEach(row -> stored.put(row.get("id").asLong(), row));
+        return stored;
+    }
+
+    /**
+     * Field bản ghi không mang → giá trị đang lưu của dòng cùng id (null tường minh vẫn xoá giá trị)
+     */
+    static void fillOmitted(ObjectNode fields, Map<Long, ObjectNode> stored) {
+        Long id = recordId(fields);
+        ObjectNode row = id == null ? null : stored.get(id);
+        if (row == null) {
+            return;
+        }
+        for (Map.Entry<String, JsonNode> field : row.properties()) {
+            if (!fields.has(field.getKey())) {
+                fields.set(field.getKey(), field.getValue());
+            }
+        }
+    }
+
+    /**
+     * prepare điền lại created_at... như bản ghi mới: với dòng đã có, trả các cột chỉ ghi khi insert
+     * về giá trị đang lưu để entity (và event publish sau commit) khớp với DB
+     */
+    void keepInsertOnly(List<T> entities, Map<Long, ObjectNode> stored) {
+        List<ImportColumn<T>> insertOnly = target.columns().stream().filter(c -> !c.updatable()).toList();
+        if (insertOnly.isEmpty() || stored.isEmpty()) {
+            return;
+        }
+        for (T entity : entities) {
+            Long id = target.getId(entity);
+            ObjectNode row = id == null ? null : stored.get(id);
+            if (row == null) {
+                continue;
+            }
+            ObjectNode values = mapper.createObjectNode();
+            insertOnly.forEach(c -> values.set(c.property(), row.get(c.property())));
+            try {
+                mapper.readerForUpdating(entity).readValue(values);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    /**
+     * Upsert cả chunk, trả về id đã tồn tại trước đó (các dòng còn lại là dòng mới)
+     */
+    Set<Long> upsert(List<T> entities) {
+        List<Long> requested = new ArrayList<>();
+        int missing = 0;
+        for (T entity : entities) {
+            Long id = target.getId(entity);
+            if (id == null) missing++;
+            else requested.add(id);
+        }
+
+        Set<Long> existing = requested.isEmpty() ? Set.of() : existingIds(requested);
+        long maxNewId = Long.MIN_VALUE;
+        for (Long id : requested) {
+            if (!existing.contains(id)) {
+                maxNewId = Math.max(maxNewId, id);
+            }
+        }
+        if (maxNewId != Long.MIN_VALUE) {
+            explicitIds = true;
+            advanceSequence(maxNewId);
+        }
+        if (missing > 0) {
+            Iterator<Long> ids = allocateIds(missing).iterator();
+            for (T entity : entities) {
+                if (target.getId(entity) == null) {
+                    target.setId(entity, ids.next());
+                }
+            }
+        }
+
+        List<ImportColumn<T>> columns = target.columns();
+        jdbc.batchUpdate(upsertSql, entities, batchSize, (PreparedStatement ps, T entity) -> {
+            ps.setLong(1, target.getId(entity));
+            for (int i = 0; i < columns.size(); i++) {
+                ps.setObject(i + 2, columns.get(i).valueOf(entity));
+            }
+        });
+        return existing;
+    }
+
+    /**
+     * Chốt lại sau job (kể cả job lỗi giữa chừng): sequence ≥ MAX(id) của bảng.
+     * Mỗi chunk đã tự đẩy sequence, đây chỉ là lưới an toàn khi có id chỉ định.
+     */
+    void syncSequence() {
+        if (!explicitIds) {
+            return;
+        }
+        Long max = jdbc.queryForObject("SELECT MAX(id) FROM " + target.table(), Long.class);
+        if (max != null) {
+            advanceSequence(max);
+        }
+    }
+
+    // setval không thuộc transaction: có hiệu lực ngay với mọi nextval, kể cả khi chunk rollback
+    private void advanceSequence(long atLeast) {
+        jdbc.queryForObject("SELECT setval(?::regclass, GREATEST(?, (SELECT last_value FROM " + sequence() + ")))",
+            Long.class, sequence(), atLeast);
+    }
+
+    private Set<Long> existingIds(List<Long> ids) {
+        return new HashSet<>(jdbc.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(
+                "SELECT id FROM " + target.table() + " WHERE id = ANY(?)");
+            Array array = connection.createArrayOf("bigint", ids.toArray());
+            ps.setArray(1, array);
+            return ps;
+        }, (rs, row) -> rs.getLong(1)));
+    }
+
+    private static Long recordId(ObjectNode fields) {
+        JsonNode id = fields.get("id");
+        return id == null || id.isNull() ? null : id.asLong();
+    }
+
+    private List<Long> allocateIds(int count) {
+        return jdbc.queryForList("SELECT nextval(?::regclass) FROM generate_series(1, ?)",
+            Long.class, sequence(), count);
+    }
+
+    private String sequence() {
+        if (sequence == null) {
+            sequence = jdbc.queryForObject("SELECT pg_get_serial_sequence(?, 'id')", String.class, target.table());
+            if (sequence == null) {
+                throw new IllegalStateException("Table " + target.table() + " has no sequence-backed id column");
+            }
+        }
+        return sequence;
+    }
+
+    private static <T> String buildUpsertSql(ImportTarget<T> target) {
+        List<ImportColumn<T>> columns = target.columns();
+        String names = columns.stream().map(ImportColumn::name).collect(Collectors.joining(", "));
+        String params = String.join(", ", Collections.nCopies(columns.size() + 1, "?"));
+        String updates = columns.stream()
+            .filter(ImportColumn::updatable)
+            .map(c -> c.name() + " = EXCLUDED." + c.name())
+            .collect(Collectors.joining(", "));
+        return "INSERT INTO " + target.table() + " (id, " + names + ") VALUES (" + params + ") "
+            + "ON CONFLICT (id) DO UPDATE SET " + updates;
+    }
+}
@@ -0,0 +1,187 @@
+package com.urbanmonitor.shared.journal;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.*;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * State của một loại entity trong event journal (mỗi domain observer giữ một instance).
+ *
+ * - recordUpsert / recordDelete: ghi event kèm state mới nhất của entity (payload = tên event + state)
+ * - replay(): state checkpoint mới nhất + events từ sincePosition của checkpoint, không query DB
+ * - checkpoint(): fold journal tới vị trí hiện tại rồi ghi checkpoint mới; stream chưa có checkpoint
+ *   thì lấy state từ seedSource (DB) một lần, events ghi trong lúc query được replay lên sau
+ */
+@Slf4j
+public class EntityJournal<T> {
+
+    private static final Set<JournalEntryKind> EVENT_KINDS = EnumSet.of(JournalEntryKind.UPSERT, JournalEntryKind.DELETE);
+
+    private final EventJournal journal;
+    @Getter
+    private final JournalStream stream;
+    private final JournalCodec<T> codec;
+    private final Function<T, Long> idOf;
+    private final Supplier<? extends Collection<T>> seedSource;
+
+    public EntityJournal(EventJournal journal,
+                         JournalStream stream,
+                         JournalCodec<T> codec,
+                         Function<T, Long> idOf,
+                         Supplier<? extends Collection<T>> seedSource) {
+        this.journal = journal;
+        this.stream = stream;
+        this.codec = codec;
+        this.idOf = idOf;
+        this.seedSource = seedSource;
+        journal.registerDecoder(stream, this::decode);
+        journal.register(this);
+    }
+
+    public void recordUpsert(String event, T entity) {
+        Long id = idOf.apply(entity);
+        if (id == null) {
+            return;
+        }
+        journal.append(stream, JournalEntryKind.UPSERT, id, out -> {
+            out.writeUTF(event);
+            codec.write(entity, out);
+        });
+    }
+
+    public void recordDelete(String event, long id) {
+        journal.append(stream, JournalEntryKind.DELETE, id, out -> out.writeUTF(event));
+    }
+
+    /**
+     * State hiện tại theo journal, empty nếu journal tắt, stream chưa có checkpoint hoặc đọc lỗi
+     * (caller khi đó query DB như cũ)
+     */
+    public Optional<Map<Long, T>> replay() {
+        Optional<JournalCheckpoint> checkpoint = journal.latestCheckpoint(stream);
+        if (checkpoint.isEmpty()) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(fold(checkpoint.get(), Long.MAX_VALUE));
+        } catch (RuntimeException e) {
+            log.warn("Failed to replay journal stream {}: {}", stream, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Ghi checkpoint nếu có record mới kể từ checkpoint trước (hoặc chưa có checkpoint nào)
+     */
+    public synchronized void checkpoint() {
+        if (!journal.isOpen()) {
+            return;
+        }
+        Optional<JournalCheckpoint> previous = journal.latestCheckpoint(stream);
+        long since = journal.endPosition();
+        if (previous.isPresent() && previous.get().endPosition() == since) {
+            return;
+        }
+
+        long started = System.currentTimeMillis();
+        Collection<T> states = previous.isPresent()
+            ? fold(previous.get(), since).values()
+            : seedSource.get();
+        Map<Long, byte[]> encoded = new LinkedHashMap<>();
+        for (T state : states) {
+            Long id = idOf.apply(state);
+            if (id != null) {
+                encoded.put(id, encode(state));
+            }
+        }
+        journal.writeCheckpoint(stream, since, encoded);
+        log.info("Journal checkpoint for {}: {} entities ({}) in {} ms", stream, encoded.size(),
+            previous.isPresent() ? "folded" : "seeded", System.currentTimeMillis() - started);
+    }
+
+    /**
+     * Checkpoint đầu tiên cho stream (lần đầu chạy với journal)
+     */
+    public void seedIfMissing() {
+        if (journal.isOpen() && journal.latestCheckpoint(stream).isEmpty()) {
+            checkpoint();
+        }
+    }
+
+    /**
+     * STATE của checkpoint, sau đó UPSERT / DELETE trong [sincePosition, toPosition).
+     * Hai lượt vì với checkpoint seed từ DB, sincePosition nằm trước các STATE.
+     */
+    private Map<Long, T> fold(JournalCheckpoint checkpoint, long toPosition) {
+        Map<Long, T> state = new LinkedHashMap<>();
+        journal.scan(checkpoint.beginPosition(), checkpoint.endPosition(), Set.of(stream), entry -> {
+            if (entry.kind() == JournalEntryKind.STATE) {
+                state.put(entry.entityId(), decodeState(entry));
+            }
+            return entry.kind() != JournalEntryKind.CHECKPOINT_END;
+        });
+        journal.scan(checkpoint.sincePosition(), toPosition, Set.of(stream), entry -> {
+            if (!EVENT_KINDS.contains(entry.kind())) {
+                return true;
+            }
+            if (entry.kind() == JournalEntryKind.DELETE) {
+                state.remove(entry.entityId());
+            } else {
+                try (DataInputStream in = entry.payloadInput()) {
+                    in.readUTF();
+                    state.put(entry.entityId(), codec.read(in));
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Corrupt journal record at " + entry.position(), e);
+                }
+            }
+            return true;
+        });
+        return state;
+    }
+
+    private T decodeState(JournalEntry entry) {
+        try (DataInputStream in = entry.payloadInput()) {
+            return codec.read(in);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Corrupt journal state at " + entry.position(), e);
+        }
+    }
+
+    private byte[] encode(T state) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            codec.write(state, out);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to encode journal state", e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Cho API audit: event + state (STATE record chỉ có state, checkpoint markers không có payload cần hiển thị)
+     */
+    private Object decode(JournalEntry entry) throws IOException {
+        if (entry.kind() == JournalEntryKind.STATE) {
+            return Map.of("state", decodeState(entry));
+        }
+        if (!EVENT_KINDS.contains(entry.kind())) {
+            return null;
+        }
+        try (DataInputStream in = entry.payloadInput()) {
+            Map<String, Object> decoded = new LinkedHashMap<>();
+            decoded.put("event", in.readUTF());
+            if (entry.kind() == JournalEntryKind.UPSERT) {
+                decoded.put("state", codec.read(in));
+            }
+            return decoded;
+        }
+    }
+}
@@ -0,0 +1,464 @@
+package com.urbanmonitor.shared.journal;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Append-only event journal: segment files map vào memory (JournalSegment), mỗi record có checksum,
+ * segment đầy thì roll sang file mới.
+ *
+ * - Ghi: một lock cho cả journal, record được encode trước khi lấy lock; timestamp không giảm
+ * - Checkpoint: CHECKPOINT_BEGIN + STATE của từng entity + CHECKPOINT_END ghi liền một khối;
+ *   replay của một stream = state của checkpoint mới nhất + events từ sincePosition (EntityJournal)
+ * - Đọc theo khoảng thời gian cho audit: bỏ qua cả segment nằm ngoài khoảng
+ * - Recovery lúc startup: kiểm tra checksum segment cuối, cắt đuôi ghi dở; các segment cũ chỉ đọc header
+ *   để dựng lại bảng checkpoint
+ * - Durability: force() định kỳ và sau mỗi checkpoint (process crash không mất gì vì page cache vẫn còn)
+ *
+ * Không mở được thư mục journal thì journal tắt (append bỏ qua, replay rỗng) - views tự query DB như cũ.
+ */
+@Component
+@Slf4j
+public class EventJournal {
+
+    private static final String SEGMENT_PREFIX = "journal-";
+    private static final String SEGMENT_SUFFIX = ".log";
+
+    private final Path dir;
+    private final int segmentBytes;
+    private final boolean enabled;
+    private final int retentionDays;
+
+    private final Map<JournalStream, JournalCheckpoint> checkpoints = new ConcurrentHashMap<>();
+    private final Map<JournalStream, JournalDecoder> decoders = new ConcurrentHashMap<>();
+    private final List<EntityJournal<?>> entityJournals = new CopyOnWriteArrayList<>();
+
+    // ---- guarded by this ----
+    private final TreeMap<Integer, JournalSegment> segments = new TreeMap<>();
+    private JournalSegment active;
+    private long lastTimestamp;
+    private boolean dirty;
+
+    private volatile boolean open;
+
+    public EventJournal(@Value("${journal.dir:./data/journal}") String dir,
+                        @Value("${journal.segment-bytes:67108864}") int segmentBytes,
+                        @Value("${journal.enabled:true}") boolean enabled,
+                        @Value("${journal.retention-days:0}") int retentionDays) {
+        this.dir = Paths.get(dir);
+        this.segmentBytes = segmentBytes;
+        this.enabled = enabled;
+        this.retentionDays = retentionDays;
+    }
+
+    @PostConstruct
+    public synchronized void init() {
+        if (!enabled) {
+            log.info("Event journal disabled");
+            return;
+        }
+        try {
+            Files.createDirectories(dir);
+            List<Path> files;
+            try (Stream<Path> listing = Files.list(dir)) {
+                files = listing.filter(path -> indexOf(path) >= 0)
+                    .sorted(Comparator.comparingInt(EventJournal::indexOf))
+                    .toList();
+            }
+
+            Map<JournalStream, long[]> openCheckpoints = new EnumMap<>(JournalStream.class);
+            for (int i = 0; i < files.size(); i++) {
+                boolean last = i == files.size() - 1;
+                JournalSegment segment = JournalSegment.open(files.get(i), indexOf(files.get(i)), last ? segmentBytes : 0);
+                segments.put(segment.index(), segment);
+                if (segment.recover(last, cursor -> indexCheckpoint(cursor, openCheckpoints))) {
+                    log.warn("Journal segment {} had a torn tail, truncated at offset {}",
+                        segment.path().getFileName(), segment.size());
+                }
+                lastTimestamp = Math.max(lastTimestamp, segment.lastTimestamp());
+            }
+            active = segments.isEmpty() ? createSegment(0) : segments.lastEntry().getValue();
+            open = true;
+            log.info("Event journal opened at {}: {} segments, checkpoints for {}",
+                dir.toAbsolutePath(), segments.size(), checkpoints.keySet());
+        } catch (IOException | RuntimeException e) {
+            log.error("Failed to open event journal at {}, journal disabled: {}", dir, e.getMessage());
+            closeSegments();
+        }
+    }
+
+    @PreDestroy
+    public synchronized void close() {
+        if (!open) {
+            return;
+        }
+        open = false;
+        active.force();
+        closeSegments();
+    }
+
+    public boolean isOpen() {
+        return open;
+    }
+
+    public void registerDecoder(JournalStream stream, JournalDecoder decoder) {
+        decoders.put(stream, decoder);
+    }
+
+    /**
+     * Stream được checkpoint định kỳ (và giữ lại segment cần cho replay khi áp dụng retention)
+     */
+    public void register(EntityJournal<?> entityJournal) {
+        entityJournals.add(entityJournal);
+    }
+
+    // ==================== WRITE ====================
+
+    /**
+     * @return vị trí của record, -1 nếu journal đang tắt
+     */
+    public long append(JournalStream stream, JournalEntryKind kind, long entityId, JournalPayload payload) {
+        if (!open) {
+            return -1;
+        }
+        byte[] encoded = encode(payload);
+        synchronized (this) {
+            return open ? write(stream, kind, entityId, encoded) : -1;
+        }
+    }
+
+    /**
+     * Trong transaction: ghi sau khi commit (rollback thì không ghi), ngoài transaction: ghi ngay
+     */
+    public void appendAfterCommit(JournalStream stream, JournalEntryKind kind, long entityId, JournalPayload payload) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            append(stream, kind, entityId, payload);
+            return;
+        }
+        byte[] encoded = encode(payload);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                append(stream, kind, entityId, out -> out.write(encoded));
+            }
+        });
+    }
+
+    /**
+     * Ghi một checkpoint liền khối. States đã encode sẵn, giữ lock chỉ để copy vào segment.
+     */
+    public void writeCheckpoint(JournalStream stream, long sincePosition, Map<Long, byte[]> states) {
+        if (!open) {
+            return;
+        }
+        byte[] begin = encode(out -> {
+            out.writeLong(sincePosition);
+            out.writeInt(states.size());
+        });
+        synchronized (this) {
+            if (!open) {
+                return;
+            }
+            long beginPosition = write(stream, JournalEntryKind.CHECKPOINT_BEGIN, 0, begin);
+            long timestamp = lastTimestamp;
+            states.forEach((id, state) -> write(stream, JournalEntryKind.STATE, id, state));
+            write(stream, JournalEntryKind.CHECKPOINT_END, 0, encode(out -> out.writeLong(beginPosition)));
+            active.force();
+            dirty = false;
+            checkpoints.put(stream, new JournalCheckpoint(stream, beginPosition, sincePosition,
+                endPosition(), timestamp, states.size()));
+        }
+    }
+
+    /**
+     * Vị trí record tiếp theo sẽ được ghi
+     */
+    public synchronized long endPosition() {
+        return active == null ? 0 : JournalSegment.position(active.index(), active.size());
+    }
+
+    public Optional<JournalCheckpoint> latestCheckpoint(JournalStream stream) {
+        return open ? Optional.ofNullable(checkpoints.get(stream)) : Optional.empty();
+    }
+
+    @Scheduled(fixedDelayString = "${journal.flush-interval-ms:1000}")
+    public synchronized void flush() {
+        if (open && dirty) {
+            active.force();
+            dirty = false;
+        }
+    }
+
+    /**
+     * Checkpoint các stream có events mới, sau đó bỏ segment quá retention
+     */
+    @Scheduled(
+        initialDelayString = "${journal.checkpoint-interval-ms:600000}",
+        fixedDelayString = "${journal.checkpoint-interval-ms:600000}")
+    public void checkpointAll() {
+        if (!open) {
+            return;
+        }
+        for (EntityJournal<?> entityJournal : entityJournals) {
+            try {
+                entityJournal.checkpoint();
+            } catch (RuntimeException e) {
+                log.error("Failed to checkpoint journal stream {}: {}", entityJournal.getStream(), e.getMessage());
+            }
+        }
+        applyRetention();
+    }
+
+    // ==================== READ ====================
+
+    /**
+     * Duyệt các record của streams trong [fromPosition, toPosition) theo thứ tự ghi, dừng khi visitor trả false
+     */
+    public void scan(long fromPosition, long toPosition, Set<JournalStream> streams, Predicate<JournalEntry> visitor) {
+        if (!open) {
+            return;
+        }
+        int fromSegment = JournalSegment.segmentOf(fromPosition);
+        for (JournalSegment segment : segmentsFrom(fromSegment)) {
+            int start = segment.index() == fromSegment ? JournalSegment.offsetOf(fromPosition) : 0;
+            JournalSegment.Cursor cursor = segment.cursor(start);
+            while (cursor.next()) {
+                if (cursor.position() >= toPosition) {
+                    return;
+                }
+                JournalStream stream = JournalStream.fromCode(cursor.streamCode);
+                if (stream != null && streams.contains(stream) && !visitor.test(cursor.entry())) {
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Records có timestamp trong [fromMillis, toMillis], tối đa limit records đầu tiên
+     */
+    public List<JournalEntry> read(long fromMillis, long toMillis, Set<JournalStream> streams, int limit) {
+        List<JournalEntry> entries = new ArrayList<>();
+        if (!open || limit <= 0) {
+            return entries;
+        }
+        for (JournalSegment segment : segmentsFrom(Integer.MIN_VALUE)) {
+            if (segment.isEmpty() || segment.lastTimestamp() < fromMillis) {
+                continue;
+            }
+            if (segment.firstTimestamp() > toMillis) {
+                break;
+            }
+            JournalSegment.Cursor cursor = segment.cursor(0);
+            while (cursor.next()) {
+                if (cursor.timestamp > toMillis) {
+                    return entries;
+                }
+                JournalStream stream = JournalStream.fromCode(cursor.streamCode);
+                if (cursor.timestamp >= fromMillis && stream != null && streams.contains(stream)) {
+                    entries.add(cursor.entry());
+                    if (entries.size() >= limit) {
+                        return entries;
+                    }
+                }
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * Payload đã decode cho API audit, null nếu stream không có decoder
+     */
+    public Object decode(JournalEntry entry) throws IOException {
+        JournalDecoder decoder = entry.stream() == null ? null : decoders.get(entry.stream());
+        return decoder == null ? null : decoder.decode(entry);
+    }
+
+    public JournalStatus getStatus() {
+        List<JournalSegment> snapshot = segmentsFrom(Integer.MIN_VALUE);
+        return JournalStatus.builder()
+            .open(open)
+            .directory(dir.toAbsolutePath().toString())
+            .segments(snapshot.size())
+            .bytes(snapshot.stream().mapToLong(JournalSegment::size).sum())
+            .endPosition(endPosition())
+            .checkpoints(new ArrayList<>(checkpoints.values()))
+            .build();
+    }
+
+    // ==================== INTERNALS ====================
+
+    /**
+     * Caller giữ lock
+     */
+    private long write(JournalStream stream, JournalEntryKind kind, long entityId, byte[] payload) {
+        int length = JournalSegment.HEADER_BYTES + payload.length;
+        if (length > segmentBytes) {
+            throw new IllegalArgumentException("Journal record of " + length + " bytes exceeds segment size " + segmentBytes);
+        }
+        if (active.remaining() < length) {
+            roll();
+        }
+        long timestamp = Math.max(System.currentTimeMillis(), lastTimestamp);
+        lastTimestamp = timestamp;
+
+        ByteBuffer record = ByteBuffer.allocate(length);
+        record.putInt(length)
+            .putInt(0)
+            .putLong(timestamp)
+            .put(stream.code())
+            .put(kind.code())
+            .putLong(entityId)
+            .put(payload);
+        CRC32C crc = new CRC32C();
+        crc.update(record.array(), 8, length - 8);
+        record.putInt(4, (int) crc.getValue());
+
+        long position = JournalSegment.position(active.index(), active.size());
+        active.write(record.array(), timestamp);
+        dirty = true;
+        return position;
+    }
+
+    /**
+     * Caller giữ lock
+     */
+    private void roll() {
+        active.force();
+        try {
+            active = createSegment(active.index() + 1);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to roll journal segment", e);
+        }
+        log.info("Journal rolled to segment {}", active.index());
+    }
+
+    private JournalSegment createSegment(int index) throws IOException {
+        JournalSegment segment = JournalSegment.open(
+            dir.resolve(String.format("%s%010d%s", SEGMENT_PREFIX, index, SEGMENT_SUFFIX)), index, segmentBytes);
+        segments.put(index, segment);
+        return segment;
+    }
+
+    private synchronized List<JournalSegment> segmentsFrom(int index) {
+        return new ArrayList<>(segments.tailMap(index, true).values());
+    }
+
+    /**
+     * Xoá segment cũ hơn retention, nhưng không xoá segment còn cần để replay checkpoint mới nhất
+     * của các stream (stream chưa có checkpoint thì chưa xoá gì)
+     */
+    private void applyRetention() {
+        if (retentionDays <= 0) {
+            return;
+        }
+        long cutoff = System.currentTimeMillis() - Duration.ofDays(retentionDays).toMillis();
+        synchronized (this) {
+            int keepFrom = active.index();
+            for (EntityJournal<?> entityJournal : entityJournals) {
+                JournalCheckpoint checkpoint = checkpoints.get(entityJournal.getStream());
+                if (checkpoint == null) {
+                    return;
+                }
+                long from = Math.min(checkpoint.beginPosition(), checkpoint.sincePosition());
+                keepFrom = Math.min(keepFrom, JournalSegment.segmentOf(from));
+            }
+            Iterator<JournalSegment> expired = segments.headMap(keepFrom, false).values().iterator();
+            while (expired.hasNext()) {
+                JournalSegment segment = expired.next();
+                if (segment.lastTimestamp() >= cutoff) {
+                    break;
+                }
+                try {
+                    segment.delete();
+                    expired.remove();
+                    log.info("Deleted expired journal segment {}", segment.path().getFileName());
+                } catch (IOException e) {
+                    log.warn("Failed to delete journal segment {}: {}", segment.path(), e.getMessage());
+                    break;
+                }
+            }
+        }
+    }
+
+    /**
+     * Dựng lại bảng checkpoint lúc recovery: checkpoint chỉ tính khi đã có CHECKPOINT_END khớp BEGIN
+     */
+    private void indexCheckpoint(JournalSegment.Cursor cursor, Map<JournalStream, long[]> openCheckpoints) {
+        JournalEntryKind kind = JournalEntryKind.fromCode(cursor.kindCode);
+        JournalStream stream = JournalStream.fromCode(cursor.streamCode);
+        if (stream == null || (kind != JournalEntryKind.CHECKPOINT_BEGIN && kind != JournalEntryKind.CHECKPOINT_END)) {
+            return;
+        }
+        try (DataInputStream in = cursor.entry().payloadInput()) {
+            if (kind == JournalEntryKind.CHECKPOINT_BEGIN) {
+                openCheckpoints.put(stream, new long[]{cursor.position(), in.readLong(), in.readInt(), cursor.timestamp});
+                return;
+            }
+            long[] begin = openCheckpoints.remove(stream);
+            if (begin != null && begin[0] == in.readLong()) {
+                long end = JournalSegment.position(JournalSegment.segmentOf(cursor.position()), cursor.endOffset());
+                checkpoints.put(stream, new JournalCheckpoint(stream, begin[0], begin[1], end, begin[3], (int) begin[2]));
+            }
+        } catch (IOException e) {
+            log.warn("Unreadable checkpoint record at {}: {}", cursor.position(), e.getMessage());
+        }
+    }
+
+    private void closeSegments() {
+        for (JournalSegment segment : segments.values()) {
+            try {
+                segment.close();
+            } catch (IOException e) {
+                log.warn("Failed to close journal segment {}: {}", segment.path(), e.getMessage());
+            }
+        }
+        segments.clear();
+        active = null;
+    }
+
+    private static byte[] encode(JournalPayload payload) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            payload.writeTo(out);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to encode journal payload", e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static int indexOf(Path path) {
+        String name = path.getFileName().toString();
+        if (!name.startsWith(SEGMENT_PREFIX) || !name.endsWith(SEGMENT_SUFFIX)) {
+            return -1;
+        }
+        try {
+            return Integer.parseInt(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
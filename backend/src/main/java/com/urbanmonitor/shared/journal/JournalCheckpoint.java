@@ -0,0 +1,17 @@
+package com.urbanmonitor.shared.journal;
+
+/**
+ * Checkpoint hoàn chỉnh (đã có CHECKPOINT_END) của một stream.
+ *
+ * @param beginPosition vị trí record CHECKPOINT_BEGIN, các STATE nằm ngay sau
+ * @param sincePosition events từ vị trí này trở đi được replay lên state của checkpoint
+ *                      (có thể trước beginPosition: events ghi trong lúc đang lấy state)
+ * @param endPosition   vị trí ngay sau CHECKPOINT_END
+ */
+public record JournalCheckpoint(JournalStream stream,
+                                long beginPosition,
+                                long sincePosition,
+                                long endPosition,
+                                long timestamp,
+                                int states) {
+}
@@ -0,0 +1,16 @@
+package com.urbanmonitor.shared.journal;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Encode / decode state của một entity trong journal (binary, helpers ở JournalCodecs).
+ * Format phải đọc được dữ liệu cũ: thêm field mới thì tăng version và giữ nhánh đọc version cũ.
+ */
+public interface JournalCodec<T> {
+
+    void write(T value, DataOutput out) throws IOException;
+
+    T read(DataInput in) throws IOException;
+}
@@ -0,0 +1,87 @@
+package com.urbanmonitor.shared.journal;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.*;
+
+/**
+ * Đọc event journal cho audit / analytics.
+ * GET /api/journal/events?from=2025-01-01T00:00:00&to=...&stream=DISASTER_ZONES,INCIDENTS&limit=1000
+ */
+@RestController
+@RequestMapping("/api/journal")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+@Slf4j
+public class JournalController {
+
+    private static final int MAX_LIMIT = 10000;
+
+    private final EventJournal journal;
+
+    @GetMapping("/events")
+    public ResponseEntity<List<JournalEntryView>> getEvents(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) List<JournalStream> stream,
+            @RequestParam(defaultValue = "1000") int limit) {
+        LocalDateTime end = to != null ? to : LocalDateTime.now();
+        LocalDateTime start = from != null ? from : end.minusHours(1);
+        if (start.isAfter(end)) {
+            throw new IllegalArgumentException("from must not be after to");
+        }
+        Set<JournalStream> streams = stream == null || stream.isEmpty()
+            ? EnumSet.allOf(JournalStream.class)
+            : EnumSet.copyOf(stream);
+
+        List<JournalEntry> entries = journal.read(toMillis(start), toMillis(end), streams,
+            Math.min(Math.max(limit, 0), MAX_LIMIT));
+        List<JournalEntryView> views = new ArrayList<>(entries.size());
+        for (JournalEntry entry : entries) {
+            views.add(JournalEntryView.builder()
+                .position(entry.position())
+                .timestamp(LocalDateTime.ofInstant(Instant.ofEpochMilli(entry.timestamp()), ZoneId.systemDefault()))
+                .stream(entry.stream())
+                .kind(entry.kind())
+                .entityId(entry.entityId())
+                .data(decode(entry))
+                .build());
+        }
+        return ResponseEntity.ok(views);
+    }
+
+    @GetMapping("/status")
+    public ResponseEntity<JournalStatus> getStatus() {
+        return ResponseEntity.ok(journal.getStatus());
+    }
+
+    /**
+     * Checkpoint ngay (thay vì đợi lịch journal.checkpoint-interval-ms)
+     */
+    @PostMapping("/checkpoint")
+    public ResponseEntity<JournalStatus> checkpoint() {
+        journal.checkpointAll();
+        return ResponseEntity.ok(journal.getStatus());
+    }
+
+    private Object decode(JournalEntry entry) {
+        try {
+            return journal.decode(entry);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Failed to decode journal record at {}: {}", entry.position(), e.getMessage());
+            return null;
+        }
+    }
+
+    private static long toMillis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
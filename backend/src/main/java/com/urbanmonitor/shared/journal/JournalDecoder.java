@@ -0,0 +1,12 @@
+package com.urbanmonitor.shared.journal;
+
+import java.io.IOException;
+
+/**
+ * Decode payload của một stream thành object trả về cho API audit (serialize bằng Jackson)
+ */
+@FunctionalInterface
+public interface JournalDecoder {
+
+    Object decode(JournalEntry entry) throws IOException;
+}
@@ -0,0 +1,22 @@
+package com.urbanmonitor.shared.journal;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+
+/**
+ * Một record đã đọc từ journal.
+ *
+ * @param position  vị trí trong journal: (segment index << 32) | offset, tăng dần theo thứ tự ghi
+ * @param timestamp epoch millis lúc ghi (không giảm trong toàn journal)
+ */
+public record JournalEntry(long position,
+                           long timestamp,
+                           JournalStream stream,
+                           JournalEntryKind kind,
+                           long entityId,
+                           byte[] payload) {
+
+    public DataInputStream payloadInput() {
+        return new DataInputStream(new ByteArrayInputStream(payload));
+    }
+}
@@ -0,0 +1,35 @@
+package com.urbanmonitor.shared.journal;
+
+/**
+ * Loại record trong journal:
+ * - UPSERT / DELETE: event đổi state của một entity (payload = tên event + state mới)
+ * - APPEND: event chỉ để audit, không tham gia replay state
+ * - CHECKPOINT_BEGIN, STATE..., CHECKPOINT_END: snapshot state của một stream, ghi liền một khối
+ */
+public enum JournalEntryKind {
+    UPSERT(1),
+    DELETE(2),
+    APPEND(3),
+    STATE(4),
+    CHECKPOINT_BEGIN(5),
+    CHECKPOINT_END(6);
+
+    private final byte code;
+
+    JournalEntryKind(int code) {
+        this.code = (byte) code;
+    }
+
+    public byte code() {
+        return code;
+    }
+
+    public static JournalEntryKind fromCode(byte code) {
+        for (JournalEntryKind kind : values()) {
+            if (kind.code == code) {
+                return kind;
+            }
+        }
+        return null;
+    }
+}
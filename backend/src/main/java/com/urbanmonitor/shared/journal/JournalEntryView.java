@@ -0,0 +1,20 @@
+package com.urbanmonitor.shared.journal;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Một record journal cho API audit, payload đã decode theo stream
+ */
+@Getter
+@Builder
+public class JournalEntryView {
+    private final long position;
+    private final LocalDateTime timestamp;
+    private final JournalStream stream;
+    private final JournalEntryKind kind;
+    private final long entityId;
+    private final Object data;
+}
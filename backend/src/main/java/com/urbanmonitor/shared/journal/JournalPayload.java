@@ -0,0 +1,13 @@
+package com.urbanmonitor.shared.journal;
+
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Ghi payload của một record
+ */
+@FunctionalInterface
+public interface JournalPayload {
+
+    void writeTo(DataOutput out) throws IOException;
+}
@@ -0,0 +1,243 @@
+package com.urbanmonitor.shared.journal;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Consumer;
+import java.util.zip.CRC32C;
+
+/**
+ * Một file segment của journal, map toàn bộ vào memory (kích thước cố định, file sparse).
+ *
+ * Record: [int length][int crc32c][long timestamp][byte stream][byte kind][long entityId][payload],
+ * length tính cả header, crc tính từ timestamp tới hết payload. length = 0 đánh dấu hết dữ liệu.
+ *
+ * Chỉ EventJournal ghi (dưới lock của nó), chỉ dùng put tuyệt đối nên reader đọc qua duplicate()
+ * tới writePosition mà không cần lock.
+ */
+final class JournalSegment {
+
+    static final int HEADER_BYTES = 26;
+
+    private final int index;
+    private final Path path;
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+
+    private volatile int writePosition;
+    private volatile long firstTimestamp = Long.MAX_VALUE;
+    private volatile long lastTimestamp = Long.MIN_VALUE;
+
+    private JournalSegment(int index, Path path, FileChannel channel, MappedByteBuffer buffer) {
+        this.index = index;
+        this.path = path;
+        this.channel = channel;
+        this.buffer = buffer;
+    }
+
+    /**
+     * Mở (hoặc tạo) segment. File ngắn hơn size (segment mới) được nới ra size.
+     */
+    static JournalSegment open(Path path, int index, int size) throws IOException {
+        FileChannel channel = FileChannel.open(path,
+            StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            long mapped = Math.max(channel.size(), size);
+            if (mapped > Integer.MAX_VALUE) {
+                throw new IOException("Journal segment too large: " + path);
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, mapped);
+            return new JournalSegment(index, path, channel, buffer);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Tìm điểm ghi tiếp theo: đi qua các record tới length = 0, record vượt quá file
+     * hoặc (verify) record sai checksum - phần đuôi ghi dở lúc crash. Đuôi hỏng được xoá về 0
+     * để record mới ghi đè lên không bị đọc lẫn với byte cũ.
+     *
+     * @return true nếu phải cắt bỏ đuôi hỏng
+     */
+    boolean recover(boolean verify, Consumer<Cursor> visitor) {
+        Cursor cursor = new Cursor(0, buffer.capacity(), verify);
+        while (cursor.next()) {
+            if (firstTimestamp == Long.MAX_VALUE) {
+                firstTimestamp = cursor.timestamp;
+            }
+            lastTimestamp = cursor.timestamp;
+            visitor.accept(cursor);
+        }
+        writePosition = cursor.offset;
+        if (!cursor.torn) {
+            return false;
+        }
+        ByteBuffer zero = ByteBuffer.allocate(64 * 1024);
+        for (int offset = writePosition; offset < buffer.capacity(); offset += zero.capacity()) {
+            int length = Math.min(zero.capacity(), buffer.capacity() - offset);
+            buffer.put(offset, zero.array(), 0, length);
+        }
+        return true;
+    }
+
+    /**
+     * Caller giữ lock của journal và đã kiểm tra remaining()
+     */
+    void write(byte[] record, long timestamp) {
+        int offset = writePosition;
+        buffer.put(offset, record);
+        if (firstTimestamp == Long.MAX_VALUE) {
+            firstTimestamp = timestamp;
+        }
+        lastTimestamp = timestamp;
+        writePosition = offset + record.length;
+    }
+
+    int remaining() {
+        return buffer.capacity() - writePosition;
+    }
+
+    /**
+     * Đọc các record đã ghi xong từ offset (record phải bắt đầu đúng tại offset)
+     */
+    Cursor cursor(int fromOffset) {
+        return new Cursor(fromOffset, writePosition, true);
+    }
+
+    void force() {
+        buffer.force();
+    }
+
+    void close() throws IOException {
+        channel.close();
+    }
+
+    void delete() throws IOException {
+        close();
+        Files.deleteIfExists(path);
+    }
+
+    int index() {
+        return index;
+    }
+
+    Path path() {
+        return path;
+    }
+
+    int size() {
+        return writePosition;
+    }
+
+    long firstTimestamp() {
+        return firstTimestamp;
+    }
+
+    long lastTimestamp() {
+        return lastTimestamp;
+    }
+
+    boolean isEmpty() {
+        return writePosition == 0;
+    }
+
+    static long position(int segmentIndex, int offset) {
+        return ((long) segmentIndex << 32) | (offset & 0xFFFFFFFFL);
+    }
+
+    static int segmentOf(long position) {
+        return (int) (position >>> 32);
+    }
+
+    static int offsetOf(long position) {
+        return (int) position;
+    }
+
+    /**
+     * Duyệt record không copy: header đọc thẳng từ buffer, payload chỉ copy khi gọi entry()
+     */
+    final class Cursor {
+
+        private final ByteBuffer view = buffer.duplicate();
+        private final int limit;
+        private final boolean verify;
+        private final CRC32C crc = new CRC32C();
+
+        private int offset;
+        private int next;
+        private boolean torn;
+
+        int recordOffset;
+        long timestamp;
+        byte streamCode;
+        byte kindCode;
+        long entityId;
+
+        private Cursor(int fromOffset, int limit, boolean verify) {
+            this.next = fromOffset;
+            this.offset = fromOffset;
+            this.limit = limit;
+            this.verify = verify;
+        }
+
+        boolean next() {
+            offset = next;
+            if (offset + HEADER_BYTES > limit) {
+                torn = offset + 4 <= limit && view.getInt(offset) != 0;
+                return false;
+            }
+            int length = view.getInt(offset);
+            if (length < HEADER_BYTES || offset + length > limit) {
+                torn = length != 0;
+                return false;
+            }
+            if (verify && checksumOf(offset, length) != view.getInt(offset + 4)) {
+                torn = true;
+                return false;
+            }
+            recordOffset = offset;
+            timestamp = view.getLong(offset + 8);
+            streamCode = view.get(offset + 16);
+            kindCode = view.get(offset + 17);
+            entityId = view.getLong(offset + 18);
+            next = offset + length;
+            return true;
+        }
+
+        long position() {
+            return JournalSegment.position(index, recordOffset);
+        }
+
+        /**
+         * Offset ngay sau record cuối đã đọc (= điểm dừng khi next() trả false)
+         */
+        int endOffset() {
+            return next;
+        }
+
+        byte[] payload() {
+            byte[] payload = new byte[next - recordOffset - HEADER_BYTES];
+            view.get(recordOffset + HEADER_BYTES, payload);
+            return payload;
+        }
+
+        JournalEntry entry() {
+            return new JournalEntry(position(), timestamp, JournalStream.fromCode(streamCode),
+                JournalEntryKind.fromCode(kindCode), entityId, payload());
+        }
+
+        private int checksumOf(int offset, int length) {
+            crc.reset();
+            view.limit(offset + length).position(offset + 8);
+            crc.update(view);
+            view.clear();
+            return (int) crc.getValue();
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.urbanmonitor.shared.journal;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@Builder
+public class JournalStatus {
+    private final boolean open;
+    private final String directory;
+    private final int segments;
+    /** Tổng bytes đã ghi (không tính phần trống cuối segment) */
+    private final long bytes;
+    private final long endPosition;
+    private final List<JournalCheckpoint> checkpoints;
+}
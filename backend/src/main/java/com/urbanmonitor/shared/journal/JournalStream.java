@@ -0,0 +1,33 @@
+package com.urbanmonitor.shared.journal;
+
+/**
+ * Các stream trong event journal. Code ghi vào header từng record nên không được đổi / dùng lại.
+ */
+public enum JournalStream {
+    DISASTER_ZONES(1),
+    EMERGENCY_LOCATIONS(2),
+    INCIDENTS(3),
+    OPTIMIZATIONS(4);
+
+    private final byte code;
+
+    JournalStream(int code) {
+        this.code = (byte) code;
+    }
+
+    public byte code() {
+        return code;
+    }
+
+    /**
+     * null với code không biết (record của phiên bản mới hơn)
+     */
+    public static JournalStream fromCode(byte code) {
+        for (JournalStream stream : values()) {
+            if (stream.code == code) {
+                return stream;
+            }
+        }
+        return null;
+    }
+}
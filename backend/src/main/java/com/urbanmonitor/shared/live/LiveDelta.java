@@ -0,0 +1,54 @@
+package com.urbanmonitor.shared.live;
+
+import com.urbanmonitor.shared.geo.BoundingBox;
+import lombok.Getter;
+
+/**
+ * Một thay đổi gửi cho live map: feature GeoJSON được thêm / sửa / xoá, hoặc bộ đếm stats mới.
+ * data đã là object sẵn sàng serialize (Feature map, stats DTO); hub serialize một lần cho mọi client.
+ */
+@Getter
+public class LiveDelta {
+
+    public enum Op {
+        ADDED, UPDATED, REMOVED, STATS
+    }
+
+    private final String layer;
+    private final Op op;
+    private final String id;
+    /** Bbox hiện tại của feature, null nếu không có vị trí (khi đó filter bbox không áp dụng) */
+    private final BoundingBox bbox;
+    private final Object data;
+
+    private LiveDelta(String layer, Op op, String id, BoundingBox bbox, Object data) {
+        this.layer = layer;
+        this.op = op;
+        this.id = id;
+        this.bbox = bbox;
+        this.data = data;
+    }
+
+    public static LiveDelta added(String layer, Object id, BoundingBox bbox, Object feature) {
+        return new LiveDelta(layer, Op.ADDED, String.valueOf(id), bbox, feature);
+    }
+
+    public static LiveDelta updated(String layer, Object id, BoundingBox bbox, Object feature) {
+        return new LiveDelta(layer, Op.UPDATED, String.valueOf(id), bbox, feature);
+    }
+
+    public static LiveDelta removed(String layer, Object id) {
+        return new LiveDelta(layer, Op.REMOVED, String.valueOf(id), null, null);
+    }
+
+    public static LiveDelta stats(String layer, Object id, Object counters) {
+        return new LiveDelta(layer, Op.STATS, String.valueOf(id), null, counters);
+    }
+
+    /**
+     * Key coalesce: các delta cùng key chỉ cần gửi bản mới nhất
+     */
+    public String key() {
+        return layer + ':' + id;
+    }
+}
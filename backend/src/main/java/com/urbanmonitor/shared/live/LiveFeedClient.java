@@ -0,0 +1,171 @@
+package com.urbanmonitor.shared.live;
+
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Một kết nối SSE. Delta chờ gửi được giữ theo key (layer:id): client chậm chỉ nhận bản mới nhất
+ * của mỗi feature thay vì cả hàng đợi. Mỗi lần flush ghi mọi frame đang chờ trong một lần write.
+ */
+final class LiveFeedClient {
+
+    private final SseEmitter emitter;
+    private final LiveFeedFilter filter;
+    private final int maxPending;
+
+    // ---- guarded by this ----
+    /** key → SSE frame; remove + put để thứ tự gửi luôn theo sequence tăng dần (resume đúng) */
+    private final Map<String, String> pending = new LinkedHashMap<>();
+    private String control;
+    private boolean controlIsReset;
+    private boolean scheduled;
+    private boolean closed;
+    private long coalesced;
+    private long resets;
+
+    LiveFeedClient(SseEmitter emitter, LiveFeedFilter filter, int maxPending) {
+        this.emitter = emitter;
+        this.filter = filter;
+        this.maxPending = maxPending;
+    }
+
+    SseEmitter emitter() {
+        return emitter;
+    }
+
+    /**
+     * @return true nếu caller phải schedule flush
+     */
+    boolean offer(LiveFeedHub.Entry entry) {
+        String frame = render(entry);
+        if (frame == null) {
+            return false;
+        }
+        synchronized (this) {
+            if (closed) {
+                return false;
+            }
+            if (pending.remove(entry.delta().key()) != null) {
+                coalesced++;
+            }
+            pending.put(entry.delta().key(), frame);
+            if (pending.size() > maxPending) {
+                // Tụt quá xa: bỏ hết, client tải lại full snapshot
+                pending.clear();
+                control = LiveFeedHub.controlFrame("reset", entry.eventId());
+                controlIsReset = true;
+                resets++;
+            }
+            return markScheduled();
+        }
+    }
+
+    /**
+     * Frame điều khiển (ready / reset), luôn gửi trước các delta đang chờ
+     */
+    synchronized boolean control(String frame, boolean reset) {
+        if (closed) {
+            return false;
+        }
+        if (reset) {
+            pending.clear();
+            resets++;
+        }
+        if (reset || !controlIsReset) {
+            control = frame;
+            controlIsReset = reset;
+        }
+        return markScheduled();
+    }
+
+    /**
+     * Chạy trên sender pool; lặp tới khi hết frame chờ. Lỗi ghi → đóng client.
+     */
+    void flush() {
+        while (true) {
+            StringBuilder out = new StringBuilder();
+            synchronized (this) {
+                if (closed || (control == null && pending.isEmpty())) {
+                    scheduled = false;
+                    return;
+                }
+                if (control != null) {
+                    out.append(control);
+                    control = null;
+                    controlIsReset = false;
+                }
+                pending.values().forEach(out::append);
+                pending.clear();
+            }
+            try {
+                emitter.send(Set.of(new ResponseBodyEmitter.DataWithMediaType(out.toString(), MediaType.TEXT_PLAIN)));
+            } catch (IOException | IllegalStateException e) {
+                close();
+                return;
+            }
+        }
+    }
+
+    boolean heartbeat() {
+        try {
+            emitter.send(SseEmitter.event().comment("ping"));
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            close();
+            return false;
+        }
+    }
+
+    synchronized void close() {
+        closed = true;
+        pending.clear();
+    }
+
+    synchronized boolean isClosed() {
+        return closed;
+    }
+
+    synchronized long coalesced() {
+        return coalesced;
+    }
+
+    synchronized long resets() {
+        return resets;
+    }
+
+    private boolean markScheduled() {
+        if (scheduled) {
+            return false;
+        }
+        scheduled = true;
+        return true;
+    }
+
+    /**
+     * Áp filter: ngoài layer → bỏ; feature ra khỏi viewport → gửi như REMOVED; REMOVED ở ngoài viewport → bỏ
+     */
+    private String render(LiveFeedHub.Entry entry) {
+        LiveDelta delta = entry.delta();
+        if (!filter.accepts(delta.getLayer())) {
+            return null;
+        }
+        return switch (delta.getOp()) {
+            case STATS -> entry.frame();
+            case REMOVED -> entry.previousBbox() != null && !filter.isVisible(entry.previousBbox()) ? null : entry.frame();
+            case ADDED, UPDATED -> {
+                if (filter.isVisible(delta.getBbox())) {
+                    yield entry.frame();
+                }
+                boolean wasVisible = delta.getOp() == LiveDelta.Op.UPDATED
+                    && (entry.previousBbox() == null || filter.isVisible(entry.previousBbox()));
+                yield wasVisible ? entry.removedFrame() : null;
+            }
+        };
+    }
+}
@@ -0,0 +1,39 @@
+package com.urbanmonitor.shared.live;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Live map feed (Server-Sent Events).
+ *
+ * GET /api/live/stream?layers=disasters,emergencies&bbox=102,8,110,24
+ * - data: {"seq", "layer", "op": added|updated|removed|stats, "id", "data": Feature / counters}
+ * - event "ready": kết nối xong; event "reset": tải lại full dashboard rồi áp tiếp các delta sau đó
+ * - EventSource tự gửi Last-Event-ID khi reconnect; client tự quản lý có thể truyền ?lastEventId=
+ */
+@RestController
+@RequestMapping("/api/live")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+public class LiveFeedController {
+
+    private final LiveFeedHub hub;
+
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(
+            @RequestParam(required = false) String layers,
+            @RequestParam(required = false) String bbox,
+            @RequestParam(required = false) String lastEventId,
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventIdHeader) {
+        return hub.connect(LiveFeedFilter.of(layers, bbox),
+            lastEventIdHeader != null ? lastEventIdHeader : lastEventId);
+    }
+
+    @GetMapping("/status")
+    public ResponseEntity<LiveFeedStatus> getStatus() {
+        return ResponseEntity.ok(hub.getStatus());
+    }
+}
@@ -0,0 +1,38 @@
+package com.urbanmonitor.shared.live;
+
+import com.urbanmonitor.shared.geo.BoundingBox;
+
+import java.util.Arrays;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Filter của một client: layers (rỗng = tất cả) và viewport bbox (null = không giới hạn)
+ */
+public record LiveFeedFilter(Set<String> layers, BoundingBox bbox) {
+
+    /**
+     * @param layers "disasters,emergencies" (optional)
+     * @param bbox   "minLng,minLat,maxLng,maxLat" (optional)
+     */
+    public static LiveFeedFilter of(String layers, String bbox) {
+        Set<String> parsed = layers == null || layers.isBlank()
+            ? Set.of()
+            : Arrays.stream(layers.split(","))
+                .map(String::trim)
+                .filter(layer -> !layer.isEmpty())
+                .collect(Collectors.toUnmodifiableSet());
+        return new LiveFeedFilter(parsed, BoundingBox.parse(bbox));
+    }
+
+    public boolean accepts(String layer) {
+        return layers.isEmpty() || layers.contains(layer);
+    }
+
+    /**
+     * Bbox không biết (null) được coi là nhìn thấy
+     */
+    public boolean isVisible(BoundingBox featureBbox) {
+        return bbox == null || featureBbox == null || bbox.intersects(featureBbox);
+    }
+}
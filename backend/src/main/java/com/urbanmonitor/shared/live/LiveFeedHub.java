@@ -0,0 +1,242 @@
+package com.urbanmonitor.shared.live;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.urbanmonitor.shared.geo.BoundingBox;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Hub Server-Sent Events cho live map: các feed (observer của domain events) publish delta,
+ * hub đánh sequence, lưu vào replay log và đẩy tới các client theo filter của từng client.
+ *
+ * - Frame SSE được serialize một lần cho mọi client, mỗi client chỉ quyết định gửi / bỏ / đổi thành removed
+ * - Client chậm: delta cùng feature được gộp (LiveFeedClient), tụt quá live.max-pending-per-client → reset
+ * - Resume: event id = "{epoch}-{seq}", reconnect với Last-Event-ID còn trong replay log thì nhận nốt
+ *   phần còn thiếu; quá cũ / khác epoch (server restart) → event "reset", client tải lại full dashboard
+ */
+@Component
+@Slf4j
+public class LiveFeedHub {
+
+    record Entry(long sequence, String eventId, LiveDelta delta, BoundingBox previousBbox,
+                 String frame, String removedFrame) {
+    }
+
+    private final ObjectMapper objectMapper;
+    private final long emitterTimeoutMillis;
+    private final int maxPendingPerClient;
+    private final ExecutorService sender;
+    private final long epoch = System.currentTimeMillis();
+    private final Set<LiveFeedClient> clients = ConcurrentHashMap.newKeySet();
+    private final Object lock = new Object();
+
+    // ---- guarded by lock ----
+    private final Entry[] replay;
+    private int replayStart;
+    private int replaySize;
+    private long sequence;
+    /** Bbox gửi gần nhất của mỗi feature, để biết feature vừa rời khỏi viewport nào */
+    private final Map<String, BoundingBox> lastBboxes = new HashMap<>();
+
+    public LiveFeedHub(ObjectMapper objectMapper,
+                       @Value("${live.replay-size:10000}") int replaySize,
+                       @Value("${live.max-pending-per-client:5000}") int maxPendingPerClient,
+                       @Value("${live.emitter-timeout-ms:1800000}") long emitterTimeoutMillis,
+                       @Value("${live.sender-threads:4}") int senderThreads) {
+        this.objectMapper = objectMapper;
+        this.replay = new Entry[Math.max(1, replaySize)];
+        this.maxPendingPerClient = maxPendingPerClient;
+        this.emitterTimeoutMillis = emitterTimeoutMillis;
+        this.sender = Executors.newFixedThreadPool(Math.max(1, senderThreads));
+    }
+
+    /**
+     * @param lastEventId Last-Event-ID của lần kết nối trước, null = kết nối mới
+     */
+    public SseEmitter connect(LiveFeedFilter filter, String lastEventId) {
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMillis);
+        LiveFeedClient client = new LiveFeedClient(emitter, filter, maxPendingPerClient);
+        emitter.onCompletion(() -> disconnect(client));
+        emitter.onTimeout(() -> disconnect(client));
+        emitter.onError(e -> disconnect(client));
+
+        boolean schedule = false;
+        synchronized (lock) {
+            String currentId = eventId(sequence);
+            if (lastEventId == null || lastEventId.isBlank()) {
+                schedule = client.control(controlFrame("ready", currentId), false);
+            } else {
+                OptionalLong since = resumePoint(lastEventId);
+                if (since.isEmpty()) {
+                    schedule = client.control(controlFrame("reset", currentId), true);
+                } else {
+                    // ready không mang id: client giữ Last-Event-ID cũ tới khi nhận delta replay
+                    schedule = client.control(controlFrame("ready", null), false);
+                    for (int i = 0; i < replaySize; i++) {
+                        Entry entry = replay[(replayStart + i) % replay.length];
+                        if (entry.sequence() > since.getAsLong()) {
+                            client.offer(entry);
+                        }
+                    }
+                }
+            }
+            clients.add(client);
+        }
+        if (schedule) {
+            sender.execute(client::flush);
+        }
+        return emitter;
+    }
+
+    public void publish(List<LiveDelta> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        List<String> payloads = new ArrayList<>(deltas.size());
+        for (LiveDelta delta : deltas) {
+            payloads.add(serialize(delta));
+        }
+
+        List<LiveFeedClient> toFlush = new ArrayList<>();
+        synchronized (lock) {
+            for (int i = 0; i < deltas.size(); i++) {
+                if (payloads.get(i) == null) {
+                    continue;
+                }
+                Entry entry = append(deltas.get(i), payloads.get(i));
+                for (LiveFeedClient client : clients) {
+                    if (client.offer(entry)) {
+                        toFlush.add(client);
+                    }
+                }
+            }
+        }
+        toFlush.forEach(client -> sender.execute(client::flush));
+    }
+
+    /**
+     * Comment định kỳ giữ kết nối qua proxy và phát hiện client đã mất
+     */
+    @Scheduled(fixedDelayString = "${live.heartbeat-ms:15000}")
+    public void heartbeat() {
+        for (LiveFeedClient client : clients) {
+            sender.execute(() -> {
+                if (!client.heartbeat()) {
+                    disconnect(client);
+                }
+            });
+        }
+    }
+
+    public LiveFeedStatus getStatus() {
+        synchronized (lock) {
+            return LiveFeedStatus.builder()
+                .epoch(epoch)
+                .sequence(sequence)
+                .replayFrom(replaySize == 0 ? sequence : replay[replayStart].sequence())
+                .clients(clients.size())
+                .coalesced(clients.stream().mapToLong(LiveFeedClient::coalesced).sum())
+                .resets(clients.stream().mapToLong(LiveFeedClient::resets).sum())
+                .build();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        sender.shutdownNow();
+        clients.forEach(client -> client.emitter().complete());
+        clients.clear();
+    }
+
+    static String controlFrame(String event, String eventId) {
+        return (eventId != null ? "id:" + eventId + "\n" : "")
+            + "event:" + event + "\ndata:{\"event\":\"" + event + "\"}\n\n";
+    }
+
+    private void disconnect(LiveFeedClient client) {
+        client.close();
+        clients.remove(client);
+    }
+
+    /**
+     * Caller giữ lock
+     */
+    private Entry append(LiveDelta delta, String payload) {
+        long seq = ++sequence;
+        BoundingBox previous = switch (delta.getOp()) {
+            case STATS -> null;
+            case REMOVED -> lastBboxes.remove(delta.key());
+            case ADDED, UPDATED -> delta.getBbox() != null
+                ? lastBboxes.put(delta.key(), delta.getBbox())
+                : lastBboxes.remove(delta.key());
+        };
+        String id = eventId(seq);
+        String removed = delta.getOp() == LiveDelta.Op.UPDATED ? frame(id, seq, delta, "removed", "null") : null;
+        Entry entry = new Entry(seq, id, delta, previous,
+            frame(id, seq, delta, delta.getOp().name().toLowerCase(Locale.ROOT), payload), removed);
+
+        if (replaySize < replay.length) {
+            replay[(replayStart + replaySize++) % replay.length] = entry;
+        } else {
+            replay[replayStart] = entry;
+            replayStart = (replayStart + 1) % replay.length;
+        }
+        return entry;
+    }
+
+    /**
+     * Sequence để replay tiếp, empty nếu Last-Event-ID không resume được. Caller giữ lock.
+     */
+    private OptionalLong resumePoint(String lastEventId) {
+        int dash = lastEventId.indexOf('-');
+        try {
+            if (dash < 0 || Long.parseLong(lastEventId.substring(0, dash)) != epoch) {
+                return OptionalLong.empty();
+            }
+            long since = Long.parseLong(lastEventId.substring(dash + 1));
+            long oldest = replaySize == 0 ? sequence + 1 : replay[replayStart].sequence();
+            return since <= sequence && since >= oldest - 1 ? OptionalLong.of(since) : OptionalLong.empty();
+        } catch (NumberFormatException e) {
+            return OptionalLong.empty();
+        }
+    }
+
+    private String eventId(long seq) {
+        return epoch + "-" + seq;
+    }
+
+    private String frame(String id, long seq, LiveDelta delta, String op, String payload) {
+        return "id:" + id + "\ndata:{\"seq\":" + seq
+            + ",\"layer\":" + quote(delta.getLayer())
+            + ",\"op\":\"" + op + "\""
+            + ",\"id\":" + quote(delta.getId())
+            + ",\"data\":" + payload + "}\n\n";
+    }
+
+    private String serialize(LiveDelta delta) {
+        try {
+            return objectMapper.writeValueAsString(delta.getData());
+        } catch (JsonProcessingException e) {
+            log.warn("Cannot serialize live delta {}: {}", delta.key(), e.getMessage());
+            return null;
+        }
+    }
+
+    private String quote(String value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
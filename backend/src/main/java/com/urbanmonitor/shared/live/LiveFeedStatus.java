@@ -0,0 +1,16 @@
+package com.urbanmonitor.shared.live;
+
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+public class LiveFeedStatus {
+    private final long epoch;
+    private final long sequence;
+    /** Sequence cũ nhất còn trong replay log (Last-Event-ID cũ hơn → reset) */
+    private final long replayFrom;
+    private final int clients;
+    private final long coalesced;
+    private final long resets;
+}
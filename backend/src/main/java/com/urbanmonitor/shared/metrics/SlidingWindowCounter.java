@@ -0,0 +1,100 @@
+package com.urbanmonitor.shared.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bộ đếm cửa sổ trượt: ring gồm bucketCount bucket, mỗi bucket dài bucketMillis
+ * và giữ một LongAdder cho mỗi slot (vd mỗi tổ hợp type × status × priority).
+ *
+ * - add(slot, timeMillis, delta): cộng vào bucket của timeMillis; bucket đã trôi ra khỏi ring thì bỏ qua
+ *   (trừ một phần tử cũ sau khi bucket của nó hết hạn là no-op, đúng nghĩa cửa sổ)
+ * - sums(buckets, nowMillis): tổng từng slot trên `buckets` bucket gần nhất tính cả bucket hiện tại,
+ *   độ phân giải bằng một bucket
+ *
+ * Đọc không lock. Ghi có thể song song trong cùng bucket; bucket được reset lười khi lần đầu ghi vào epoch mới
+ * (ghi đồng thời đúng lúc roll-over có thể lệch một đơn vị - caller nào cần chính xác thì tự serialize ghi).
+ */
+public final class SlidingWindowCounter {
+
+    private final long bucketMillis;
+    private final int slots;
+    private final Bucket[] ring;
+
+    public SlidingWindowCounter(long bucketMillis, int bucketCount, int slots) {
+        if (bucketMillis <= 0 || bucketCount <= 0 || slots <= 0) {
+            throw new IllegalArgumentException("bucketMillis, bucketCount and slots must be positive");
+        }
+        this.bucketMillis = bucketMillis;
+        this.slots = slots;
+        this.ring = new Bucket[bucketCount];
+        for (int i = 0; i < bucketCount; i++) {
+            ring[i] = new Bucket(slots);
+        }
+    }
+
+    public int slots() {
+        return slots;
+    }
+
+    public int bucketCount() {
+        return ring.length;
+    }
+
+    public void add(int slot, long timeMillis, long delta, long nowMillis) {
+        long epoch = Math.floorDiv(timeMillis, bucketMillis);
+        long current = Math.floorDiv(nowMillis, bucketMillis);
+        if (epoch > current || epoch <= current - ring.length) {
+            return;
+        }
+        Bucket bucket = ring[(int) Math.floorMod(epoch, (long) ring.length)];
+        long seen = bucket.epoch;
+        if (seen != epoch) {
+            if (seen > epoch) {
+                return;
+            }
+            synchronized (bucket) {
+                if (bucket.epoch < epoch) {
+                    for (LongAdder adder : bucket.counts) {
+                        adder.reset();
+                    }
+                    bucket.epoch = epoch;
+                } else if (bucket.epoch > epoch) {
+                    return;
+                }
+            }
+        }
+        bucket.counts[slot].add(delta);
+    }
+
+    /**
+     * Tổng theo slot trên `buckets` bucket gần nhất (tối đa bucketCount)
+     */
+    public long[] sums(int buckets, long nowMillis) {
+        long current = Math.floorDiv(nowMillis, bucketMillis);
+        long oldest = current - Math.min(buckets, ring.length) + 1;
+        long[] sums = new long[slots];
+        for (Bucket bucket : ring) {
+            long epoch = bucket.epoch;
+            if (epoch < oldest || epoch > current) {
+                continue;
+            }
+            for (int slot = 0; slot < slots; slot++) {
+                sums[slot] += bucket.counts[slot].sum();
+            }
+        }
+        return sums;
+    }
+
+    private static final class Bucket {
+
+        final LongAdder[] counts;
+        volatile long epoch = Long.MIN_VALUE;
+
+        Bucket(int slots) {
+            counts = new LongAdder[slots];
+            for (int i = 0; i < slots; i++) {
+                counts[i] = new LongAdder();
+            }
+        }
+    }
+}
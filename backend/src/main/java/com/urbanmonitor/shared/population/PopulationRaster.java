@@ -0,0 +1,202 @@
+package com.urbanmonitor.shared.population;
+
+import com.urbanmonitor.shared.geo.BoundingBox;
+import com.urbanmonitor.shared.geo.PackedGeometry;
+import com.urbanmonitor.shared.geo.RasterGrid;
+import com.urbanmonitor.shared.geo.ScanlineRasterizer;
+import com.urbanmonitor.shared.geo.ScanlineRasterizer.RowSpans;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.stream.IntStream;
+
+/**
+ * Raster dân số dạng lưới (số người mỗi cell), file local map vào memory, chỉ đọc.
+ *
+ * Format (little-endian), header 64 bytes:
+ *   "UMPOPR01" | int width | int height | double west | double north | double cellWidth | double cellHeight
+ *   | float nodata | padding, sau đó float32[height][width] theo hàng từ bắc xuống nam.
+ * Chuyển từ GeoTIFF (WorldPop, GHS-POP, ...): đọc band 1 theo hàng rồi ghi header + float32 như trên.
+ *
+ * Tổng dân số theo tile (TILE_SIZE × TILE_SIZE cells) tính một lần lúc load, để bỏ qua cả tile trống
+ * (biển, rừng) khi cộng theo spans. Không cấu hình population.raster-path thì raster không được load
+ * và exposure engine không làm gì.
+ */
+@Component
+@Slf4j
+public class PopulationRaster {
+
+    static final int TILE_SIZE = 256;
+
+    private static final byte[] MAGIC = "UMPOPR01".getBytes(StandardCharsets.US_ASCII);
+    private static final int HEADER_BYTES = 64;
+
+    private final String path;
+
+    private RasterGrid grid;
+    private FloatBuffer[] bands;
+    private int rowsPerBand;
+    private float nodata;
+    private int tileColumns;
+    private double[] tileSums;
+    private String version;
+    private volatile boolean loaded;
+
+    public PopulationRaster(@Value("${population.raster-path:}") String path) {
+        this.path = path;
+    }
+
+    @PostConstruct
+    public void init() {
+        if (path == null || path.isBlank()) {
+            log.info("Population raster not configured (population.raster-path), exposure disabled");
+            return;
+        }
+        long start = System.currentTimeMillis();
+        Path file = Paths.get(path);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            while (header.hasRemaining() && channel.read(header) >= 0) {
+                // đọc đủ header
+            }
+            header.flip();
+            if (header.remaining() < HEADER_BYTES) {
+                throw new IOException("Truncated header");
+            }
+            byte[] magic = new byte[MAGIC.length];
+            header.get(magic);
+            if (!java.util.Arrays.equals(magic, MAGIC)) {
+                throw new IOException("Not a population raster (bad magic)");
+            }
+            int width = header.getInt();
+            int height = header.getInt();
+            grid = new RasterGrid(header.getDouble(), header.getDouble(), header.getDouble(), header.getDouble(), width, height);
+            nodata = header.getFloat();
+
+            long expected = HEADER_BYTES + (long) width * height * Float.BYTES;
+            if (channel.size() < expected) {
+                throw new IOException("File has " + channel.size() + " bytes, expected " + expected);
+            }
+
+            // Mỗi band ≤ 2GB (giới hạn của một MappedByteBuffer)
+            rowsPerBand = Math.max(1, (int) (Integer.MAX_VALUE / ((long) width * Float.BYTES)));
+            int bandCount = (height + rowsPerBand - 1) / rowsPerBand;
+            bands = new FloatBuffer[bandCount];
+            for (int band = 0; band < bandCount; band++) {
+                int rows = Math.min(rowsPerBand, height - band * rowsPerBand);
+                long offset = HEADER_BYTES + (long) band * rowsPerBand * width * Float.BYTES;
+                bands[band] = channel.map(FileChannel.MapMode.READ_ONLY, offset, (long) rows * width * Float.BYTES)
+                    .order(ByteOrder.LITTLE_ENDIAN)
+                    .asFloatBuffer();
+            }
+            computeTileSums();
+            version = file.toAbsolutePath() + "@" + Files.getLastModifiedTime(file).toMillis() + ":" + channel.size();
+            loaded = true;
+            log.info("Population raster loaded: {}x{} cells, {} non-empty of {} tiles, total {} people in {} ms",
+                width, height, IntStream.range(0, tileSums.length).filter(i -> tileSums[i] > 0).count(),
+                tileSums.length, Math.round(java.util.Arrays.stream(tileSums).sum()), System.currentTimeMillis() - start);
+        } catch (IOException | RuntimeException e) {
+            log.error("Failed to load population raster {}: {}", path, e.getMessage());
+        }
+    }
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    /**
+     * Đổi khi file raster đổi (path / mtime / size) - cache kết quả exposure theo version này
+     */
+    public String getVersion() {
+        return version;
+    }
+
+    public RasterGrid getGrid() {
+        return grid;
+    }
+
+    /**
+     * Dân số các cell có tâm nằm trong geometry, 0 nếu raster chưa load
+     */
+    public long populationWithin(PackedGeometry geometry) {
+        return loaded ? sum(ScanlineRasterizer.rasterize(geometry, grid)) : 0;
+    }
+
+    public RowSpans rasterize(PackedGeometry geometry) {
+        return ScanlineRasterizer.rasterize(geometry, grid);
+    }
+
+    /**
+     * Rasterize chỉ trong window (vd: ranh giới tỉnh giới hạn trong bbox của zone)
+     */
+    public RowSpans rasterize(PackedGeometry geometry, BoundingBox window) {
+        return ScanlineRasterizer.rasterize(geometry, grid, window);
+    }
+
+    /**
+     * Tổng dân số trên spans, nhảy qua tile có tổng 0
+     */
+    public long sum(RowSpans spans) {
+        if (!loaded) {
+            return 0;
+        }
+        double total = 0;
+        for (int row = spans.rowFrom(); row < spans.rowTo(); row++) {
+            int[] cols = spans.row(row);
+            if (cols.length == 0) {
+                continue;
+            }
+            FloatBuffer band = bands[row / rowsPerBand];
+            int base = (row % rowsPerBand) * grid.width();
+            int tileRow = (row / TILE_SIZE) * tileColumns;
+            for (int i = 0; i < cols.length; i += 2) {
+                int col = cols[i];
+                int end = cols[i + 1];
+                while (col < end) {
+                    int tileEnd = Math.min(end, (col / TILE_SIZE + 1) * TILE_SIZE);
+                    if (tileSums[tileRow + col / TILE_SIZE] > 0) {
+                        for (int c = col; c < tileEnd; c++) {
+                            total += valueOf(band.get(base + c));
+                        }
+                    }
+                    col = tileEnd;
+                }
+            }
+        }
+        return Math.round(total);
+    }
+
+    private void computeTileSums() {
+        int tileRows = (grid.height() + TILE_SIZE - 1) / TILE_SIZE;
+        tileColumns = (grid.width() + TILE_SIZE - 1) / TILE_SIZE;
+        double[] sums = new double[tileRows * tileColumns];
+        // Mỗi tile row một task: các task ghi vào vùng riêng của mảng
+        IntStream.range(0, tileRows).parallel().forEach(tileRow -> {
+            int rowEnd = Math.min(grid.height(), (tileRow + 1) * TILE_SIZE);
+            for (int row = tileRow * TILE_SIZE; row < rowEnd; row++) {
+                FloatBuffer band = bands[row / rowsPerBand];
+                int base = (row % rowsPerBand) * grid.width();
+                for (int col = 0; col < grid.width(); col++) {
+                    sums[tileRow * tileColumns + col / TILE_SIZE] += valueOf(band.get(base + col));
+                }
+            }
+        });
+        tileSums = sums;
+    }
+
+    private double valueOf(float value) {
+        return value == nodata || !(value > 0) ? 0 : value;
+    }
+}
@@ -0,0 +1,109 @@
+package com.urbanmonitor.shared.province;
+
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.urbanmonitor.shared.geo.BoundingBox;
+import com.urbanmonitor.shared.geo.GeometryView;
+import com.urbanmonitor.shared.geo.PackedGeometry;
+import com.urbanmonitor.shared.geo.PolygonClipper;
+import lombok.Getter;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * VALUE OBJECT - Một tỉnh/thành trong registry.
+ *
+ * {@code id} là số thứ tự ổn định (sort theo code), dùng làm key int
+ * thay cho so khớp tên chuỗi.
+ *
+ * Giữ nhiều level of detail (level 0 = full resolution), mỗi level kèm GeoJSON geometry
+ * đã serialize sẵn (UTF-8 bytes cache trong SerializedString) để splice thẳng vào response
+ * bằng writeRawValue.
+ */
+@Getter
+public final class ProvinceGeometry {
+
+    private final int id;
+    private final String code;
+    private final String name;
+    private final Map<String, Object> properties;
+    private final PackedGeometry geometry;
+    private final SerializedString encodedGeometry;
+
+    @Getter(lombok.AccessLevel.NONE)
+    private final Level[] levels;
+
+    public ProvinceGeometry(int id, String code, String name, Map<String, Object> properties, List<Level> levels) {
+        this.id = id;
+        this.code = code;
+        this.name = name;
+        this.properties = properties;
+        this.levels = levels.toArray(new Level[0]);
+        this.geometry = this.levels[0].geometry;
+        this.encodedGeometry = this.levels[0].encoded;
+    }
+
+    public BoundingBox getBbox() {
+        return geometry.getBbox();
+    }
+
+    public double getCentroidLng() {
+        return geometry.getCentroidLng();
+    }
+
+    public double getCentroidLat() {
+        return geometry.getCentroidLat();
+    }
+
+    /**
+     * Geometry theo LOD + clip của view, null nếu nằm ngoài vùng clip
+     */
+    public PackedGeometry geometryFor(GeometryView view) {
+        if (!view.isVisible(geometry)) {
+            return null;
+        }
+        PackedGeometry simplified = levelFor(view).geometry;
+        return view.needsClipping(geometry) ? PolygonClipper.clip(simplified, view.getClip()) : simplified;
+    }
+
+    /**
+     * Bytes encode sẵn của level phù hợp; null nếu view cần clip tỉnh này
+     * (khi đó caller serialize {@link #geometryFor})
+     */
+    public SerializedString encodedGeometryFor(GeometryView view) {
+        return view.needsClipping(geometry) ? null : levelFor(view).encoded;
+    }
+
+    public int vertexCountFor(GeometryView view) {
+        return levelFor(view).geometry.getVertexCount();
+    }
+
+    /**
+     * Level thô nhất có threshold <= threshold yêu cầu
+     */
+    private Level levelFor(GeometryView view) {
+        double threshold = view.getAreaThreshold();
+        Level chosen = levels[0];
+        for (Level level : levels) {
+            if (level.threshold <= threshold) {
+                chosen = level;
+            }
+        }
+        return chosen;
+    }
+
+    /**
+     * Một level of detail đã tính sẵn
+     */
+    public static final class Level {
+        private final double threshold;
+        private final PackedGeometry geometry;
+        private final SerializedString encoded;
+
+        public Level(double threshold, PackedGeometry geometry, SerializedString encoded) {
+            this.threshold = threshold;
+            this.geometry = geometry;
+            this.encoded = encoded;
+        }
+    }
+}
@@ -0,0 +1,197 @@
+package com.urbanmonitor.shared.province;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.urbanmonitor.shared.geo.GeoJsonCoordinateReader;
+import com.urbanmonitor.shared.geo.GeometryView;
+import com.urbanmonitor.shared.geo.PackedGeometry;
+import com.urbanmonitor.shared.geo.SharedBorderSimplifier;
+import com.urbanmonitor.shared.geo.VisvalingamWhyatt;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.*;
+
+/**
+ * SINGLE RESPONSIBILITY PRINCIPLE - Registry dùng chung cho ranh giới tỉnh/thành.
+ *
+ * Parse vietnam-provinces.json MỘT lần bằng streaming parser, giữ toạ độ
+ * dạng packed double[] (xem {@link PackedGeometry}) thay vì Map tree boxed Double.
+ * Cả disasterMonitor và temperaturemonitor đọc từ đây.
+ *
+ * Level of detail: effective areas Visvalingam-Whyatt tính một lần cho cả 63 tỉnh
+ * (junction giữa các tỉnh được pin để biên chung simplify giống nhau), rồi cắt sẵn
+ * một level cho mỗi zoom trong LOD_ZOOMS.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ProvinceGeometryRegistry {
+
+    private static final String GEOJSON_PATH = "geojson/vietnam-provinces.json";
+
+    private static final List<String> PROVINCE_NAME_KEYS = List.of(
+            "Name", "name", "TEN_TINH", "NAME_1"
+    );
+
+    /** Zoom có level tính sẵn; zoom lớn hơn zoom cuối dùng full resolution */
+    private static final int[] LOD_ZOOMS = {4, 6, 8, 10};
+
+    private final ObjectMapper objectMapper;
+
+    private volatile List<ProvinceGeometry> provinces = Collections.emptyList();
+    private volatile Map<String, ProvinceGeometry> byCode = Collections.emptyMap();
+
+    @PostConstruct
+    public void init() {
+        long start = System.currentTimeMillis();
+        try (InputStream in = new ClassPathResource(GEOJSON_PATH).getInputStream();
+             JsonParser parser = objectMapper.getFactory().createParser(in)) {
+
+            List<RawFeature> raw = readFeatures(parser);
+            raw.sort(Comparator.comparing(f -> f.code));
+
+            double[][][][] areas = SharedBorderSimplifier.computeAreas(
+                    raw.stream().map(RawFeature::geometry).toList());
+
+            List<ProvinceGeometry> loaded = new ArrayList<>(raw.size());
+            Map<String, ProvinceGeometry> codes = new HashMap<>();
+            int vertices = 0;
+            int coarsestVertices = 0;
+            for (int i = 0; i < raw.size(); i++) {
+                RawFeature f = raw.get(i);
+                List<ProvinceGeometry.Level> levels = buildLevels(f.geometry, areas[i]);
+                ProvinceGeometry province = new ProvinceGeometry(
+                        loaded.size(), f.code, f.name, Collections.unmodifiableMap(f.properties), levels);
+                loaded.add(province);
+                codes.put(f.code, province);
+                vertices += f.geometry.getVertexCount();
+                coarsestVertices += province.vertexCountFor(GeometryView.of(LOD_ZOOMS[0], null, null));
+            }
+
+            this.provinces = Collections.unmodifiableList(loaded);
+            this.byCode = Collections.unmodifiableMap(codes);
+            log.info("Loaded {} provinces ({} vertices, {} at zoom {}) from {} in {} ms",
+                    loaded.size(), vertices, coarsestVertices, LOD_ZOOMS[0],
+                    GEOJSON_PATH, System.currentTimeMillis() - start);
+        } catch (IOException | RuntimeException e) {
+            log.error("Failed to load province GeoJSON from {}: {}", GEOJSON_PATH, e.getMessage());
+        }
+    }
+
+    public List<ProvinceGeometry> getAll() {
+        return provinces;
+    }
+
+    public Optional<ProvinceGeometry> findById(int id) {
+        List<ProvinceGeometry> all = provinces;
+        return id >= 0 && id < all.size() ? Optional.of(all.get(id)) : Optional.empty();
+    }
+
+    public Optional<ProvinceGeometry> findByCode(String code) {
+        return Optional.ofNullable(code).map(byCode::get);
+    }
+
+    public int size() {
+        return provinces.size();
+    }
+
+    public boolean isLoaded() {
+        return !provinces.isEmpty();
+    }
+
+    /**
+     * Level 0 = full resolution, sau đó mỗi zoom trong LOD_ZOOMS từ chi tiết tới thô
+     */
+    private List<ProvinceGeometry.Level> buildLevels(PackedGeometry full, double[][][] areas) throws IOException {
+        List<ProvinceGeometry.Level> levels = new ArrayList<>(LOD_ZOOMS.length + 1);
+        levels.add(new ProvinceGeometry.Level(0, full, encode(full)));
+        for (int i = LOD_ZOOMS.length - 1; i >= 0; i--) {
+            double threshold = GeometryView.thresholdForZoom(LOD_ZOOMS[i]);
+            PackedGeometry simplified = VisvalingamWhyatt.simplify(full, areas, threshold);
+            levels.add(new ProvinceGeometry.Level(threshold, simplified, encode(simplified)));
+        }
+        return levels;
+    }
+
+    /**
+     * Serialize geometry một lần, warm luôn cache UTF-8 bytes của SerializedString
+     */
+    private SerializedString encode(PackedGeometry geometry) throws IOException {
+        SerializedString encoded = new SerializedString(objectMapper.writeValueAsString(geometry));
+        encoded.asUnquotedUTF8();
+        return encoded;
+    }
+
+    /**
+     * Stream qua FeatureCollection, chỉ materialize properties (nhỏ) thành Map
+     */
+    private List<RawFeature> readFeatures(JsonParser parser) throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            throw new IOException("GeoJSON root must be an object");
+        }
+        List<RawFeature> features = new ArrayList<>();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if ("features".equals(field) && value == JsonToken.START_ARRAY) {
+                while (parser.nextToken() == JsonToken.START_OBJECT) {
+                    RawFeature feature = readFeature(parser);
+                    if (feature != null) {
+                        features.add(feature);
+                    }
+                }
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return features;
+    }
+
+    @SuppressWarnings("unchecked")
+    private RawFeature readFeature(JsonParser parser) throws IOException {
+        Map<String, Object> properties = null;
+        double[][][] polygons = null;
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if ("properties".equals(field) && value == JsonToken.START_OBJECT) {
+                properties = objectMapper.readValue(parser, LinkedHashMap.class);
+            } else if ("geometry".equals(field) && value == JsonToken.START_OBJECT) {
+                polygons = GeoJsonCoordinateReader.readGeometryObject(parser);
+            } else {
+                parser.skipChildren();
+            }
+        }
+
+        if (properties == null || polygons == null || polygons.length == 0) {
+            log.warn("Skipping province feature without properties or geometry");
+            return null;
+        }
+
+        String name = extractName(properties);
+        Object id = properties.get("id");
+        String code = id != null ? id.toString() : name;
+        return new RawFeature(code, name, properties, PackedGeometry.of(polygons));
+    }
+
+    private String extractName(Map<String, Object> properties) {
+        for (String key : PROVINCE_NAME_KEYS) {
+            Object value = properties.get(key);
+            if (value instanceof String s && !s.isEmpty()) {
+                return s;
+            }
+        }
+        return "";
+    }
+
+    private record RawFeature(String code, String name, Map<String, Object> properties, PackedGeometry geometry) {}
+}
@@ -0,0 +1,96 @@
+package com.urbanmonitor.shared.province;
+
+import com.urbanmonitor.shared.geo.BoundingBox;
+import com.urbanmonitor.shared.geo.GeodesicArea;
+import com.urbanmonitor.shared.geo.GeometryPredicates;
+import com.urbanmonitor.shared.geo.PackedGeometry;
+import com.urbanmonitor.shared.geo.PolygonOverlay;
+import com.urbanmonitor.shared.geo.StrTree;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Spatial lookup trên ranh giới tỉnh: STR R-tree theo bbox rồi kiểm tra polygon chính xác
+ * (full resolution). Ranh giới không đổi lúc runtime nên cây build một lần.
+ *
+ * Overlap polygon × tỉnh tính chính xác bằng PolygonOverlay (diện tích giao geodesic).
+ */
+@Component
+@RequiredArgsConstructor
+public class ProvinceLocator {
+
+    private final ProvinceGeometryRegistry registry;
+
+    private StrTree<ProvinceGeometry> tree = StrTree.empty();
+
+    @PostConstruct
+    public void init() {
+        tree = StrTree.build(registry.getAll(), ProvinceGeometry::getBbox);
+    }
+
+    /**
+     * Tỉnh chứa điểm, empty nếu nằm ngoài mọi tỉnh (biển, nước ngoài)
+     */
+    public Optional<ProvinceGeometry> locate(double lng, double lat) {
+        ProvinceGeometry[] found = new ProvinceGeometry[1];
+        tree.searchPoint(lng, lat, province -> {
+            if (found[0] == null && GeometryPredicates.contains(province.getGeometry(), lng, lat)) {
+                found[0] = province;
+            }
+        });
+        return Optional.ofNullable(found[0]);
+    }
+
+    /**
+     * Các tỉnh có phần giao với bbox, theo thứ tự code
+     */
+    public List<ProvinceGeometry> within(BoundingBox bbox) {
+        List<ProvinceGeometry> result = new ArrayList<>();
+        tree.search(bbox, province -> {
+            if (GeometryPredicates.intersects(province.getGeometry(), bbox)) {
+                result.add(province);
+            }
+        });
+        result.sort((a, b) -> Integer.compare(a.getId(), b.getId()));
+        return result;
+    }
+
+    /**
+     * Diện tích giao (km², geodesic) của geometry với từng tỉnh; phần nằm ngoài mọi tỉnh không tính
+     * vào tỉnh nào. Geometry không giao được tỉnh nào theo diện tích (quá nhỏ, suy biến) thì
+     * gán toàn bộ cho tỉnh chứa centroid.
+     *
+     * @return province → km², theo thứ tự diện tích giảm dần
+     */
+    public Map<ProvinceGeometry, Double> overlapAreas(PackedGeometry geometry) {
+        List<ProvinceGeometry> candidates = new ArrayList<>();
+        tree.search(geometry.getBbox(), candidates::add);
+
+        List<Map.Entry<ProvinceGeometry, Double>> overlaps = new ArrayList<>();
+        for (ProvinceGeometry province : candidates) {
+            double km2 = PolygonOverlay.intersectionAreaKm2(geometry, province.getGeometry());
+            if (km2 > 0) {
+                overlaps.add(Map.entry(province, km2));
+            }
+        }
+
+        Map<ProvinceGeometry, Double> result = new LinkedHashMap<>();
+        if (overlaps.isEmpty()) {
+            locate(geometry.getCentroidLng(), geometry.getCentroidLat())
+                .ifPresent(p -> result.put(p, GeodesicArea.areaKm2(geometry)));
+            return result;
+        }
+        overlaps.sort((a, b) -> a.getValue().equals(b.getValue())
+                ? Integer.compare(a.getKey().getId(), b.getKey().getId())
+                : Double.compare(b.getValue(), a.getValue()));
+        overlaps.forEach(e -> result.put(e.getKey(), e.getValue()));
+        return result;
+    }
+}
@@ -0,0 +1,304 @@
+package com.urbanmonitor.shared.province;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.support.EncodedResource;
+import org.springframework.core.io.support.PropertiesLoaderUtils;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.text.Normalizer;
+import java.util.*;
+
+/**
+ * SINGLE RESPONSIBILITY PRINCIPLE - Resolve tên địa danh (free text) → province ids của
+ * {@link ProvinceGeometryRegistry}. Dùng chung cho disasterMonitor và temperaturemonitor.
+ *
+ * - Startup: alias dictionary (province/province-aliases.properties: tên có dấu / không dấu,
+ *   tên trước và sau sáp nhập, viết tắt) được fold rồi compile thành automaton Aho-Corasick
+ *   (bảng chuyển trạng thái đầy đủ trên bảng chữ cái đã fold)
+ * - Resolve: fold text một lần rồi quét tuyến tính, "Hà Nội, Hải Phòng" ra cả hai tỉnh;
+ *   tiền tố "TP." / "Tỉnh" / "Thành phố" không cần bỏ vì alias chỉ cần khớp nguyên từ
+ * - Kết quả memoize theo chuỗi gốc
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ProvinceNameResolver {
+
+    private static final String ALIASES_PATH = "province/province-aliases.properties";
+    private static final int MEMO_MAX_SIZE = 10_000;
+    private static final int[] NONE = new int[0];
+
+    /** Bảng chữ cái sau khi fold: a-z, 0-9, space */
+    private static final int ALPHABET = 37;
+    private static final int SPACE = 36;
+
+    private final ProvinceGeometryRegistry registry;
+
+    private final Cache<String, int[]> memo = Caffeine.newBuilder().maximumSize(MEMO_MAX_SIZE).build();
+
+    private Automaton automaton = Automaton.EMPTY;
+
+    @PostConstruct
+    public void init() {
+        Properties aliases = loadAliases();
+        Map<String, Integer> dictionary = new LinkedHashMap<>();
+        for (ProvinceGeometry province : registry.getAll()) {
+            String configured = aliases.getProperty(province.getCode());
+            if (configured == null) {
+                log.warn("No aliases configured for province {} ({}), using its GeoJSON name",
+                        province.getCode(), province.getName());
+                configured = province.getName();
+            }
+            for (String alias : configured.split(",")) {
+                String folded = fold(alias);
+                addAlias(dictionary, folded, province);
+                if (folded.indexOf(' ') > 0) {
+                    addAlias(dictionary, folded.replace(" ", ""), province); // "hanoi", "tphcm"
+                }
+            }
+        }
+        automaton = Automaton.compile(dictionary);
+        memo.invalidateAll();
+        log.info("Province name resolver compiled: {} aliases, {} automaton states",
+                dictionary.size(), automaton.stateCount());
+    }
+
+    /**
+     * Province ids được nhắc tới trong text, theo thứ tự xuất hiện, không trùng.
+     * Alias chồng lên nhau thì lấy alias dài nhất bắt đầu sớm nhất.
+     */
+    public int[] resolve(String text) {
+        if (text == null || text.isBlank()) {
+            return NONE;
+        }
+        return memo.get(text, key -> automaton.scan(fold(key))).clone();
+    }
+
+    /**
+     * Tỉnh đầu tiên được nhắc tới (dùng cho trường chỉ chứa một tên tỉnh); nhận cả mã ISO (VN01)
+     */
+    public Optional<ProvinceGeometry> resolveOne(String text) {
+        if (text == null) {
+            return Optional.empty();
+        }
+        Optional<ProvinceGeometry> byCode = registry.findByCode(text.trim());
+        if (byCode.isPresent()) {
+            return byCode;
+        }
+        int[] ids = resolve(text);
+        return ids.length == 0 ? Optional.empty() : registry.findById(ids[0]);
+    }
+
+    public boolean mentions(String text, int provinceId) {
+        for (int id : resolve(text)) {
+            if (id == provinceId) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Lowercase, bỏ dấu (kể cả đ/Đ và Ð dạng Latin-1), ký tự khác a-z0-9 thành một khoảng trắng
+     */
+    static String fold(String text) {
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        StringBuilder out = new StringBuilder(decomposed.length());
+        boolean pendingSpace = false;
+        for (int i = 0; i < decomposed.length(); i++) {
+            char c = decomposed.charAt(i);
+            if (Character.getType(c) == Character.NON_SPACING_MARK) {
+                continue;
+            }
+            c = switch (c) {
+                case 'đ', 'Đ', 'ð', 'Ð' -> 'd';
+                default -> Character.toLowerCase(c);
+            };
+            if ((c >= 'a' && c <= 'z') || (c >= '0' && c <= '9')) {
+                if (pendingSpace && out.length() > 0) {
+                    out.append(' ');
+                }
+                pendingSpace = false;
+                out.append(c);
+            } else {
+                pendingSpace = true;
+            }
+        }
+        return out.toString();
+    }
+
+    private void addAlias(Map<String, Integer> dictionary, String folded, ProvinceGeometry province) {
+        if (folded.isEmpty()) {
+            return;
+        }
+        Integer previous = dictionary.putIfAbsent(folded, province.getId());
+        if (previous != null && previous != province.getId()) {
+            log.warn("Province alias '{}' is ambiguous, keeping province id {}", folded, previous);
+        }
+    }
+
+    private Properties loadAliases() {
+        try {
+            return PropertiesLoaderUtils.loadProperties(
+                    new EncodedResource(new ClassPathResource(ALIASES_PATH), StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            log.error("Failed to load province aliases from {}: {}", ALIASES_PATH, e.getMessage());
+            return new Properties();
+        }
+    }
+
+    private static int symbol(char c) {
+        if (c >= 'a' && c <= 'z') return c - 'a';
+        if (c >= '0' && c <= '9') return 26 + c - '0';
+        return SPACE;
+    }
+
+    /**
+     * Aho-Corasick với goto đầy đủ (DFA): mỗi ký tự đúng một lần tra bảng, không đi theo fail link.
+     * outputs[state] = các cặp (độ dài alias, province id) kết thúc tại state, gồm cả qua suffix link.
+     */
+    private static final class Automaton {
+
+        static final Automaton EMPTY = compile(Map.of());
+
+        private final int[][] next;
+        private final int[][] outputs;
+
+        private Automaton(int[][] next, int[][] outputs) {
+            this.next = next;
+            this.outputs = outputs;
+        }
+
+        int stateCount() {
+            return next.length;
+        }
+
+        static Automaton compile(Map<String, Integer> dictionary) {
+            List<int[]> go = new ArrayList<>();
+            List<int[]> own = new ArrayList<>();
+            go.add(newState());
+            own.add(new int[0]);
+
+            for (Map.Entry<String, Integer> entry : dictionary.entrySet()) {
+                String alias = entry.getKey();
+                int state = 0;
+                for (int i = 0; i < alias.length(); i++) {
+                    int s = symbol(alias.charAt(i));
+                    if (go.get(state)[s] < 0) {
+                        go.get(state)[s] = go.size();
+                        go.add(newState());
+                        own.add(new int[0]);
+                    }
+                    state = go.get(state)[s];
+                }
+                int[] out = own.get(state);
+                out = Arrays.copyOf(out, out.length + 2);
+                out[out.length - 2] = alias.length();
+                out[out.length - 1] = entry.getValue();
+                own.set(state, out);
+            }
+
+            // BFS: fail links → điền các chuyển trạng thái còn thiếu, gộp outputs theo suffix link
+            int n = go.size();
+            int[][] next = go.toArray(new int[0][]);
+            int[][] outputs = own.toArray(new int[0][]);
+            int[] fail = new int[n];
+            ArrayDeque<Integer> queue = new ArrayDeque<>();
+            for (int s = 0; s < ALPHABET; s++) {
+                if (next[0][s] < 0) {
+                    next[0][s] = 0;
+                } else {
+                    fail[next[0][s]] = 0;
+                    queue.add(next[0][s]);
+                }
+            }
+            while (!queue.isEmpty()) {
+                int state = queue.poll();
+                int[] inherited = outputs[fail[state]];
+                if (inherited.length > 0) {
+                    int[] merged = Arrays.copyOf(outputs[state], outputs[state].length + inherited.length);
+                    System.arraycopy(inherited, 0, merged, outputs[state].length, inherited.length);
+                    outputs[state] = merged;
+                }
+                for (int s = 0; s < ALPHABET; s++) {
+                    int child = next[state][s];
+                    if (child < 0) {
+                        next[state][s] = next[fail[state]][s];
+                    } else {
+                        fail[child] = next[fail[state]][s];
+                        queue.add(child);
+                    }
+                }
+            }
+            return new Automaton(next, outputs);
+        }
+
+        private static int[] newState() {
+            int[] row = new int[ALPHABET];
+            Arrays.fill(row, -1);
+            return row;
+        }
+
+        /**
+         * Match nguyên từ (biên là đầu/cuối chuỗi hoặc space), chọn leftmost-longest không chồng nhau
+         */
+        int[] scan(String folded) {
+            // best[start] = (độ dài, id) của alias dài nhất bắt đầu tại start
+            int len = folded.length();
+            int[] bestLength = null;
+            int[] bestId = null;
+            int state = 0;
+            for (int i = 0; i < len; i++) {
+                state = next[state][symbol(folded.charAt(i))];
+                int[] out = outputs[state];
+                if (out.length == 0 || (i + 1 < len && folded.charAt(i + 1) != ' ')) {
+                    continue;
+                }
+                for (int k = 0; k < out.length; k += 2) {
+                    int start = i + 1 - out[k];
+                    if (start > 0 && folded.charAt(start - 1) != ' ') {
+                        continue;
+                    }
+                    if (bestLength == null) {
+                        bestLength = new int[len];
+                        bestId = new int[len];
+                    }
+                    if (out[k] > bestLength[start]) {
+                        bestLength[start] = out[k];
+                        bestId[start] = out[k + 1];
+                    }
+                }
+            }
+            if (bestLength == null) {
+                return NONE;
+            }
+
+            int[] ids = new int[4];
+            int count = 0;
+            for (int start = 0; start < len; ) {
+                if (bestLength[start] == 0) {
+                    start++;
+                    continue;
+                }
+                int id = bestId[start];
+                boolean seen = false;
+                for (int j = 0; j < count; j++) {
+                    seen |= ids[j] == id;
+                }
+                if (!seen) {
+                    if (count == ids.length) ids = Arrays.copyOf(ids, count * 2);
+                    ids[count++] = id;
+                }
+                start += bestLength[start];
+            }
+            return Arrays.copyOf(ids, count);
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.urbanmonitor.shared.ratelimit;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Token bucket theo key (vd reporter), nhiều giới hạn cùng lúc (vd 3 / 5 phút và 10 / giờ).
+ *
+ * Mỗi giới hạn là một bucket dung lượng permits, nạp lại liên tục permits / period; một lần acquire
+ * phải có đủ token ở mọi bucket. Key được chia vào STRIPES stripe theo hash, mỗi stripe một lock + HashMap,
+ * nên các key khác stripe không tranh lock. Bucket đã đầy lại (key im lặng đủ lâu) được dọn bởi evictIdle().
+ */
+public final class StripedRateLimiter {
+
+    private static final int STRIPES = 64;
+
+    public record Limit(long permits, long periodMillis) {
+
+        public Limit {
+            if (permits <= 0 || periodMillis <= 0) {
+                throw new IllegalArgumentException("permits and periodMillis must be positive");
+            }
+        }
+    }
+
+    private final Limit[] limits;
+    private final Stripe[] stripes = new Stripe[STRIPES];
+
+    public StripedRateLimiter(Limit... limits) {
+        if (limits.length == 0) {
+            throw new IllegalArgumentException("At least one limit is required");
+        }
+        this.limits = limits.clone();
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Stripe();
+        }
+    }
+
+    /**
+     * @return 0 nếu được phép (token đã bị trừ), ngược lại số ms tối thiểu cần chờ
+     */
+    public long tryAcquire(String key, long nowMillis) {
+        Stripe stripe = stripeOf(key);
+        synchronized (stripe) {
+            double[] tokens = stripe.buckets.get(key);
+            if (tokens == null) {
+                tokens = new double[limits.length + 1];
+                for (int i = 0; i < limits.length; i++) {
+                    tokens[i] = limits[i].permits();
+                }
+                tokens[limits.length] = nowMillis;
+                stripe.buckets.put(key, tokens);
+            } else {
+                refill(tokens, nowMillis);
+            }
+
+            long waitMillis = 0;
+            for (int i = 0; i < limits.length; i++) {
+                if (tokens[i] < 1) {
+                    double missing = 1 - tokens[i];
+                    waitMillis = Math.max(waitMillis,
+                        (long) Math.ceil(missing * limits[i].periodMillis() / limits[i].permits()));
+                }
+            }
+            if (waitMillis > 0) {
+                return waitMillis;
+            }
+            for (int i = 0; i < limits.length; i++) {
+                tokens[i] -= 1;
+            }
+            return 0;
+        }
+    }
+
+    /**
+     * Bỏ các key có mọi bucket đã đầy (trạng thái giống key mới)
+     */
+    public int evictIdle(long nowMillis) {
+        int evicted = 0;
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                Iterator<double[]> it = stripe.buckets.values().iterator();
+                while (it.hasNext()) {
+                    double[] tokens = it.next();
+                    refill(tokens, nowMillis);
+                    if (isFull(tokens)) {
+                        it.remove();
+                        evicted++;
+                    }
+                }
+            }
+        }
+        return evicted;
+    }
+
+    public int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                size += stripe.buckets.size();
+            }
+        }
+        return size;
+    }
+
+    private void refill(double[] tokens, long nowMillis) {
+        long elapsed = nowMillis - (long) tokens[limits.length];
+        if (elapsed <= 0) {
+            return;
+        }
+        for (int i = 0; i < limits.length; i++) {
+            tokens[i] = Math.min(limits[i].permits(),
+                tokens[i] + (double) elapsed * limits[i].permits() / limits[i].periodMillis());
+        }
+        tokens[limits.length] = nowMillis;
+    }
+
+    private boolean isFull(double[] tokens) {
+        for (int i = 0; i < limits.length; i++) {
+            if (tokens[i] < limits[i].permits()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private Stripe stripeOf(String key) {
+        int h = key.hashCode();
+        return stripes[(h ^ (h >>> 16)) & (STRIPES - 1)];
+    }
+
+    private static final class Stripe {
+        final Map<String, double[]> buckets = new HashMap<>();
+    }
+}
@@ -0,0 +1,162 @@
+package com.urbanmonitor.shared.scheduling;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Scheduler cho các status transition theo thời gian, dùng chung một {@link TimingWheel}.
+ *
+ * - Reload: mỗi source load deadline trong cửa sổ lookahead bằng query có index
+ * - Thay đổi giữa hai lần reload: source gọi schedule / cancel (O(1))
+ * - Tick: advance wheel, gom id tới hạn theo source rồi gọi applyDue theo batch,
+ *   nên mỗi tick chỉ tốn công cho các entity thực sự tới hạn
+ *
+ * applyDue lỗi thì chỉ log: entity vẫn còn tới hạn trong DB nên lần reload sau sẽ nạp lại.
+ */
+@Component
+@Slf4j
+public class DeadlineScheduler {
+
+    private final Duration lookahead;
+    private final int batchSize;
+
+    private final List<DeadlineSource> sources = new CopyOnWriteArrayList<>();
+    private final Object lock = new Object();
+
+    // ---- guarded by lock ----
+    private final TimingWheel<Key> wheel;
+
+    private volatile boolean ready;
+
+    public DeadlineScheduler(
+            @Value("${scheduling.deadlines.tick-ms:1000}") long tickMillis,
+            @Value("${scheduling.deadlines.lookahead-hours:24}") long lookaheadHours,
+            @Value("${scheduling.deadlines.batch-size:500}") int batchSize) {
+        this.lookahead = Duration.ofHours(lookaheadHours);
+        this.batchSize = batchSize;
+        this.wheel = new TimingWheel<>(tickMillis, System.currentTimeMillis());
+        if (lookahead.toMillis() > wheel.span()) {
+            throw new IllegalArgumentException("scheduling.deadlines.lookahead-hours exceeds the timing wheel span");
+        }
+    }
+
+    public void register(DeadlineSource source) {
+        for (DeadlineSource existing : sources) {
+            if (existing.name().equals(source.name())) {
+                throw new IllegalArgumentException("Deadline source already registered: " + source.name());
+            }
+        }
+        sources.add(source);
+    }
+
+    /**
+     * Schedule (hoặc đổi) deadline của một entity; deadline ngoài cửa sổ lookahead được bỏ qua
+     * vì reload sẽ nạp nó khi tới gần
+     */
+    public void schedule(DeadlineSource source, Long id, LocalDateTime deadline) {
+        if (id == null) {
+            return;
+        }
+        if (deadline == null) {
+            cancel(source, id);
+            return;
+        }
+        synchronized (lock) {
+            wheel.schedule(new Key(source.name(), id), toMillis(deadline));
+        }
+    }
+
+    public void cancel(DeadlineSource source, Long id) {
+        if (id == null) {
+            return;
+        }
+        synchronized (lock) {
+            wheel.cancel(new Key(source.name(), id));
+        }
+    }
+
+    public int scheduledCount() {
+        synchronized (lock) {
+            return wheel.size();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        reload();
+        ready = true;
+    }
+
+    /**
+     * Nạp lại deadline trong [.., now + lookahead] của mọi source. Chạy định kỳ với chu kỳ
+     * nhỏ hơn lookahead để không bỏ sót deadline vừa vào cửa sổ.
+     */
+    @Scheduled(fixedDelayString = "${scheduling.deadlines.reload-interval-ms:3600000}",
+               initialDelayString = "${scheduling.deadlines.reload-interval-ms:3600000}")
+    public void reload() {
+        LocalDateTime until = LocalDateTime.now().plus(lookahead);
+        for (DeadlineSource source : sources) {
+            try {
+                Map<Long, LocalDateTime> upcoming = source.loadUpcoming(until);
+                synchronized (lock) {
+                    upcoming.forEach((id, deadline) ->
+                        wheel.schedule(new Key(source.name(), id), toMillis(deadline)));
+                }
+                log.info("Loaded {} upcoming deadlines for {}", upcoming.size(), source.name());
+            } catch (RuntimeException e) {
+                log.error("Failed to load deadlines for {}: {}", source.name(), e.getMessage());
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${scheduling.deadlines.tick-ms:1000}")
+    public void tick() {
+        if (!ready) {
+            return;
+        }
+        List<Key> due;
+        synchronized (lock) {
+            due = wheel.advance(System.currentTimeMillis());
+        }
+        if (due.isEmpty()) {
+            return;
+        }
+
+        Map<String, List<Long>> bySource = new HashMap<>();
+        for (Key key : due) {
+            bySource.computeIfAbsent(key.source(), k -> new ArrayList<>()).add(key.id());
+        }
+        for (DeadlineSource source : sources) {
+            List<Long> ids = bySource.get(source.name());
+            if (ids == null) {
+                continue;
+            }
+            for (int from = 0; from < ids.size(); from += batchSize) {
+                List<Long> batch = ids.subList(from, Math.min(from + batchSize, ids.size()));
+                try {
+                    source.applyDue(batch);
+                } catch (RuntimeException e) {
+                    log.error("Failed to apply {} due transitions for {}: {}",
+                        batch.size(), source.name(), e.getMessage());
+                }
+            }
+            log.debug("Applied {} due transitions for {}", ids.size(), source.name());
+        }
+    }
+
+    private static long toMillis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private record Key(String source, long id) {}
+}
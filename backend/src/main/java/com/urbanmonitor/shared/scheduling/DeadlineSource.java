@@ -0,0 +1,29 @@
+package com.urbanmonitor.shared.scheduling;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Một loại transition theo thời gian (vd. zone hết expectedEndAt, giấy phép hết hạn),
+ * đăng ký với {@link DeadlineScheduler} trong @PostConstruct.
+ */
+public interface DeadlineSource {
+
+    /**
+     * Tên duy nhất, dùng làm namespace cho id trong wheel
+     */
+    String name();
+
+    /**
+     * Deadline (id → thời điểm) của các entity tới hạn trước until, gồm cả các deadline đã qua.
+     * Nên là một query có index, không scan cả bảng.
+     */
+    Map<Long, LocalDateTime> loadUpcoming(LocalDateTime until);
+
+    /**
+     * Áp dụng transition cho một batch id đã tới hạn. Phải kiểm tra lại trạng thái trong DB
+     * (deadline trong wheel có thể đã cũ).
+     */
+    void applyDue(List<Long> ids);
+}
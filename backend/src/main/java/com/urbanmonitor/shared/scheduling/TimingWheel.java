@@ -0,0 +1,153 @@
+package com.urbanmonitor.shared.scheduling;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Hierarchical timing wheel: LEVELS tầng, mỗi tầng SLOTS slot, slot tầng k rộng SLOTS^k tick.
+ *
+ * - schedule / cancel O(1): entry vào slot theo khoảng cách tới deadline, cancel chỉ xoá khỏi
+ *   map deadlines (entry cũ trong slot bị bỏ qua khi tới lượt)
+ * - advance: mỗi tick chỉ đụng slot hiện tại của tầng 0; khi tầng dưới quay hết vòng thì
+ *   slot tương ứng của tầng trên được cascade xuống
+ *
+ * Deadline xa hơn span() bị từ chối, caller tự load lại sau. Không thread-safe: caller giữ lock.
+ */
+public final class TimingWheel<K> {
+
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int SLOT_MASK = SLOTS - 1;
+    private static final int LEVELS = 4;
+
+    private final long tickMillis;
+    private final List<Entry<K>>[][] wheel;
+    /** key → deadline tick hiện hành; entry trong slot có tick khác là entry đã bị thay / cancel */
+    private final Map<K, Long> deadlines = new HashMap<>();
+    private long currentTick;
+
+    @SuppressWarnings("unchecked")
+    public TimingWheel(long tickMillis, long nowMillis) {
+        if (tickMillis <= 0) {
+            throw new IllegalArgumentException("tickMillis must be positive");
+        }
+        this.tickMillis = tickMillis;
+        this.currentTick = Math.floorDiv(nowMillis, tickMillis);
+        this.wheel = new List[LEVELS][SLOTS];
+        for (int level = 0; level < LEVELS; level++) {
+            for (int slot = 0; slot < SLOTS; slot++) {
+                wheel[level][slot] = new ArrayList<>();
+            }
+        }
+    }
+
+    /**
+     * Khoảng thời gian xa nhất (ms) có thể schedule tính từ tick hiện tại
+     */
+    public long span() {
+        return ((1L << (SLOT_BITS * LEVELS)) - 1) * tickMillis;
+    }
+
+    /**
+     * Schedule (hoặc đổi deadline của) key. Deadline đã qua sẽ fire ở tick kế tiếp.
+     *
+     * @return false nếu deadline vượt span() (key không còn được schedule)
+     */
+    public boolean schedule(K key, long deadlineMillis) {
+        long tick = Math.max(ceilDiv(deadlineMillis, tickMillis), currentTick + 1);
+        if (tick - currentTick >= 1L << (SLOT_BITS * LEVELS)) {
+            deadlines.remove(key);
+            return false;
+        }
+        Long previous = deadlines.put(key, tick);
+        if (previous == null || previous != tick) {
+            place(new Entry<>(key, tick));
+        }
+        return true;
+    }
+
+    public void cancel(K key) {
+        deadlines.remove(key);
+    }
+
+    public boolean isScheduled(K key) {
+        return deadlines.containsKey(key);
+    }
+
+    public int size() {
+        return deadlines.size();
+    }
+
+    /**
+     * Chạy tới nowMillis, trả về các key đã tới hạn (mỗi key một lần, theo thứ tự deadline)
+     */
+    public List<K> advance(long nowMillis) {
+        long target = Math.floorDiv(nowMillis, tickMillis);
+        List<K> due = new ArrayList<>();
+        while (currentTick < target) {
+            currentTick++;
+            // Tầng cao trước: entry cascade xuống có thể rơi vào slot tầng thấp sắp được xử lý
+            for (int level = LEVELS - 1; level > 0; level--) {
+                if ((currentTick & ((1L << (SLOT_BITS * level)) - 1)) == 0) {
+                    cascade(level, slotOf(currentTick, level));
+                }
+            }
+            List<Entry<K>> slot = wheel[0][slotOf(currentTick, 0)];
+            if (slot.isEmpty()) {
+                continue;
+            }
+            for (Entry<K> entry : slot) {
+                if (isCurrent(entry)) {
+                    deadlines.remove(entry.key());
+                    due.add(entry.key());
+                }
+            }
+            slot.clear();
+        }
+        return due;
+    }
+
+    private void cascade(int level, int slotIndex) {
+        List<Entry<K>> slot = wheel[level][slotIndex];
+        if (slot.isEmpty()) {
+            return;
+        }
+        List<Entry<K>> entries = new ArrayList<>(slot);
+        slot.clear();
+        for (Entry<K> entry : entries) {
+            if (isCurrent(entry)) {
+                place(entry);
+            }
+        }
+    }
+
+    /**
+     * Tầng nhỏ nhất chứa được khoảng cách tới deadline; slot lấy theo bit tuyệt đối của tick
+     * nên entry được cascade đúng lúc tầng dưới quay tới khoảng chứa deadline
+     */
+    private void place(Entry<K> entry) {
+        long delta = entry.tick() - currentTick;
+        int level = 0;
+        while (level < LEVELS - 1 && delta >= 1L << (SLOT_BITS * (level + 1))) {
+            level++;
+        }
+        wheel[level][slotOf(entry.tick(), level)].add(entry);
+    }
+
+    private boolean isCurrent(Entry<K> entry) {
+        Long tick = deadlines.get(entry.key());
+        return tick != null && tick == entry.tick();
+    }
+
+    private static int slotOf(long tick, int level) {
+        return (int) ((tick >>> (SLOT_BITS * level)) & SLOT_MASK);
+    }
+
+    private static long ceilDiv(long a, long b) {
+        return -Math.floorDiv(-a, b);
+    }
+
+    private record Entry<K>(K key, long tick) {}
+}
@@ -0,0 +1,4 @@
+-- Dân số bị ảnh hưởng tính từ population raster (population.raster-path), chạy tay vì ddl-auto=none.
+-- Điền cho dữ liệu cũ: POST /api/disaster/geometry/recompute
+ALTER TABLE disaster_zones ADD COLUMN IF NOT EXISTS exposed_population BIGINT;
+ALTER TABLE disaster_zone_provinces ADD COLUMN IF NOT EXISTS exposed_population BIGINT;
@@ -0,0 +1,3 @@
+-- Diện tích giao (km², geodesic) zone × tỉnh, chạy tay vì ddl-auto=none.
+-- Điền cho dữ liệu cũ: POST /api/disaster/geometry/recompute
+ALTER TABLE disaster_zone_provinces ADD COLUMN IF NOT EXISTS overlap_area_km2 DOUBLE PRECISION;
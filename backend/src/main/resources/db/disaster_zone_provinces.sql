@@ -0,0 +1,8 @@
+-- Spatial join zone × tỉnh (DisasterZone.provinceOverlaps), chạy tay vì ddl-auto=none
+CREATE TABLE IF NOT EXISTS disaster_zone_provinces (
+    zone_id          BIGINT           NOT NULL REFERENCES disaster_zones (id) ON DELETE CASCADE,
+    province_code    VARCHAR(255)     NOT NULL,
+    overlap_fraction DOUBLE PRECISION NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_disaster_zone_provinces_zone ON disaster_zone_provinces (zone_id);
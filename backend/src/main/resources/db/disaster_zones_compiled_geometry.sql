@@ -0,0 +1,10 @@
+-- Compiled geometry cho disaster_zones (ddl-auto=none nên chạy tay trước khi deploy)
+ALTER TABLE disaster_zones
+    ADD COLUMN IF NOT EXISTS geometry_data        BYTEA,
+    ADD COLUMN IF NOT EXISTS bbox_min_lng         DOUBLE PRECISION,
+    ADD COLUMN IF NOT EXISTS bbox_min_lat         DOUBLE PRECISION,
+    ADD COLUMN IF NOT EXISTS bbox_max_lng         DOUBLE PRECISION,
+    ADD COLUMN IF NOT EXISTS bbox_max_lat         DOUBLE PRECISION,
+    ADD COLUMN IF NOT EXISTS centroid_longitude   DOUBLE PRECISION,
+    ADD COLUMN IF NOT EXISTS centroid_latitude    DOUBLE PRECISION,
+    ADD COLUMN IF NOT EXISTS geometry_area_km2    DOUBLE PRECISION;
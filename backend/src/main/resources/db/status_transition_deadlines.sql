@@ -0,0 +1,8 @@
+-- Index cho DeadlineScheduler (load deadline sắp tới, không scan cả bảng), chạy tay vì ddl-auto=none.
+CREATE INDEX IF NOT EXISTS idx_disaster_zones_expected_end
+    ON disaster_zones (expected_end_at)
+    WHERE status <> 'RESOLVED';
+
+CREATE INDEX IF NOT EXISTS idx_licensed_stores_expiry
+    ON licensed_stores (license_expiry_date)
+    WHERE license_status IN ('ACTIVE', 'PENDING_RENEWAL');
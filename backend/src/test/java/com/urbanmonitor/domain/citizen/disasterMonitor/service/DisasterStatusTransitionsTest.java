@@ -0,0 +1,116 @@
+package com.urbanmonitor.domain.citizen.disasterMonitor.service;
+
+import com.urbanmonitor.domain.citizen.disasterMonitor.entity.DisasterZone;
+import com.urbanmonitor.domain.citizen.disasterMonitor.entity.DisasterZone.ZoneStatus;
+import com.urbanmonitor.domain.citizen.disasterMonitor.observer.DisasterZoneEventPublisher;
+import com.urbanmonitor.domain.citizen.disasterMonitor.repository.DisasterZoneRepository;
+import com.urbanmonitor.domain.citizen.disasterMonitor.repository.DisasterZoneRepository.ZoneDeadline;
+import com.urbanmonitor.shared.scheduling.DeadlineScheduler;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class DisasterStatusTransitionsTest {
+
+    record Deadline(Long getId, ZoneStatus getStatus, LocalDateTime getExpectedEndAt) implements ZoneDeadline {
+    }
+
+    private final DisasterZoneRepository repository = mock(DisasterZoneRepository.class);
+    private final DisasterZoneService zoneService = mock(DisasterZoneService.class);
+    private final RecordingTransactionManager transactionManager = new RecordingTransactionManager();
+    private final DeadlineScheduler scheduler = new DeadlineScheduler(10, 24, 500);
+
+    @Test
+    void dueZonesFromSchedulerAreAppliedInOneTransaction() throws Exception {
+        LocalDateTime now = LocalDateTime.now();
+        DisasterZone expired = zone(1, ZoneStatus.EMERGENCY, now.minusHours(1));
+        DisasterZone recovered = zone(2, ZoneStatus.RECOVERING, now.minusHours(25));
+        // expectedEndAt đã bị dời sau khi nạp deadline: không được đổi status
+        DisasterZone extended = zone(3, ZoneStatus.ALERT, now.plusDays(2));
+        when(repository.findDeadlinesBefore(any())).thenReturn(List.of(
+            new Deadline(1L, ZoneStatus.EMERGENCY, now.minusHours(1)),
+            new Deadline(2L, ZoneStatus.RECOVERING, now.minusHours(25)),
+            new Deadline(3L, ZoneStatus.ALERT, now.minusMinutes(1))));
+        when(repository.findAllById(any())).thenReturn(List.of(expired, recovered, extended));
+
+        Map<Long, ZoneStatus> applied = new TreeMap<>();
+        List<Boolean> inTransaction = new ArrayList<>();
+        when(zoneService.updateStatus(anyLong(), any())).thenAnswer(invocation -> {
+            inTransaction.add(transactionManager.active);
+            applied.put(invocation.getArgument(0), invocation.getArgument(1));
+            return null;
+        });
+
+        DisasterStatusTransitions transitions = new DisasterStatusTransitions(
+            scheduler, mock(DisasterZoneEventPublisher.class), repository, zoneService, transactionManager, 24);
+        transitions.init();
+        scheduler.onApplicationReady();
+        assertEquals(3, scheduler.scheduledCount());
+        Thread.sleep(30);
+        scheduler.tick();
+
+        assertEquals(Map.of(1L, ZoneStatus.RECOVERING, 2L, ZoneStatus.RESOLVED), applied);
+        assertEquals(List.of(true, true), inTransaction);
+        assertEquals(1, transactionManager.begun);
+        assertEquals(1, transactionManager.committed);
+        verify(repository).findAllById(argThat(ids -> ((java.util.Collection<Long>) ids).size() == 3));
+    }
+
+    @Test
+    void failingTransitionRollsBackTheBatch() {
+        LocalDateTime now = LocalDateTime.now();
+        when(repository.findAllById(any())).thenReturn(List.of(zone(1, ZoneStatus.WARNING, now.minusHours(1))));
+        when(zoneService.updateStatus(anyLong(), any())).thenThrow(new IllegalStateException("db down"));
+
+        DisasterStatusTransitions transitions = new DisasterStatusTransitions(
+            scheduler, mock(DisasterZoneEventPublisher.class), repository, zoneService, transactionManager, 24);
+        assertThrows(IllegalStateException.class, () -> transitions.applyDue(List.of(1L)));
+        assertEquals(1, transactionManager.rolledBack);
+        assertEquals(0, transactionManager.committed);
+    }
+
+    private static DisasterZone zone(long id, ZoneStatus status, LocalDateTime expectedEndAt) {
+        return DisasterZone.builder().id(id).status(status).expectedEndAt(expectedEndAt).build();
+    }
+
+    /**
+     * Transaction manager giả: đếm begin / commit / rollback và cho biết có đang trong transaction không
+     */
+    static final class RecordingTransactionManager implements PlatformTransactionManager {
+        int begun;
+        int committed;
+        int rolledBack;
+        boolean active;
+
+        @Override
+        public TransactionStatus getTransaction(TransactionDefinition definition) {
+            begun++;
+            active = true;
+            return new SimpleTransactionStatus();
+        }
+
+        @Override
+        public void commit(TransactionStatus status) {
+            committed++;
+            active = false;
+        }
+
+        @Override
+        public void rollback(TransactionStatus status) {
+            rolledBack++;
+            active = false;
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.urbanmonitor.domain.citizen.disasterMonitor.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.urbanmonitor.domain.citizen.disasterMonitor.converter.DisasterGeometryPipeline;
+import com.urbanmonitor.domain.citizen.disasterMonitor.dto.BulkStatusUpdateRequest;
+import com.urbanmonitor.domain.citizen.disasterMonitor.dto.DisasterZoneQuery;
+import com.urbanmonitor.domain.citizen.disasterMonitor.entity.DisasterZone;
+import com.urbanmonitor.domain.citizen.disasterMonitor.entity.DisasterZone.ZoneStatus;
+import com.urbanmonitor.domain.citizen.disasterMonitor.factory.GeoJsonConverterFactory;
+import com.urbanmonitor.domain.citizen.disasterMonitor.observer.DisasterZoneEvent;
+import com.urbanmonitor.domain.citizen.disasterMonitor.observer.DisasterZoneEventPublisher;
+import com.urbanmonitor.domain.citizen.disasterMonitor.repository.DisasterZoneRepository;
+import com.urbanmonitor.domain.citizen.disasterMonitor.repository.DisasterZoneRepository.ZoneStatusRow;
+import com.urbanmonitor.domain.citizen.disasterMonitor.strategy.StatsCalculator;
+import com.urbanmonitor.domain.citizen.disasterMonitor.view.DisasterDashboardView;
+import com.urbanmonitor.domain.citizen.disasterMonitor.view.DisasterOverlayView;
+import com.urbanmonitor.domain.citizen.disasterMonitor.view.DisasterTileCache;
+import com.urbanmonitor.domain.citizen.disasterMonitor.view.DisasterTimelineView;
+import com.urbanmonitor.domain.citizen.disasterMonitor.view.DisasterZoneSpatialIndex;
+import com.urbanmonitor.shared.province.ProvinceLocator;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+class DisasterZoneServiceImplTest {
+
+    private final DisasterZoneRepository repository = mock(DisasterZoneRepository.class);
+    private final DisasterZoneEventPublisher eventPublisher = mock(DisasterZoneEventPublisher.class);
+    private final DisasterZoneServiceImpl service = new DisasterZoneServiceImpl(
+        repository, mock(StatsCalculator.class), mock(GeoJsonConverterFactory.class), eventPublisher,
+        new ObjectMapper(), mock(DisasterDashboardView.class), mock(DisasterGeometryPipeline.class),
+        mock(DisasterZoneSpatialIndex.class), mock(ProvinceLocator.class), mock(DisasterTileCache.class),
+        mock(DisasterTimelineView.class), mock(DisasterOverlayView.class));
+
+    @Test
+    void resolvingAZoneFillsEndedAtOnlyWhenEmpty() {
+        when(repository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        DisasterZone open = DisasterZone.builder().id(1L).status(ZoneStatus.RECOVERING).build();
+        LocalDateTime ended = LocalDateTime.of(2026, 1, 2, 3, 0);
+        DisasterZone alreadyEnded = DisasterZone.builder().id(2L).status(ZoneStatus.RECOVERING).endedAt(ended).build();
+        DisasterZone active = DisasterZone.builder().id(3L).status(ZoneStatus.WARNING).build();
+        when(repository.findById(1L)).thenReturn(Optional.of(open));
+        when(repository.findById(2L)).thenReturn(Optional.of(alreadyEnded));
+        when(repository.findById(3L)).thenReturn(Optional.of(active));
+
+        LocalDateTime before = LocalDateTime.now();
+        DisasterZone resolved = service.updateStatus(1L, ZoneStatus.RESOLVED);
+        assertEquals(ZoneStatus.RESOLVED, resolved.getStatus());
+        assertNotNull(resolved.getEndedAt());
+        assertFalse(resolved.getEndedAt().isBefore(before));
+
+        assertEquals(ended, service.updateStatus(2L, ZoneStatus.RESOLVED).getEndedAt());
+        assertNull(service.updateStatus(3L, ZoneStatus.EMERGENCY).getEndedAt());
+
+        // Event STATUS_CHANGED mang zone đã có endedAt cho timeline / views
+        verify(eventPublisher, times(3)).publish(any(DisasterZoneEvent.class));
+    }
+
+    @Test
+    void invalidBulkStatusRequestsAreBadRequests() {
+        DisasterZoneQuery emptyFilter = new DisasterZoneQuery();
+        List<BulkStatusUpdateRequest> invalid = List.of(
+            new BulkStatusUpdateRequest(null, List.of(1L), null),
+            new BulkStatusUpdateRequest("BOGUS", List.of(1L), null),
+            new BulkStatusUpdateRequest("ALERT", null, null),
+            new BulkStatusUpdateRequest("ALERT", null, emptyFilter));
+        for (BulkStatusUpdateRequest request : invalid) {
+            ResponseStatusException e = assertThrows(ResponseStatusException.class, () -> service.updateStatuses(request));
+            assertEquals(HttpStatus.BAD_REQUEST, e.getStatusCode());
+        }
+
+        // Khớp quá giới hạn (10 000 zone) cũng là lỗi của request, không phải 500
+        ZoneStatusRow row = statusRow(1L, ZoneStatus.WARNING);
+        when(repository.findStatusesByIdIn(any())).thenReturn(Collections.nCopies(10_001, row));
+        ResponseStatusException tooMany = assertThrows(ResponseStatusException.class,
+            () -> service.updateStatuses(new BulkStatusUpdateRequest("ALERT", List.of(1L), null)));
+        assertEquals(HttpStatus.BAD_REQUEST, tooMany.getStatusCode());
+
+        verify(repository, never()).updateStatusByIds(any(), any(), any(), any());
+    }
+
+    @Test
+    void bulkResolveFillsEndedAtInTheSameUpdate() {
+        List<ZoneStatusRow> rows = List.of(statusRow(1L, ZoneStatus.RECOVERING), statusRow(2L, ZoneStatus.RESOLVED));
+        when(repository.findStatusesByIdIn(any())).thenReturn(rows);
+        when(repository.updateStatusByIds(any(), any(), any(), any())).thenReturn(1);
+        when(repository.findAllById(any())).thenReturn(List.of(DisasterZone.builder().id(1L).build()));
+
+        service.updateStatuses(new BulkStatusUpdateRequest("resolved", List.of(1L, 2L), null));
+        service.updateStatuses(new BulkStatusUpdateRequest("ALERT", List.of(1L, 2L), null));
+
+        ArgumentCaptor<LocalDateTime> now = ArgumentCaptor.forClass(LocalDateTime.class);
+        ArgumentCaptor<LocalDateTime> endedAt = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(repository).updateStatusByIds(eq(Set.of(1L)), eq(ZoneStatus.RESOLVED),
+            now.capture(), endedAt.capture());
+        // RESOLVED: endedAt = COALESCE(endedAt, now), status khác: giữ nguyên endedAt
+        assertEquals(now.getValue(), endedAt.getValue());
+        verify(repository).updateStatusByIds(eq(Set.of(1L, 2L)), eq(ZoneStatus.ALERT), any(), isNull());
+    }
+
+    private static ZoneStatusRow statusRow(Long id, ZoneStatus status) {
+        ZoneStatusRow row = mock(ZoneStatusRow.class);
+        when(row.getId()).thenReturn(id);
+        when(row.getStatus()).thenReturn(status);
+        return row;
+    }
+}
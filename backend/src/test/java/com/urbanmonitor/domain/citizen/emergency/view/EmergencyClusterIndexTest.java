@@ -0,0 +1,275 @@
+package com.urbanmonitor.domain.citizen.emergency.view;
+
+import com.urbanmonitor.domain.citizen.emergency.entity.EmergencyLocation;
+import com.urbanmonitor.domain.citizen.emergency.entity.EmergencyLocation.EmergencyType;
+import com.urbanmonitor.domain.citizen.emergency.entity.EmergencyLocation.PriorityLevel;
+import com.urbanmonitor.domain.citizen.emergency.observer.EmergencyLocationEvent;
+import com.urbanmonitor.domain.citizen.emergency.observer.EmergencyLocationEventPublisher;
+import com.urbanmonitor.domain.citizen.emergency.observer.JournalEmergencyLocationObserver;
+import com.urbanmonitor.domain.citizen.emergency.repository.EmergencyLocationRepository;
+import com.urbanmonitor.shared.geo.BoundingBox;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class EmergencyClusterIndexTest {
+
+    private static final int MAX_ZOOM = 16;
+    private static final BoundingBox WORLD = new BoundingBox(-180, -85, 180, 85);
+
+    private final EmergencyLocationRepository repository = mock(EmergencyLocationRepository.class);
+    private final JournalEmergencyLocationObserver journal = mock(JournalEmergencyLocationObserver.class);
+    private final Random random = new Random(7);
+    // Trạng thái mong đợi: id → location mới nhất
+    private final Map<Long, EmergencyLocation> expected = new TreeMap<>();
+    private EmergencyClusterIndex index;
+    private long nextId = 1;
+
+    @BeforeEach
+    void setUp() {
+        index = new EmergencyClusterIndex(mock(EmergencyLocationEventPublisher.class), repository, journal);
+        ReflectionTestUtils.setField(index, "radius", 40.0);
+        ReflectionTestUtils.setField(index, "extent", 512.0);
+        ReflectionTestUtils.setField(index, "minZoom", 0);
+        ReflectionTestUtils.setField(index, "maxZoom", MAX_ZOOM);
+        ReflectionTestUtils.setField(index, "maxFeatures", 1_000_000);
+        ReflectionTestUtils.setField(index, "compactRatio", 0.1);
+        index.init();
+        when(journal.replayLocations()).thenReturn(Optional.empty());
+    }
+
+    @Test
+    void countsPerZoomMatchLocationsAfterAddMoveAndRemove() {
+        for (int i = 0; i < 300; i++) {
+            EmergencyLocation location = randomLocation(nextId++);
+            expected.put(location.getId(), location);
+        }
+        when(repository.findAll()).thenReturn(new ArrayList<>(expected.values()));
+        index.onApplicationReady();
+        assertConsistent("after build");
+
+        for (int round = 0; round < 8; round++) {
+            List<EmergencyLocationEvent> events = new ArrayList<>();
+            // Thêm: có điểm sát điểm cũ (nhập vào cluster có sẵn), có điểm ở vùng chưa có gì
+            for (int i = 0; i < 25; i++) {
+                EmergencyLocation location = i % 5 == 0 ? farLocation(nextId++) : nearExisting(nextId++);
+                expected.put(location.getId(), location);
+                events.add(EmergencyLocationEvent.created(location));
+            }
+            // Mỗi id chỉ một thay đổi trong round nên được phép xáo thứ tự event giữa các id
+            List<Long> touched = pick(25 + 15 + 3);
+            // Di chuyển, đổi type, đổi priority tại chỗ
+            for (Long id : touched.subList(0, 25)) {
+                EmergencyLocation moved = copy(expected.get(id));
+                switch (random.nextInt(3)) {
+                    case 0 -> {
+                        moved.setLongitude(106.5 + random.nextDouble() * 0.5);
+                        moved.setLatitude(10.6 + random.nextDouble() * 0.4);
+                    }
+                    case 1 -> moved.setEmergencyType(randomType());
+                    default -> moved.setPriority(randomPriority());
+                }
+                expected.put(id, moved);
+                events.add(EmergencyLocationEvent.updated(moved));
+            }
+            // Xoá, và mất toạ độ (không còn hiển thị được)
+            for (Long id : touched.subList(25, 40)) {
+                expected.remove(id);
+                events.add(EmergencyLocationEvent.deleted(id));
+            }
+            for (Long id : touched.subList(40, 43)) {
+                EmergencyLocation unplaced = copy(expected.remove(id));
+                unplaced.setLatitude(null);
+                events.add(EmergencyLocationEvent.updated(unplaced));
+            }
+            // Xoá id không tồn tại: không được làm lệch count
+            events.add(EmergencyLocationEvent.deleted(-1L));
+
+            Collections.shuffle(events.subList(25, events.size() - 1), random);
+            if (round % 2 == 0) {
+                index.onEmergencyLocationEvents(events);
+            } else {
+                events.forEach(index::onEmergencyLocationEvent);
+            }
+            assertConsistent("after round " + round);
+        }
+
+        // Reconcile build lại từ DB: vẫn cùng số điểm ở mọi zoom
+        when(repository.findAll()).thenReturn(new ArrayList<>(expected.values()));
+        index.reconcile();
+        assertConsistent("after reconcile");
+    }
+
+    @Test
+    void movingTheOnlyPointOfAClusterLeavesNoEmptyFeature() {
+        EmergencyLocation a = location(1, EmergencyType.FIRE, PriorityLevel.HIGH, 106.70, 10.77);
+        EmergencyLocation b = location(2, EmergencyType.FIRE, PriorityLevel.LOW, 106.7001, 10.7701);
+        expected.put(1L, a);
+        expected.put(2L, b);
+        when(repository.findAll()).thenReturn(List.of(a, b));
+        index.onApplicationReady();
+        assertEquals(List.of(2), pointCounts(12));
+
+        EmergencyLocation movedA = copy(a);
+        movedA.setLongitude(-73.98);
+        movedA.setLatitude(40.75);
+        expected.put(1L, movedA);
+        index.onEmergencyLocationEvent(EmergencyLocationEvent.updated(movedA));
+        assertEquals(List.of(1, 1), pointCounts(12));
+
+        expected.remove(2L);
+        index.onEmergencyLocationEvent(EmergencyLocationEvent.deleted(2L));
+        assertEquals(List.of(1), pointCounts(12));
+        assertConsistent("after move + delete");
+
+        // Thêm lại sát chỗ cũ: gom với nhau thành cluster mới
+        EmergencyLocation c = location(3, EmergencyType.FIRE, null, -73.9801, 40.7501);
+        expected.put(3L, c);
+        index.onEmergencyLocationEvent(EmergencyLocationEvent.created(c));
+        assertEquals(List.of(2), pointCounts(12));
+        assertConsistent("after re-add");
+    }
+
+    /**
+     * Ở mọi zoom: tổng pointCount theo type = số location có toạ độ, breakdown priority khớp,
+     * không có feature rỗng, expand một cluster trả về con có tổng đúng bằng pointCount
+     */
+    private void assertConsistent(String stage) {
+        Map<EmergencyType, Integer> expectedCounts = new EnumMap<>(EmergencyType.class);
+        Map<String, Integer> expectedPriorities = new TreeMap<>();
+        for (EmergencyLocation location : expected.values()) {
+            expectedCounts.merge(location.getEmergencyType(), 1, Integer::sum);
+            expectedPriorities.merge(priorityKey(location.getPriority()), 1, Integer::sum);
+        }
+
+        for (int zoom = 0; zoom <= MAX_ZOOM + 1; zoom++) {
+            Map<String, Object> result = index.getClusters(WORLD, zoom, null);
+            assertEquals(zoom, result.get("zoom"), stage);
+            Map<EmergencyType, Integer> counts = new EnumMap<>(EmergencyType.class);
+            Map<String, Integer> priorities = new TreeMap<>();
+            for (Map<String, Object> properties : properties(result)) {
+                EmergencyType type = EmergencyType.valueOf((String) properties.get("emergencyType"));
+                if (Boolean.TRUE.equals(properties.get("cluster"))) {
+                    int pointCount = (Integer) properties.get("pointCount");
+                    assertTrue(pointCount >= 2, stage + " zoom " + zoom + ": cluster with " + pointCount + " point(s)");
+                    counts.merge(type, pointCount, Integer::sum);
+                    int breakdown = 0;
+                    for (Map.Entry<String, Object> entry : priorities(properties).entrySet()) {
+                        int n = (Integer) entry.getValue();
+                        assertTrue(n >= 0, stage + " zoom " + zoom + ": negative priority count");
+                        priorities.merge(entry.getKey(), n, Integer::sum);
+                        breakdown += n;
+                    }
+                    assertEquals(pointCount, breakdown, stage + " zoom " + zoom + ": priority breakdown");
+                    assertExpandsTo(pointCount, ((Number) properties.get("clusterId")).longValue(), stage);
+                } else {
+                    EmergencyLocation location = expected.get(((Number) properties.get("id")).longValue());
+                    assertNotNull(location, stage + " zoom " + zoom + ": stale point " + properties.get("id"));
+                    assertEquals(location.getEmergencyType(), type, stage);
+                    counts.merge(type, 1, Integer::sum);
+                    priorities.merge(priorityKey(location.getPriority()), 1, Integer::sum);
+                }
+            }
+            priorities.values().removeIf(n -> n == 0);
+            assertEquals(expectedCounts, counts, stage + " zoom " + zoom);
+            assertEquals(expectedPriorities, priorities, stage + " zoom " + zoom);
+        }
+    }
+
+    private void assertExpandsTo(int pointCount, long clusterId, String stage) {
+        Map<String, Object> expansion = index.expand(clusterId).orElseThrow();
+        int children = 0;
+        for (Map<String, Object> properties : properties(expansion)) {
+            children += Boolean.TRUE.equals(properties.get("cluster")) ? (Integer) properties.get("pointCount") : 1;
+        }
+        assertEquals(pointCount, children, stage + ": children of cluster " + clusterId);
+    }
+
+    private List<Integer> pointCounts(int zoom) {
+        List<Integer> counts = new ArrayList<>();
+        for (Map<String, Object> properties : properties(index.getClusters(WORLD, zoom, null))) {
+            counts.add(Boolean.TRUE.equals(properties.get("cluster")) ? (Integer) properties.get("pointCount") : 1);
+        }
+        Collections.sort(counts);
+        return counts;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Map<String, Object>> properties(Map<String, Object> collection) {
+        List<Map<String, Object>> result = new ArrayList<>();
+        for (Map<String, Object> feature : (List<Map<String, Object>>) collection.get("features")) {
+            result.add((Map<String, Object>) feature.get("properties"));
+        }
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> priorities(Map<String, Object> properties) {
+        return (Map<String, Object>) properties.get("priorities");
+    }
+
+    private static String priorityKey(PriorityLevel priority) {
+        return priority == null ? "UNKNOWN" : priority.name();
+    }
+
+    // ---- dữ liệu ----
+
+    private List<Long> pick(int count) {
+        List<Long> ids = new ArrayList<>(expected.keySet());
+        Collections.shuffle(ids, random);
+        return new ArrayList<>(ids.subList(0, count));
+    }
+
+    private EmergencyLocation randomLocation(long id) {
+        // Cụm dày trong nội thành + rải rác ngoại thành, thỉnh thoảng trùng toạ độ
+        boolean dense = random.nextInt(3) > 0;
+        double spread = dense ? 0.05 : 0.6;
+        return location(id, randomType(), randomPriority(),
+            106.70 + (random.nextDouble() - 0.5) * spread, 10.77 + (random.nextDouble() - 0.5) * spread);
+    }
+
+    private EmergencyLocation nearExisting(long id) {
+        EmergencyLocation anchor = expected.get(pick(1).get(0));
+        double jitter = random.nextInt(4) == 0 ? 0 : 0.0005;
+        return location(id, anchor.getEmergencyType(), randomPriority(),
+            anchor.getLongitude() + (random.nextDouble() - 0.5) * jitter,
+            anchor.getLatitude() + (random.nextDouble() - 0.5) * jitter);
+    }
+
+    private EmergencyLocation farLocation(long id) {
+        return location(id, randomType(), randomPriority(),
+            -120 + random.nextDouble() * 240, -60 + random.nextDouble() * 120);
+    }
+
+    private EmergencyType randomType() {
+        EmergencyType[] types = EmergencyType.values();
+        return types[random.nextInt(types.length)];
+    }
+
+    private PriorityLevel randomPriority() {
+        PriorityLevel[] levels = PriorityLevel.values();
+        int i = random.nextInt(levels.length + 1);
+        return i == levels.length ? null : levels[i];
+    }
+
+    private static EmergencyLocation location(long id, EmergencyType type, PriorityLevel priority, double lng, double lat) {
+        return EmergencyLocation.builder()
+            .id(id)
+            .emergencyType(type)
+            .priority(priority)
+            .status(EmergencyLocation.EmergencyStatus.ACTIVE)
+            .longitude(lng)
+            .latitude(lat)
+            .build();
+    }
+
+    private static EmergencyLocation copy(EmergencyLocation location) {
+        return location(location.getId(), location.getEmergencyType(), location.getPriority(),
+            location.getLongitude(), location.getLatitude());
+    }
+}
@@ -0,0 +1,76 @@
+package com.urbanmonitor.domain.citizen.marketMonitor.service;
+
+import com.urbanmonitor.domain.citizen.marketMonitor.entity.LicensedStore.LicenseStatus;
+import com.urbanmonitor.domain.citizen.marketMonitor.repository.LicensedStoreRepository;
+import com.urbanmonitor.domain.citizen.marketMonitor.repository.LicensedStoreRepository.LicenseDeadline;
+import com.urbanmonitor.shared.scheduling.DeadlineScheduler;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class LicenseExpiryTransitionsTest {
+
+    record Deadline(Long getId, LocalDate getLicenseExpiryDate) implements LicenseDeadline {
+    }
+
+    @Test
+    void expiredLicensesFromSchedulerAreUpdatedInsideATransaction() throws Exception {
+        LicensedStoreRepository repository = mock(LicensedStoreRepository.class);
+        List<Boolean> inTransaction = new ArrayList<>();
+        List<Collection<Long>> batches = new ArrayList<>();
+        RecordingTransactionManager transactionManager = new RecordingTransactionManager();
+        when(repository.findExpiringBefore(any(), any())).thenReturn(List.of(
+            new Deadline(7L, LocalDate.now().minusDays(3)),
+            new Deadline(8L, LocalDate.now().minusDays(1))));
+        when(repository.expireAll(any(), any(), any(), eq(LicenseStatus.EXPIRED), any())).thenAnswer(invocation -> {
+            inTransaction.add(transactionManager.active);
+            batches.add(invocation.getArgument(0));
+            return 2;
+        });
+
+        DeadlineScheduler scheduler = new DeadlineScheduler(10, 24, 500);
+        LicenseExpiryTransitions transitions = new LicenseExpiryTransitions(scheduler, repository, transactionManager);
+        transitions.init();
+        scheduler.onApplicationReady();
+        Thread.sleep(30);
+        scheduler.tick();
+
+        assertEquals(List.of(true), inTransaction);
+        assertEquals(1, batches.size());
+        assertEquals(List.of(7L, 8L), batches.get(0).stream().sorted().toList());
+        assertEquals(1, transactionManager.committed);
+    }
+
+    static final class RecordingTransactionManager implements PlatformTransactionManager {
+        int committed;
+        boolean active;
+
+        @Override
+        public TransactionStatus getTransaction(TransactionDefinition definition) {
+            active = true;
+            return new SimpleTransactionStatus();
+        }
+
+        @Override
+        public void commit(TransactionStatus status) {
+            committed++;
+            active = false;
+        }
+
+        @Override
+        public void rollback(TransactionStatus status) {
+            active = false;
+        }
+    }
+}
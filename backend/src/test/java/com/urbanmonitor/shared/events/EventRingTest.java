@@ -0,0 +1,119 @@
+package com.urbanmonitor.shared.events;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EventRingTest {
+
+    @Test
+    void capacityIsRoundedUpToPowerOfTwo() {
+        assertEquals(2, new EventRing<>(2).capacity());
+        assertEquals(8, new EventRing<>(5).capacity());
+        assertEquals(8, new EventRing<>(8).capacity());
+        assertThrows(IllegalArgumentException.class, () -> new EventRing<>(1));
+    }
+
+    @Test
+    void offerFailsWhenFullAndPollIsFifo() {
+        EventRing<Integer> ring = new EventRing<>(4);
+        for (int i = 0; i < 4; i++) {
+            assertTrue(ring.offer(i));
+        }
+        assertFalse(ring.offer(4));
+        assertEquals(4, ring.size());
+        assertEquals(0, ring.peek());
+
+        // Quay vòng nhiều lần qua cùng các slot
+        for (int i = 4; i < 100; i++) {
+            assertEquals(i - 4, ring.poll());
+            assertTrue(ring.offer(i));
+        }
+        for (int i = 96; i < 100; i++) {
+            assertEquals(i, ring.poll());
+        }
+        assertNull(ring.poll());
+        assertNull(ring.peek());
+        assertEquals(0, ring.size());
+    }
+
+    @Test
+    void concurrentProducersAndConsumersDeliverEveryItemOnce() throws Exception {
+        int producers = 4;
+        int consumers = 4;
+        int perProducer = 20_000;
+        EventRing<Integer> ring = new EventRing<>(64);
+        ExecutorService executor = Executors.newFixedThreadPool(producers + consumers);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger remaining = new AtomicInteger(producers * perProducer);
+        ConcurrentLinkedQueue<List<Integer>> received = new ConcurrentLinkedQueue<>();
+
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int p = 0; p < producers; p++) {
+                int base = p * perProducer;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < perProducer; i++) {
+                        while (!ring.offer(base + i)) {
+                            Thread.yield();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (int c = 0; c < consumers; c++) {
+                futures.add(executor.submit(() -> {
+                    List<Integer> mine = new ArrayList<>();
+                    start.await();
+                    while (remaining.get() > 0) {
+                        Integer item = ring.poll();
+                        if (item != null) {
+                            mine.add(item);
+                            remaining.decrementAndGet();
+                        } else {
+                            Thread.yield();
+                        }
+                    }
+                    received.add(mine);
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        boolean[] seen = new boolean[producers * perProducer];
+        for (List<Integer> items : received) {
+            // Mỗi consumer thấy item của cùng một producer theo đúng thứ tự offer
+            int[] last = new int[producers];
+            Arrays.fill(last, -1);
+            for (int item : items) {
+                assertFalse(seen[item], "item delivered twice: " + item);
+                seen[item] = true;
+                int producer = item / perProducer;
+                assertTrue(item > last[producer], "out of order for producer " + producer);
+                last[producer] = item;
+            }
+        }
+        for (int i = 0; i < seen.length; i++) {
+            assertTrue(seen[i], "item lost: " + i);
+        }
+        assertNull(ring.poll());
+    }
+}
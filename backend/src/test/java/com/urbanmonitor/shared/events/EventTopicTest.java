@@ -0,0 +1,276 @@
+package com.urbanmonitor.shared.events;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EventTopicTest {
+
+    private static final long TIMEOUT_MS = 10_000;
+
+    /** Event có key để test COALESCE */
+    record Change(String key, int value) {
+    }
+
+    private final MockEnvironment environment = new MockEnvironment();
+    private DomainEventBus bus;
+
+    @AfterEach
+    void shutdown() {
+        if (bus != null) {
+            bus.shutdown();
+        }
+    }
+
+    @Test
+    void dependentSubscriptionSeesEventOnlyAfterUpstreamProcessedIt() {
+        EventTopic<Integer> topic = topic(BackpressurePolicy.BLOCK, 8, 4);
+        Set<Integer> upstreamDone = ConcurrentHashMap.newKeySet();
+        List<Integer> upstreamOrder = Collections.synchronizedList(new ArrayList<>());
+        List<Integer> downstreamOrder = Collections.synchronizedList(new ArrayList<>());
+        List<Integer> violations = Collections.synchronizedList(new ArrayList<>());
+
+        Object upstream = new Object();
+        Object downstream = new Object();
+        topic.subscribe("upstream", upstream, events -> {
+            sleep(1);
+            upstreamOrder.addAll(events);
+            upstreamDone.addAll(events);
+        }, List.of());
+        topic.subscribe("downstream", downstream, events -> {
+            for (Integer event : events) {
+                if (!upstreamDone.contains(event)) {
+                    violations.add(event);
+                }
+            }
+            downstreamOrder.addAll(events);
+        }, List.of(upstream));
+
+        List<Integer> published = IntStream.range(0, 300).boxed().toList();
+        published.forEach(topic::publish);
+
+        await(() -> downstreamOrder.size() == published.size());
+        assertEquals(List.of(), violations);
+        assertEquals(published, upstreamOrder);
+        assertEquals(published, downstreamOrder);
+    }
+
+    @Test
+    void blockPolicyMakesProducerWaitAndLosesNothing() throws Exception {
+        EventTopic<Integer> topic = topic(BackpressurePolicy.BLOCK, 2, 1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<Integer> received = Collections.synchronizedList(new ArrayList<>());
+        topic.subscribe("slow", new Object(), events -> {
+            await(release);
+            received.addAll(events);
+        }, List.of());
+
+        ExecutorService producer = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> publishing = producer.submit(() -> IntStream.range(0, 10).forEach(topic::publish));
+            // Consumer giữ 1 event, ring 2 chỗ: producer không thể đi hết 10 event
+            Thread.sleep(200);
+            assertFalse(publishing.isDone());
+
+            release.countDown();
+            publishing.get(TIMEOUT_MS, TimeUnit.MILLISECONDS);
+        } finally {
+            producer.shutdownNow();
+        }
+
+        await(() -> received.size() == 10);
+        assertEquals(IntStream.range(0, 10).boxed().toList(), received);
+        EventSubscriptionMetrics metrics = topic.metrics().get(0);
+        assertEquals(0, metrics.getDropped());
+        assertTrue(metrics.getBlocked() > 0);
+    }
+
+    @Test
+    void dropOldestPolicyKeepsNewestEventsWithoutBlocking() {
+        EventTopic<Integer> topic = topic(BackpressurePolicy.DROP_OLDEST, 4, 1);
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<Integer> received = Collections.synchronizedList(new ArrayList<>());
+        topic.subscribe("lossy", new Object(), events -> {
+            entered.countDown();
+            await(release);
+            received.addAll(events);
+        }, List.of());
+
+        topic.publish(0);
+        await(entered);
+        // Không chờ consumer: 20 event vào ring 4 chỗ
+        assertTimeoutPreemptively(Duration.ofSeconds(2), () -> IntStream.range(1, 21).forEach(topic::publish));
+        release.countDown();
+
+        await(() -> received.size() == 5);
+        assertEquals(List.of(0, 17, 18, 19, 20), received);
+        assertEquals(16, topic.metrics().get(0).getDropped());
+    }
+
+    @Test
+    void coalescePolicyMergesPendingEventsOfSameKey() {
+        EventTopic<Change> topic = bus(BackpressurePolicy.COALESCE, 4, 1)
+            .topic("changes", Change::key, (older, newer) -> new Change(newer.key(), older.value() + newer.value()));
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<Change> received = Collections.synchronizedList(new ArrayList<>());
+        topic.subscribe("latest", new Object(), events -> {
+            entered.countDown();
+            await(release);
+            received.addAll(events);
+        }, List.of());
+
+        topic.publish(new Change("first", 1));
+        await(entered);
+        for (int i = 1; i <= 10; i++) {
+            topic.publish(new Change("a", i));
+            topic.publish(new Change("b", 100 * i));
+        }
+        release.countDown();
+
+        await(() -> received.size() == 3);
+        assertEquals(List.of(new Change("first", 1), new Change("a", 55), new Change("b", 5500)), received);
+        EventSubscriptionMetrics metrics = topic.metrics().get(0);
+        assertEquals(18, metrics.getCoalesced());
+        assertEquals(0, metrics.getDropped());
+    }
+
+    @Test
+    void eventsPublishedInTransactionAreDispatchedOnlyAfterCommit() {
+        EventTopic<Integer> topic = topic(BackpressurePolicy.BLOCK, 8, 8);
+        List<Integer> received = Collections.synchronizedList(new ArrayList<>());
+        topic.subscribe("observer", new Object(), received::addAll, List.of());
+
+        List<TransactionSynchronization> synchronizations = inTransaction(() -> {
+            topic.publish(1);
+            topic.publishAll(List.of(2, 3));
+        });
+        sleep(200);
+        assertEquals(List.of(), received);
+
+        TransactionSynchronizationUtils.invokeAfterCommit(synchronizations);
+        TransactionSynchronizationUtils.invokeAfterCompletion(synchronizations, TransactionSynchronization.STATUS_COMMITTED);
+
+        await(() -> received.size() == 3);
+        assertEquals(List.of(1, 2, 3), received);
+    }
+
+    @Test
+    void rolledBackTransactionDispatchesNothing() {
+        EventTopic<Integer> topic = topic(BackpressurePolicy.BLOCK, 8, 8);
+        List<Integer> received = Collections.synchronizedList(new ArrayList<>());
+        topic.subscribe("observer", new Object(), received::addAll, List.of());
+
+        List<TransactionSynchronization> synchronizations = inTransaction(() -> topic.publishAll(List.of(1, 2)));
+        TransactionSynchronizationUtils.invokeAfterCompletion(synchronizations, TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        // Publish sau rollback không được kéo theo event của transaction cũ
+        topic.publish(3);
+        await(() -> received.size() == 1);
+        sleep(200);
+        assertEquals(List.of(3), received);
+    }
+
+    @Test
+    void subscriberPublishingToItsOwnTopicDoesNotDeadlockUnderBlock() {
+        EventTopic<Integer> topic = topic(BackpressurePolicy.BLOCK, 2, 1);
+        AtomicInteger publishesReturned = new AtomicInteger();
+        AtomicInteger seedsSeen = new AtomicInteger();
+        List<Integer> other = Collections.synchronizedList(new ArrayList<>());
+
+        topic.subscribe("republisher", new Object(), events -> {
+            for (Integer event : events) {
+                if (event < 0) {
+                    seedsSeen.incrementAndGet();
+                    // Ring của chính mình chỉ 2 chỗ: nếu tự chờ chính mình sẽ treo mãi
+                    topic.publishAll(IntStream.range(0, 8).boxed().toList());
+                    publishesReturned.incrementAndGet();
+                }
+            }
+        }, List.of());
+        topic.subscribe("other", new Object(), other::addAll, List.of());
+
+        // Seed kế tiếp chỉ publish khi lượt trước xong: event của chính republisher có thể đẩy rơi seed còn trong ring
+        for (int seed = 1; seed <= 3; seed++) {
+            topic.publish(-seed);
+            int expected = seed;
+            await(() -> publishesReturned.get() == expected);
+        }
+        assertEquals(3, seedsSeen.get());
+        // Observer BLOCK còn lại không mất event nào
+        await(() -> other.size() == 3 + 3 * 8);
+    }
+
+    private EventTopic<Integer> topic(BackpressurePolicy policy, int bufferSize, int batchSize) {
+        return bus(policy, bufferSize, batchSize).topic("numbers", null, null);
+    }
+
+    private DomainEventBus bus(BackpressurePolicy policy, int bufferSize, int batchSize) {
+        bus = new DomainEventBus(environment, policy, bufferSize, batchSize, TIMEOUT_MS);
+        return bus;
+    }
+
+    /**
+     * Chạy body như trong một transaction đang mở, trả về synchronizations đã đăng ký để test tự commit / rollback
+     */
+    private static List<TransactionSynchronization> inTransaction(Runnable body) {
+        TransactionSynchronizationManager.initSynchronization();
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        try {
+            body.run();
+            return TransactionSynchronizationManager.getSynchronizations();
+        } finally {
+            TransactionSynchronizationManager.setActualTransactionActive(false);
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private static void await(BooleanSupplier condition) {
+        long deadline = System.currentTimeMillis() + TIMEOUT_MS;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) {
+                fail("condition not met within " + TIMEOUT_MS + " ms");
+            }
+            sleep(5);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(TIMEOUT_MS, TimeUnit.MILLISECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
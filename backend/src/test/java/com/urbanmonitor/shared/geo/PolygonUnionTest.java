@@ -0,0 +1,197 @@
+package com.urbanmonitor.shared.geo;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PolygonUnionTest {
+
+    // Toạ độ thật (khu vực TP.HCM), mỗi đơn vị lưới = STEP độ
+    private static final double BASE_LNG = 106.6;
+    private static final double BASE_LAT = 10.7;
+    private static final double STEP = 0.01;
+
+    @Test
+    void overlappingSquaresMergeIntoOneRing() {
+        // Một input CW: union phải tự chuẩn hoá chiều
+        PackedGeometry result = union(square(0, 0, 2), reversed(square(1, 1, 2)));
+
+        assertEquals(1, result.polygonCount());
+        assertEquals(1, result.ringCount(0));
+        assertArea(7, result);
+        // 8 đỉnh của hình chữ L kép + điểm đóng
+        assertEquals(9, result.ring(0, 0).length / 2);
+    }
+
+    @Test
+    void identicalPolygonsKeepTheSharedBoundaryOnce() {
+        PackedGeometry result = union(square(0, 0, 1), square(0, 0, 1));
+
+        assertEquals(1, result.polygonCount());
+        assertEquals(1, result.ringCount(0));
+        assertArea(1, result);
+    }
+
+    @Test
+    void polygonsSharingAnEdgeDissolveTheInnerEdge() {
+        PackedGeometry full = union(square(0, 0, 1), square(1, 0, 1));
+        assertEquals(1, full.polygonCount());
+        assertEquals(1, full.ringCount(0));
+        assertArea(2, full);
+        assertFalse(hasVertexInside(full.ring(0, 0), 1, 0.5), "inner edge left in ring");
+
+        // Chung một phần cạnh (chạm chữ T)
+        PackedGeometry partial = union(square(0, 0, 1), rect(1, 0.5, 2, 1.5));
+        assertEquals(1, partial.polygonCount());
+        assertEquals(1, partial.ringCount(0));
+        assertArea(2, partial);
+    }
+
+    @Test
+    void polygonsTouchingAtOneVertexStaySeparate() {
+        PackedGeometry result = union(square(0, 0, 1), square(1, 1, 1));
+
+        assertEquals(2, result.polygonCount());
+        assertArea(2, result);
+    }
+
+    @Test
+    void holeIsKeptWhenOtherPolygonDoesNotReachIt() {
+        double[][] withHole = {ring(0, 0, 10, 0, 10, 10, 0, 10), reversedRing(ring(4, 4, 6, 4, 6, 6, 4, 6))};
+        PackedGeometry result = union(withHole, rect(8, 2, 12, 8));
+
+        assertEquals(1, result.polygonCount());
+        assertEquals(2, result.ringCount(0));
+        assertTrue(PackedGeometry.signedArea(result.ring(0, 1)) < 0, "hole must be CW");
+        assertArea(100 - 4 + 4 * 6 - 2 * 6, result);
+    }
+
+    @Test
+    void polygonCoveringTheHoleFillsIt() {
+        double[][] withHole = {ring(0, 0, 10, 0, 10, 10, 0, 10), ring(4, 4, 6, 4, 6, 6, 4, 6)};
+        PackedGeometry result = union(withHole, square(3, 3, 4));
+
+        assertEquals(1, result.polygonCount());
+        assertEquals(1, result.ringCount(0));
+        assertArea(100, result);
+    }
+
+    @Test
+    void closingAUShapeCreatesAHole() {
+        double[][] u = {ring(0, 0, 3, 0, 3, 3, 2, 3, 2, 1, 1, 1, 1, 3, 0, 3)};
+        PackedGeometry result = union(u, rect(0, 3, 3, 4));
+
+        assertEquals(1, result.polygonCount());
+        assertEquals(2, result.ringCount(0));
+        assertArea(12 - 2, result);
+        assertEquals(-2 * STEP * STEP, PackedGeometry.signedArea(result.ring(0, 1)), 1e-12);
+    }
+
+    @Test
+    void cascadedUnionOfOverlappingGridCoversTheWholeExtent() {
+        // 4 × 4 hình vuông cạnh 1.5 đặt cách 1: chồng lấn từng đôi, phủ kín [0, 4.5]²
+        List<double[][]> squares = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            for (int j = 0; j < 4; j++) {
+                squares.add(square(i, j, 1.5));
+            }
+        }
+        // Thêm một khối rời: không được overlay với phần còn lại
+        squares.add(square(10, 10, 1));
+        PackedGeometry result = PolygonUnion.union(squares.stream().map(PackedGeometry::polygon).toList());
+
+        assertEquals(2, result.polygonCount());
+        for (int p = 0; p < 2; p++) {
+            assertEquals(1, result.ringCount(p));
+        }
+        assertArea(4.5 * 4.5 + 1, result);
+    }
+
+    @Test
+    void degenerateInputsAreIgnored() {
+        assertNull(PolygonUnion.union(List.of()));
+        assertNull(PolygonUnion.union(List.of(PackedGeometry.polygon(new double[][]{ring(0, 0, 1, 1)}))));
+    }
+
+    // ---- helpers: toạ độ theo đơn vị lưới ----
+
+    private static PackedGeometry union(double[][]... polygons) {
+        List<PackedGeometry> geometries = new ArrayList<>();
+        for (double[][] polygon : polygons) {
+            geometries.add(PackedGeometry.polygon(polygon));
+        }
+        PackedGeometry result = PolygonUnion.union(geometries);
+        assertNotNull(result);
+        return result;
+    }
+
+    /**
+     * Diện tích (đơn vị lưới²): exterior CCW dương, holes CW âm
+     */
+    private static void assertArea(double expectedUnits, PackedGeometry geometry) {
+        double area = 0;
+        for (int p = 0; p < geometry.polygonCount(); p++) {
+            assertTrue(PackedGeometry.signedArea(geometry.ring(p, 0)) > 0, "exterior must be CCW");
+            for (int r = 0; r < geometry.ringCount(p); r++) {
+                area += PackedGeometry.signedArea(geometry.ring(p, r));
+            }
+        }
+        assertEquals(expectedUnits, area / (STEP * STEP), 1e-6);
+    }
+
+    private static boolean hasVertexInside(double[] ring, double x, double y) {
+        double lng = lng(x), lat = lat(y);
+        for (int i = 0; i < ring.length; i += 2) {
+            if (Math.abs(ring[i] - lng) < 1e-12 && Math.abs(ring[i + 1] - lat) < 1e-12) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static double[][] square(double x, double y, double size) {
+        return rect(x, y, x + size, y + size);
+    }
+
+    private static double[][] rect(double minX, double minY, double maxX, double maxY) {
+        return new double[][]{ring(minX, minY, maxX, minY, maxX, maxY, minX, maxY)};
+    }
+
+    private static double[][] reversed(double[][] polygon) {
+        return new double[][]{reversedRing(polygon[0])};
+    }
+
+    /**
+     * Ring đóng từ các đỉnh (x, y) theo đơn vị lưới
+     */
+    private static double[] ring(double... units) {
+        double[] ring = new double[units.length + 2];
+        for (int i = 0; i < units.length; i += 2) {
+            ring[i] = lng(units[i]);
+            ring[i + 1] = lat(units[i + 1]);
+        }
+        ring[units.length] = ring[0];
+        ring[units.length + 1] = ring[1];
+        return ring;
+    }
+
+    private static double[] reversedRing(double[] ring) {
+        double[] result = new double[ring.length];
+        for (int i = 0; i < ring.length; i += 2) {
+            result[ring.length - 2 - i] = ring[i];
+            result[ring.length - 1 - i] = ring[i + 1];
+        }
+        return result;
+    }
+
+    private static double lng(double units) {
+        return BASE_LNG + units * STEP;
+    }
+
+    private static double lat(double units) {
+        return BASE_LAT + units * STEP;
+    }
+}
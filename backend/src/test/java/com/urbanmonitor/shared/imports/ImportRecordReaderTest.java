@@ -0,0 +1,148 @@
+package com.urbanmonitor.shared.imports;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ImportRecordReaderTest {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    @Test
+    void geoJsonFeatureCollectionYieldsPropertiesWithFeatureIdAndGeometry() throws IOException {
+        List<ImportRecord> records = readAll(ImportFormat.GEOJSON, """
+            {
+              "type": "FeatureCollection",
+              "name": "stations",
+              "crs": {"type": "name", "properties": {"name": "EPSG:4326"}},
+              "features": [
+                {"type": "Feature", "id": 7, "properties": {"name": "A"},
+                 "geometry": {"type": "Point", "coordinates": [106.7, 10.8]}},
+                42,
+                {"type": "Feature", "id": 8, "properties": {"id": 9, "name": "B"}, "geometry": null}
+              ]
+            }
+            """);
+
+        assertEquals(3, records.size());
+        ImportRecord first = records.get(0);
+        assertNull(first.error());
+        assertEquals(7, first.fields().get("id").asLong());
+        assertEquals("A", first.fields().get("name").asText());
+        assertEquals(106.7, first.geometry().path("coordinates").path(0).asDouble());
+
+        // Phần tử không phải object bị loại, không dừng cả file
+        ImportRecord second = records.get(1);
+        assertEquals(8, second.line());
+        assertEquals("expected a JSON object", second.error());
+
+        // id trong properties thắng id của feature
+        assertEquals(9, records.get(2).fields().get("id").asLong());
+        assertTrue(records.get(2).geometry().isNull());
+    }
+
+    @Test
+    void geoJsonArrayMovesGeometryOutOfFields() throws IOException {
+        List<ImportRecord> records = readAll(ImportFormat.GEOJSON, """
+            [
+              {"name": "A", "geometry": {"type": "Point", "coordinates": [1, 2]}},
+              {"name": "B"}
+            ]
+            """);
+
+        assertEquals(2, records.size());
+        assertFalse(records.get(0).fields().has("geometry"));
+        assertEquals("Point", records.get(0).geometry().path("type").asText());
+        assertNull(records.get(1).geometry());
+        assertEquals(3, records.get(1).line());
+    }
+
+    @Test
+    void geoJsonSyntaxErrorFailsTheFile() throws IOException {
+        try (ImportRecordReader reader = open(ImportFormat.GEOJSON, "[{\"name\": \"A\"}, {\"name\": ]")) {
+            assertNotNull(reader.next());
+            // Giữa một mảng JSON không đồng bộ lại được: lỗi cả file thay vì đoán bản ghi kế tiếp
+            assertThrows(IOException.class, reader::next);
+        }
+        assertThrows(IllegalArgumentException.class, () -> open(ImportFormat.GEOJSON, "\"features\""));
+        assertThrows(IllegalArgumentException.class, () -> open(ImportFormat.GEOJSON, "{\"type\": \"FeatureCollection\"}"));
+    }
+
+    @Test
+    void ndjsonRejectsMalformedLineAndKeepsReading() throws IOException {
+        List<ImportRecord> records = readAll(ImportFormat.NDJSON, """
+            {"name": "A"}
+
+            {"name": "B",
+            [1, 2]
+            {"type": "Feature", "id": 5, "properties": {"name": "C"}, "geometry": {"type": "Point", "coordinates": [1, 2]}}
+            """);
+
+        assertEquals(4, records.size());
+        assertEquals("A", records.get(0).fields().get("name").asText());
+        assertEquals(1, records.get(0).line());
+
+        ImportRecord malformed = records.get(1);
+        assertEquals(3, malformed.line());
+        assertTrue(malformed.error().startsWith("malformed JSON"), malformed.error());
+
+        assertEquals(4, records.get(2).line());
+        assertEquals("expected a JSON object", records.get(2).error());
+
+        ImportRecord feature = records.get(3);
+        assertNull(feature.error());
+        assertEquals(5, feature.line());
+        assertEquals(5, feature.fields().get("id").asLong());
+        assertEquals("Point", feature.geometry().path("type").asText());
+    }
+
+    @Test
+    void csvConvertsSnakeCaseHeadersAndRejectsMalformedRow() throws IOException {
+        List<ImportRecord> records = readAll(ImportFormat.CSV, """
+            id,station_name,water_level
+            1,Alpha,2.5
+            2,Beta,1.0,extra
+            3,, 0.7
+            """);
+
+        assertEquals(3, records.size());
+        ImportRecord first = records.get(0);
+        assertEquals(2, first.line());
+        assertEquals("Alpha", first.fields().get("stationName").asText());
+        assertEquals("2.5", first.fields().get("waterLevel").asText());
+        assertNull(first.geometry());
+
+        ImportRecord malformed = records.get(1);
+        assertEquals(3, malformed.line());
+        assertTrue(malformed.error().startsWith("malformed CSV row"), malformed.error());
+
+        // Ô trống = không có field, khoảng trắng bị cắt
+        ImportRecord third = records.get(2);
+        assertNull(third.error());
+        assertEquals(4, third.line());
+        assertFalse(third.fields().has("stationName"));
+        assertEquals("0.7", third.fields().get("waterLevel").asText());
+    }
+
+    private List<ImportRecord> readAll(ImportFormat format, String content) throws IOException {
+        List<ImportRecord> records = new ArrayList<>();
+        try (ImportRecordReader reader = open(format, content)) {
+            ImportRecord record;
+            while ((record = reader.next()) != null) {
+                records.add(record);
+            }
+        }
+        return records;
+    }
+
+    private ImportRecordReader open(ImportFormat format, String content) throws IOException {
+        return ImportRecordReader.open(format, new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)), mapper);
+    }
+}
@@ -0,0 +1,271 @@
+package com.urbanmonitor.shared.imports;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.lang.reflect.Proxy;
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JdbcBatchUpserterTest {
+
+    static final class Row {
+        public Long id;
+        public String name;
+        public String createdAt;
+
+        Row() {
+        }
+
+        Row(Long id, String name) {
+            this.id = id;
+            this.name = name;
+        }
+    }
+
+    static final class RowTarget implements ImportTarget<Row> {
+        @Override public String name() { return "rows"; }
+        @Override public Class<Row> type() { return Row.class; }
+        @Override public String table() { return "rows"; }
+        @Override public List<ImportColumn<Row>> columns() {
+            return List.of(ImportColumn.of("name", row -> row.name), ImportColumn.insertOnly("created_at", row -> row.createdAt));
+        }
+        @Override public Long getId(Row row) { return row.id; }
+        @Override public void setId(Row row, Long id) { row.id = id; }
+        @Override public void prepare(Row row) { }
+    }
+
+    @Test
+    void explicitNewIdsAreReservedBeforeIdsAreAllocatedInEachChunk() {
+        FakeDatabase db = new FakeDatabase(499, Map.of(1L, "old-1", 2L, "old-2", 3L, "old-3"));
+        JdbcBatchUpserter<Row> upserter = new JdbcBatchUpserter<>(new RowTarget(), db, new ObjectMapper(), 2);
+
+        // Chunk 1: sequence ở 499, id 500 chỉ định → id cấp cho dòng không id phải sau 500
+        Row a = new Row(null, "a");
+        Row b = new Row(null, "b");
+        assertEquals(Set.of(2L), upserter.upsert(List.of(new Row(500L, "new-500"), new Row(2L, "upd-2"), a, b)));
+        assertEquals(501L, a.id);
+        assertEquals(502L, b.id);
+        assertEquals(List.of("setval 500", "nextval 2"), db.sequenceCalls);
+
+        // Insert JPA song song giữa hai chunk lấy id kế tiếp từ cùng sequence
+        db.rows.put(db.nextval(), "jpa");
+
+        // Chunk 2: trộn dòng mới có id (kể cả id thấp hơn sequence), dòng đã có và dòng không id
+        db.sequenceCalls.clear();
+        Row c = new Row(null, "c");
+        Row d = new Row(null, "d");
+        assertEquals(Set.of(500L), upserter.upsert(List.of(
+            c, new Row(700L, "new-700"), new Row(500L, "upd-500"), d, new Row(505L, "new-505"))));
+        assertEquals(701L, c.id);
+        assertEquals(702L, d.id);
+        assertEquals(List.of("setval 700", "nextval 2"), db.sequenceCalls);
+
+        // Chunk 3: chỉ dòng không id → không đụng setval
+        db.sequenceCalls.clear();
+        Row e = new Row(null, "e");
+        assertEquals(Set.of(), upserter.upsert(List.of(e)));
+        assertEquals(703L, e.id);
+        assertEquals(List.of("nextval 1"), db.sequenceCalls);
+
+        Map<Long, String> expected = new TreeMap<>(Map.ofEntries(
+            Map.entry(1L, "old-1"), Map.entry(2L, "upd-2"), Map.entry(3L, "old-3"),
+            Map.entry(500L, "upd-500"), Map.entry(501L, "a"), Map.entry(502L, "b"), Map.entry(503L, "jpa"),
+            Map.entry(505L, "new-505"), Map.entry(700L, "new-700"), Map.entry(701L, "c"), Map.entry(702L, "d"),
+            Map.entry(703L, "e")));
+        assertEquals(expected, db.rows);
+
+        // Lưới an toàn cuối job: sequence đã vượt MAX(id), không lùi lại
+        db.sequenceCalls.clear();
+        upserter.syncSequence();
+        assertEquals(List.of("setval 703"), db.sequenceCalls);
+        assertEquals(703, db.lastValue);
+    }
+
+    @Test
+    void jobWithoutExplicitNewIdsNeverTouchesTheSequenceValue() {
+        FakeDatabase db = new FakeDatabase(10, Map.of(4L, "old-4"));
+        JdbcBatchUpserter<Row> upserter = new JdbcBatchUpserter<>(new RowTarget(), db, new ObjectMapper(), 500);
+
+        assertEquals(Set.of(4L), upserter.upsert(List.of(new Row(4L, "upd-4"), new Row(null, "x"))));
+        upserter.syncSequence();
+
+        assertEquals(List.of("nextval 1"), db.sequenceCalls);
+        assertEquals(Map.of(4L, "upd-4", 11L, "x"), db.rows);
+    }
+
+    @Test
+    void partialRecordForExistingRowKeepsStoredValuesOfOmittedFields() {
+        FakeDatabase db = new FakeDatabase(10, Map.of(4L, "old-4", 5L, "old-5"));
+        db.created.putAll(Map.of(4L, "2024-01-01", 5L, "2024-02-02"));
+        ObjectMapper mapper = new ObjectMapper();
+        JdbcBatchUpserter<Row> upserter = new JdbcBatchUpserter<>(new RowTarget(), db, mapper, 500);
+
+        // Dòng 4 chỉ mang id (không có name), dòng 5 đổi name, một bản ghi mới
+        List<ImportRecord> records = List.of(
+            record(mapper, "{\"id\": 4}"), record(mapper, "{\"id\": 5, \"name\": \"upd-5\"}"), record(mapper, "{\"name\": \"x\"}"));
+        Map<Long, ObjectNode> stored = upserter.storedFields(records);
+        assertEquals(Set.of(4L, 5L), stored.keySet());
+
+        List<Row> rows = new ArrayList<>();
+        for (ImportRecord record : records) {
+            JdbcBatchUpserter.fillOmitted(record.fields(), stored);
+            Row row = mapper.convertValue(record.fields(), Row.class);
+            row.createdAt = "now"; // như prepare (prePersist) điền cho mọi bản ghi
+            rows.add(row);
+        }
+        upserter.keepInsertOnly(rows, stored);
+        assertEquals(List.of("2024-01-01", "2024-02-02", "now"), rows.stream().map(row -> row.createdAt).toList());
+
+        assertEquals(Set.of(4L, 5L), upserter.upsert(rows));
+        assertEquals(Map.of(4L, "old-4", 5L, "upd-5", 11L, "x"), db.rows);
+        assertEquals(Map.of(4L, "2024-01-01", 5L, "2024-02-02", 11L, "now"), db.created);
+    }
+
+    private static ImportRecord record(ObjectMapper mapper, String json) {
+        try {
+            return new ImportRecord(1, (ObjectNode) mapper.readTree(json), null);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * JdbcTemplate giả lập một bảng (id, name, created_at) và sequence của cột id, đủ cho các câu SQL của JdbcBatchUpserter
+     */
+    static final class FakeDatabase extends JdbcTemplate {
+
+        private static final String SEQUENCE = "public.rows_id_seq";
+
+        final SortedMap<Long, String> rows = new TreeMap<>();
+        final Map<Long, String> created = new HashMap<>();
+        final List<String> sequenceCalls = new ArrayList<>();
+        long lastValue;
+
+        FakeDatabase(long lastValue, Map<Long, String> rows) {
+            this.lastValue = lastValue;
+            this.rows.putAll(rows);
+        }
+
+        long nextval() {
+            return ++lastValue;
+        }
+
+        @Override
+        public <T> T queryForObject(String sql, Class<T> requiredType) {
+            assertEquals("SELECT MAX(id) FROM rows", sql);
+            return requiredType.cast(rows.isEmpty() ? null : rows.lastKey());
+        }
+
+        @Override
+        public <T> T queryForObject(String sql, Class<T> requiredType, Object... args) {
+            if (sql.startsWith("SELECT pg_get_serial_sequence")) {
+                assertEquals("rows", args[0]);
+                return requiredType.cast(SEQUENCE);
+            }
+            assertTrue(sql.startsWith("SELECT setval"), sql);
+            assertEquals(SEQUENCE, args[0]);
+            long atLeast = (Long) args[1];
+            sequenceCalls.add("setval " + atLeast);
+            lastValue = Math.max(atLeast, lastValue);
+            return requiredType.cast(lastValue);
+        }
+
+        @Override
+        public <T> List<T> queryForList(String sql, Class<T> elementType, Object... args) {
+            assertTrue(sql.startsWith("SELECT nextval"), sql);
+            assertEquals(SEQUENCE, args[0]);
+            int count = (Integer) args[1];
+            sequenceCalls.add("nextval " + count);
+            List<T> ids = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                ids.add(elementType.cast(nextval()));
+            }
+            return ids;
+        }
+
+        @Override
+        public <T> List<T> query(PreparedStatementCreator creator, RowMapper<T> rowMapper) {
+            Object[][] requested = new Object[1][];
+            String[] sql = new String[1];
+            PreparedStatement ps = proxy(PreparedStatement.class, (method, args) -> {
+                if (method.equals("setArray")) {
+                    requested[0] = (Object[]) ((Array) args[1]).getArray();
+                }
+                return null;
+            });
+            Connection connection = proxy(Connection.class, (method, args) -> switch (method) {
+                case "prepareStatement" -> {
+                    sql[0] = (String) args[0];
+                    assertTrue(List.of("SELECT id FROM rows WHERE id = ANY(?)",
+                        "SELECT id, name, created_at FROM rows WHERE id = ANY(?)").contains(sql[0]), sql[0]);
+                    yield ps;
+                }
+                case "createArrayOf" -> proxy(Array.class, (m, a) -> m.equals("getArray") ? args[1] : null);
+                default -> null;
+            });
+            try {
+                creator.createPreparedStatement(connection);
+                List<T> result = new ArrayList<>();
+                for (Object id : requested[0]) {
+                    if (rows.containsKey((Long) id)) {
+                        ResultSet rs = proxy(ResultSet.class, (m, a) -> switch (m) {
+                            case "getLong" -> id;
+                            case "getObject" -> (Integer) a[0] == 2 ? rows.get((Long) id) : created.get((Long) id);
+                            default -> null;
+                        });
+                        result.add(rowMapper.mapRow(rs, result.size()));
+                    }
+                }
+                return result;
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        @Override
+        public <T> int[][] batchUpdate(String sql, Collection<T> batchArgs, int batchSize,
+                                       ParameterizedPreparedStatementSetter<T> setter) {
+            assertEquals("INSERT INTO rows (id, name, created_at) VALUES (?, ?, ?) "
+                + "ON CONFLICT (id) DO UPDATE SET name = EXCLUDED.name", sql);
+            for (T args : batchArgs) {
+                Map<Integer, Object> params = new HashMap<>();
+                PreparedStatement ps = proxy(PreparedStatement.class, (method, a) -> {
+                    if (method.startsWith("set")) {
+                        params.put((Integer) a[0], a[1]);
+                    }
+                    return null;
+                });
+                try {
+                    setter.setValues(ps, args);
+                } catch (SQLException e) {
+                    throw new IllegalStateException(e);
+                }
+                // created_at chỉ ghi khi insert
+                created.putIfAbsent((Long) params.get(1), (String) params.get(3));
+                rows.put((Long) params.get(1), (String) params.get(2));
+            }
+            return new int[0][];
+        }
+
+        interface Handler {
+            Object invoke(String method, Object[] args) throws SQLException;
+        }
+
+        private static <T> T proxy(Class<T> type, Handler handler) {
+            return type.cast(Proxy.newProxyInstance(JdbcBatchUpserterTest.class.getClassLoader(), new Class<?>[]{type},
+                (self, method, args) -> handler.invoke(method.getName(), args)));
+        }
+    }
+}
@@ -0,0 +1,315 @@
+package com.urbanmonitor.shared.journal;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.*;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EventJournalTest {
+
+    private static final int SEGMENT_BYTES = 512;
+    private static final Set<JournalStream> STREAMS = EnumSet.of(JournalStream.INCIDENTS);
+
+    record Item(long id, String name) {
+    }
+
+    private static final JournalCodec<Item> ITEM_CODEC = new JournalCodec<>() {
+        @Override
+        public void write(Item value, DataOutput out) throws IOException {
+            out.writeLong(value.id());
+            out.writeUTF(value.name());
+        }
+
+        @Override
+        public Item read(DataInput in) throws IOException {
+            return new Item(in.readLong(), in.readUTF());
+        }
+    };
+
+    @TempDir
+    Path dir;
+
+    private final List<EventJournal> opened = new ArrayList<>();
+
+    @AfterEach
+    void closeJournals() {
+        opened.forEach(EventJournal::close);
+    }
+
+    @Test
+    void appendsAcrossSegmentRollsAndReadsBackAfterReopen() throws IOException {
+        EventJournal journal = open(0);
+        List<Long> positions = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            positions.add(append(journal, i, "event-" + i));
+        }
+        assertTrue(segmentFiles().size() > 3, "expected several segments, got " + segmentFiles());
+        for (int i = 1; i < positions.size(); i++) {
+            assertTrue(positions.get(i) > positions.get(i - 1));
+        }
+        assertEquals(positions, scanPositions(journal));
+        long end = journal.endPosition();
+        journal.close();
+
+        EventJournal reopened = open(0);
+        assertEquals(positions, scanPositions(reopened));
+        assertEquals(end, reopened.endPosition());
+        assertEquals(List.of("event-0", "event-49"), List.of(
+            payloadOf(reopened, positions.get(0)), payloadOf(reopened, positions.get(49))));
+    }
+
+    @Test
+    void corruptLastRecordIsTruncatedOnReopen() throws IOException {
+        EventJournal journal = open(0);
+        List<Long> positions = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            positions.add(append(journal, i, "event-" + i));
+        }
+        journal.close();
+
+        long last = positions.get(4);
+        Path file = segmentFiles().get(JournalSegment.segmentOf(last));
+        int payloadOffset = JournalSegment.offsetOf(last) + JournalSegment.HEADER_BYTES + 2;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer one = ByteBuffer.allocate(1);
+            channel.read(one, payloadOffset);
+            one.put(0, (byte) (one.get(0) ^ 0x5A)).rewind();
+            channel.write(one, payloadOffset);
+        }
+
+        EventJournal reopened = open(0);
+        assertEquals(positions.subList(0, 4), scanPositions(reopened));
+        // Record mới ghi đè đúng chỗ record hỏng
+        assertEquals(last, append(reopened, 99, "after-recovery"));
+        assertEquals("after-recovery", payloadOf(reopened, last));
+    }
+
+    @Test
+    void truncatedFileTailIsDroppedOnReopen() throws IOException {
+        EventJournal journal = open(0);
+        List<Long> positions = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            positions.add(append(journal, i, "event-" + i));
+        }
+        journal.close();
+
+        long last = positions.get(4);
+        Path file = segmentFiles().get(JournalSegment.segmentOf(last));
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.truncate(JournalSegment.offsetOf(last) + JournalSegment.HEADER_BYTES - 3);
+        }
+
+        EventJournal reopened = open(0);
+        assertEquals(positions.subList(0, 4), scanPositions(reopened));
+        append(reopened, 5, "event-5");
+        assertEquals(5, scanPositions(reopened).size());
+    }
+
+    @Test
+    void replayIsLatestCheckpointPlusLaterEvents() {
+        EventJournal journal = open(0);
+        EntityJournal<Item> items = entityJournal(journal, () -> List.of(new Item(1, "a"), new Item(2, "b")));
+
+        items.checkpoint();
+        items.recordUpsert("CREATED", new Item(3, "c"));
+        items.recordDelete("DELETED", 1);
+        items.checkpoint();
+        items.recordUpsert("UPDATED", new Item(2, "b2"));
+        items.recordUpsert("CREATED", new Item(4, "d"));
+
+        Map<Long, Item> expected = Map.of(2L, new Item(2, "b2"), 3L, new Item(3, "c"), 4L, new Item(4, "d"));
+        assertEquals(expected, items.replay().orElseThrow());
+        long checkpointBegin = journal.latestCheckpoint(JournalStream.INCIDENTS).orElseThrow().beginPosition();
+        journal.close();
+
+        EventJournal reopened = open(0);
+        EntityJournal<Item> recovered = entityJournal(reopened, List::of);
+        assertEquals(checkpointBegin, reopened.latestCheckpoint(JournalStream.INCIDENTS).orElseThrow().beginPosition());
+        assertEquals(expected, recovered.replay().orElseThrow());
+    }
+
+    @Test
+    void checkpointWithoutEndIsIgnoredOnRecovery() throws IOException {
+        EventJournal journal = open(0);
+        EntityJournal<Item> items = entityJournal(journal, () -> List.of(new Item(1, "a")));
+        items.checkpoint();
+        items.recordUpsert("CREATED", new Item(2, "b"));
+        JournalCheckpoint complete = journal.latestCheckpoint(JournalStream.INCIDENTS).orElseThrow();
+
+        // Checkpoint thứ hai bị crash giữa chừng: cắt ngay sau CHECKPOINT_BEGIN (giữa STATE đầu tiên)
+        items.checkpoint();
+        long begin = journal.latestCheckpoint(JournalStream.INCIDENTS).orElseThrow().beginPosition();
+        journal.close();
+        int beginSegment = JournalSegment.segmentOf(begin);
+        for (Path file : segmentFiles()) {
+            if (indexOf(file) > beginSegment) {
+                Files.delete(file);
+            }
+        }
+        int beginBytes = JournalSegment.HEADER_BYTES + Long.BYTES + Integer.BYTES;
+        try (FileChannel channel = FileChannel.open(segmentFiles().get(beginSegment), StandardOpenOption.WRITE)) {
+            channel.truncate(JournalSegment.offsetOf(begin) + beginBytes + 10);
+        }
+
+        EventJournal reopened = open(0);
+        EntityJournal<Item> recovered = entityJournal(reopened, List::of);
+        assertEquals(complete.beginPosition(),
+            reopened.latestCheckpoint(JournalStream.INCIDENTS).orElseThrow().beginPosition());
+        assertEquals(Map.of(1L, new Item(1, "a"), 2L, new Item(2, "b")), recovered.replay().orElseThrow());
+    }
+
+    @Test
+    void retentionKeepsSegmentsStillNeededByCheckpointSincePosition() throws IOException {
+        EventJournal journal = open(0);
+        for (int i = 0; i < 30; i++) {
+            append(journal, 100 + i, "filler-" + i);
+        }
+        // Events ghi trong lúc seed (query DB): sincePosition nằm vài segment trước CHECKPOINT_BEGIN
+        @SuppressWarnings("unchecked")
+        EntityJournal<Item>[] self = new EntityJournal[1];
+        self[0] = entityJournal(journal, () -> {
+            self[0].recordUpsert("UPDATED", new Item(2, "during"));
+            for (int i = 0; i < 20; i++) {
+                append(journal, 200 + i, "concurrent-" + i);
+            }
+            self[0].recordUpsert("CREATED", new Item(3, "during3"));
+            return List.of(new Item(1, "seed1"), new Item(2, "seed2"));
+        });
+        self[0].checkpoint();
+        JournalCheckpoint checkpoint = journal.latestCheckpoint(JournalStream.INCIDENTS).orElseThrow();
+        int sinceSegment = JournalSegment.segmentOf(checkpoint.sincePosition());
+        assertTrue(sinceSegment > 0 && sinceSegment < JournalSegment.segmentOf(checkpoint.beginPosition()));
+        journal.close();
+
+        long old = System.currentTimeMillis() - Duration.ofDays(10).toMillis();
+        for (Path file : segmentFiles()) {
+            rewriteTimestamps(file, old);
+        }
+
+        EventJournal aged = open(1);
+        EntityJournal<Item> recovered = entityJournal(aged, List::of);
+        aged.checkpointAll();
+
+        List<Integer> remaining = segmentFiles().stream().map(EventJournalTest::indexOf).toList();
+        assertEquals(sinceSegment, remaining.get(0), "segments before sincePosition should be deleted, nothing after");
+        assertEquals(Map.of(1L, new Item(1, "seed1"), 2L, new Item(2, "during"), 3L, new Item(3, "during3")),
+            recovered.replay().orElseThrow());
+    }
+
+    @Test
+    void retentionDeletesNothingWhileAStreamHasNoCheckpoint() throws IOException {
+        EventJournal journal = open(0);
+        for (int i = 0; i < 30; i++) {
+            append(journal, i, "event-" + i);
+        }
+        journal.close();
+        List<Path> before = segmentFiles();
+        for (Path file : before) {
+            rewriteTimestamps(file, System.currentTimeMillis() - Duration.ofDays(10).toMillis());
+        }
+
+        EventJournal aged = open(1);
+        entityJournal(aged, List::of);
+        // Seed của stream thứ hai lỗi: stream đó chưa có checkpoint, không biết replay cần từ đâu
+        new EntityJournal<>(aged, JournalStream.OPTIMIZATIONS, ITEM_CODEC, Item::id, () -> {
+            throw new IllegalStateException("database unavailable");
+        });
+        aged.checkpointAll();
+
+        assertTrue(aged.latestCheckpoint(JournalStream.INCIDENTS).isPresent());
+        assertTrue(aged.latestCheckpoint(JournalStream.OPTIMIZATIONS).isEmpty());
+        assertEquals(before, segmentFiles());
+    }
+
+    // ==================== HELPERS ====================
+
+    private EventJournal open(int retentionDays) {
+        EventJournal journal = new EventJournal(dir.toString(), SEGMENT_BYTES, true, retentionDays);
+        journal.init();
+        assertTrue(journal.isOpen());
+        opened.add(journal);
+        return journal;
+    }
+
+    private static EntityJournal<Item> entityJournal(EventJournal journal, Supplier<List<Item>> seed) {
+        return new EntityJournal<>(journal, JournalStream.INCIDENTS, ITEM_CODEC, Item::id, seed);
+    }
+
+    private static long append(EventJournal journal, long id, String text) {
+        return journal.append(JournalStream.INCIDENTS, JournalEntryKind.APPEND, id, out -> out.writeUTF(text));
+    }
+
+    private static List<Long> scanPositions(EventJournal journal) {
+        List<Long> positions = new ArrayList<>();
+        journal.scan(0, Long.MAX_VALUE, STREAMS, entry -> {
+            if (entry.kind() == JournalEntryKind.APPEND) {
+                positions.add(entry.position());
+            }
+            return true;
+        });
+        return positions;
+    }
+
+    private static String payloadOf(EventJournal journal, long position) {
+        String[] text = new String[1];
+        journal.scan(position, position + 1, STREAMS, entry -> {
+            try (DataInputStream in = entry.payloadInput()) {
+                text[0] = in.readUTF();
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+            return false;
+        });
+        return text[0];
+    }
+
+    private List<Path> segmentFiles() throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.filter(path -> path.getFileName().toString().startsWith("journal-"))
+                .sorted(Comparator.comparingInt(EventJournalTest::indexOf))
+                .toList();
+        }
+    }
+
+    private static int indexOf(Path path) {
+        String name = path.getFileName().toString();
+        return Integer.parseInt(name.substring("journal-".length(), name.length() - ".log".length()));
+    }
+
+    /**
+     * Đổi timestamp mọi record của segment (tính lại checksum) để giả lập dữ liệu cũ
+     */
+    private static void rewriteTimestamps(Path file, long timestamp) throws IOException {
+        byte[] bytes = Files.readAllBytes(file);
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        int offset = 0;
+        while (offset + JournalSegment.HEADER_BYTES <= bytes.length) {
+            int length = buffer.getInt(offset);
+            if (length < JournalSegment.HEADER_BYTES) {
+                break;
+            }
+            buffer.putLong(offset + 8, timestamp);
+            CRC32C crc = new CRC32C();
+            crc.update(bytes, offset + 8, length - 8);
+            buffer.putInt(offset + 4, (int) crc.getValue());
+            offset += length;
+        }
+        Files.write(file, bytes);
+    }
+}
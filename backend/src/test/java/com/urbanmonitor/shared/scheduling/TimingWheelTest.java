@@ -0,0 +1,135 @@
+package com.urbanmonitor.shared.scheduling;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimingWheelTest {
+
+    // Ranh giới tầng với tick 1 ms: 64, 64^2, 64^3, 64^4
+    private static final long[] BOUNDARIES = {1L << 6, 1L << 12, 1L << 18, 1L << 24};
+
+    @Test
+    void keysFireExactlyAtTheirTickAcrossLevelBoundaries() {
+        // Bắt đầu lệch khỏi mọi ranh giới để cascade xảy ra giữa chừng khoảng cách tới deadline
+        long start = 3 * BOUNDARIES[2] - 5;
+        TimingWheel<String> wheel = new TimingWheel<>(1, start);
+        Map<String, Long> deadlines = new HashMap<>();
+        for (long boundary : BOUNDARIES) {
+            for (long delta = boundary - 3; delta <= boundary + 3; delta++) {
+                if (delta < BOUNDARIES[3]) {
+                    deadlines.put("d" + delta, start + delta);
+                }
+            }
+            // Trùng ranh giới tuyệt đối của tick, không chỉ khoảng cách
+            long aligned = (start / boundary + 1) * boundary;
+            if (aligned - start < BOUNDARIES[3]) {
+                deadlines.put("a" + aligned, aligned);
+            }
+        }
+        deadlines.put("first", start + 1);
+        deadlines.put("last", start + wheel.span());
+        deadlines.forEach((key, deadline) -> assertTrue(wheel.schedule(key, deadline), key));
+
+        assertFiresExactly(wheel, deadlines);
+    }
+
+    @Test
+    void randomDeadlinesWithCancelsAndReschedulesMatchReference() {
+        Random random = new Random(42);
+        long tick = 10;
+        long start = 123_457;
+        TimingWheel<Integer> wheel = new TimingWheel<>(tick, start);
+        Map<Integer, Long> expected = new HashMap<>();
+        for (int key = 0; key < 3_000; key++) {
+            long deadline = start + 1 + (long) (random.nextDouble() * wheel.span());
+            assertTrue(wheel.schedule(key, deadline));
+            expected.put(key, ceilToTick(deadline, tick));
+        }
+        for (int key = 0; key < 3_000; key += 3) {
+            wheel.cancel(key);
+            expected.remove(key);
+        }
+        // Đổi deadline: entry cũ vẫn nằm trong slot nhưng không được fire
+        for (int key = 1; key < 3_000; key += 3) {
+            long deadline = start + 1 + random.nextInt(100_000);
+            assertTrue(wheel.schedule(key, deadline));
+            expected.put(key, ceilToTick(deadline, tick));
+        }
+        assertEquals(expected.size(), wheel.size());
+
+        assertFiresExactly(wheel, expected);
+    }
+
+    @Test
+    void cancelledKeyNeverFiresAndRescheduleKeepsOnlyTheLatestDeadline() {
+        TimingWheel<String> wheel = new TimingWheel<>(1, 0);
+        wheel.schedule("cancelled", 100);
+        wheel.schedule("later", 50);
+        wheel.schedule("later", 5_000);
+        wheel.schedule("earlier", 300_000);
+        wheel.schedule("earlier", 70);
+        // Cancel rồi schedule lại đúng deadline cũ: hai entry cùng tick, chỉ fire một lần
+        wheel.schedule("again", 80);
+        wheel.cancel("again");
+        wheel.schedule("again", 80);
+        wheel.cancel("cancelled");
+
+        assertFalse(wheel.isScheduled("cancelled"));
+        assertEquals(3, wheel.size());
+        assertEquals(List.of("earlier", "again"), wheel.advance(4_999));
+        assertEquals(List.of("later"), wheel.advance(5_000));
+        assertEquals(List.of(), wheel.advance(400_000));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void pastDeadlinesFireOnTheNextTick() {
+        TimingWheel<String> wheel = new TimingWheel<>(100, 1_000);
+        wheel.schedule("past", 0);
+        wheel.schedule("now", 1_000);
+        wheel.schedule("partial", 1_050);
+
+        assertEquals(List.of(), wheel.advance(1_099));
+        assertEquals(List.of("past", "now", "partial"), wheel.advance(1_100));
+
+        // Deadline không tròn tick làm tròn lên, không bao giờ fire sớm
+        wheel.schedule("rounded", 1_250);
+        assertEquals(List.of(), wheel.advance(1_299));
+        assertEquals(List.of("rounded"), wheel.advance(1_300));
+    }
+
+    @Test
+    void deadlineBeyondSpanIsRejectedAndDropsPreviousSchedule() {
+        TimingWheel<String> wheel = new TimingWheel<>(1, 0);
+        assertTrue(wheel.schedule("key", 10));
+        assertFalse(wheel.schedule("key", wheel.span() + 1));
+        assertFalse(wheel.isScheduled("key"));
+        assertEquals(List.of(), wheel.advance(100));
+
+        assertTrue(wheel.schedule("edge", 100 + wheel.span()));
+        assertThrows(IllegalArgumentException.class, () -> new TimingWheel<>(0, 0));
+    }
+
+    /**
+     * Với mỗi deadline d (theo thứ tự): advance(d - 1) không fire gì, advance(d) fire đúng các key có deadline d
+     */
+    private static <K> void assertFiresExactly(TimingWheel<K> wheel, Map<K, Long> deadlines) {
+        TreeMap<Long, Set<K>> byDeadline = new TreeMap<>();
+        deadlines.forEach((key, deadline) -> byDeadline.computeIfAbsent(deadline, d -> new HashSet<>()).add(key));
+        for (Map.Entry<Long, Set<K>> due : byDeadline.entrySet()) {
+            long deadline = due.getKey();
+            assertEquals(List.of(), wheel.advance(deadline - 1), "fired early before " + deadline);
+            List<K> fired = wheel.advance(deadline);
+            assertEquals(due.getValue().size(), fired.size(), "at " + deadline + ": " + fired);
+            assertEquals(due.getValue(), new HashSet<>(fired), "at " + deadline);
+        }
+        assertEquals(0, wheel.size());
+    }
+
+    private static long ceilToTick(long millis, long tick) {
+        return -Math.floorDiv(-millis, tick) * tick;
+    }
+}